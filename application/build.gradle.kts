@@ -1,4 +1,11 @@
 dependencies {
     implementation(project(":domain"))
     implementation(libs.algoutils.student)
+    testImplementation(libs.junit.core)
+}
+
+tasks {
+    test {
+        useJUnitPlatform()
+    }
 }
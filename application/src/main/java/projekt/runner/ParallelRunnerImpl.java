@@ -0,0 +1,305 @@
+package projekt.runner;
+
+import org.jetbrains.annotations.Nullable;
+import projekt.base.SeedSequence;
+import projekt.delivery.archetype.ProblemArchetype;
+import projekt.delivery.archetype.ProblemArchetypeImpl;
+import projekt.delivery.archetype.ProblemGroup;
+import projekt.delivery.event.EventBus;
+import projekt.delivery.generator.FridayOrderGenerator;
+import projekt.delivery.generator.OrderGenerator;
+import projekt.delivery.generator.TraceOrderGenerator;
+import projekt.delivery.rating.Rater;
+import projekt.delivery.rating.RatingCriteria;
+import projekt.delivery.rating.TravelDistanceRater;
+import projekt.delivery.routing.CachedPathCalculator;
+import projekt.delivery.routing.PathCalculator;
+import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.service.DeliveryService;
+import projekt.delivery.simulation.BasicDeliverySimulation;
+import projekt.delivery.simulation.Simulation;
+import projekt.delivery.simulation.SimulationConfig;
+import projekt.runner.handler.ResultHandler;
+import projekt.runner.handler.SimulationFinishedHandler;
+import projekt.runner.handler.SimulationSetupHandler;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link Runner} that executes every pair of {@link ProblemArchetype} and run index as a separate task on an
+ * {@link ExecutorService}.<p>
+ *
+ * Every task simulates its own copy of the {@link ProblemArchetype}, i.e. it uses its own {@link VehicleManager},
+ * {@link DeliveryService} and {@link OrderGenerator}. Only the immutable {@link projekt.delivery.routing.Region} and the
+ * {@link SimulationConfig} are shared between the tasks.<p>
+ *
+ * If the {@link SimulationConfig} contains a master seed, the seeds of the {@link FridayOrderGenerator} and the
+ * {@link DeliveryService} of every task are derived from it by the index of the {@link ProblemArchetype} in the
+ * {@link ProblemGroup}, the run index and the component. The results therefore do not depend on the amount of threads
+ * or the order of execution.<p>
+ *
+ * The given handlers are called from the worker threads and therefore have to be thread-safe.
+ */
+public class ParallelRunnerImpl implements Runner {
+
+    private final int parallelism;
+    private final @Nullable ExecutorService executor;
+
+    /**
+     * Creates a new {@link ParallelRunnerImpl} that uses one thread per available processor.
+     */
+    public ParallelRunnerImpl() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new {@link ParallelRunnerImpl} that uses a fixed thread pool of the given size for every call to
+     * {@link #run(ProblemGroup, SimulationConfig, int, DeliveryService.Factory, SimulationSetupHandler, SimulationFinishedHandler, ResultHandler)}.
+     * @param parallelism The amount of simulations that are executed at the same time.
+     */
+    public ParallelRunnerImpl(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        this.executor = null;
+    }
+
+    /**
+     * Creates a new {@link ParallelRunnerImpl} that executes the simulations on the given {@link ExecutorService}.<p>
+     * The {@link ExecutorService} will not be shut down by this {@link ParallelRunnerImpl}.
+     * @param executor The {@link ExecutorService} used to execute the simulations.
+     */
+    public ParallelRunnerImpl(ExecutorService executor) {
+        this.parallelism = -1;
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    @Override
+    public void run(ProblemGroup problemGroup,
+                    SimulationConfig simulationConfig,
+                    int simulationRuns,
+                    DeliveryService.Factory deliveryServiceFactory,
+                    SimulationSetupHandler simulationSetupHandler,
+                    SimulationFinishedHandler simulationFinishedHandler,
+                    ResultHandler resultHandler) {
+
+        ExecutorService executor = this.executor != null ? this.executor : Executors.newFixedThreadPool(parallelism);
+        AtomicBoolean interrupted = new AtomicBoolean(false);
+        List<Future<Map<RatingCriteria, Double>>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < simulationRuns; i++) {
+                for (int j = 0; j < problemGroup.problems().size(); j++) {
+                    final int run = i;
+                    final int problemIndex = j;
+                    futures.add(executor.submit(() -> {
+                        if (interrupted.get()) {
+                            return null;
+                        }
+
+                        Map<RatingCriteria, Double> ratings = runSimulation(problemGroup, problemIndex, run, simulationConfig,
+                            deliveryServiceFactory, simulationSetupHandler, simulationFinishedHandler);
+
+                        if (ratings == null) {
+                            interrupted.set(true);
+                        }
+                        return ratings;
+                    }));
+                }
+            }
+
+            Map<RatingCriteria, Double> result = new EnumMap<>(RatingCriteria.class);
+            for (RatingCriteria criterion : problemGroup.ratingCriteria()) {
+                result.put(criterion, 0.0);
+            }
+
+            for (Future<Map<RatingCriteria, Double>> future : futures) {
+                Map<RatingCriteria, Double> ratings = future.get();
+
+                if (ratings == null || interrupted.get()) {
+                    futures.forEach(f -> f.cancel(false));
+                    return;
+                }
+
+                ratings.forEach((criterion, rating) -> result.merge(criterion, rating, Double::sum));
+            }
+
+            int simulationCount = simulationRuns * problemGroup.problems().size();
+            result.replaceAll((criterion, sum) -> sum / simulationCount);
+
+            resultHandler.accept(result);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(f -> f.cancel(true));
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw new RuntimeException(e.getCause());
+        } finally {
+            if (this.executor == null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Override
+    public Map<ProblemArchetype, Simulation> createSimulations(ProblemGroup problemGroup,
+                                                                SimulationConfig simulationConfig,
+                                                                DeliveryService.Factory deliveryServiceFactory) {
+        Map<ProblemArchetype, Simulation> simulations = new HashMap<>();
+
+        for (ProblemArchetype problem : problemGroup.problems()) {
+            simulations.put(problem, createSimulation(problem, simulationConfig, deliveryServiceFactory, null));
+        }
+
+        return simulations;
+    }
+
+    /**
+     * Simulates an isolated copy of the {@link ProblemArchetype} at the given index of the {@link ProblemGroup}.
+     * @return The rating for every {@link RatingCriteria} of the {@link ProblemGroup} or null if the
+     * {@link SimulationFinishedHandler} requested to interrupt the {@link Runner}.
+     */
+    private @Nullable Map<RatingCriteria, Double> runSimulation(ProblemGroup problemGroup,
+                                                                int problemIndex,
+                                                                int run,
+                                                                SimulationConfig simulationConfig,
+                                                                DeliveryService.Factory deliveryServiceFactory,
+                                                                SimulationSetupHandler simulationSetupHandler,
+                                                                SimulationFinishedHandler simulationFinishedHandler) {
+
+        ProblemArchetype problem = problemGroup.problems().get(problemIndex);
+        // the names of the problems are not necessarily unique, their indices are
+        @Nullable SeedSequence seeds = simulationConfig.getSeed().isPresent()
+            ? SeedSequence.of(simulationConfig.getSeed().getAsLong()).derive(problemIndex).derive(run)
+            : null;
+        Simulation simulation = createSimulation(isolate(problem, seeds), simulationConfig, deliveryServiceFactory, seeds);
+
+        // the handlers receive the original problem so that they can identify it
+        simulationSetupHandler.accept(simulation, problem, run);
+        simulation.runSimulation(problem.simulationLength());
+
+        if (simulationFinishedHandler.accept(simulation, problem)) {
+            return null;
+        }
+
+        Map<RatingCriteria, Double> ratings = new EnumMap<>(RatingCriteria.class);
+        for (RatingCriteria criterion : problemGroup.ratingCriteria()) {
+            ratings.put(criterion, simulation.getRatingForCriterion(criterion));
+        }
+        return ratings;
+    }
+
+    private static Simulation createSimulation(ProblemArchetype problem,
+                                               SimulationConfig simulationConfig,
+                                               DeliveryService.Factory deliveryServiceFactory,
+                                               @Nullable SeedSequence seeds) {
+        DeliveryService deliveryService = deliveryServiceFactory.create(problem.vehicleManager());
+        if (seeds != null) {
+            deliveryService.setSeed(seeds.derive("deliveryService").getSeed());
+        }
+
+        return new BasicDeliverySimulation(
+            simulationConfig,
+            problem.raterFactoryMap(),
+            deliveryService,
+            problem.orderGeneratorFactory());
+    }
+
+    /**
+     * Creates a copy of the given {@link ProblemArchetype} that does not share any mutable state with the original.
+     * @param problem The {@link ProblemArchetype} to copy.
+     * @param seeds The seeds of the simulated run or null if the original seeds should be kept.
+     * @return The created copy.
+     */
+    private static ProblemArchetype isolate(ProblemArchetype problem, @Nullable SeedSequence seeds) {
+        VehicleManager vehicleManager = copyVehicleManager(problem.vehicleManager());
+
+        return new ProblemArchetypeImpl(
+            copyOrderGeneratorFactory(problem.orderGeneratorFactory(), vehicleManager, seeds),
+            vehicleManager,
+            copyRaterFactoryMap(problem.raterFactoryMap(), vehicleManager),
+            problem.simulationLength(),
+            problem.name());
+    }
+
+    private static VehicleManager copyVehicleManager(VehicleManager vehicleManager) {
+        VehicleManager.Builder builder = VehicleManager.builder()
+            .region(vehicleManager.getRegion())
+            .pathCalculator(copyPathCalculator(vehicleManager.getPathCalculator()))
+            // every simulation is ticked by a single thread and nothing reads the log of the copy
+            .eventBus(EventBus.builder().singleWriter().retention(EventBus.Retention.none()).build());
+
+        // add the vehicles in the order of their ids so that the copied vehicles get the same ids
+        vehicleManager.getAllVehicles().stream()
+            .sorted()
+            .forEach(vehicle -> builder.addVehicle(vehicle.getStartingNode().getComponent().getLocation(), vehicle.getCapacity()));
+
+        return builder.build();
+    }
+
+    private static PathCalculator copyPathCalculator(PathCalculator pathCalculator) {
+        if (pathCalculator instanceof CachedPathCalculator cachedPathCalculator) {
+            return new CachedPathCalculator(copyPathCalculator(cachedPathCalculator.getDelegate()), cachedPathCalculator.getSize());
+        }
+        // the CachedPathCalculator uses an unsynchronized cache, all other path calculators are either stateless or
+        // thread-safe, so the simulations can share them and their caches
+        return pathCalculator;
+    }
+
+    private static OrderGenerator.Factory copyOrderGeneratorFactory(OrderGenerator.Factory factory,
+                                                                    VehicleManager vehicleManager,
+                                                                    @Nullable SeedSequence seeds) {
+        if (factory instanceof FridayOrderGenerator.Factory fridayFactory) {
+            return FridayOrderGenerator.Factory.builder()
+                .setOrderCount(fridayFactory.orderCount)
+                .setDeliveryInterval(fridayFactory.deliveryInterval)
+                .setMaxWeight(fridayFactory.maxWeight)
+                .setStandardDeviation(fridayFactory.standardDeviation)
+                .setLastTick(fridayFactory.lastTick)
+                .setSeed(seeds != null ? seeds.derive("orderGenerator").getIntSeed() : fridayFactory.seed)
+                .setVehicleManager(vehicleManager)
+                .build();
+        }
+        if (factory instanceof TraceOrderGenerator.Factory traceFactory) {
+            return TraceOrderGenerator.Factory.builder()
+                .setFile(traceFactory.file)
+                .setVehicleManager(vehicleManager)
+                .build();
+        }
+
+        return factory;
+    }
+
+    /**
+     * Copies the given rater factories and binds them to the given {@link VehicleManager}.<p>
+     *
+     * Only the {@link TravelDistanceRater.Factory} references a {@link VehicleManager} and is therefore re-created.
+     * The factories of the {@link projekt.delivery.rating.InTimeRater} and the
+     * {@link projekt.delivery.rating.AmountDeliveredRater} only hold immutable parameters and every call to
+     * {@link Rater.Factory#create()} creates a new {@link Rater}, so they are shared. A new {@link Rater.Factory} that
+     * references mutable state of the simulation has to be copied here as well.
+     * @param raterFactoryMap The rater factories to copy.
+     * @param vehicleManager The {@link VehicleManager} of the copied problem.
+     * @return The copied rater factories.
+     */
+    private static Map<RatingCriteria, Rater.Factory> copyRaterFactoryMap(Map<RatingCriteria, Rater.Factory> raterFactoryMap,
+                                                                          VehicleManager vehicleManager) {
+        Map<RatingCriteria, Rater.Factory> copy = new HashMap<>();
+
+        for (Map.Entry<RatingCriteria, Rater.Factory> entry : raterFactoryMap.entrySet()) {
+            if (entry.getValue() instanceof TravelDistanceRater.Factory travelDistanceFactory) {
+                copy.put(entry.getKey(), TravelDistanceRater.Factory.builder()
+                    .setFactor(travelDistanceFactory.factor)
+                    .setVehicleManager(vehicleManager)
+                    .build());
+            } else {
+                copy.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        return copy;
+    }
+}
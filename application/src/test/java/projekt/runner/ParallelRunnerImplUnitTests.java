@@ -0,0 +1,277 @@
+package projekt.runner;
+
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+import projekt.delivery.archetype.ProblemArchetype;
+import projekt.delivery.archetype.ProblemArchetypeImpl;
+import projekt.delivery.archetype.ProblemGroup;
+import projekt.delivery.archetype.ProblemGroupImpl;
+import projekt.delivery.event.Event;
+import projekt.delivery.event.OrderReceivedEvent;
+import projekt.delivery.generator.FridayOrderGenerator;
+import projekt.delivery.rating.AbstractRater;
+import projekt.delivery.rating.RatingCriteria;
+import projekt.delivery.routing.CompiledDijkstraPathCalculator;
+import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.Region;
+import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.service.AbstractDeliveryService;
+import projekt.delivery.simulation.Simulation;
+import projekt.delivery.simulation.SimulationConfig;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelRunnerImplUnitTests {
+
+    private static final int RUNS = 3;
+
+    static ProblemArchetype createProblem(String name, int orderSeed) {
+        Region region = Region.builder()
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .addRestaurant("R", new Location(0, 0), List.of("Pizza"))
+            .addNeighborhood("A", new Location(3, 0))
+            .addNeighborhood("B", new Location(0, 4))
+            .addNeighborhood("C", new Location(5, 5))
+            .addEdge("RA", new Location(0, 0), new Location(3, 0))
+            .addEdge("RB", new Location(0, 0), new Location(0, 4))
+            .addEdge("AC", new Location(3, 0), new Location(5, 5))
+            .build();
+        VehicleManager vehicleManager = VehicleManager.builder()
+            .region(region)
+            .pathCalculator(new CompiledDijkstraPathCalculator())
+            .addVehicle(new Location(0, 0), 2)
+            .addVehicle(new Location(0, 0), 2)
+            .build();
+
+        return new ProblemArchetypeImpl(
+            FridayOrderGenerator.Factory.builder()
+                .setVehicleManager(vehicleManager)
+                .setOrderCount(40)
+                .setLastTick(30)
+                .setSeed(orderSeed)
+                .build(),
+            vehicleManager,
+            Map.of(RatingCriteria.IN_TIME, OrderRater::new),
+            40,
+            name
+        );
+    }
+
+    static ProblemGroup createProblemGroup(ProblemArchetype... problems) {
+        return new ProblemGroupImpl(List.of(problems), List.of(RatingCriteria.IN_TIME));
+    }
+
+    static SimulationConfig createConfig(long seed) {
+        SimulationConfig simulationConfig = SimulationConfig.fastForward();
+        simulationConfig.setSeed(seed);
+        return simulationConfig;
+    }
+
+    /**
+     * Runs the given {@link ProblemGroup} and returns the rating and the seed of the delivery service of every
+     * simulation by the name of the problem and the run index, followed by the averaged result.
+     */
+    static Map<String, Object> run(ParallelRunnerImpl runner, ProblemGroup problemGroup, SimulationConfig config) {
+        Map<Simulation, String> keys = new ConcurrentHashMap<>();
+        Map<String, Object> results = new ConcurrentHashMap<>();
+
+        runner.run(problemGroup, config, RUNS, SeedRecordingDeliveryService::new,
+            (simulation, problem, run) -> keys.put(simulation, problem.name() + "#" + run),
+            (simulation, problem) -> {
+                String key = keys.get(simulation);
+                results.put(key + " rating", simulation.getRatingForCriterion(RatingCriteria.IN_TIME));
+                results.put(key + " seed", ((SeedRecordingDeliveryService) simulation.getDeliveryService()).seed);
+                return false;
+            },
+            result -> results.put("result", result)
+        );
+        return results;
+    }
+
+    @Test
+    public void testAveragedResult() {
+        ProblemGroup problemGroup = createProblemGroup(createProblem("first", 1), createProblem("second", 2));
+        Map<String, Object> results = run(new ParallelRunnerImpl(4), problemGroup, createConfig(42));
+
+        double sum = 0;
+        for (String name : List.of("first", "second")) {
+            for (int run = 0; run < RUNS; run++) {
+                sum += (double) results.get(name + "#" + run + " rating");
+            }
+        }
+        @SuppressWarnings("unchecked")
+        Map<RatingCriteria, Double> result = (Map<RatingCriteria, Double>) results.get("result");
+        assertEquals(Set.of(RatingCriteria.IN_TIME), result.keySet());
+        assertEquals(sum / (2 * RUNS), result.get(RatingCriteria.IN_TIME), 1e-12);
+        assertTrue(result.get(RatingCriteria.IN_TIME) > 0);
+    }
+
+    @Test
+    public void testSameResultsAsSequentialRun() {
+        ProblemGroup problemGroup = createProblemGroup(createProblem("first", 1), createProblem("second", 2));
+
+        // a single thread executes the simulations one after another
+        Map<String, Object> sequential = run(new ParallelRunnerImpl(1), problemGroup, createConfig(42));
+        Map<String, Object> parallel = run(new ParallelRunnerImpl(4), problemGroup, createConfig(42));
+        assertEquals(2 * RUNS * 2 + 1, sequential.size());
+        assertEquals(sequential, parallel);
+
+        // the runs of a problem use different streams
+        assertNotEquals(sequential.get("first#0 seed"), sequential.get("first#1 seed"));
+        assertNotEquals(sequential, run(new ParallelRunnerImpl(4), problemGroup, createConfig(43)));
+    }
+
+    @Test
+    public void testSameNamedProblemsUseDifferentSeeds() {
+        ProblemGroup problemGroup = createProblemGroup(createProblem("same", 1), createProblem("same", 1));
+        List<Long> seeds = Collections.synchronizedList(new ArrayList<>());
+        List<Double> ratings = Collections.synchronizedList(new ArrayList<>());
+
+        new ParallelRunnerImpl(4).run(problemGroup, createConfig(42), 1, SeedRecordingDeliveryService::new,
+            (simulation, problem, run) -> {},
+            (simulation, problem) -> {
+                seeds.add(((SeedRecordingDeliveryService) simulation.getDeliveryService()).seed);
+                ratings.add(simulation.getRatingForCriterion(RatingCriteria.IN_TIME));
+                return false;
+            },
+            result -> {}
+        );
+
+        assertEquals(2, seeds.size());
+        assertNotEquals(seeds.get(0), seeds.get(1));
+        // the order generators are seeded differently as well
+        assertNotEquals(ratings.get(0), ratings.get(1));
+    }
+
+    @Test
+    public void testIsolation() {
+        ProblemArchetype problem = createProblem("first", 1);
+        Set<VehicleManager> vehicleManagers = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+        new ParallelRunnerImpl(4).run(createProblemGroup(problem), createConfig(42), RUNS, SeedRecordingDeliveryService::new,
+            (simulation, p, run) -> {
+                // the handlers receive the original problem, but every simulation has its own copy
+                assertSame(problem, p);
+                vehicleManagers.add(simulation.getDeliveryService().getVehicleManager());
+            },
+            (simulation, p) -> false,
+            result -> {}
+        );
+
+        assertEquals(RUNS, vehicleManagers.size());
+        assertFalse(vehicleManagers.contains(problem.vehicleManager()));
+        // the vehicles of the original problem have never been spawned
+        assertTrue(problem.vehicleManager().getVehicles().isEmpty());
+        assertEquals(2, problem.vehicleManager().getAllVehicles().size());
+    }
+
+    @Test
+    public void testHandlers() {
+        ProblemGroup problemGroup = createProblemGroup(createProblem("first", 1), createProblem("second", 2));
+        List<String> setups = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger finished = new AtomicInteger();
+        AtomicInteger results = new AtomicInteger();
+
+        new ParallelRunnerImpl(4).run(problemGroup, createConfig(42), RUNS, SeedRecordingDeliveryService::new,
+            (simulation, problem, run) -> setups.add(problem.name() + "#" + run),
+            (simulation, problem) -> {
+                finished.incrementAndGet();
+                return false;
+            },
+            result -> results.incrementAndGet()
+        );
+
+        assertEquals(
+            Set.of("first#0", "first#1", "first#2", "second#0", "second#1", "second#2"),
+            new HashSet<>(setups)
+        );
+        assertEquals(2 * RUNS, setups.size());
+        assertEquals(2 * RUNS, finished.get());
+        assertEquals(1, results.get());
+    }
+
+    @Test
+    public void testInterrupt() {
+        ProblemGroup problemGroup = createProblemGroup(createProblem("first", 1), createProblem("second", 2));
+        AtomicInteger finished = new AtomicInteger();
+        AtomicInteger results = new AtomicInteger();
+
+        new ParallelRunnerImpl(1).run(problemGroup, createConfig(42), RUNS, SeedRecordingDeliveryService::new,
+            (simulation, problem, run) -> {},
+            (simulation, problem) -> finished.incrementAndGet() == 2,
+            result -> results.incrementAndGet()
+        );
+
+        // the simulations after the interrupting one are skipped and no result is reported
+        assertEquals(2, finished.get());
+        assertEquals(0, results.get());
+    }
+
+    @Test
+    public void testInvalidParallelism() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelRunnerImpl(0));
+    }
+
+    /**
+     * A delivery service that never moves any vehicles and records the seed it has been given.
+     */
+    static class SeedRecordingDeliveryService extends AbstractDeliveryService {
+
+        private long seed = -1;
+
+        SeedRecordingDeliveryService(VehicleManager vehicleManager) {
+            super(vehicleManager);
+        }
+
+        @Override
+        protected List<Event> tick(long currentTick, List<ConfirmedOrder> newOrders) {
+            return vehicleManager.tick(currentTick);
+        }
+
+        @Override
+        public List<ConfirmedOrder> getPendingOrders() {
+            return List.of();
+        }
+
+        @Override
+        public void setSeed(long seed) {
+            this.seed = seed;
+        }
+
+        @Override
+        public void reset() {
+            // every simulation of the runner uses a new vehicle manager, so it does not have to be reset
+        }
+    }
+
+    /**
+     * A rater whose score only depends on the received orders, so it differs between differently seeded runs.
+     */
+    static class OrderRater extends AbstractRater {
+
+        private long sum;
+        private long count;
+
+        @Override
+        protected void onOrderReceived(OrderReceivedEvent event) {
+            ConfirmedOrder order = event.getOrder();
+            sum += Math.floorMod(order.getLocation().getX() * 31L + order.getDeliveryInterval().start(), 97);
+            count++;
+        }
+
+        @Override
+        public double getScore() {
+            return count == 0 ? 0 : sum / (97.0 * count);
+        }
+
+        @Override
+        public RatingCriteria getRatingCriteria() {
+            return RatingCriteria.IN_TIME;
+        }
+    }
+}
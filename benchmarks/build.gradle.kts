@@ -0,0 +1,19 @@
+@Suppress("DSL_SCOPE_VIOLATION") // https://youtrack.jetbrains.com/issue/KTIJ-19369
+plugins {
+    alias(libs.plugins.jmh)
+}
+
+dependencies {
+    jmh(project(":domain"))
+    jmh(project(":application"))
+    jmh(project(":infrastructure"))
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    // report the allocation rate next to the throughput of every benchmark
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    // e.g. ./gradlew :benchmarks:jmh -PjmhIncludes=PathCalculatorBenchmark
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.add(it) }
+}
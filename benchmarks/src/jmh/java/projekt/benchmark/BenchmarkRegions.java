@@ -0,0 +1,42 @@
+package projekt.benchmark;
+
+import projekt.delivery.archetype.SyntheticProblemGenerator;
+import projekt.delivery.archetype.SyntheticProblemGenerator.Topology;
+import projekt.delivery.routing.Region;
+
+/**
+ * Creates the synthetic {@link Region}s the benchmarks run on.<p>
+ *
+ * The regions are generated by a {@link SyntheticProblemGenerator} with its default share of restaurants and
+ * neighborhoods. The same topology, size and seed always create the same region.
+ */
+final class BenchmarkRegions {
+
+    private BenchmarkRegions() {}
+
+    /**
+     * Creates a {@link Region} with the given topology and amount of nodes.
+     * @param topology The {@link Topology} of the {@link Region}.
+     * @param nodeCount The amount of nodes.
+     * @param seed The seed of the generator.
+     * @return The created {@link Region}.
+     */
+    static Region create(Topology topology, int nodeCount, long seed) {
+        return SyntheticProblemGenerator.builder()
+            .setTopology(topology)
+            .setNodeCount(nodeCount)
+            .setSeed(seed)
+            .build()
+            .generateRegion();
+    }
+
+    /**
+     * Creates a {@link Topology#GRID grid} {@link Region} with the given amount of nodes.
+     * @param nodeCount The amount of nodes.
+     * @param seed The seed of the generator.
+     * @return The created {@link Region}.
+     */
+    static Region grid(int nodeCount, long seed) {
+        return create(Topology.GRID, nodeCount, seed);
+    }
+}
@@ -0,0 +1,69 @@
+package projekt.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import projekt.delivery.routing.CachedPathCalculator;
+import projekt.delivery.routing.CompiledDijkstraPathCalculator;
+import projekt.delivery.routing.PathCalculator;
+import projekt.delivery.routing.Region;
+
+import java.util.Deque;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the hit and the miss path of a {@link CachedPathCalculator}.<p>
+ *
+ * The hit benchmark only queries end nodes that are already cached. The miss benchmark uses a cache of size one and
+ * alternates between two end nodes, so every query is delegated and evicts the previous entry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CachedPathCalculatorBenchmark {
+
+    private static final int CACHED_ENDS = 16;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int nodeCount;
+
+    private PathCalculator hitCalculator;
+    private PathCalculator missCalculator;
+    private Region.Node[] starts;
+    private Region.Node[] ends;
+    private int query;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Region region = BenchmarkRegions.grid(nodeCount, 1);
+        Region.Node[] nodes = region.getNodes().stream().sorted().toArray(Region.Node[]::new);
+        SplittableRandom random = new SplittableRandom(2);
+
+        starts = new Region.Node[CACHED_ENDS];
+        ends = new Region.Node[CACHED_ENDS];
+        for (int i = 0; i < CACHED_ENDS; i++) {
+            starts[i] = nodes[random.nextInt(nodes.length)];
+            ends[i] = nodes[random.nextInt(nodes.length)];
+        }
+
+        hitCalculator = new CachedPathCalculator(new CompiledDijkstraPathCalculator(), CACHED_ENDS);
+        for (Region.Node end : ends) {
+            hitCalculator.getAllPathsTo(end);
+        }
+        missCalculator = new CachedPathCalculator(new CompiledDijkstraPathCalculator(), 1);
+    }
+
+    @Benchmark
+    public Deque<Region.Node> hit() {
+        int i = query++ & (CACHED_ENDS - 1);
+        return hitCalculator.getPath(starts[i], ends[i]);
+    }
+
+    @Benchmark
+    public Deque<Region.Node> miss() {
+        int i = query++ & 1;
+        return missCalculator.getPath(starts[i], ends[i]);
+    }
+}
@@ -0,0 +1,54 @@
+package projekt.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import projekt.delivery.event.Event;
+import projekt.delivery.event.EventBus;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures posting the {@link Event}s of a tick to an {@link EventBus} and popping them again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventBusBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int eventsPerTick;
+
+    @Param({"true", "false"})
+    public boolean singleWriter;
+
+    private EventBus eventBus;
+    private Event[] events;
+    private long tick;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        EventBus.Builder builder = EventBus.builder().retention(EventBus.Retention.none());
+        eventBus = singleWriter ? builder.singleWriter().build() : builder.build();
+
+        events = new Event[eventsPerTick];
+        for (int i = 0; i < eventsPerTick; i++) {
+            events[i] = Event.of(0);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        eventBus.close();
+    }
+
+    @Benchmark
+    public List<Event> queuePostAndPopEvents() {
+        for (Event event : events) {
+            eventBus.queuePost(event);
+        }
+        return eventBus.popEvents(tick++);
+    }
+}
@@ -0,0 +1,83 @@
+package projekt.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import projekt.delivery.archetype.SyntheticProblemGenerator.Topology;
+import projekt.delivery.routing.*;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link PathCalculator}s on synthetic regions of different sizes and topologies.<p>
+ *
+ * Every invocation calculates the path between the next pair of a fixed sequence of random node pairs, so all
+ * calculators answer the same queries. The preprocessing of a {@link ContractionHierarchyPathCalculator} happens during
+ * the setup and is not measured. The cached calculators are measured with the default cache size, so their results
+ * depend on how many of the queried end nodes fit into the cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathCalculatorBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int nodeCount;
+
+    @Param({"GRID", "RANDOM_GEOMETRIC", "RING_RADIAL"})
+    public Topology topology;
+
+    // the DijkstraPathCalculator is not part of the comparison since it relies on Region.Node#getEdge, which is not
+    // implemented yet
+    @Param({"CompiledDijkstra", "AStar", "ContractionHierarchy", "Cached", "ConcurrentCached"})
+    public String calculator;
+
+    private PathCalculator pathCalculator;
+    private Region.Node[] starts;
+    private Region.Node[] ends;
+    private int query;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Region region = BenchmarkRegions.create(topology, nodeCount, 1);
+        Region.Node[] nodes = region.getNodes().stream().sorted().toArray(Region.Node[]::new);
+        SplittableRandom random = new SplittableRandom(2);
+
+        starts = new Region.Node[QUERIES];
+        ends = new Region.Node[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            starts[i] = nodes[random.nextInt(nodes.length)];
+            ends[i] = nodes[random.nextInt(nodes.length)];
+        }
+
+        pathCalculator = switch (calculator) {
+            case "CompiledDijkstra" -> new CompiledDijkstraPathCalculator();
+            case "AStar" -> new AStarPathCalculator();
+            case "ContractionHierarchy" -> {
+                ContractionHierarchyPathCalculator contractionHierarchy = new ContractionHierarchyPathCalculator();
+                contractionHierarchy.preprocess(region);
+                yield contractionHierarchy;
+            }
+            case "Cached" -> new CachedPathCalculator(new CompiledDijkstraPathCalculator());
+            case "ConcurrentCached" -> new ConcurrentCachedPathCalculator(new CompiledDijkstraPathCalculator());
+            default -> throw new IllegalArgumentException("unknown calculator: " + calculator);
+        };
+    }
+
+    @Benchmark
+    public Deque<Region.Node> getPath() {
+        int i = query++ & (QUERIES - 1);
+        return pathCalculator.getPath(starts[i], ends[i]);
+    }
+
+    @Benchmark
+    public Map<Region.Node, Deque<Region.Node>> getAllPathsTo() {
+        return pathCalculator.getAllPathsTo(ends[query++ & (QUERIES - 1)]);
+    }
+}
@@ -0,0 +1,103 @@
+package projekt.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import projekt.delivery.archetype.ProblemArchetype;
+import projekt.delivery.archetype.ProblemArchetypeImpl;
+import projekt.delivery.generator.FridayOrderGenerator;
+import projekt.delivery.rating.AmountDeliveredRater;
+import projekt.delivery.rating.InTimeRater;
+import projekt.delivery.rating.RatingCriteria;
+import projekt.delivery.routing.CachedPathCalculator;
+import projekt.delivery.routing.CompiledDijkstraPathCalculator;
+import projekt.delivery.routing.Region;
+import projekt.delivery.routing.VehicleManager;
+import projekt.io.BinaryProblemArchetypeIO;
+import projekt.io.ProblemArchetypeIO;
+import projekt.io.RegionIO;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing synthetic problems with {@link RegionIO}, {@link ProblemArchetypeIO} and
+ * {@link BinaryProblemArchetypeIO}.<p>
+ *
+ * The problems are serialized once during the setup. The text formats are parsed from memory, the binary format is
+ * read from a temporary file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProblemArchetypeIOBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int nodeCount;
+
+    private String regionText;
+    private String problemText;
+    private Path problemBinary;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Region region = BenchmarkRegions.grid(nodeCount, 1);
+        VehicleManager.Builder builder = VehicleManager.builder()
+            .region(region)
+            .pathCalculator(new CachedPathCalculator(new CompiledDijkstraPathCalculator()));
+        region.getNodes().stream()
+            .filter(Region.Restaurant.class::isInstance)
+            .forEach(restaurant -> builder.addVehicle(restaurant.getLocation(), 10));
+        VehicleManager vehicleManager = builder.build();
+
+        ProblemArchetype problem = new ProblemArchetypeImpl(
+            FridayOrderGenerator.Factory.builder().setVehicleManager(vehicleManager).build(),
+            vehicleManager,
+            Map.of(
+                RatingCriteria.IN_TIME, InTimeRater.Factory.builder().build(),
+                RatingCriteria.AMOUNT_DELIVERED, AmountDeliveredRater.Factory.builder().build()
+            ),
+            1000,
+            "benchmark" + nodeCount
+        );
+
+        StringWriter regionWriter = new StringWriter();
+        try (BufferedWriter writer = new BufferedWriter(regionWriter)) {
+            RegionIO.writeRegion(writer, region);
+        }
+        regionText = regionWriter.toString();
+
+        StringWriter problemWriter = new StringWriter();
+        try (BufferedWriter writer = new BufferedWriter(problemWriter)) {
+            ProblemArchetypeIO.writeProblemArchetype(writer, problem);
+        }
+        problemText = problemWriter.toString();
+
+        problemBinary = Files.createTempFile("benchmark", BinaryProblemArchetypeIO.FILE_EXTENSION);
+        BinaryProblemArchetypeIO.writeProblemArchetype(problemBinary, problem);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(problemBinary);
+    }
+
+    @Benchmark
+    public Region readRegion() {
+        return RegionIO.readRegion(new BufferedReader(new StringReader(regionText)));
+    }
+
+    @Benchmark
+    public ProblemArchetype readProblemArchetype() {
+        return ProblemArchetypeIO.readProblemArchetype(new BufferedReader(new StringReader(problemText)));
+    }
+
+    @Benchmark
+    public ProblemArchetype readBinaryProblemArchetype() {
+        return BinaryProblemArchetypeIO.readProblemArchetype(problemBinary);
+    }
+}
@@ -0,0 +1,109 @@
+package projekt.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import projekt.base.TickInterval;
+import projekt.delivery.event.ArrivedAtNodeEvent;
+import projekt.delivery.event.DeliverOrderEvent;
+import projekt.delivery.event.Event;
+import projekt.delivery.event.OrderReceivedEvent;
+import projekt.delivery.rating.*;
+import projekt.delivery.routing.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Rater#onTick(List, long)} followed by {@link Rater#getScore()}.<p>
+ *
+ * Every tick consists of the same mix of {@link Event}s: a quarter of received orders, a quarter of delivered orders and
+ * half of vehicles arriving at nodes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RaterBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int nodeCount;
+
+    @Param({"IN_TIME", "AMOUNT_DELIVERED", "TRAVEL_DISTANCE"})
+    public RatingCriteria criterion;
+
+    @Param({"100", "10000"})
+    public int eventsPerTick;
+
+    private Rater rater;
+    private List<Event> events;
+    private long tick;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Region region = BenchmarkRegions.grid(nodeCount, 1);
+        VehicleManager vehicleManager = VehicleManager.builder()
+            .region(region)
+            .pathCalculator(new CachedPathCalculator(new CompiledDijkstraPathCalculator()))
+            .addVehicle(region.getNodes().stream().filter(Region.Restaurant.class::isInstance).sorted().findFirst()
+                .orElseThrow().getLocation(), 10)
+            .build();
+
+        Vehicle vehicle = vehicleManager.getAllVehicles().iterator().next();
+        List<VehicleManager.OccupiedRestaurant> restaurants = vehicleManager.getOccupiedRestaurants().stream()
+            .sorted(Comparator.comparing(restaurant -> restaurant.getComponent().getLocation()))
+            .toList();
+        List<Region.Neighborhood> neighborhoods = region.getNodes().stream()
+            .filter(Region.Neighborhood.class::isInstance)
+            .map(Region.Neighborhood.class::cast)
+            .sorted()
+            .toList();
+        List<Region.Edge> edges = region.getEdges().stream().sorted().toList();
+        SplittableRandom random = new SplittableRandom(4);
+
+        events = new ArrayList<>(eventsPerTick);
+        for (int i = 0; i < eventsPerTick; i++) {
+            switch (i % 4) {
+                case 0, 1 -> {
+                    Region.Edge edge = edges.get(random.nextInt(edges.size()));
+                    events.add(ArrivedAtNodeEvent.of(0, vehicle, edge.getNodeB(), edge));
+                }
+                case 2 -> events.add(OrderReceivedEvent.of(0, createOrder(random, restaurants, neighborhoods)));
+                default -> {
+                    ConfirmedOrder order = createOrder(random, restaurants, neighborhoods);
+                    Region.Neighborhood neighborhood = (Region.Neighborhood) region.getNode(order.getLocation());
+                    order.setActualDeliveryTick(random.nextInt(20));
+                    events.add(DeliverOrderEvent.of(order.getActualDeliveryTick(), vehicle, neighborhood, order));
+                }
+            }
+        }
+
+        rater = switch (criterion) {
+            case IN_TIME -> InTimeRater.Factory.builder().build().create();
+            case AMOUNT_DELIVERED -> AmountDeliveredRater.Factory.builder().build().create();
+            case TRAVEL_DISTANCE -> TravelDistanceRater.Factory.builder().setVehicleManager(vehicleManager).build().create();
+        };
+    }
+
+    private static ConfirmedOrder createOrder(SplittableRandom random,
+                                              List<VehicleManager.OccupiedRestaurant> restaurants,
+                                              List<Region.Neighborhood> neighborhoods) {
+        VehicleManager.OccupiedRestaurant restaurant = restaurants.get(random.nextInt(restaurants.size()));
+        return new ConfirmedOrder(
+            neighborhoods.get(random.nextInt(neighborhoods.size())).getLocation(),
+            restaurant,
+            new TickInterval(5, 15),
+            List.of(restaurant.getComponent().getAvailableFood().get(0)),
+            1
+        );
+    }
+
+    @Benchmark
+    public double onTick() {
+        rater.onTick(events, tick++);
+        return rater.getScore();
+    }
+}
@@ -0,0 +1,84 @@
+package projekt.delivery.routing;
+
+import org.openjdk.jmh.annotations.*;
+import projekt.delivery.archetype.SyntheticProblemGenerator;
+import projekt.delivery.event.Event;
+import projekt.delivery.event.EventBus;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link VehicleManager#tick(long)} with a fleet that drives between random nodes.<p>
+ *
+ * Every vehicle is sent to a random node and, once it arrives, to the next one, so the fleet keeps moving for the whole
+ * benchmark. The {@link EventBus} does not keep a log, so the measured allocations are the ones of a single tick.<p>
+ *
+ * {@link Vehicle#moveDirect(Region.Node, java.util.function.BiConsumer)} is not implemented yet, so the paths are
+ * queued with {@link VehicleImpl#queuePath(java.util.Deque, java.util.function.BiConsumer)}. This is why the benchmark
+ * lives in the package of the {@link VehicleManagerImpl}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VehicleManagerTickBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int nodeCount;
+
+    @Param({"10", "100", "1000"})
+    public int vehicleCount;
+
+    private VehicleManager vehicleManager;
+    private Region.Node[] nodes;
+    private SplittableRandom random;
+    private long tick;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Region region = SyntheticProblemGenerator.builder()
+            .setTopology(SyntheticProblemGenerator.Topology.GRID)
+            .setNodeCount(nodeCount)
+            .setSeed(1)
+            .build()
+            .generateRegion();
+        nodes = region.getNodes().stream().sorted().toArray(Region.Node[]::new);
+        Region.Node[] restaurants = region.getNodes().stream()
+            .filter(Region.Restaurant.class::isInstance)
+            .sorted()
+            .toArray(Region.Node[]::new);
+
+        VehicleManager.Builder builder = VehicleManager.builder()
+            .region(region)
+            .pathCalculator(new CachedPathCalculator(new CompiledDijkstraPathCalculator()))
+            .eventBus(EventBus.builder().singleWriter().retention(EventBus.Retention.none()).build());
+        for (int i = 0; i < vehicleCount; i++) {
+            builder.addVehicle(restaurants[i % restaurants.length].getLocation(), 10);
+        }
+        vehicleManager = builder.build();
+
+        random = new SplittableRandom(3);
+        for (Vehicle vehicle : vehicleManager.getAllVehicles()) {
+            moveToRandomNode(vehicle);
+        }
+    }
+
+    @Benchmark
+    public List<Event> tick() {
+        return vehicleManager.tick(tick++);
+    }
+
+    private void moveToRandomNode(Vehicle vehicle) {
+        Region.Node start = (Region.Node) vehicle.getOccupied().getComponent();
+        Region.Node node;
+        do {
+            node = nodes[random.nextInt(nodes.length)];
+        } while (start.equals(node));
+        ((VehicleImpl) vehicle).queuePath(vehicleManager.getPathCalculator().getPath(start, node),
+            (v, t) -> moveToRandomNode(v));
+    }
+}
@@ -0,0 +1,150 @@
+package projekt.base;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of non-negative durations with a fixed relative precision.<p>
+ *
+ * Like an HdrHistogram, the values are counted in buckets whose width grows with the magnitude of the values. Values
+ * below 64 have their own bucket and every larger power of two range is split into 32 buckets of equal width, so the
+ * value returned for a percentile is at most about 3% larger than the recorded value. Recording a value only
+ * increments a counter and never allocates, so a {@link LatencyHistogram} can record every tick of a simulation.<p>
+ *
+ * A {@link LatencyHistogram} is not thread-safe.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int BUCKET_COUNT = indexOf(Long.MAX_VALUE) + 1;
+
+    private final long[] counts;
+    private long totalCount;
+    private long totalValue;
+    private long max;
+
+    /**
+     * Creates a new, empty {@link LatencyHistogram}.
+     */
+    public LatencyHistogram() {
+        counts = new long[BUCKET_COUNT];
+    }
+
+    private LatencyHistogram(LatencyHistogram histogram) {
+        counts = histogram.counts.clone();
+        totalCount = histogram.totalCount;
+        totalValue = histogram.totalValue;
+        max = histogram.max;
+    }
+
+    /**
+     * Records the given value.
+     * @param value The value to record.
+     * @throws IllegalArgumentException If the value is negative.
+     */
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("value must not be negative: " + value);
+        }
+        counts[indexOf(value)]++;
+        totalCount++;
+        totalValue += value;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Returns the amount of recorded values.
+     * @return The amount of recorded values.
+     */
+    public long getCount() {
+        return totalCount;
+    }
+
+    /**
+     * Returns the largest recorded value.
+     * @return The largest recorded value or 0 if no value has been recorded.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the exact mean of the recorded values.
+     * @return The mean of the recorded values or 0 if no value has been recorded.
+     */
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) totalValue / totalCount;
+    }
+
+    /**
+     * Returns the value below or at which the given percentage of the recorded values lie.<p>
+     *
+     * The returned value is the largest value of the bucket containing the percentile, but never larger than
+     * {@link #getMax()}.
+     *
+     * @param percentile The percentile between 0 and 100, e.g. 99 for the 99th percentile.
+     * @return The value at the given percentile or 0 if no value has been recorded.
+     * @throws IllegalArgumentException If the percentile is not between 0 and 100.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+        }
+        if (totalCount == 0) {
+            return 0;
+        }
+
+        long targetCount = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long count = 0;
+        for (int i = 0; i < counts.length; i++) {
+            count += counts[i];
+            if (count >= targetCount) {
+                return Math.min(highestValueOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Removes all recorded values.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        totalValue = 0;
+        max = 0;
+    }
+
+    /**
+     * Returns a copy of this {@link LatencyHistogram} that is not affected by values recorded later on.
+     * @return The copy of this {@link LatencyHistogram}.
+     */
+    public LatencyHistogram copy() {
+        return new LatencyHistogram(this);
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram(count=%d, p50=%d, p99=%d, max=%d)"
+            .formatted(totalCount, getValueAtPercentile(50), getValueAtPercentile(99), max);
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        // keep the SUB_BUCKET_BITS highest bits of the value
+        int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift);
+    }
+
+    private static long highestValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_HALF_COUNT - 1;
+        long lowestValue = (long) (index % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT) << shift;
+        return lowestValue + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,105 @@
+package projekt.base;
+
+import java.util.SplittableRandom;
+
+/**
+ * An immutable seed from which independent seeds can be derived by a key.<p>
+ *
+ * Deriving a seed only depends on the seed of this {@link SeedSequence} and the given key, but not on how many seeds
+ * have been derived before or by which thread. This way, every simulation can derive its own random streams from a
+ * single master seed, e.g. {@code master.derive(problemIndex).derive(run).derive("orders")}, and the results of
+ * simulations that are executed in parallel are identical to the results of the same simulations executed one after
+ * another.<p>
+ *
+ * The derived seeds are scrambled with the finalizer of SplitMix64, so similar keys result in unrelated seeds.
+ */
+public final class SeedSequence {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long seed;
+
+    private SeedSequence(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Creates a new {@link SeedSequence} with the given master seed.
+     * @param seed The master seed.
+     * @return The created {@link SeedSequence}.
+     */
+    public static SeedSequence of(long seed) {
+        return new SeedSequence(seed);
+    }
+
+    /**
+     * Derives the {@link SeedSequence} of the given key.
+     * @param key The key to derive the {@link SeedSequence} of, e.g. the index of a run.
+     * @return The derived {@link SeedSequence}.
+     */
+    public SeedSequence derive(long key) {
+        return new SeedSequence(mix(seed ^ mix(key + GOLDEN_GAMMA)));
+    }
+
+    /**
+     * Derives the {@link SeedSequence} of the given key.
+     * @param key The key to derive the {@link SeedSequence} of, e.g. the name of a problem or a component.
+     * @return The derived {@link SeedSequence}.
+     */
+    public SeedSequence derive(String key) {
+        // String.hashCode only has 32 bits, so FNV-1a is used to hash the key
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * FNV_PRIME;
+        }
+        return derive(hash);
+    }
+
+    /**
+     * Returns the seed of this {@link SeedSequence}.
+     * @return The seed of this {@link SeedSequence}.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the seed of this {@link SeedSequence} as a non-negative {@code int} for components that only accept
+     * such seeds.
+     * @return The non-negative {@code int} seed.
+     */
+    public int getIntSeed() {
+        return (int) (seed >>> 33);
+    }
+
+    /**
+     * Creates a new {@link SplittableRandom} that is seeded with the seed of this {@link SeedSequence}.
+     * @return The created {@link SplittableRandom}.
+     */
+    public SplittableRandom createRandom() {
+        return new SplittableRandom(seed);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof SeedSequence other && seed == other.seed;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(seed);
+    }
+
+    @Override
+    public String toString() {
+        return "SeedSequence(seed=" + seed + ')';
+    }
+}
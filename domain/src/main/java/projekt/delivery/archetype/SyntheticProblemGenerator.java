@@ -0,0 +1,520 @@
+package projekt.delivery.archetype;
+
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+import projekt.base.SeedSequence;
+import projekt.delivery.generator.FridayOrderGenerator;
+import projekt.delivery.rating.*;
+import projekt.delivery.routing.CachedPathCalculator;
+import projekt.delivery.routing.CompiledDijkstraPathCalculator;
+import projekt.delivery.routing.PathCalculator;
+import projekt.delivery.routing.Region;
+import projekt.delivery.routing.VehicleManager;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Generates large synthetic {@link ProblemArchetype}s for load testing.<p>
+ *
+ * The {@link Region} is built with a {@link Region.Builder} in one of the {@link Topology topologies} and the fleet with
+ * a {@link VehicleManager.Builder}. The restaurants are chosen randomly among all nodes, a share of the remaining nodes
+ * are neighborhoods, and the vehicles start at the restaurants in turn. Every generated component only depends on the
+ * configuration and the seed, so the same configuration always generates the same {@link ProblemArchetype}. The
+ * generated {@link ProblemArchetype}s only consist of components that can be written with the {@code ProblemArchetypeIO}
+ * of the infrastructure module.<p>
+ *
+ * To create a new {@link SyntheticProblemGenerator} use {@code SyntheticProblemGenerator.builder()...build();}.
+ */
+public class SyntheticProblemGenerator {
+
+    /**
+     * The layouts of the streets of a generated {@link Region}.
+     */
+    public enum Topology {
+
+        /**
+         * The nodes form a grid of {@code ceil(sqrt(nodeCount))} columns and are moved by a small random offset. Every
+         * node is connected to its right and lower neighbor.
+         */
+        GRID,
+
+        /**
+         * The nodes are placed uniformly at random and every node is connected to its {@code degree} nearest nodes.
+         * Components that are not connected this way are joined by an edge between their nearest nodes.
+         */
+        RANDOM_GEOMETRIC,
+
+        /**
+         * The nodes lie on concentric rings around a center node, with {@code 6 * i} nodes on the {@code i}-th ring.
+         * Every node is connected to its neighbors on the same ring and to the closest node of the next inner ring.
+         */
+        RING_RADIAL
+    }
+
+    private static final List<Region.Restaurant.Preset> RESTAURANT_PRESETS = List.of(
+        Region.Restaurant.LOS_FOPBOTS_HERMANOS,
+        Region.Restaurant.JAVA_HUT,
+        Region.Restaurant.PASTAFAR,
+        Region.Restaurant.PALPAPIZZA,
+        Region.Restaurant.ISENJAR,
+        Region.Restaurant.MIDDLE_FOP,
+        Region.Restaurant.MOUNT_DOOM_PIZZA
+    );
+
+    private static final int NEIGHBORHOOD = 1;
+    private static final int RESTAURANT = 2;
+
+    public final Topology topology;
+    public final int nodeCount;
+    public final int restaurantCount;
+    public final double neighborhoodShare;
+    public final int spacing;
+    public final int degree;
+    public final int vehicleCount;
+    public final double vehicleCapacity;
+    public final Supplier<? extends PathCalculator> pathCalculatorFactory;
+    public final int orderCount;
+    public final long simulationLength;
+    public final long seed;
+
+    private SyntheticProblemGenerator(FactoryBuilder builder) {
+        this.topology = builder.topology;
+        this.nodeCount = builder.nodeCount;
+        this.restaurantCount = builder.restaurantCount;
+        this.neighborhoodShare = builder.neighborhoodShare;
+        this.spacing = builder.spacing;
+        this.degree = builder.degree;
+        this.vehicleCount = builder.vehicleCount;
+        this.vehicleCapacity = builder.vehicleCapacity;
+        this.pathCalculatorFactory = builder.pathCalculatorFactory;
+        this.orderCount = builder.orderCount;
+        this.simulationLength = builder.simulationLength;
+        this.seed = builder.seed;
+    }
+
+    /**
+     * Creates a new {@link SyntheticProblemGenerator.FactoryBuilder}.
+     * @return The created {@link SyntheticProblemGenerator.FactoryBuilder}.
+     */
+    public static FactoryBuilder builder() {
+        return new FactoryBuilder();
+    }
+
+    /**
+     * Generates a new {@link ProblemArchetype} consisting of a generated {@link VehicleManager}, a matching
+     * {@link FridayOrderGenerator.Factory} and a {@link Rater.Factory} for every {@link RatingCriteria}.
+     * @return The generated {@link ProblemArchetype}.
+     */
+    public ProblemArchetype generateProblemArchetype() {
+        VehicleManager vehicleManager = generateVehicleManager(generateRegion());
+
+        Map<RatingCriteria, Rater.Factory> raterFactoryMap = new EnumMap<>(RatingCriteria.class);
+        raterFactoryMap.put(RatingCriteria.IN_TIME, InTimeRater.Factory.builder().build());
+        raterFactoryMap.put(RatingCriteria.AMOUNT_DELIVERED, AmountDeliveredRater.Factory.builder().build());
+        raterFactoryMap.put(RatingCriteria.TRAVEL_DISTANCE, TravelDistanceRater.Factory.builder()
+            .setVehicleManager(vehicleManager)
+            .build());
+
+        return new ProblemArchetypeImpl(
+            createOrderGeneratorFactory(vehicleManager),
+            vehicleManager,
+            raterFactoryMap,
+            simulationLength,
+            "synthetic-%s-%d-%d".formatted(topology.name().toLowerCase(Locale.ROOT), nodeCount, seed)
+        );
+    }
+
+    /**
+     * Generates a new {@link Region} with the configured {@link Topology}.
+     * @return The generated {@link Region}.
+     */
+    public Region generateRegion() {
+        SplittableRandom random = SeedSequence.of(seed).derive("region").createRandom();
+        Location[] locations = new Location[nodeCount];
+        Set<Long> edges = new LinkedHashSet<>();
+
+        switch (topology) {
+            case GRID -> generateGrid(random, locations, edges);
+            case RANDOM_GEOMETRIC -> generateRandomGeometric(random, locations, edges);
+            case RING_RADIAL -> generateRingRadial(locations, edges);
+        }
+
+        int[] kinds = chooseKinds(SeedSequence.of(seed).derive("kinds").createRandom());
+        Region.Builder builder = Region.builder().distanceCalculator(new EuclideanDistanceCalculator());
+        int restaurant = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            switch (kinds[i]) {
+                case RESTAURANT -> {
+                    Region.Restaurant.Preset preset = RESTAURANT_PRESETS.get(restaurant++ % RESTAURANT_PRESETS.size());
+                    builder.addRestaurant("%s %d".formatted(preset.name(), i), locations[i], preset.availableFoods());
+                }
+                case NEIGHBORHOOD -> builder.addNeighborhood("Neighborhood " + i, locations[i]);
+                default -> builder.addNode("Node " + i, locations[i]);
+            }
+        }
+        for (long edge : edges) {
+            int a = (int) (edge >>> 32);
+            int b = (int) edge;
+            builder.addEdge("Edge %d-%d".formatted(a, b), locations[a], locations[b]);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Generates a new {@link VehicleManager} for the given {@link Region} with the configured fleet. The vehicles start
+     * at the restaurants in the order of their {@link Location}s.
+     * @param region The {@link Region} of the {@link VehicleManager}.
+     * @return The generated {@link VehicleManager}.
+     */
+    public VehicleManager generateVehicleManager(Region region) {
+        List<Location> restaurants = region.getNodes().stream()
+            .filter(Region.Restaurant.class::isInstance)
+            .map(Region.Node::getLocation)
+            .sorted()
+            .toList();
+        if (restaurants.isEmpty() && vehicleCount > 0) {
+            throw new IllegalArgumentException("Region does not contain any restaurants");
+        }
+
+        VehicleManager.Builder builder = VehicleManager.builder()
+            .region(region)
+            .pathCalculator(pathCalculatorFactory.get());
+        for (int i = 0; i < vehicleCount; i++) {
+            builder.addVehicle(restaurants.get(i % restaurants.size()), vehicleCapacity);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Creates a {@link FridayOrderGenerator.Factory} for the given {@link VehicleManager} that places the configured
+     * amount of orders during the first 80% of the simulation. The weight of an order never exceeds the capacity of a
+     * vehicle.
+     * @param vehicleManager The {@link VehicleManager} the orders are created for.
+     * @return The created {@link FridayOrderGenerator.Factory}.
+     */
+    public FridayOrderGenerator.Factory createOrderGeneratorFactory(VehicleManager vehicleManager) {
+        return FridayOrderGenerator.Factory.builder()
+            .setOrderCount(orderCount)
+            .setLastTick(simulationLength * 4 / 5)
+            .setMaxWeight(Math.min(vehicleCapacity, 0.5))
+            .setSeed(SeedSequence.of(seed).derive("orders").getIntSeed())
+            .setVehicleManager(vehicleManager)
+            .build();
+    }
+
+    private void generateGrid(SplittableRandom random, Location[] locations, Set<Long> edges) {
+        int columns = (int) Math.ceil(Math.sqrt(nodeCount));
+        int offset = Math.max(1, spacing / 2);
+
+        for (int i = 0; i < nodeCount; i++) {
+            locations[i] = new Location(
+                (i % columns) * spacing + random.nextInt(offset),
+                (i / columns) * spacing + random.nextInt(offset)
+            );
+            if (i % columns != 0) {
+                edges.add(edge(i - 1, i));
+            }
+            if (i >= columns) {
+                edges.add(edge(i - columns, i));
+            }
+        }
+    }
+
+    private void generateRandomGeometric(SplittableRandom random, Location[] locations, Set<Long> edges) {
+        int cells = (int) Math.ceil(Math.sqrt(nodeCount));
+        int size = cells * spacing;
+        Set<Location> used = new HashSet<>();
+
+        for (int i = 0; i < nodeCount; i++) {
+            Location location;
+            do {
+                location = new Location(random.nextInt(size), random.nextInt(size));
+            } while (!used.add(location));
+            locations[i] = location;
+        }
+
+        // sort the nodes into buckets of spacing * spacing, so the nearest nodes are found without comparing all pairs
+        int[] firstInCell = new int[cells * cells + 1];
+        for (Location location : locations) {
+            firstInCell[cell(location, cells) + 1]++;
+        }
+        for (int i = 0; i < cells * cells; i++) {
+            firstInCell[i + 1] += firstInCell[i];
+        }
+        int[] nodesInCells = new int[nodeCount];
+        int[] next = Arrays.copyOf(firstInCell, cells * cells);
+        for (int i = 0; i < nodeCount; i++) {
+            nodesInCells[next[cell(locations[i], cells)]++] = i;
+        }
+
+        int[] parents = new int[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            parents[i] = i;
+        }
+
+        for (int i = 0; i < nodeCount; i++) {
+            for (int neighbor : findNearest(i, degree, locations, cells, firstInCell, nodesInCells, parents, false)) {
+                edges.add(edge(i, neighbor));
+                union(parents, i, neighbor);
+            }
+        }
+
+        // connect the remaining components to the nearest node of another component until only one is left
+        for (int i = 0; i < nodeCount; i++) {
+            while (find(parents, i) != find(parents, 0)) {
+                int nearest = findNearest(i, 1, locations, cells, firstInCell, nodesInCells, parents, true)[0];
+                edges.add(edge(i, nearest));
+                union(parents, i, nearest);
+            }
+        }
+    }
+
+    private void generateRingRadial(Location[] locations, Set<Long> edges) {
+        locations[0] = new Location(0, 0);
+        int ringStart = 0;
+        int ringSize = 1;
+
+        for (int ring = 1; ringStart + ringSize < nodeCount; ring++) {
+            int innerStart = ringStart;
+            int innerSize = ringSize;
+            ringStart += ringSize;
+            ringSize = Math.min(6 * ring, nodeCount - ringStart);
+            int fullSize = 6 * ring;
+
+            for (int j = 0; j < ringSize; j++) {
+                double angle = 2 * Math.PI * j / fullSize;
+                int i = ringStart + j;
+                locations[i] = new Location(
+                    (int) Math.round(Math.cos(angle) * ring * spacing),
+                    (int) Math.round(Math.sin(angle) * ring * spacing)
+                );
+
+                if (j > 0) {
+                    edges.add(edge(i - 1, i));
+                }
+                edges.add(edge(innerStart + (int) ((long) j * innerSize / fullSize), i));
+            }
+            if (ringSize == fullSize && ringSize > 2) {
+                edges.add(edge(ringStart, ringStart + ringSize - 1));
+            }
+        }
+    }
+
+    private int[] chooseKinds(SplittableRandom random) {
+        int[] nodes = new int[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            nodes[i] = i;
+        }
+        // partial Fisher-Yates shuffle, the first nodes become restaurants and the following ones neighborhoods
+        int restaurants = Math.min(restaurantCount, nodeCount);
+        int neighborhoods = (int) Math.round((nodeCount - restaurants) * neighborhoodShare);
+        for (int i = 0; i < restaurants + neighborhoods; i++) {
+            int j = i + random.nextInt(nodeCount - i);
+            int node = nodes[i];
+            nodes[i] = nodes[j];
+            nodes[j] = node;
+        }
+
+        int[] kinds = new int[nodeCount];
+        for (int i = 0; i < restaurants + neighborhoods; i++) {
+            kinds[nodes[i]] = i < restaurants ? RESTAURANT : NEIGHBORHOOD;
+        }
+        return kinds;
+    }
+
+    /**
+     * Returns the nearest nodes to the given node by searching the cells around it in growing rings.
+     * @param otherComponent If true, only nodes of another component than the given node are considered.
+     */
+    private int[] findNearest(int node, int count, Location[] locations, int cells, int[] firstInCell,
+                              int[] nodesInCells, int[] parents, boolean otherComponent) {
+        Location location = locations[node];
+        int cellX = location.getX() / spacing;
+        int cellY = location.getY() / spacing;
+        int root = find(parents, node);
+        int[] nearest = new int[count];
+        long[] distances = new long[count];
+        int found = 0;
+
+        for (int ring = 0; ring < cells; ring++) {
+            for (int y = cellY - ring; y <= cellY + ring; y++) {
+                for (int x = cellX - ring; x <= cellX + ring; x++) {
+                    boolean onRing = Math.abs(y - cellY) == ring || Math.abs(x - cellX) == ring;
+                    if (!onRing || x < 0 || y < 0 || x >= cells || y >= cells) {
+                        continue;
+                    }
+                    for (int k = firstInCell[y * cells + x]; k < firstInCell[y * cells + x + 1]; k++) {
+                        int other = nodesInCells[k];
+                        if (other == node || otherComponent && find(parents, other) == root) {
+                            continue;
+                        }
+                        long dx = locations[other].getX() - location.getX();
+                        long dy = locations[other].getY() - location.getY();
+                        long distance = dx * dx + dy * dy;
+                        if (found == count && distance >= distances[count - 1]) {
+                            continue;
+                        }
+                        // insertion sort into the nearest nodes found so far
+                        int position = found == count ? count - 1 : found++;
+                        while (position > 0 && distances[position - 1] > distance) {
+                            distances[position] = distances[position - 1];
+                            nearest[position] = nearest[position - 1];
+                            position--;
+                        }
+                        distances[position] = distance;
+                        nearest[position] = other;
+                    }
+                }
+            }
+            // nodes in the next ring are at least ring * spacing away
+            long minDistanceOfNextRing = (long) ring * spacing;
+            if (found == count && distances[count - 1] <= minDistanceOfNextRing * minDistanceOfNextRing) {
+                break;
+            }
+        }
+
+        return Arrays.copyOf(nearest, found);
+    }
+
+    private int cell(Location location, int cells) {
+        return location.getY() / spacing * cells + location.getX() / spacing;
+    }
+
+    private static long edge(int a, int b) {
+        return (long) Math.min(a, b) << 32 | Math.max(a, b);
+    }
+
+    private static int find(int[] parents, int node) {
+        while (parents[node] != node) {
+            parents[node] = parents[parents[node]];
+            node = parents[node];
+        }
+        return node;
+    }
+
+    private static void union(int[] parents, int a, int b) {
+        parents[find(parents, a)] = find(parents, b);
+    }
+
+    /**
+     * A builder for configuring a new {@link SyntheticProblemGenerator}.
+     */
+    public static class FactoryBuilder {
+
+        public Topology topology = Topology.GRID;
+        public int nodeCount = 10_000;
+        public int restaurantCount = -1;
+        public double neighborhoodShare = 0.5;
+        public int spacing = 10;
+        public int degree = 3;
+        public int vehicleCount = 1_000;
+        public double vehicleCapacity = 10;
+        public Supplier<? extends PathCalculator> pathCalculatorFactory =
+            () -> new CachedPathCalculator(new CompiledDijkstraPathCalculator());
+        public int orderCount = 10_000;
+        public long simulationLength = 1_000;
+        public long seed = 0;
+
+        private FactoryBuilder() {}
+
+        public FactoryBuilder setTopology(Topology topology) {
+            this.topology = topology;
+            return this;
+        }
+
+        public FactoryBuilder setNodeCount(int nodeCount) {
+            this.nodeCount = nodeCount;
+            return this;
+        }
+
+        /**
+         * Sets the amount of restaurants. By default, every 50th node is a restaurant.
+         * @param restaurantCount The amount of restaurants.
+         * @return The current {@link FactoryBuilder}.
+         */
+        public FactoryBuilder setRestaurantCount(int restaurantCount) {
+            this.restaurantCount = restaurantCount;
+            return this;
+        }
+
+        public FactoryBuilder setNeighborhoodShare(double neighborhoodShare) {
+            this.neighborhoodShare = neighborhoodShare;
+            return this;
+        }
+
+        public FactoryBuilder setSpacing(int spacing) {
+            this.spacing = spacing;
+            return this;
+        }
+
+        public FactoryBuilder setDegree(int degree) {
+            this.degree = degree;
+            return this;
+        }
+
+        public FactoryBuilder setVehicleCount(int vehicleCount) {
+            this.vehicleCount = vehicleCount;
+            return this;
+        }
+
+        public FactoryBuilder setVehicleCapacity(double vehicleCapacity) {
+            this.vehicleCapacity = vehicleCapacity;
+            return this;
+        }
+
+        public FactoryBuilder setPathCalculatorFactory(Supplier<? extends PathCalculator> pathCalculatorFactory) {
+            this.pathCalculatorFactory = pathCalculatorFactory;
+            return this;
+        }
+
+        public FactoryBuilder setOrderCount(int orderCount) {
+            this.orderCount = orderCount;
+            return this;
+        }
+
+        public FactoryBuilder setSimulationLength(long simulationLength) {
+            this.simulationLength = simulationLength;
+            return this;
+        }
+
+        public FactoryBuilder setSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Constructs a new {@link SyntheticProblemGenerator}.
+         * @return The constructed {@link SyntheticProblemGenerator}.
+         * @throws IllegalArgumentException If the configuration is invalid.
+         */
+        public SyntheticProblemGenerator build() {
+            Objects.requireNonNull(topology, "topology");
+            Objects.requireNonNull(pathCalculatorFactory, "pathCalculatorFactory");
+            if (nodeCount <= 0) {
+                throw new IllegalArgumentException("nodeCount must be positive");
+            }
+            if (restaurantCount < 0) {
+                restaurantCount = Math.max(1, nodeCount / 50);
+            }
+            if (restaurantCount == 0 && vehicleCount > 0) {
+                throw new IllegalArgumentException("vehicles need at least one restaurant to start at");
+            }
+            if (neighborhoodShare < 0 || neighborhoodShare > 1) {
+                throw new IllegalArgumentException("neighborhoodShare must be between 0 and 1");
+            }
+            if (spacing < 2) {
+                throw new IllegalArgumentException("spacing must be at least 2");
+            }
+            if (degree <= 0) {
+                throw new IllegalArgumentException("degree must be positive");
+            }
+            if (vehicleCount < 0 || orderCount < 0 || vehicleCapacity <= 0 || simulationLength <= 0) {
+                throw new IllegalArgumentException("vehicleCount, orderCount, vehicleCapacity and simulationLength must be positive");
+            }
+            return new SyntheticProblemGenerator(this);
+        }
+    }
+}
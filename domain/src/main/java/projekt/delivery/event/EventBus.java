@@ -1,28 +1,81 @@
 package projekt.delivery.event;
 
+import org.jetbrains.annotations.Nullable;
+import projekt.delivery.jfr.EventBusFlushEvent;
+
+import java.io.PrintStream;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * A class for storing all {@link Event}s that occurred during a tick.
+ * A class for storing all {@link Event}s that occurred during a tick.<p>
+ *
+ * The queued {@link Event}s are stored in a preallocated buffer that is reused for every tick and only grows if a tick
+ * produces more {@link Event}s than it can hold. By default, the bus can be used by multiple threads. A bus created with
+ * {@link Builder#singleWriter()} skips all locking and must only be used by a single thread at a time.<p>
+ *
+ * Which popped {@link Event}s are kept in the log is configured by a {@link Retention}. Writing the popped
+ * {@link Event}s to a {@link PrintStream} or spilling them to disk is opt-in and happens asynchronously on a background
+ * thread, so the simulation does not wait for I/O. Such a bus has to be closed with {@link #close()} to write all
+ * remaining {@link Event}s.<p>
+ *
+ * To create a new {@link EventBus} with a non-default configuration use {@code EventBus.builder()...build();}.
  */
-public class EventBus {
+public class EventBus implements AutoCloseable {
+
+    private static final int DEFAULT_CAPACITY = 64;
 
-    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
-    private final List<Event> queuedEvents = new ArrayList<>();
-    private final Map<Long, List<Event>> log = new HashMap<>();
-    private final Map<Long, List<Event>> unmodifiableLog = Collections.unmodifiableMap(log);
+    private final @Nullable ReentrantLock lock;
+    private final Retention retention;
+    private final Map<Long, List<Event>> log;
+    private final Map<Long, List<Event>> unmodifiableLog;
+    private final @Nullable EventLogWriter writer;
+    private Event[] queuedEvents;
+    private int size;
+
+    /**
+     * Creates a new thread-safe {@link EventBus} that keeps all popped {@link Event}s in its log and does not write them
+     * anywhere.
+     */
+    public EventBus() {
+        this(DEFAULT_CAPACITY, false, Retention.all(), null);
+    }
+
+    private EventBus(int capacity, boolean singleWriter, Retention retention, @Nullable PrintStream printStream) {
+        this.lock = singleWriter ? null : new ReentrantLock();
+        this.retention = retention;
+        this.queuedEvents = new Event[capacity];
+        this.log = retention.createLog();
+        this.unmodifiableLog = Collections.unmodifiableMap(log);
+        this.writer = printStream != null || retention.file != null
+            ? new EventLogWriter(printStream, retention.file)
+            : null;
+    }
+
+    /**
+     * Returns a new {@link EventBus.Builder}.
+     * @return A new {@link EventBus.Builder}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
 
     /**
      * Adds an {@link Event} to the bus.
      * @param event The {@link Event} to add.
      */
     public void queuePost(Event event) {
-        lock.readLock().lock();
+        if (lock == null) {
+            add(event);
+            return;
+        }
+
+        lock.lock();
         try {
-            queuedEvents.add(event);
+            add(event);
         } finally {
-            lock.readLock().unlock();
+            lock.unlock();
         }
     }
 
@@ -31,11 +84,16 @@ public class EventBus {
      * @param events The {@link Event}s to add.
      */
     public void queuePost(Collection<Event> events) {
-        lock.readLock().lock();
+        if (lock == null) {
+            addAll(events);
+            return;
+        }
+
+        lock.lock();
         try {
-            queuedEvents.addAll(events);
+            addAll(events);
         } finally {
-            lock.readLock().unlock();
+            lock.unlock();
         }
     }
 
@@ -45,31 +103,258 @@ public class EventBus {
      * @return All {@link Event}s that have been added since the last time this bus has been cleared
      */
     public List<Event> popEvents(long tick) {
-        // is not a read lock because the queue has to be cleared too
-        lock.writeLock().lock();
-        try {
-            log.put(tick, queuedEvents);
-            System.out.printf("Tick: %s - %s\n", tick, queuedEvents);
-            List<Event> copy = new ArrayList<>(queuedEvents);
-            clear();
-            return copy;
-        } finally {
-            lock.writeLock().unlock();
+        EventBusFlushEvent flushEvent = new EventBusFlushEvent();
+        flushEvent.begin();
+        List<Event> events;
+        if (lock == null) {
+            events = pop(tick);
+        } else {
+            lock.lock();
+            try {
+                events = pop(tick);
+            } finally {
+                lock.unlock();
+            }
         }
+        flushEvent.commit(tick, events.size());
+        return events;
     }
 
     /**
      * Removes all added {@link Event}s.
      */
     public void clear() {
-        queuedEvents.clear();
+        // drop the references so that the events of previous ticks can be collected
+        Arrays.fill(queuedEvents, 0, size, null);
+        size = 0;
     }
 
     /**
-     * Returns a log of this bus.
+     * Returns a log of this bus.<p>
+     *
+     * Which ticks are contained depends on the {@link Retention} of this bus.
+     *
      * @return A log of this bus containing all {@link Event}s popped at a specific tick.
      */
     public Map<Long, List<Event>> getLog() {
         return unmodifiableLog;
     }
+
+    /**
+     * Returns the {@link Retention} of the log of this bus.
+     * @return The {@link Retention} of the log of this bus.
+     */
+    public Retention getRetention() {
+        return retention;
+    }
+
+    /**
+     * Waits until all popped {@link Event}s have been written and releases the resources used for writing them.<p>
+     *
+     * Does nothing if this bus does not write its {@link Event}s.
+     */
+    @Override
+    public void close() {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    private void add(Event event) {
+        if (size == queuedEvents.length) {
+            queuedEvents = Arrays.copyOf(queuedEvents, size * 2);
+        }
+        queuedEvents[size++] = event;
+    }
+
+    private void addAll(Collection<Event> events) {
+        if (size + events.size() > queuedEvents.length) {
+            queuedEvents = Arrays.copyOf(queuedEvents, Math.max(size + events.size(), size * 2));
+        }
+        for (Event event : events) {
+            queuedEvents[size++] = event;
+        }
+    }
+
+    private List<Event> pop(long tick) {
+        List<Event> events = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            events.add(queuedEvents[i]);
+        }
+
+        if (retention.keepsLog() || writer != null) {
+            // the log gets its own copy, so changes to the returned list do not modify it
+            List<Event> snapshot = List.copyOf(events);
+            if (retention.keepsLog()) {
+                log.put(tick, snapshot);
+            }
+            if (writer != null) {
+                writer.write(tick, snapshot);
+            }
+        }
+
+        clear();
+        return events;
+    }
+
+    /**
+     * Determines which popped {@link Event}s are kept by an {@link EventBus}.
+     */
+    public static final class Retention {
+
+        private static final Retention NONE = new Retention(0, null);
+        private static final Retention ALL = new Retention(Integer.MAX_VALUE, null);
+
+        private final int ticks;
+        private final @Nullable Path file;
+
+        private Retention(int ticks, @Nullable Path file) {
+            this.ticks = ticks;
+            this.file = file;
+        }
+
+        /**
+         * Returns a {@link Retention} that does not keep any {@link Event}s.
+         * @return A {@link Retention} that keeps nothing.
+         */
+        public static Retention none() {
+            return NONE;
+        }
+
+        /**
+         * Returns a {@link Retention} that keeps all {@link Event}s in memory.
+         * @return A {@link Retention} that keeps everything.
+         */
+        public static Retention all() {
+            return ALL;
+        }
+
+        /**
+         * Returns a {@link Retention} that keeps the {@link Event}s of the given amount of most recently popped ticks
+         * in memory.
+         * @param ticks The amount of ticks to keep.
+         * @return A {@link Retention} that keeps the last ticks.
+         */
+        public static Retention lastTicks(int ticks) {
+            if (ticks <= 0) {
+                throw new IllegalArgumentException("ticks must be positive");
+            }
+            return new Retention(ticks, null);
+        }
+
+        /**
+         * Returns a {@link Retention} that appends all {@link Event}s to the given file instead of keeping them in
+         * memory. An existing file is overwritten.
+         * @param file The file to write the {@link Event}s to.
+         * @return A {@link Retention} that spills to disk.
+         */
+        public static Retention spillToDisk(Path file) {
+            return new Retention(0, Objects.requireNonNull(file, "file"));
+        }
+
+        /**
+         * Returns the maximum amount of ticks kept in memory.
+         * @return The amount of ticks kept in memory, {@link Integer#MAX_VALUE} if all ticks are kept.
+         */
+        public int getTicks() {
+            return ticks;
+        }
+
+        /**
+         * Returns the file the {@link Event}s are written to.
+         * @return The file the {@link Event}s are written to or null if they are not written to disk.
+         */
+        public @Nullable Path getFile() {
+            return file;
+        }
+
+        private boolean keepsLog() {
+            return ticks > 0;
+        }
+
+        private Map<Long, List<Event>> createLog() {
+            if (ticks == Integer.MAX_VALUE || ticks == 0) {
+                return new HashMap<>();
+            }
+            return new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, List<Event>> eldest) {
+                    return size() > ticks;
+                }
+            };
+        }
+
+        @Override
+        public String toString() {
+            if (file != null) {
+                return "Retention(file=" + file + ')';
+            }
+            return "Retention(ticks=" + ticks + ')';
+        }
+    }
+
+    /**
+     * A builder for constructing a new {@link EventBus}.
+     */
+    public static class Builder {
+
+        private int capacity = DEFAULT_CAPACITY;
+        private boolean singleWriter = false;
+        private Retention retention = Retention.all();
+        private @Nullable PrintStream printStream;
+
+        private Builder() {}
+
+        /**
+         * Sets the initial amount of {@link Event}s per tick the constructed {@link EventBus} can hold without growing.
+         * @param capacity The initial capacity.
+         * @return The current {@link Builder}.
+         */
+        public Builder capacity(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("capacity must be positive");
+            }
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Removes all locking from the constructed {@link EventBus}. It must then only be used by a single thread at
+         * a time.
+         * @return The current {@link Builder}.
+         */
+        public Builder singleWriter() {
+            this.singleWriter = true;
+            return this;
+        }
+
+        /**
+         * Sets the {@link Retention} of the log of the constructed {@link EventBus}.
+         * @param retention The new {@link Retention}.
+         * @return The current {@link Builder}.
+         */
+        public Builder retention(Retention retention) {
+            this.retention = Objects.requireNonNull(retention, "retention");
+            return this;
+        }
+
+        /**
+         * Lets the constructed {@link EventBus} asynchronously print all popped {@link Event}s to the given
+         * {@link PrintStream}.
+         * @param printStream The {@link PrintStream} to print to, e.g. {@link System#out}.
+         * @return The current {@link Builder}.
+         */
+        public Builder logTo(PrintStream printStream) {
+            this.printStream = printStream;
+            return this;
+        }
+
+        /**
+         * Constructs the {@link EventBus}.
+         * @return The constructed {@link EventBus}.
+         */
+        public EventBus build() {
+            return new EventBus(capacity, singleWriter, retention, printStream);
+        }
+    }
 }
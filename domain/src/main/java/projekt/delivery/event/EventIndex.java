@@ -0,0 +1,95 @@
+package projekt.delivery.event;
+
+import java.util.*;
+
+/**
+ * Groups the {@link Event}s of a tick by a fixed set of event types.<p>
+ *
+ * {@link #index(List)} sorts every {@link Event} into the bucket of each indexed type it is an instance of in a single
+ * pass, so the {@link Event}s of a type can be retrieved with {@link #get(Class)} without filtering the whole list.
+ * Which indexed types the class of an {@link Event} matches is only determined once per class. The {@link Event}s in a
+ * bucket keep their original order.<p>
+ *
+ * An {@link EventIndex} is meant to be reused for every tick and must only be used by a single thread at a time.
+ */
+public class EventIndex {
+
+    private static final int[] NO_TYPES = new int[0];
+
+    private final List<Class<? extends Event>> types;
+    private final Map<Class<?>, int[]> matchingTypes = new HashMap<>();
+    private final List<List<Event>> buckets;
+
+    /**
+     * Creates a new {@link EventIndex} for the given event types.
+     * @param types The types of {@link Event}s to index.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // the array is only read by List.of, which is safe as well
+    public EventIndex(Class<? extends Event>... types) {
+        this(List.of(types));
+    }
+
+    /**
+     * Creates a new {@link EventIndex} for the given event types.
+     * @param types The types of {@link Event}s to index.
+     */
+    public EventIndex(Collection<? extends Class<? extends Event>> types) {
+        this.types = List.copyOf(new LinkedHashSet<>(types));
+        this.buckets = new ArrayList<>(Collections.nCopies(this.types.size(), List.of()));
+    }
+
+    /**
+     * Returns the indexed event types.
+     * @return The indexed event types.
+     */
+    public List<Class<? extends Event>> getTypes() {
+        return types;
+    }
+
+    /**
+     * Replaces the indexed {@link Event}s with the given {@link Event}s.
+     * @param events The {@link Event}s to index.
+     */
+    public void index(List<? extends Event> events) {
+        Collections.fill(buckets, List.of());
+
+        for (Event event : events) {
+            for (int type : matchingTypes.computeIfAbsent(event.getClass(), this::findMatchingTypes)) {
+                List<Event> bucket = buckets.get(type);
+                if (bucket.isEmpty()) {
+                    bucket = new ArrayList<>();
+                    buckets.set(type, bucket);
+                }
+                bucket.add(event);
+            }
+        }
+    }
+
+    /**
+     * Returns all indexed {@link Event}s that are instances of the given type.
+     * @param type The type of the {@link Event}s to return.
+     * @param <E> The type of the {@link Event}s to return.
+     * @return An unmodifiable {@link List} containing all indexed {@link Event}s of the given type.
+     * @throws IllegalArgumentException If the given type is not indexed by this {@link EventIndex}.
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends Event> List<E> get(Class<E> type) {
+        int index = types.indexOf(type);
+        if (index == -1) {
+            throw new IllegalArgumentException("Event type %s is not indexed".formatted(type.getName()));
+        }
+        return Collections.unmodifiableList((List<E>) buckets.get(index));
+    }
+
+    private int[] findMatchingTypes(Class<?> eventClass) {
+        int[] matching = new int[types.size()];
+        int count = 0;
+        for (int i = 0; i < types.size(); i++) {
+            if (types.get(i).isAssignableFrom(eventClass)) {
+                matching[count++] = i;
+            }
+        }
+        return count == 0 ? NO_TYPES : Arrays.copyOf(matching, count);
+    }
+}
@@ -0,0 +1,93 @@
+package projekt.delivery.event;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the {@link Event}s popped by an {@link EventBus} on a background thread.<p>
+ *
+ * Every tick is written as one line in the format {@code Tick: <tick> - <events>}.
+ */
+class EventLogWriter {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "EventLogWriter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final @Nullable PrintStream printStream;
+    private final @Nullable BufferedWriter fileWriter;
+    private volatile @Nullable IOException failure;
+
+    EventLogWriter(@Nullable PrintStream printStream, @Nullable Path file) {
+        this.printStream = printStream;
+        try {
+            this.fileWriter = file != null ? Files.newBufferedWriter(file) : null;
+        } catch (IOException e) {
+            executor.shutdown();
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Queues the given {@link Event}s for writing.
+     * @param tick The tick the {@link Event}s have been popped at.
+     * @param events The immutable list of popped {@link Event}s.
+     */
+    void write(long tick, List<Event> events) {
+        executor.execute(() -> {
+            String line = "Tick: %s - %s".formatted(tick, events);
+
+            if (printStream != null) {
+                printStream.println(line);
+            }
+            if (fileWriter != null && failure == null) {
+                try {
+                    fileWriter.write(line);
+                    fileWriter.newLine();
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+        });
+    }
+
+    /**
+     * Waits until all queued {@link Event}s have been written and closes the file.
+     */
+    void close() {
+        if (executor.isShutdown()) {
+            return;
+        }
+        executor.shutdown();
+
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            if (fileWriter != null) {
+                fileWriter.close();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        if (failure != null) {
+            throw new RuntimeException(failure);
+        }
+        if (printStream != null) {
+            printStream.flush();
+        }
+    }
+}
@@ -1,32 +1,53 @@
 package projekt.delivery.generator;
 
+import org.jetbrains.annotations.Nullable;
+import projekt.base.Location;
 import projekt.base.TickInterval;
 import projekt.delivery.routing.ConfirmedOrder;
-import projekt.delivery.routing.Region;
 import projekt.delivery.routing.VehicleManager;
 
 import java.util.*;
 
-import static org.tudalgo.algoutils.student.Student.crash;
-
 /**
  * An implementation of an {@link OrderGenerator} that represents the incoming orders on an average friday evening.
  * The incoming orders follow a normal distribution.<p>
  *
+ * The ticks of all orders are drawn when the {@link FridayOrderGenerator} is created and stored sorted by tick in a
+ * primitive array together with a seed for every order. The orders of a tick are only created when they are requested
+ * for the first time, and ticks without orders return a shared empty list. Generating all orders therefore takes
+ * {@code O(orderCount + lastTick)} time, no matter how often {@link #generateOrders(long)} is called.<p>
+ *
  * To create a new {@link FridayOrderGenerator} use {@code FridayOrderGenerator.Factory.builder()...build();}.
  */
 public class FridayOrderGenerator implements OrderGenerator {
 
-    private final Random random;
-
-    private int orderCount;
-    private VehicleManager vehicleManager;
-    private int deliveryInterval;
-    private double maxWeight;
-    private double standardDeviation;
-    private long lastTick;
-    private int seed;
+    /**
+     * The maximum amount of food in a created order.
+     */
+    private static final int MAX_FOOD_COUNT = 9;
 
+    private final int orderCount;
+    private final VehicleManager vehicleManager;
+    private final int deliveryInterval;
+    private final double maxWeight;
+    private final double standardDeviation;
+    private final long lastTick;
+    private final int seed;
+    /**
+     * The index of the first order of every tick in {@link #orderSeeds}. The orders of tick {@code t} are stored in
+     * the range {@code [firstOrder[t], firstOrder[t + 1])}.
+     */
+    private final int[] firstOrder;
+    /**
+     * The seeds the orders are created from, sorted by their tick.
+     */
+    private final long[] orderSeeds;
+    /**
+     * The orders of every tick once they have been created or null.
+     */
+    private final List<@Nullable List<ConfirmedOrder>> ordersByTick;
+    private @Nullable List<VehicleManager.OccupiedRestaurant> restaurants;
+    private @Nullable List<Location> neighborhoods;
 
     /**
      * Creates a new {@link FridayOrderGenerator} with the given parameters.
@@ -35,24 +56,20 @@ public class FridayOrderGenerator implements OrderGenerator {
      * @param vehicleManager The {@link VehicleManager} this {@link OrderGenerator} will create orders for.
      * @param deliveryInterval The amount of ticks between the start and end tick of the deliveryInterval of the created orders.
      * @param maxWeight The maximum weight of a created order.
-     * @param standardDeviation The standardDeviation of the normal distribution.
+     * @param standardDeviation The standardDeviation of the normal distribution relative to the last tick.
      * @param lastTick The last tick this {@link OrderGenerator} can return a non-empty list.
-     * @param seed The seed for the used {@link Random} instance. If negative a random seed will be used.
+     * @param seed The seed for the used {@link SplittableRandom} instance. If negative a random seed will be used.
      */
     private FridayOrderGenerator(int orderCount, VehicleManager vehicleManager, int deliveryInterval, double maxWeight, double standardDeviation, long lastTick, int seed) {
-        //random = seed < 0 ? new Random() : new Random(seed);
         if (orderCount <= 0 || deliveryInterval <= 0 || maxWeight <= 0 || standardDeviation <= 0 || lastTick <= 0) {
             throw new IllegalArgumentException("");
         }
         if (vehicleManager == null) {
             throw new NullPointerException("");
         }
-        if (seed < 0) {
-            random = new Random();
-        } else {
-            random = new Random(seed);
+        if (lastTick >= Integer.MAX_VALUE - 1) {
+            throw new IllegalArgumentException("lastTick is too large: " + lastTick);
         }
-        //ghstw
         this.orderCount = orderCount;
         this.vehicleManager = vehicleManager;
         this.deliveryInterval = deliveryInterval;
@@ -60,6 +77,37 @@ public class FridayOrderGenerator implements OrderGenerator {
         this.standardDeviation = standardDeviation;
         this.lastTick = lastTick;
         this.seed = seed;
+
+        SplittableRandom random = seed < 0 ? new SplittableRandom() : new SplittableRandom(seed);
+        int tickCount = (int) lastTick + 1;
+        int[] ticks = new int[orderCount];
+        long[] seeds = new long[orderCount];
+        firstOrder = new int[tickCount + 1];
+
+        // draw the tick and the seed of every order, ticks outside [0, lastTick] are drawn again
+        double mean = lastTick / 2.0;
+        double deviation = standardDeviation * lastTick;
+        for (int i = 0; i < orderCount; i++) {
+            double tick;
+            do {
+                tick = Math.floor(mean + random.nextGaussian() * deviation);
+            } while (tick < 0 || tick > lastTick);
+            ticks[i] = (int) tick;
+            seeds[i] = random.nextLong();
+            firstOrder[ticks[i] + 1]++;
+        }
+
+        // sort the seeds by tick with a counting sort
+        for (int tick = 0; tick < tickCount; tick++) {
+            firstOrder[tick + 1] += firstOrder[tick];
+        }
+        orderSeeds = new long[orderCount];
+        int[] next = Arrays.copyOf(firstOrder, tickCount);
+        for (int i = 0; i < orderCount; i++) {
+            orderSeeds[next[ticks[i]]++] = seeds[i];
+        }
+
+        ordersByTick = new ArrayList<>(Collections.nCopies(tickCount, null));
     }
 
     @Override
@@ -70,10 +118,69 @@ public class FridayOrderGenerator implements OrderGenerator {
         if (tick > lastTick) {
             return Collections.emptyList();
         }
-        List<ConfirmedOrder> orders = new ArrayList<>();
+
+        int index = (int) tick;
+        List<ConfirmedOrder> orders = ordersByTick.get(index);
+        if (orders == null) {
+            orders = createOrders(index);
+            ordersByTick.set(index, orders);
+        }
         return orders;
     }
 
+    private List<ConfirmedOrder> createOrders(int tick) {
+        int from = firstOrder[tick];
+        int to = firstOrder[tick + 1];
+        if (from == to) {
+            return Collections.emptyList();
+        }
+
+        ConfirmedOrder[] orders = new ConfirmedOrder[to - from];
+        for (int i = from; i < to; i++) {
+            orders[i - from] = createOrder(tick, i);
+        }
+        return List.of(orders);
+    }
+
+    /**
+     * Creates the order with the given index. All its properties are drawn from its own seed, so they do not depend
+     * on the order in which the ticks are requested.
+     */
+    private ConfirmedOrder createOrder(int tick, int index) {
+        if (restaurants == null || neighborhoods == null) {
+            restaurants = vehicleManager.getOccupiedRestaurants().stream()
+                .sorted(Comparator.comparing(VehicleManager.Occupied::getComponent))
+                .toList();
+            neighborhoods = vehicleManager.getOccupiedNeighborhoods().stream()
+                .map(neighborhood -> neighborhood.getComponent().getLocation())
+                .sorted()
+                .toList();
+        }
+        if (restaurants.isEmpty() || neighborhoods.isEmpty()) {
+            throw new IllegalStateException("Orders can only be created for regions with restaurants and neighborhoods");
+        }
+
+        SplittableRandom random = new SplittableRandom(orderSeeds[index]);
+        VehicleManager.OccupiedRestaurant restaurant = restaurants.get(random.nextInt(restaurants.size()));
+        Location location = neighborhoods.get(random.nextInt(neighborhoods.size()));
+        List<String> availableFood = restaurant.getComponent().getAvailableFood();
+
+        String[] food = new String[availableFood.isEmpty() ? 0 : random.nextInt(1, MAX_FOOD_COUNT + 1)];
+        for (int i = 0; i < food.length; i++) {
+            food[i] = availableFood.get(random.nextInt(availableFood.size()));
+        }
+
+        return new ConfirmedOrder(
+            location,
+            restaurant,
+            new TickInterval(tick, tick + deliveryInterval),
+            List.of(food),
+            random.nextDouble() * maxWeight,
+            // the index is unique within this generator, so the IDs do not depend on other simulations
+            index
+        );
+    }
+
     /**
      * A {@link OrderGenerator.Factory} for creating a new {@link FridayOrderGenerator}.
      */
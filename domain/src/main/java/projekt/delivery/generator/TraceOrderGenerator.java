@@ -0,0 +1,343 @@
+package projekt.delivery.generator;
+
+import org.jetbrains.annotations.Nullable;
+import projekt.base.Location;
+import projekt.base.TickInterval;
+import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.VehicleManager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * An implementation of an {@link OrderGenerator} that replays the orders of a binary order trace.<p>
+ *
+ * The trace is memory-mapped, so creating a {@link TraceOrderGenerator} does not read the orders and the orders of a
+ * tick are only read from the file when they are requested. Traces larger than the heap can therefore be replayed
+ * without delay. The orders of the most recently requested ticks are cached, so requesting a tick again returns the
+ * same {@link ConfirmedOrder} objects including their actual delivery tick. The cache holds at most
+ * {@value #MAX_CACHED_ORDERS} orders, only the orders of ticks that have not been requested for a long time are
+ * read from the file again.<p>
+ *
+ * A trace consists of a header, a tick index and the records of all orders sorted by tick. All values are big-endian.
+ * <pre>
+ * header:     int magic ({@value #MAGIC}), int version ({@value #VERSION}), long recordCount, long tickCount
+ * tick index: long[tickCount + 1], the index of the first record of every tick followed by recordCount
+ * record:     long tick, int x, int y, int restaurant, double weight, int deliveryStart, int deliveryEnd
+ * </pre>
+ * The restaurant of a record is the index of the {@link VehicleManager.OccupiedRestaurant} in the order of their
+ * {@link Location}s. The delivery interval is stored relative to the tick of the record. The ID of an order is the
+ * index of its record.<p>
+ *
+ * To create a new {@link TraceOrderGenerator} use {@code TraceOrderGenerator.Factory.builder()...build();}. Traces
+ * can be recorded from any other {@link OrderGenerator} with {@link #writeTrace(Path, OrderGenerator, long, VehicleManager)}.
+ */
+public class TraceOrderGenerator implements OrderGenerator {
+
+    /**
+     * The magic number every trace starts with.
+     */
+    public static final int MAGIC = 0x4F524454;
+
+    /**
+     * The version of the trace format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The maximum amount of orders kept in the cache. The orders of the most recently requested tick are always kept.
+     */
+    static final int MAX_CACHED_ORDERS = 1 << 16;
+
+    static final int HEADER_SIZE = 24;
+    static final int RECORD_SIZE = 36;
+
+    /**
+     * The amount of records mapped by a single {@link MappedByteBuffer}, which can hold at most 2 GB.
+     */
+    private static final int RECORDS_PER_SEGMENT = (1 << 30) / RECORD_SIZE;
+
+    private final List<VehicleManager.OccupiedRestaurant> restaurants;
+    private final long recordCount;
+    private final long tickCount;
+    private final MappedByteBuffer index;
+    private final MappedByteBuffer[] segments;
+    /**
+     * The generated orders by their tick, ordered from the least to the most recently requested tick.
+     */
+    private final Map<Long, List<ConfirmedOrder>> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private int cachedOrders;
+
+    /**
+     * Creates a new {@link TraceOrderGenerator} that replays the given trace.
+     * @param file The trace to replay.
+     * @param vehicleManager The {@link VehicleManager} this {@link OrderGenerator} will create orders for.
+     * @throws IllegalArgumentException If the file is not a valid trace.
+     */
+    private TraceOrderGenerator(Path file, VehicleManager vehicleManager) {
+        this.restaurants = vehicleManager.getOccupiedRestaurants().stream()
+            .sorted(Comparator.comparing(restaurant -> restaurant.getComponent().getLocation()))
+            .toList();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IllegalArgumentException("%s is not an order trace".formatted(file));
+            }
+
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt(0) != MAGIC) {
+                throw new IllegalArgumentException("%s is not an order trace".formatted(file));
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IllegalArgumentException("Unsupported version of order trace %s: %d".formatted(file, header.getInt(4)));
+            }
+            recordCount = header.getLong(8);
+            tickCount = header.getLong(16);
+
+            long indexSize = (tickCount + 1) * Long.BYTES;
+            if (recordCount < 0 || recordCount > Integer.MAX_VALUE || tickCount < 0 || indexSize > Integer.MAX_VALUE
+                || channel.size() != HEADER_SIZE + indexSize + recordCount * RECORD_SIZE) {
+                throw new IllegalArgumentException("Order trace %s is corrupted".formatted(file));
+            }
+
+            // mapping does not read the file, the pages are loaded by the operating system once they are accessed
+            index = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, indexSize);
+            // the index is small compared to the records, checking it once keeps generateOrders from reading outside the trace
+            long previous = 0;
+            for (int tick = 0; tick <= tickCount; tick++) {
+                long first = index.getLong(tick * Long.BYTES);
+                if (first < previous || first > recordCount) {
+                    throw new IllegalArgumentException("Order trace %s is corrupted: invalid index %d of tick %d"
+                        .formatted(file, first, tick));
+                }
+                previous = first;
+            }
+            if (previous != recordCount) {
+                throw new IllegalArgumentException("Order trace %s is corrupted: index ends at %d instead of %d"
+                    .formatted(file, previous, recordCount));
+            }
+            segments = new MappedByteBuffer[(int) ((recordCount + RECORDS_PER_SEGMENT - 1) / RECORDS_PER_SEGMENT)];
+            long recordsStart = HEADER_SIZE + indexSize;
+            for (int i = 0; i < segments.length; i++) {
+                long first = (long) i * RECORDS_PER_SEGMENT;
+                long size = Math.min(RECORDS_PER_SEGMENT, recordCount - first) * RECORD_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, recordsStart + first * RECORD_SIZE, size);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public List<ConfirmedOrder> generateOrders(long tick) {
+        if (tick < 0) {
+            throw new IndexOutOfBoundsException(tick);
+        }
+        if (tick >= tickCount) {
+            return Collections.emptyList();
+        }
+        List<ConfirmedOrder> cached = cache.get(tick);
+        if (cached != null) {
+            return cached;
+        }
+
+        int from = (int) index.getLong((int) tick * Long.BYTES);
+        int to = (int) index.getLong((int) (tick + 1) * Long.BYTES);
+        if (from == to) {
+            return Collections.emptyList();
+        }
+
+        ConfirmedOrder[] array = new ConfirmedOrder[to - from];
+        for (int i = from; i < to; i++) {
+            array[i - from] = readOrder(i);
+        }
+        List<ConfirmedOrder> orders = List.of(array);
+        cache(tick, orders);
+        return orders;
+    }
+
+    private void cache(long tick, List<ConfirmedOrder> orders) {
+        cache.put(tick, orders);
+        cachedOrders += orders.size();
+
+        Iterator<List<ConfirmedOrder>> iterator = cache.values().iterator();
+        while (cachedOrders > MAX_CACHED_ORDERS && cache.size() > 1) {
+            cachedOrders -= iterator.next().size();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Returns the amount of orders in the replayed trace.
+     * @return The amount of orders.
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Returns the amount of ticks in the replayed trace, i.e. the last recorded tick plus one.
+     * @return The amount of ticks.
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    private ConfirmedOrder readOrder(int record) {
+        ByteBuffer segment = segments[record / RECORDS_PER_SEGMENT];
+        int offset = (record % RECORDS_PER_SEGMENT) * RECORD_SIZE;
+
+        long tick = segment.getLong(offset);
+        Location location = new Location(segment.getInt(offset + 8), segment.getInt(offset + 12));
+        int restaurant = segment.getInt(offset + 16);
+        double weight = segment.getDouble(offset + 20);
+        TickInterval deliveryInterval = new TickInterval(
+            tick + segment.getInt(offset + 28),
+            tick + segment.getInt(offset + 32)
+        );
+
+        if (restaurant < 0 || restaurant >= restaurants.size()) {
+            throw new IllegalStateException("Order %d refers to restaurant %d, but the region only has %d restaurants"
+                .formatted(record, restaurant, restaurants.size()));
+        }
+
+        return new ConfirmedOrder(location, restaurants.get(restaurant), deliveryInterval, List.of(), weight, record);
+    }
+
+    /**
+     * Records the orders the given {@link OrderGenerator} creates in the ticks {@code [0, lastTick]} to a trace.<p>
+     *
+     * An existing file is overwritten. The food of the orders is not recorded.
+     *
+     * @param file The file to write the trace to.
+     * @param generator The {@link OrderGenerator} to record.
+     * @param lastTick The last tick to record.
+     * @param vehicleManager The {@link VehicleManager} the {@link OrderGenerator} creates orders for.
+     */
+    public static void writeTrace(Path file, OrderGenerator generator, long lastTick, VehicleManager vehicleManager) {
+        Map<Location, Integer> restaurants = new HashMap<>();
+        vehicleManager.getOccupiedRestaurants().stream()
+            .map(restaurant -> restaurant.getComponent().getLocation())
+            .sorted()
+            .forEach(location -> restaurants.put(location, restaurants.size()));
+
+        long tickCount = lastTick + 1;
+        long indexSize = (tickCount + 1) * Long.BYTES;
+        if (indexSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("lastTick is too large: " + lastTick);
+        }
+
+        try (FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            ByteBuffer index = ByteBuffer.allocate((int) indexSize);
+            ByteBuffer records = ByteBuffer.allocate(RECORD_SIZE * 1024);
+            long recordCount = 0;
+            channel.position(HEADER_SIZE + indexSize);
+
+            for (long tick = 0; tick < tickCount; tick++) {
+                index.putLong(recordCount);
+
+                for (ConfirmedOrder order : generator.generateOrders(tick)) {
+                    @Nullable Integer restaurant = restaurants.get(order.getRestaurant().getComponent().getLocation());
+                    if (restaurant == null) {
+                        throw new IllegalArgumentException("Order %d was placed at an unknown restaurant".formatted(order.getOrderID()));
+                    }
+
+                    records.putLong(tick)
+                        .putInt(order.getX())
+                        .putInt(order.getY())
+                        .putInt(restaurant)
+                        .putDouble(order.getWeight())
+                        .putInt(Math.toIntExact(order.getDeliveryInterval().start() - tick))
+                        .putInt(Math.toIntExact(order.getDeliveryInterval().end() - tick));
+                    recordCount++;
+
+                    if (!records.hasRemaining()) {
+                        writeFully(channel, records.flip());
+                        records.clear();
+                    }
+                }
+            }
+            index.putLong(recordCount);
+            writeFully(channel, records.flip());
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putLong(recordCount)
+                .putLong(tickCount);
+            channel.position(0);
+            writeFully(channel, header.flip());
+            writeFully(channel, index.flip());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * A {@link OrderGenerator.Factory} for creating a new {@link TraceOrderGenerator}.
+     */
+    public static class Factory implements OrderGenerator.Factory {
+
+        public final Path file;
+        public final VehicleManager vehicleManager;
+
+        private Factory(Path file, VehicleManager vehicleManager) {
+            this.file = file;
+            this.vehicleManager = vehicleManager;
+        }
+
+        @Override
+        public OrderGenerator create() {
+            return new TraceOrderGenerator(file, vehicleManager);
+        }
+
+        /**
+         * Creates a new {@link TraceOrderGenerator.FactoryBuilder}.
+         * @return The created {@link TraceOrderGenerator.FactoryBuilder}.
+         */
+        public static TraceOrderGenerator.FactoryBuilder builder() {
+            return new TraceOrderGenerator.FactoryBuilder();
+        }
+    }
+
+    /**
+     * A {@link OrderGenerator.FactoryBuilder} form constructing a new {@link TraceOrderGenerator.Factory}.
+     */
+    public static class FactoryBuilder implements OrderGenerator.FactoryBuilder {
+
+        public Path file = null;
+        public VehicleManager vehicleManager = null;
+
+        private FactoryBuilder() {}
+
+        public FactoryBuilder setFile(Path file) {
+            this.file = file;
+            return this;
+        }
+
+        public FactoryBuilder setVehicleManager(VehicleManager vehicleManager) {
+            this.vehicleManager = vehicleManager;
+            return this;
+        }
+
+        @Override
+        public Factory build() {
+            Objects.requireNonNull(file);
+            Objects.requireNonNull(vehicleManager);
+            return new Factory(file, vehicleManager);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package projekt.delivery.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * A JFR event spanning a call of {@link projekt.delivery.event.EventBus#popEvents(long)}.
+ */
+@Name("projekt.delivery.EventBusFlush")
+@Label("Event Bus Flush")
+@Category({"Delivery", "Simulation"})
+@Description("The events of a tick were collected from the event bus")
+@StackTrace(false)
+public final class EventBusFlushEvent extends Event {
+
+    @Label("Tick")
+    long tick;
+
+    @Label("Events")
+    int events;
+
+    /**
+     * Ends and commits this event if it is enabled.
+     * @param tick The current tick.
+     * @param events The amount of collected events.
+     */
+    public void commit(long tick, int events) {
+        if (shouldCommit()) {
+            this.tick = tick;
+            this.events = events;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package projekt.delivery.jfr;
+
+import jdk.jfr.*;
+import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.Vehicle;
+
+/**
+ * A JFR event recorded whenever an order is delivered to a neighborhood.
+ */
+@Name("projekt.delivery.OrderDelivered")
+@Label("Order Delivered")
+@Category({"Delivery", "Orders"})
+@Description("An order was delivered to a neighborhood")
+@StackTrace(false)
+public final class OrderDeliveredEvent extends Event {
+
+    @Label("Order ID")
+    int orderId;
+
+    @Label("Vehicle ID")
+    int vehicleId;
+
+    @Label("Tick")
+    long tick;
+
+    @Label("Ticks Late")
+    @Description("The amount of ticks the order was delivered after its delivery interval or 0 if it was in time")
+    long ticksLate;
+
+    /**
+     * Commits an event for the given order if the event is enabled.
+     * @param order The delivered order.
+     * @param vehicle The {@link Vehicle} that delivered the order.
+     * @param tick The current tick.
+     */
+    public static void commit(ConfirmedOrder order, Vehicle vehicle, long tick) {
+        OrderDeliveredEvent event = new OrderDeliveredEvent();
+        if (event.isEnabled()) {
+            event.orderId = order.getOrderID();
+            event.vehicleId = vehicle.getId();
+            event.tick = tick;
+            event.ticksLate = Math.max(0, tick - order.getDeliveryInterval().end());
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package projekt.delivery.jfr;
+
+import jdk.jfr.*;
+import projekt.delivery.routing.ConfirmedOrder;
+
+import java.util.List;
+
+/**
+ * A JFR event recorded for every order that is passed to a {@link projekt.delivery.service.DeliveryService}.
+ */
+@Name("projekt.delivery.OrderDispatched")
+@Label("Order Dispatched")
+@Category({"Delivery", "Orders"})
+@Description("An order was passed to the delivery service")
+@StackTrace(false)
+public final class OrderDispatchedEvent extends Event {
+
+    @Label("Order ID")
+    int orderId;
+
+    @Label("Tick")
+    long tick;
+
+    @Label("Restaurant")
+    String restaurant;
+
+    @Label("Deliver Until")
+    @Description("The last tick of the delivery interval of the order")
+    long deliverUntil;
+
+    /**
+     * Commits an event for each of the given orders if the event is enabled.
+     * @param orders The dispatched orders.
+     * @param tick The current tick.
+     */
+    public static void commit(List<ConfirmedOrder> orders, long tick) {
+        if (orders.isEmpty() || !new OrderDispatchedEvent().isEnabled()) {
+            return;
+        }
+        for (ConfirmedOrder order : orders) {
+            OrderDispatchedEvent event = new OrderDispatchedEvent();
+            event.orderId = order.getOrderID();
+            event.tick = tick;
+            event.restaurant = order.getRestaurant().getComponent().getName();
+            event.deliverUntil = order.getDeliveryInterval().end();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package projekt.delivery.jfr;
+
+import jdk.jfr.*;
+import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.Vehicle;
+
+/**
+ * A JFR event recorded whenever an order is loaded onto a {@link Vehicle} at a restaurant.
+ */
+@Name("projekt.delivery.OrderLoaded")
+@Label("Order Loaded")
+@Category({"Delivery", "Orders"})
+@Description("An order was loaded onto a vehicle")
+@StackTrace(false)
+public final class OrderLoadedEvent extends Event {
+
+    @Label("Order ID")
+    int orderId;
+
+    @Label("Vehicle ID")
+    int vehicleId;
+
+    @Label("Tick")
+    long tick;
+
+    @Label("Restaurant")
+    String restaurant;
+
+    /**
+     * Commits an event for the given order if the event is enabled.
+     * @param order The loaded order.
+     * @param vehicle The {@link Vehicle} the order was loaded onto.
+     * @param tick The current tick.
+     */
+    public static void commit(ConfirmedOrder order, Vehicle vehicle, long tick) {
+        OrderLoadedEvent event = new OrderLoadedEvent();
+        if (event.isEnabled()) {
+            event.orderId = order.getOrderID();
+            event.vehicleId = vehicle.getId();
+            event.tick = tick;
+            event.restaurant = order.getRestaurant().getComponent().getName();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package projekt.delivery.jfr;
+
+import jdk.jfr.*;
+import org.jetbrains.annotations.Nullable;
+import projekt.delivery.routing.PathCalculator;
+import projekt.delivery.routing.Region;
+
+/**
+ * A JFR event spanning a single call of {@link PathCalculator#getPath(Region.Node, Region.Node)} or
+ * {@link PathCalculator#getAllPathsTo(Region.Node)}.<p>
+ *
+ * Caching {@link PathCalculator}s record whether the paths were cached. On a cache miss, the computation of the
+ * delegate is recorded as a separate event nested in the event of the cache.
+ */
+@Name("projekt.delivery.PathComputation")
+@Label("Path Computation")
+@Category({"Delivery", "Routing"})
+@Description("The computation of a path or of all paths to a node")
+@StackTrace(false)
+public final class PathComputationEvent extends Event {
+
+    @Label("Calculator")
+    String calculator;
+
+    @Label("Source")
+    @Description("The name of the start node or null if the paths from all nodes were computed")
+    String source;
+
+    @Label("Target")
+    @Description("The name of the end node")
+    String target;
+
+    @Label("Nodes Settled")
+    @Description("The amount of nodes settled by the search or 0 if the result was taken from a cache")
+    int nodesSettled;
+
+    @Label("Cache Hit")
+    boolean cacheHit;
+
+    /**
+     * Ends and commits this event if it is enabled.
+     * @param calculator The {@link PathCalculator} that computed the path.
+     * @param source The start node or null if the paths from all nodes were computed.
+     * @param target The end node.
+     * @param nodesSettled The amount of nodes settled by the search.
+     * @param cacheHit True, if the result was taken from a cache.
+     */
+    public void commit(PathCalculator calculator,
+                       @Nullable Region.Node source,
+                       Region.Node target,
+                       int nodesSettled,
+                       boolean cacheHit) {
+        if (shouldCommit()) {
+            this.calculator = calculator.getClass().getSimpleName();
+            this.source = source != null ? source.getName() : null;
+            this.target = target.getName();
+            this.nodesSettled = nodesSettled;
+            this.cacheHit = cacheHit;
+            commit();
+        }
+    }
+}
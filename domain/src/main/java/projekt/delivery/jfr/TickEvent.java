@@ -0,0 +1,43 @@
+package projekt.delivery.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * A JFR event spanning the execution of a single tick of a {@link projekt.delivery.simulation.Simulation}.<p>
+ *
+ * The start and duration of the event are the start and duration of the tick. Ticks that are skipped by the simulation
+ * are not recorded.
+ */
+@Name("projekt.delivery.Tick")
+@Label("Simulation Tick")
+@Category({"Delivery", "Simulation"})
+@Description("The execution of a single tick of the simulation")
+@StackTrace(false)
+public final class TickEvent extends Event {
+
+    @Label("Tick")
+    long tick;
+
+    @Label("New Orders")
+    @Description("The amount of orders generated during the tick")
+    int newOrders;
+
+    @Label("Events")
+    @Description("The amount of events that occurred during the tick")
+    int events;
+
+    /**
+     * Ends and commits this event if it is enabled.
+     * @param tick The executed tick.
+     * @param newOrders The amount of orders generated during the tick.
+     * @param events The amount of events that occurred during the tick.
+     */
+    public void commit(long tick, int newOrders, int events) {
+        if (shouldCommit()) {
+            this.tick = tick;
+            this.newOrders = newOrders;
+            this.events = events;
+            commit();
+        }
+    }
+}
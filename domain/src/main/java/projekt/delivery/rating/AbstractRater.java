@@ -0,0 +1,118 @@
+package projekt.delivery.rating;
+
+import projekt.delivery.event.*;
+import projekt.delivery.simulation.EventDispatcher;
+import projekt.delivery.simulation.EventSubscriber;
+import projekt.delivery.simulation.Simulation;
+
+import java.util.List;
+
+/**
+ * An abstract class combining the event handling of all {@link Rater} implementations.<p>
+ *
+ * Every {@link Event} of a tick is passed to the callback of its type, so a subclass only overrides the callbacks of
+ * the {@link Event}s it is interested in and never inspects the {@link Event}s itself. When attached to a
+ * {@link Simulation}, the callbacks are subscribed to their types, so the {@link Event}s of a tick are grouped once for
+ * all raters and subscribers of the {@link Simulation}. {@link #onTick(List, long)} groups the given {@link Event}s
+ * with an own {@link EventDispatcher}. The callbacks are called type by type and not in the order of the
+ * {@link Event}s of the tick.<p>
+ *
+ * Subclasses are expected to update running totals in the callbacks, so {@link #getScore()} runs in constant time and
+ * can be called as often as needed, e.g. on every frame of the GUI.
+ */
+public abstract class AbstractRater implements Rater {
+
+    private final EventSubscriber<OrderReceivedEvent> orderReceivedSubscriber =
+        (events, tick) -> events.forEach(this::onOrderReceived);
+    private final EventSubscriber<SpawnEvent> spawnSubscriber =
+        (events, tick) -> events.forEach(this::onSpawn);
+    private final EventSubscriber<LoadOrderEvent> loadOrderSubscriber =
+        (events, tick) -> events.forEach(this::onLoadOrder);
+    private final EventSubscriber<ArrivedAtEdgeEvent> arrivedAtEdgeSubscriber =
+        (events, tick) -> events.forEach(this::onArrivedAtEdge);
+    private final EventSubscriber<ArrivedAtNodeEvent> arrivedAtNodeSubscriber =
+        (events, tick) -> events.forEach(this::onArrivedAtNode);
+    private final EventSubscriber<DeliverOrderEvent> deliverSubscriber =
+        (events, tick) -> events.forEach(this::onDeliver);
+    private final EventDispatcher eventDispatcher = new EventDispatcher();
+
+    protected AbstractRater() {
+        subscribe(eventDispatcher::subscribe);
+    }
+
+    @Override
+    public final void onTick(List<Event> events, long tick) {
+        eventDispatcher.dispatch(events, tick);
+    }
+
+    @Override
+    public void attach(Simulation simulation) {
+        subscribe(simulation::subscribe);
+    }
+
+    @Override
+    public void detach(Simulation simulation) {
+        for (EventSubscriber<?> subscriber : List.of(orderReceivedSubscriber, spawnSubscriber, loadOrderSubscriber,
+            arrivedAtEdgeSubscriber, arrivedAtNodeSubscriber, deliverSubscriber)) {
+            simulation.unsubscribe(subscriber);
+        }
+    }
+
+    /**
+     * Subscribes the callbacks in the order in which the {@link Event}s of an order occur.
+     */
+    private void subscribe(Subscriptions subscriptions) {
+        subscriptions.subscribe(OrderReceivedEvent.class, orderReceivedSubscriber);
+        subscriptions.subscribe(SpawnEvent.class, spawnSubscriber);
+        subscriptions.subscribe(LoadOrderEvent.class, loadOrderSubscriber);
+        subscriptions.subscribe(ArrivedAtEdgeEvent.class, arrivedAtEdgeSubscriber);
+        subscriptions.subscribe(ArrivedAtNodeEvent.class, arrivedAtNodeSubscriber);
+        subscriptions.subscribe(DeliverOrderEvent.class, deliverSubscriber);
+    }
+
+    /**
+     * Called for every {@link OrderReceivedEvent} of a tick.
+     * @param event The {@link OrderReceivedEvent}.
+     */
+    protected void onOrderReceived(OrderReceivedEvent event) {}
+
+    /**
+     * Called for every {@link LoadOrderEvent} of a tick.
+     * @param event The {@link LoadOrderEvent}.
+     */
+    protected void onLoadOrder(LoadOrderEvent event) {}
+
+    /**
+     * Called for every {@link DeliverOrderEvent} of a tick.
+     * @param event The {@link DeliverOrderEvent}.
+     */
+    protected void onDeliver(DeliverOrderEvent event) {}
+
+    /**
+     * Called for every {@link ArrivedAtNodeEvent} of a tick, including {@link ArrivedAtRestaurantEvent}s and
+     * {@link ArrivedAtNeighborhoodEvent}s.
+     * @param event The {@link ArrivedAtNodeEvent}.
+     */
+    protected void onArrivedAtNode(ArrivedAtNodeEvent event) {}
+
+    /**
+     * Called for every {@link ArrivedAtEdgeEvent} of a tick.
+     * @param event The {@link ArrivedAtEdgeEvent}.
+     */
+    protected void onArrivedAtEdge(ArrivedAtEdgeEvent event) {}
+
+    /**
+     * Called for every {@link SpawnEvent} of a tick.
+     * @param event The {@link SpawnEvent}.
+     */
+    protected void onSpawn(SpawnEvent event) {}
+
+    /**
+     * The subscribe method of an {@link EventDispatcher} or a {@link Simulation}.
+     */
+    @FunctionalInterface
+    private interface Subscriptions {
+
+        <E extends Event> void subscribe(Class<E> eventType, EventSubscriber<E> subscriber);
+    }
+}
@@ -1,20 +1,15 @@
 package projekt.delivery.rating;
 
 import projekt.delivery.event.DeliverOrderEvent;
-import projekt.delivery.event.Event;
 import projekt.delivery.event.OrderReceivedEvent;
 import projekt.delivery.simulation.Simulation;
 
-import java.util.List;
-
-import static org.tudalgo.algoutils.student.Student.crash;
-
 /**
  * Rates the observed {@link Simulation} based on the amount of delivered orders.<p>
  *
  * To create a new {@link AmountDeliveredRater} use {@code AmountDeliveredRater.Factory.builder()...build();}.
  */
-public class AmountDeliveredRater implements Rater {
+public class AmountDeliveredRater extends AbstractRater {
 
     public static final RatingCriteria RATING_CRITERIA = RatingCriteria.AMOUNT_DELIVERED;
 
@@ -44,16 +39,14 @@ public class AmountDeliveredRater implements Rater {
     }
 
     @Override
-    public void onTick(List<Event> events, long tick) {
-        for (Event event : events) {
-            if (event instanceof DeliverOrderEvent) {
-                undeliveredOrders--;
-            }
-            else if (event instanceof OrderReceivedEvent) {
-                totalOrders++;
-                undeliveredOrders++;
-            }
-        }
+    protected void onOrderReceived(OrderReceivedEvent event) {
+        totalOrders++;
+        undeliveredOrders++;
+    }
+
+    @Override
+    protected void onDeliver(DeliverOrderEvent event) {
+        undeliveredOrders--;
     }
 
     /**
@@ -1,26 +1,30 @@
 package projekt.delivery.rating;
 
-import projekt.delivery.event.Event;
+import projekt.base.TickInterval;
+import projekt.delivery.event.DeliverOrderEvent;
+import projekt.delivery.event.OrderReceivedEvent;
 import projekt.delivery.routing.ConfirmedOrder;
-import projekt.delivery.routing.Vehicle;
 import projekt.delivery.simulation.Simulation;
 
-import java.util.List;
-
-import static org.tudalgo.algoutils.student.Student.crash;
-
 /**
  * Rates the observed {@link Simulation} based on the punctuality of the orders.<p>
  *
+ * Every received {@link ConfirmedOrder} counts as {@code maxTicksOff} ticks off until it is delivered. Once it is
+ * delivered, it counts as the amount of ticks it has been delivered outside its delivery interval, reduced by
+ * {@code ignoredTicksOff} and limited to {@code maxTicksOff}.<p>
+ *
  * To create a new {@link InTimeRater} use {@code InTimeRater.Factory.builder()...build();}.
  */
-public class InTimeRater implements Rater {
+public class InTimeRater extends AbstractRater {
 
     public static final RatingCriteria RATING_CRITERIA = RatingCriteria.IN_TIME;
 
     private final long ignoredTicksOff; //tolerance of Lieferzeit
     private final long maxTicksOff;
 
+    private long actualTotalTicksOff;
+    private long maxTotalTicksOff;
+
     /**
      * Creates a new {@link InTimeRater} instance.
      * @param ignoredTicksOff The amount of ticks this {@link InTimeRater} ignores when dealing with an {@link ConfirmedOrder} that didn't get delivered in time.
@@ -36,29 +40,36 @@ public class InTimeRater implements Rater {
 
     @Override
     public double getScore() {
-        int actualTotalTicksOff = 0; //muss noch geändert werden: Vehicle.getOrders().stream().mapToDouble(ConfirmedOrder::getActualDeliveryTick).sum();; //actualTotalTicksOff muss so verändert werden, dass es die Summe der Verspätungen aller Bestellungen in Ticks ist
-        int maxTotalTicksOff = 0; //muss noch geändert werden irgendwie mit onTick-Methode
         if (maxTotalTicksOff == 0) {
             return 0;
         }
-        else {
-            return 1 - actualTotalTicksOff/maxTotalTicksOff;
-        }
+        return 1 - (double) actualTotalTicksOff / maxTotalTicksOff;
     }
 
     @Override
-    public void onTick(List<Event> events, long tick) {
-        crash(); // TODO: H8.2 - remove if implemented
+    protected void onOrderReceived(OrderReceivedEvent event) {
+        actualTotalTicksOff += maxTicksOff;
+        maxTotalTicksOff += maxTicksOff;
+    }
+
+    @Override
+    protected void onDeliver(DeliverOrderEvent event) {
+        TickInterval deliveryInterval = event.getOrder().getDeliveryInterval();
+        long deliveryTick = event.getOrder().getActualDeliveryTick();
+        long ticksOff = Math.max(deliveryInterval.start() - deliveryTick, deliveryTick - deliveryInterval.end());
+
+        actualTotalTicksOff -= maxTicksOff;
+        actualTotalTicksOff += Math.min(maxTicksOff, Math.max(0, ticksOff - ignoredTicksOff));
     }
 
-    /**
-     * A {@link Rater.Factory} for creating a new {@link InTimeRater}.
-     */
     @Override
     public RatingCriteria getRatingCriteria() {
         return RATING_CRITERIA;
     }
 
+    /**
+     * A {@link Rater.Factory} for creating a new {@link InTimeRater}.
+     */
     public static class Factory implements Rater.Factory {
 
         public final long ignoredTicksOff;
@@ -24,6 +24,27 @@ public interface Rater extends SimulationListener {
      */
     RatingCriteria getRatingCriteria();
 
+    /**
+     * Starts observing the given {@link Simulation}.<p>
+     *
+     * This implementation adds this {@link Rater} as a {@link SimulationListener}, so it receives all
+     * {@link projekt.delivery.event.Event}s of every tick. Implementations that are only interested in specific types
+     * of {@link projekt.delivery.event.Event}s should subscribe to them instead.
+     * @param simulation The {@link Simulation} to observe.
+     * @see Simulation#subscribe(Class, projekt.delivery.simulation.EventSubscriber)
+     */
+    default void attach(Simulation simulation) {
+        simulation.addListener(this);
+    }
+
+    /**
+     * Stops observing the given {@link Simulation}. Reverts {@link #attach(Simulation)}.
+     * @param simulation The observed {@link Simulation}.
+     */
+    default void detach(Simulation simulation) {
+        simulation.removeListener(this);
+    }
+
     /**
      * A factory for creating a new {@link Rater}.
      */
@@ -1,45 +1,56 @@
 package projekt.delivery.rating;
 
-import projekt.delivery.event.Event;
+import projekt.delivery.event.ArrivedAtNodeEvent;
+import projekt.delivery.event.DeliverOrderEvent;
+import projekt.delivery.routing.CompiledRegion;
+import projekt.delivery.routing.ConfirmedOrder;
 import projekt.delivery.routing.PathCalculator;
 import projekt.delivery.routing.Region;
 import projekt.delivery.routing.VehicleManager;
 import projekt.delivery.simulation.Simulation;
 
-import java.util.List;
-
-import static org.tudalgo.algoutils.student.Student.crash;
-
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Rates the observed {@link Simulation} based on the distance traveled by all vehicles.<p>
  *
+ * The worst distance is the distance from the restaurant to the destination and back for every delivered
+ * {@link ConfirmedOrder}. The distance between a restaurant and a destination is only calculated for the first
+ * {@link ConfirmedOrder} between them. Orders whose destination can not be reached from their restaurant do not add
+ * to the worst distance.<p>
+ *
  * To create a new {@link TravelDistanceRater} use {@code TravelDistanceRater.Factory.builder()...build();}.
  */
-public class TravelDistanceRater implements Rater {
+public class TravelDistanceRater extends AbstractRater {
 
     public static final RatingCriteria RATING_CRITERIA = RatingCriteria.TRAVEL_DISTANCE;
 
-    private final Region region;
+    private final CompiledRegion compiledRegion;
     private final PathCalculator pathCalculator;
     private final double factor;
+    /**
+     * The calculated distances by the ids of the restaurant and the destination, combined into a single key.
+     */
+    private final Map<Long, Long> distances = new HashMap<>();
+
+    private long actualDistance;
+    private long worstDistance;
 
     private TravelDistanceRater(VehicleManager vehicleManager, double factor) {
-        region = vehicleManager.getRegion();
+        compiledRegion = vehicleManager.getRegion().compile();
         pathCalculator = vehicleManager.getPathCalculator();
         this.factor = factor;
     }
 
     @Override
     public double getScore() {
-        double actualDistance = 17; //muss noch geändert werden
-        double worstDistance = 1; //muss noch geändert werden
-        if (0 <= actualDistance || actualDistance < worstDistance*factor) {
-            return 1 - actualDistance/(worstDistance*factor);
-        }
-        else {
-            return 0;
+        double maxDistance = worstDistance * factor;
+        if (actualDistance < maxDistance) {
+            return 1 - actualDistance / maxDistance;
         }
+        return 0;
     }
 
     @Override
@@ -48,8 +59,48 @@ public class TravelDistanceRater implements Rater {
     }
 
     @Override
-    public void onTick(List<Event> events, long tick) {
-        crash(); // TODO: H8.3 - remove if implemented
+    protected void onArrivedAtNode(ArrivedAtNodeEvent event) {
+        actualDistance += event.getLastEdge().getDuration();
+    }
+
+    @Override
+    protected void onDeliver(DeliverOrderEvent event) {
+        ConfirmedOrder order = event.getOrder();
+        int restaurant = compiledRegion.getId(order.getRestaurant().getComponent());
+        int destination = compiledRegion.getId(order.getLocation());
+
+        worstDistance += 2 * distances.computeIfAbsent((long) restaurant * compiledRegion.getNodeCount() + destination,
+            key -> getDistance(restaurant, destination));
+    }
+
+    /**
+     * Returns the duration of the path the {@link PathCalculator} finds between the given nodes or 0 if there is no
+     * path between them.
+     */
+    private long getDistance(int start, int end) {
+        Deque<Region.Node> path;
+        try {
+            path = pathCalculator.getPath(compiledRegion.getNode(start), compiledRegion.getNode(end));
+        } catch (IllegalArgumentException e) {
+            return 0;
+        }
+
+        long distance = 0;
+        int previous = start;
+        for (Region.Node node : path) {
+            int id = compiledRegion.getId(node);
+            if (id == previous) {
+                continue;
+            }
+            int arc = compiledRegion.findArc(previous, id);
+            if (arc < 0) {
+                throw new IllegalStateException("The path from %s to %s contains nodes that are not adjacent"
+                    .formatted(compiledRegion.getNode(start), compiledRegion.getNode(end)));
+            }
+            distance += compiledRegion.getArcDuration(arc);
+            previous = id;
+        }
+        return distance;
     }
 
     /**
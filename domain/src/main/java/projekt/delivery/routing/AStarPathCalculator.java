@@ -0,0 +1,122 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+import projekt.base.DistanceCalculator;
+import projekt.base.Location;
+
+import java.util.*;
+
+/**
+ * A {@link PathCalculator} that calculates the shortest path between a start and an end node using A*.<p>
+ *
+ * The heuristic is derived from a {@link DistanceCalculator}: the estimated duration from a node to the goal is the
+ * distance between the two nodes multiplied with the minimum ratio of duration to distance over all edges of the
+ * {@link Region}. As long as the {@link DistanceCalculator} is a metric, this never overestimates the real duration, so
+ * the calculated paths are shortest paths. By default, the {@link DistanceCalculator} of the {@link Region} is used.<p>
+ *
+ * {@link #getPath(Region.Node, Region.Node)} stops as soon as the goal is settled. {@link #getAllPathsTo(Region.Node)}
+ * has no goal to direct the search to and falls back to a {@link CompiledDijkstraPathCalculator}.
+ */
+public class AStarPathCalculator implements PathCalculator {
+
+    private final @Nullable DistanceCalculator distanceCalculator;
+    private final Map<CompiledRegion, Double> minDurationPerDistance = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Creates a new {@link AStarPathCalculator} that uses the {@link DistanceCalculator} of the searched {@link Region}.
+     */
+    public AStarPathCalculator() {
+        this(null);
+    }
+
+    /**
+     * Creates a new {@link AStarPathCalculator} that uses the given {@link DistanceCalculator} for its heuristic.
+     * @param distanceCalculator The {@link DistanceCalculator} used for the heuristic, or null to use the
+     *                           {@link DistanceCalculator} of the searched {@link Region}.
+     */
+    public AStarPathCalculator(@Nullable DistanceCalculator distanceCalculator) {
+        this.distanceCalculator = distanceCalculator;
+    }
+
+    @Override
+    public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        return CompiledDijkstraPathCalculator.getPath(this, start, end, this::search);
+    }
+
+    @Override
+    public ShortestPathTree getAllPathsTo(Region.Node end) {
+        return CompiledDijkstraPathCalculator.getShortestPathTree(this, end);
+    }
+
+    /**
+     * Executes A* from the given source to the given goal.
+     * @param compiledRegion The searched {@link CompiledRegion}.
+     * @param source The id of the node the search starts at.
+     * @param goal The id of the node the search is directed to.
+     * @return The {@link SearchScratch} of the current thread containing the result of the search.
+     */
+    SearchScratch search(CompiledRegion compiledRegion, int source, int goal) {
+        DistanceCalculator distanceCalculator = getDistanceCalculator(compiledRegion);
+        double factor = getMinDurationPerDistance(compiledRegion, distanceCalculator);
+        Location goalLocation = compiledRegion.getNode(goal).getLocation();
+
+        SearchScratch scratch = SearchScratch.acquire(compiledRegion.getNodeCount());
+        IndexedHeap heap = scratch.heap;
+        scratch.reach(source, 0, -1, estimate(compiledRegion, source, goalLocation, distanceCalculator, factor));
+
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            scratch.settled++;
+            if (u == goal) {
+                break;
+            }
+            long distance = scratch.getDistance(u);
+
+            for (int arc = compiledRegion.getFirstArc(u); arc < compiledRegion.getFirstArc(u + 1); arc++) {
+                int v = compiledRegion.getArcTarget(arc);
+                long candidate = distance + compiledRegion.getArcDuration(arc);
+                // a settled node is reopened if it can be improved, which may happen due to rounding in the heuristic
+                if (candidate < scratch.getDistance(v)) {
+                    long key = candidate + estimate(compiledRegion, v, goalLocation, distanceCalculator, factor);
+                    scratch.reach(v, candidate, u, key);
+                }
+            }
+        }
+
+        return scratch;
+    }
+
+    private static long estimate(CompiledRegion compiledRegion,
+                                 int node,
+                                 Location goal,
+                                 DistanceCalculator distanceCalculator,
+                                 double factor) {
+        return (long) (factor * distanceCalculator.calculateDistance(compiledRegion.getNode(node).getLocation(), goal));
+    }
+
+    private DistanceCalculator getDistanceCalculator(CompiledRegion compiledRegion) {
+        return distanceCalculator != null ? distanceCalculator : compiledRegion.getRegion().getDistanceCalculator();
+    }
+
+    /**
+     * Returns the minimum ratio of duration to distance over all edges of the given {@link CompiledRegion}.
+     */
+    private double getMinDurationPerDistance(CompiledRegion compiledRegion, DistanceCalculator distanceCalculator) {
+        return minDurationPerDistance.computeIfAbsent(compiledRegion, ignored -> {
+            double min = Double.POSITIVE_INFINITY;
+
+            for (int edge = 0; edge < compiledRegion.getEdgeCount(); edge++) {
+                Location a = compiledRegion.getNode(compiledRegion.getEdgeNodeA(edge)).getLocation();
+                Location b = compiledRegion.getNode(compiledRegion.getEdgeNodeB(edge)).getLocation();
+                double distance = distanceCalculator.calculateDistance(a, b);
+
+                if (distance > 0) {
+                    min = Math.min(min, compiledRegion.getEdge(edge).getDuration() / distance);
+                }
+            }
+
+            // without edges no node can be reached, so the heuristic does not matter
+            return min == Double.POSITIVE_INFINITY ? 0 : min;
+        });
+    }
+}
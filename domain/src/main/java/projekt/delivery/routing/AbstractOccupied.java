@@ -1,11 +1,13 @@
 package projekt.delivery.routing;
 
 import org.jetbrains.annotations.Nullable;
+import projekt.delivery.event.Event;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * An abstract class combining basic functionality of all {@link VehicleManager.Occupied} implementations.
@@ -15,7 +17,15 @@ abstract class AbstractOccupied<C extends Region.Component<? super C>> implement
 
     protected final C component;
     protected final VehicleManager vehicleManager;
-    protected final Map<VehicleImpl, VehicleStats> vehicles = new HashMap<>();
+    /**
+     * The vehicles on this component ordered by their id, so they are moved and their {@link Event}s are posted in
+     * the same order in every run, no matter in which order they arrived or how they are hashed.
+     */
+    protected final Map<VehicleImpl, VehicleStats> vehicles = new TreeMap<>(Comparator.comparingInt(Vehicle::getId));
+    /**
+     * The position of this component in the agenda of the {@link VehicleManagerImpl}.
+     */
+    int agendaIndex = -1;
     private final Collection<Vehicle> unmodifiableVehicles =
         Collections.unmodifiableCollection(vehicles.keySet());
 
@@ -44,6 +54,48 @@ abstract class AbstractOccupied<C extends Region.Component<? super C>> implement
         vehicles.clear();
     }
 
+    /**
+     * Adds the given {@link VehicleImpl} to the vehicles of this component.<p>
+     *
+     * During a parallel tick of the {@link VehicleManagerImpl}, the vehicle is only added after all components of the
+     * current phase have been ticked.
+     *
+     * @param vehicle The added {@link VehicleImpl}.
+     * @param stats The {@link VehicleStats} of the added {@link VehicleImpl}.
+     * @param currentTick The current tick.
+     */
+    protected void putVehicle(VehicleImpl vehicle, VehicleStats stats, long currentTick) {
+        if (vehicleManager instanceof VehicleManagerImpl vehicleManagerImpl) {
+            vehicleManagerImpl.putVehicle(this, vehicle, stats, currentTick);
+        } else {
+            vehicles.put(vehicle, stats);
+        }
+    }
+
+    /**
+     * Posts the given {@link Event} to the {@link projekt.delivery.event.EventBus} of the {@link VehicleManager}.<p>
+     *
+     * During a parallel tick of the {@link VehicleManagerImpl}, the {@link Event} is buffered first, so the order of
+     * the {@link Event}s does not depend on the scheduling of the threads.
+     *
+     * @param event The {@link Event} to post.
+     */
+    protected void postEvent(Event event) {
+        if (vehicleManager instanceof VehicleManagerImpl vehicleManagerImpl) {
+            vehicleManagerImpl.postEvent(event);
+        } else {
+            vehicleManager.getEventBus().queuePost(event);
+        }
+    }
+
+    /**
+     * Returns the earliest tick at which {@link #tick(long)} may change the state of a {@link Vehicle} on this
+     * component. Ticking this component earlier has no effect.
+     * @param currentTick The current tick.
+     * @return The next tick this component has to be ticked at or {@link Long#MAX_VALUE} if there is none.
+     */
+    abstract long getNextDueTick(long currentTick);
+
     protected static class VehicleStats {
         final long arrived;
         final @Nullable VehicleManager.Occupied<?> previous;
@@ -1,6 +1,7 @@
 package projekt.delivery.routing;
 
 import org.jetbrains.annotations.Nullable;
+import projekt.delivery.jfr.PathComputationEvent;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -35,20 +36,59 @@ public class CachedPathCalculator implements PathCalculator {
         this(delegate, 1024);
     }
 
+    /**
+     * Returns a copy of the cached path from {@code start} to {@code end}.<p>
+     *
+     * In contrast to {@link #getAllPathsTo(Region.Node)}, only the requested path is copied and not every cached path
+     * to the end node.
+     *
+     * @param start The start {@link Region.Node}
+     * @param end   The end {@link Region.Node}
+     * @return A new list of nodes (excluding start and including end) that represent a path from start to end.
+     * @throws IllegalArgumentException If there is no path from the start node to the end node.
+     */
     @Override
     public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
-        return getAllPathsTo(end).get(start);
+        PathComputationEvent event = new PathComputationEvent();
+        event.begin();
+        boolean cacheHit = cache.containsKey(end);
+        @Nullable Deque<Region.Node> path = getCachedPaths(end).get(start);
+        event.commit(this, start, end, 0, cacheHit);
+        if (path == null) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+        return new LinkedList<>(path);
     }
 
     public PathCalculator getDelegate() {
         return delegate;
     }
 
+    /**
+     * Returns the maximum amount of end nodes whose paths are cached.
+     * @return The size of the cache.
+     */
+    public int getSize() {
+        return size;
+    }
+
     @Override
     public Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end) {
+        PathComputationEvent event = new PathComputationEvent();
+        event.begin();
+        boolean cacheHit = cache.containsKey(end);
+        Map<Region.Node, Deque<Region.Node>> paths = copyPath(getCachedPaths(end));
+        event.commit(this, null, end, 0, cacheHit);
+        return paths;
+    }
+
+    /**
+     * Returns the cached paths to the given end node or calculates and caches them with the delegate.
+     */
+    private Map<Region.Node, Deque<Region.Node>> getCachedPaths(Region.Node end) {
         @Nullable Map<Region.Node, Deque<Region.Node>> path = cache.get(end);
         if (path != null) {
-            return copyPath(path);
+            return path;
         }
 
         path = delegate.getAllPathsTo(end);
@@ -65,7 +105,7 @@ public class CachedPathCalculator implements PathCalculator {
         accessOrder.add(end);
         cache.put(end, path);
 
-        return copyPath(path);
+        return path;
     }
 
     private Map<Region.Node, Deque<Region.Node>> copyPath(Map<Region.Node, Deque<Region.Node>> path) {
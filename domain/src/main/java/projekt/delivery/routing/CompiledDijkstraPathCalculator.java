@@ -0,0 +1,143 @@
+package projekt.delivery.routing;
+
+import projekt.delivery.jfr.PathComputationEvent;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A {@link PathCalculator} that calculates shortest paths using Dijkstra's algorithm on the {@link CompiledRegion} of
+ * a {@link Region}.<p>
+ *
+ * In contrast to the {@link DijkstraPathCalculator}, the search works on int node ids with primitive distance and
+ * predecessor arrays and an indexed heap with decrease-key. The arrays are reused per thread, so repeated queries do
+ * not allocate apart from the returned path. {@link #getPath(Region.Node, Region.Node)} stops as soon as the start node
+ * is settled and {@link #getAllPathsTo(Region.Node)} returns a {@link ShortestPathTree} that materializes paths lazily.<p>
+ *
+ * This {@link PathCalculator} does not store any state between calls and can be shared between threads.
+ */
+public class CompiledDijkstraPathCalculator implements PathCalculator {
+
+    @Override
+    public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        return getPath(this, start, end, CompiledDijkstraPathCalculator::search);
+    }
+
+    @Override
+    public ShortestPathTree getAllPathsTo(Region.Node end) {
+        return getShortestPathTree(this, end);
+    }
+
+    /**
+     * Calculates the shortest path between the given nodes with a search from the end node that stops once the start
+     * node is settled, and records the calculation as a {@link PathComputationEvent} of the given {@link PathCalculator}.
+     * @param calculator The {@link PathCalculator} the calculation is recorded for.
+     * @param start The start node of the path.
+     * @param end The end node of the path.
+     * @param search The search that is executed from the end node.
+     * @return A list of nodes (excluding start and including end) that represent a path from start to end.
+     * @throws IllegalArgumentException If there is no path from the start node to the end node.
+     */
+    static Deque<Region.Node> getPath(PathCalculator calculator, Region.Node start, Region.Node end, Search search) {
+        CompiledRegion compiledRegion = end.getRegion().compile();
+        int source = compiledRegion.getId(start);
+        int target = compiledRegion.getId(end);
+
+        if (source == target) {
+            return new ArrayDeque<>();
+        }
+
+        PathComputationEvent event = new PathComputationEvent();
+        event.begin();
+        // search backwards from the end node so that the parents point towards the end node
+        SearchScratch scratch = search.search(compiledRegion, target, source);
+
+        if (!scratch.isReached(source)) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+
+        Deque<Region.Node> path = new ArrayDeque<>();
+        for (int node = scratch.getParent(source); node >= 0; node = scratch.getParent(node)) {
+            path.addLast(compiledRegion.getNode(node));
+        }
+        event.commit(calculator, start, end, scratch.settled, false);
+        return path;
+    }
+
+    /**
+     * Calculates the shortest paths from every node of the given {@link CompiledRegion} to the node with the given id.
+     * @param compiledRegion The searched {@link CompiledRegion}.
+     * @param target The id of the end node of all paths.
+     * @return The resulting {@link ShortestPathTree}.
+     */
+    public static ShortestPathTree getShortestPathTree(CompiledRegion compiledRegion, int target) {
+        return ShortestPathTree.of(compiledRegion, target, search(compiledRegion, target, -1));
+    }
+
+    /**
+     * Calculates the shortest paths from every node of the {@link Region} of the given node to it and records the
+     * calculation as a {@link PathComputationEvent} of the given {@link PathCalculator}.
+     * @param calculator The {@link PathCalculator} the calculation is recorded for.
+     * @param end The end node of all paths.
+     * @return The resulting {@link ShortestPathTree}.
+     */
+    static ShortestPathTree getShortestPathTree(PathCalculator calculator, Region.Node end) {
+        PathComputationEvent event = new PathComputationEvent();
+        event.begin();
+        CompiledRegion compiledRegion = end.getRegion().compile();
+        int target = compiledRegion.getId(end);
+        SearchScratch scratch = search(compiledRegion, target, -1);
+        ShortestPathTree tree = ShortestPathTree.of(compiledRegion, target, scratch);
+        event.commit(calculator, null, end, scratch.settled, false);
+        return tree;
+    }
+
+    /**
+     * Executes Dijkstra's algorithm starting at the given source.
+     * @param compiledRegion The searched {@link CompiledRegion}.
+     * @param source The id of the node the search starts at.
+     * @param stop The id of a node after whose settlement the search stops or -1 to settle all reachable nodes.
+     * @return The {@link SearchScratch} of the current thread containing the result of the search.
+     */
+    static SearchScratch search(CompiledRegion compiledRegion, int source, int stop) {
+        SearchScratch scratch = SearchScratch.acquire(compiledRegion.getNodeCount());
+        IndexedHeap heap = scratch.heap;
+        scratch.reach(source, 0, -1, 0);
+
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            scratch.settled++;
+            if (u == stop) {
+                break;
+            }
+            long distance = scratch.getDistance(u);
+
+            for (int arc = compiledRegion.getFirstArc(u); arc < compiledRegion.getFirstArc(u + 1); arc++) {
+                int v = compiledRegion.getArcTarget(arc);
+                long candidate = distance + compiledRegion.getArcDuration(arc);
+                // settled nodes can never be improved since all durations are non-negative
+                if (candidate < scratch.getDistance(v)) {
+                    scratch.reach(v, candidate, u, candidate);
+                }
+            }
+        }
+
+        return scratch;
+    }
+
+    /**
+     * A search on a {@link CompiledRegion} whose result is stored in the {@link SearchScratch} of the current thread.
+     */
+    @FunctionalInterface
+    interface Search {
+
+        /**
+         * Executes the search starting at the given source.
+         * @param compiledRegion The searched {@link CompiledRegion}.
+         * @param source The id of the node the search starts at.
+         * @param stop The id of a node after whose settlement the search stops.
+         * @return The {@link SearchScratch} of the current thread containing the result of the search.
+         */
+        SearchScratch search(CompiledRegion compiledRegion, int source, int stop);
+    }
+}
@@ -0,0 +1,282 @@
+package projekt.delivery.routing;
+
+import projekt.base.Location;
+
+import java.util.*;
+
+/**
+ * An immutable, array-backed view of a {@link Region}.<p>
+ *
+ * Every {@link Region.Node} is assigned a dense id in the range {@code [0, getNodeCount())} and every
+ * {@link Region.Edge} a dense id in the range {@code [0, getEdgeCount())}. The ids are assigned in the natural order of
+ * the components, so compiling the same {@link Region} twice results in the same ids.<p>
+ *
+ * The adjacency of the graph is stored in compressed sparse row format. The arcs leaving the node with id {@code u} are
+ * stored in the index range {@code [getFirstArc(u), getFirstArc(u + 1))} and can be inspected with
+ * {@link #getArcTarget(int)}, {@link #getArcDuration(int)} and {@link #getArcEdge(int)}. Since edges are undirected,
+ * every {@link Region.Edge} is represented by two arcs. Walking the graph this way neither hashes nor allocates.<p>
+ *
+ * To create a new {@link CompiledRegion} use {@link Region#compile()}.
+ */
+public final class CompiledRegion {
+
+    private final Region region;
+    private final Region.Node[] nodes;
+    private final Region.Edge[] edges;
+    private final Map<Location, Integer> nodeIds;
+    private final int[] x;
+    private final int[] y;
+    private final int[] firstArc;
+    private final int[] arcTarget;
+    private final long[] arcDuration;
+    private final int[] arcEdge;
+    private final int[] edgeNodeA;
+    private final int[] edgeNodeB;
+
+    private CompiledRegion(Region region) {
+        this.region = region;
+
+        nodes = region.getNodes().stream().sorted().toArray(Region.Node[]::new);
+        edges = region.getEdges().stream().sorted().toArray(Region.Edge[]::new);
+        nodeIds = new HashMap<>(nodes.length * 2);
+        x = new int[nodes.length];
+        y = new int[nodes.length];
+
+        for (int i = 0; i < nodes.length; i++) {
+            Location location = nodes[i].getLocation();
+            nodeIds.put(location, i);
+            x[i] = location.getX();
+            y[i] = location.getY();
+        }
+
+        edgeNodeA = new int[edges.length];
+        edgeNodeB = new int[edges.length];
+        int[] degree = new int[nodes.length];
+
+        for (int e = 0; e < edges.length; e++) {
+            edgeNodeA[e] = getId(edges[e].getNodeA());
+            edgeNodeB[e] = getId(edges[e].getNodeB());
+            degree[edgeNodeA[e]]++;
+            degree[edgeNodeB[e]]++;
+        }
+
+        firstArc = new int[nodes.length + 1];
+        for (int i = 0; i < nodes.length; i++) {
+            firstArc[i + 1] = firstArc[i] + degree[i];
+        }
+
+        arcTarget = new int[2 * edges.length];
+        arcDuration = new long[2 * edges.length];
+        arcEdge = new int[2 * edges.length];
+
+        // the insert position of the next arc of every node
+        int[] next = Arrays.copyOf(firstArc, nodes.length);
+        for (int e = 0; e < edges.length; e++) {
+            addArc(next[edgeNodeA[e]]++, edgeNodeB[e], e);
+            addArc(next[edgeNodeB[e]]++, edgeNodeA[e], e);
+        }
+    }
+
+    private void addArc(int arc, int target, int edge) {
+        arcTarget[arc] = target;
+        arcDuration[arc] = edges[edge].getDuration();
+        arcEdge[arc] = edge;
+    }
+
+    /**
+     * Compiles the given {@link Region}.<p>
+     *
+     * The {@link Region} must not be modified afterwards.
+     * Prefer {@link Region#compile()} which may return a cached instance.
+     *
+     * @param region The {@link Region} to compile.
+     * @return The created {@link CompiledRegion}.
+     */
+    static CompiledRegion of(Region region) {
+        return new CompiledRegion(region);
+    }
+
+    /**
+     * Returns the compiled {@link Region}.
+     * @return The compiled {@link Region}.
+     */
+    public Region getRegion() {
+        return region;
+    }
+
+    /**
+     * Returns the amount of {@link Region.Node}s in the compiled {@link Region}.
+     * @return The amount of {@link Region.Node}s in the compiled {@link Region}.
+     */
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    /**
+     * Returns the amount of {@link Region.Edge}s in the compiled {@link Region}.
+     * @return The amount of {@link Region.Edge}s in the compiled {@link Region}.
+     */
+    public int getEdgeCount() {
+        return edges.length;
+    }
+
+    /**
+     * Returns the amount of arcs in the compiled {@link Region}, which is twice the amount of {@link Region.Edge}s.
+     * @return The amount of arcs in the compiled {@link Region}.
+     */
+    public int getArcCount() {
+        return arcTarget.length;
+    }
+
+    /**
+     * Returns the {@link Region.Node} with the given id.
+     * @param id The id of the {@link Region.Node}.
+     * @return The {@link Region.Node} with the given id.
+     */
+    public Region.Node getNode(int id) {
+        return nodes[id];
+    }
+
+    /**
+     * Returns the id of the given {@link Region.Node}.
+     * @param node The {@link Region.Node} to return the id of.
+     * @return The id of the given {@link Region.Node}.
+     * @throws IllegalArgumentException If the {@link Region.Node} is not part of the compiled {@link Region}.
+     */
+    public int getId(Region.Node node) {
+        return getId(node.getLocation());
+    }
+
+    /**
+     * Returns the id of the {@link Region.Node} at the given {@link Location}.
+     * @param location The {@link Location} of the {@link Region.Node}.
+     * @return The id of the {@link Region.Node} at the given {@link Location}.
+     * @throws IllegalArgumentException If there is no {@link Region.Node} at the given {@link Location}.
+     */
+    public int getId(Location location) {
+        int id = findId(location);
+        if (id < 0) {
+            throw new IllegalArgumentException("No node at location " + location);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the id of the {@link Region.Node} at the given {@link Location}.
+     * @param location The {@link Location} of the {@link Region.Node}.
+     * @return The id of the {@link Region.Node} at the given {@link Location} or -1 if there is no such {@link Region.Node}.
+     */
+    public int findId(Location location) {
+        Integer id = nodeIds.get(location);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the x-coordinate of the {@link Region.Node} with the given id.
+     * @param id The id of the {@link Region.Node}.
+     * @return The x-coordinate of the {@link Region.Node}.
+     */
+    public int getX(int id) {
+        return x[id];
+    }
+
+    /**
+     * Returns the y-coordinate of the {@link Region.Node} with the given id.
+     * @param id The id of the {@link Region.Node}.
+     * @return The y-coordinate of the {@link Region.Node}.
+     */
+    public int getY(int id) {
+        return y[id];
+    }
+
+    /**
+     * Returns the {@link Region.Edge} with the given id.
+     * @param id The id of the {@link Region.Edge}.
+     * @return The {@link Region.Edge} with the given id.
+     */
+    public Region.Edge getEdge(int id) {
+        return edges[id];
+    }
+
+    /**
+     * Returns the id of the first node of the {@link Region.Edge} with the given id.
+     * @param id The id of the {@link Region.Edge}.
+     * @return The id of {@link Region.Edge#getNodeA()}.
+     */
+    public int getEdgeNodeA(int id) {
+        return edgeNodeA[id];
+    }
+
+    /**
+     * Returns the id of the second node of the {@link Region.Edge} with the given id.
+     * @param id The id of the {@link Region.Edge}.
+     * @return The id of {@link Region.Edge#getNodeB()}.
+     */
+    public int getEdgeNodeB(int id) {
+        return edgeNodeB[id];
+    }
+
+    /**
+     * Returns the index of the first arc leaving the {@link Region.Node} with the given id.<p>
+     *
+     * The arcs of the node {@code u} end before {@code getFirstArc(u + 1)}, which is also valid for the last node.
+     *
+     * @param id The id of the {@link Region.Node}. May be equal to {@link #getNodeCount()}.
+     * @return The index of the first arc leaving the {@link Region.Node}.
+     */
+    public int getFirstArc(int id) {
+        return firstArc[id];
+    }
+
+    /**
+     * Returns the amount of arcs leaving the {@link Region.Node} with the given id.
+     * @param id The id of the {@link Region.Node}.
+     * @return The amount of adjacent {@link Region.Node}s.
+     */
+    public int getDegree(int id) {
+        return firstArc[id + 1] - firstArc[id];
+    }
+
+    /**
+     * Returns the id of the {@link Region.Node} the given arc leads to.
+     * @param arc The index of the arc.
+     * @return The id of the target {@link Region.Node}.
+     */
+    public int getArcTarget(int arc) {
+        return arcTarget[arc];
+    }
+
+    /**
+     * Returns the duration of the given arc, which is the duration of the underlying {@link Region.Edge}.
+     * @param arc The index of the arc.
+     * @return The duration of the arc.
+     */
+    public long getArcDuration(int arc) {
+        return arcDuration[arc];
+    }
+
+    /**
+     * Returns the id of the {@link Region.Edge} the given arc belongs to.
+     * @param arc The index of the arc.
+     * @return The id of the {@link Region.Edge}.
+     */
+    public int getArcEdge(int arc) {
+        return arcEdge[arc];
+    }
+
+    /**
+     * Returns the index of the arc from the {@link Region.Node} with id {@code from} to the {@link Region.Node} with
+     * id {@code to}.
+     * @param from The id of the start {@link Region.Node}.
+     * @param to The id of the end {@link Region.Node}.
+     * @return The index of the arc or -1 if the two {@link Region.Node}s are not directly connected.
+     */
+    public int findArc(int from, int to) {
+        for (int arc = firstArc[from]; arc < firstArc[from + 1]; arc++) {
+            if (arcTarget[arc] == to) {
+                return arc;
+            }
+        }
+        return -1;
+    }
+}
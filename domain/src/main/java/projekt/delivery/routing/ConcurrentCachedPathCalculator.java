@@ -0,0 +1,244 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+import projekt.delivery.jfr.PathComputationEvent;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe {@link PathCalculator} that is based on another {@link PathCalculator} and caches its result for later
+ * use.<p>
+ *
+ * In contrast to {@link CachedPathCalculator}, the results are cached as immutable {@link ShortestPathTree}s that are
+ * shared between all callers. A hit neither copies the cached paths nor allocates anything but the single requested
+ * {@link Deque}. The cache is split into stripes that are locked independently, each of which evicts the least
+ * recently used end node once it is full. Hits refresh the recency of an end node.<p>
+ *
+ * The amount of hits, misses and evictions is counted and can be used to tune the size of the cache.
+ */
+public class ConcurrentCachedPathCalculator implements PathCalculator {
+
+    private final PathCalculator delegate;
+    private final int size;
+    private final Stripe[] stripes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a new {@link ConcurrentCachedPathCalculator}.
+     * @param delegate The {@link PathCalculator} this {@link ConcurrentCachedPathCalculator} uses to calculate the paths.
+     * @param size The maximum amount of end nodes whose paths are cached.
+     * @param concurrencyLevel The amount of threads that are expected to access the cache at the same time.
+     */
+    public ConcurrentCachedPathCalculator(PathCalculator delegate, int size, int concurrencyLevel) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        if (concurrencyLevel < 1) {
+            throw new IllegalArgumentException("concurrencyLevel must be positive");
+        }
+
+        this.delegate = delegate;
+        this.size = size;
+
+        // a power of two amount of stripes that are not smaller than 16 entries each
+        int stripeCount = Integer.highestOneBit(Math.max(1, Math.min(concurrencyLevel, size / 16)));
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            // the first stripes take the remainder, so the capacities add up to the size
+            stripes[i] = new Stripe(size / stripeCount + (i < size % stripeCount ? 1 : 0));
+        }
+    }
+
+    /**
+     * Creates a new {@link ConcurrentCachedPathCalculator}.<p>
+     * The concurrency level will be set to the amount of available processors.
+     * @param delegate The {@link PathCalculator} this {@link ConcurrentCachedPathCalculator} uses to calculate the paths.
+     * @param size The maximum amount of end nodes whose paths are cached.
+     */
+    public ConcurrentCachedPathCalculator(PathCalculator delegate, int size) {
+        this(delegate, size, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new {@link ConcurrentCachedPathCalculator}.<p>
+     * The size of the cache will be set to 1024
+     * @param delegate The {@link PathCalculator} this {@link ConcurrentCachedPathCalculator} uses to calculate the paths.
+     */
+    public ConcurrentCachedPathCalculator(PathCalculator delegate) {
+        this(delegate, 1024);
+    }
+
+    @Override
+    public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        PathComputationEvent event = new PathComputationEvent();
+        event.begin();
+        @Nullable ShortestPathTree tree = getCachedTree(end);
+        boolean cacheHit = tree != null;
+        if (tree == null) {
+            tree = calculateTree(end);
+        }
+        @Nullable Deque<Region.Node> path = tree.get(start);
+        event.commit(this, start, end, 0, cacheHit);
+        if (path == null) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+        return path;
+    }
+
+    /**
+     * Returns the cached paths to the given end node or calculates them with the delegate.<p>
+     *
+     * The returned {@link ShortestPathTree} is shared and unmodifiable. Every path requested from it is a new
+     * {@link Deque} owned by the caller.
+     *
+     * @param end The end node.
+     * @return The paths from every reachable node to the given end node.
+     */
+    @Override
+    public ShortestPathTree getAllPathsTo(Region.Node end) {
+        PathComputationEvent event = new PathComputationEvent();
+        event.begin();
+        @Nullable ShortestPathTree tree = getCachedTree(end);
+        boolean cacheHit = tree != null;
+        if (tree == null) {
+            tree = calculateTree(end);
+        }
+        event.commit(this, null, end, 0, cacheHit);
+        return tree;
+    }
+
+    /**
+     * Returns the cached paths to the given end node and counts the hit or returns null if they are not cached.
+     */
+    private @Nullable ShortestPathTree getCachedTree(Region.Node end) {
+        @Nullable ShortestPathTree tree = getStripe(end).get(end);
+        if (tree != null) {
+            hits.increment();
+        }
+        return tree;
+    }
+
+    /**
+     * Calculates the paths to the given end node with the delegate, caches them and counts the miss.
+     */
+    private ShortestPathTree calculateTree(Region.Node end) {
+        misses.increment();
+        // the calculation happens outside the lock, so other end nodes of the same stripe are not blocked
+        ShortestPathTree tree = ShortestPathTree.of(end.getRegion().compile(), end, delegate.getAllPathsTo(end));
+        return getStripe(end).putIfAbsent(end, tree);
+    }
+
+    public PathCalculator getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Returns the maximum amount of end nodes whose paths are cached.
+     * @return The size of the cache.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the amount of end nodes whose paths are currently cached.
+     * @return The amount of cached end nodes.
+     */
+    public int getCachedCount() {
+        int count = 0;
+        for (Stripe stripe : stripes) {
+            count += stripe.size();
+        }
+        return count;
+    }
+
+    /**
+     * Returns how often the paths to an end node have been found in the cache.
+     * @return The amount of cache hits.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns how often the paths to an end node had to be calculated by the delegate.
+     * @return The amount of cache misses.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns how often the paths to an end node have been removed from the cache to make room for others.
+     * @return The amount of evictions.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Removes all cached paths. The counters are not reset.
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    private Stripe getStripe(Region.Node end) {
+        int hash = end.hashCode();
+        hash ^= hash >>> 16;
+        return stripes[hash & (stripes.length - 1)];
+    }
+
+    /**
+     * A part of the cache with its own lock and least recently used eviction.
+     */
+    private final class Stripe {
+
+        private final int capacity;
+        private final LinkedHashMap<Region.Node, ShortestPathTree> entries;
+
+        private Stripe(int capacity) {
+            this.capacity = capacity;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Region.Node, ShortestPathTree> eldest) {
+                    if (size() > Stripe.this.capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        private synchronized @Nullable ShortestPathTree get(Region.Node end) {
+            return entries.get(end);
+        }
+
+        /**
+         * Caches the given tree unless another thread cached the paths to the same end node in the meantime.
+         * @return The cached tree.
+         */
+        private synchronized ShortestPathTree putIfAbsent(Region.Node end, ShortestPathTree tree) {
+            @Nullable ShortestPathTree cached = entries.get(end);
+            if (cached != null) {
+                return cached;
+            }
+            entries.put(end, tree);
+            return tree;
+        }
+
+        private synchronized int size() {
+            return entries.size();
+        }
+
+        private synchronized void clear() {
+            entries.clear();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import projekt.base.TickInterval;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A class representing an order that contains a {@link List} of foods, was placed at an {@link VehicleManager.OccupiedRestaurant} and should be delivered to a {@link Location} during a given {@link TickInterval}.
@@ -18,7 +19,10 @@ public class ConfirmedOrder implements Serializable {
     private final VehicleManager.OccupiedRestaurant restaurant;
     private long actualDeliveryTick;
 
-    private static int nextOrderID;
+    /**
+     * The next ID of orders that are created without an explicit ID. It is shared by all simulations.
+     */
+    private static final AtomicInteger nextOrderID = new AtomicInteger();
 
     /**
      * Creates a new {@link ConfirmedOrder} instance.
@@ -29,6 +33,23 @@ public class ConfirmedOrder implements Serializable {
      * @param weight The weight of the {@link ConfirmedOrder}.
      */
     public ConfirmedOrder(Location location, VehicleManager.OccupiedRestaurant restaurant, TickInterval deliveryInterval, List<String> foodList, double weight) {
+        this(location, restaurant, deliveryInterval, foodList, weight, nextOrderID.getAndIncrement());
+    }
+
+    /**
+     * Creates a new {@link ConfirmedOrder} instance with the given ID.<p>
+     *
+     * {@link projekt.delivery.generator.OrderGenerator}s use this constructor to number their orders per simulation,
+     * so the IDs do not depend on other simulations running at the same time.
+     *
+     * @param location The {@link Location} to deliver the {@link ConfirmedOrder} to.
+     * @param restaurant The {@link VehicleManager.OccupiedRestaurant} the {@link ConfirmedOrder} was placed at.
+     * @param deliveryInterval The {@link TickInterval} in which the {@link ConfirmedOrder} should be delivered.
+     * @param foodList A {@link List} containing the ordered food.
+     * @param weight The weight of the {@link ConfirmedOrder}.
+     * @param orderID The ID of the {@link ConfirmedOrder}.
+     */
+    public ConfirmedOrder(Location location, VehicleManager.OccupiedRestaurant restaurant, TickInterval deliveryInterval, List<String> foodList, double weight, int orderID) {
 
         String invalidFood = foodList.stream().filter(food -> !restaurant.getComponent().getAvailableFood().contains(food)).findFirst().orElse(null);
 
@@ -41,7 +62,7 @@ public class ConfirmedOrder implements Serializable {
         this.deliveryInterval = deliveryInterval;
         this.foodList = foodList;
         this.weight = weight;
-        orderID = nextOrderID++;
+        this.orderID = orderID;
     }
 
     /**
@@ -0,0 +1,518 @@
+package projekt.delivery.routing;
+
+import projekt.delivery.jfr.PathComputationEvent;
+
+import java.util.*;
+
+/**
+ * A {@link PathCalculator} that answers shortest path queries with a contraction hierarchy.<p>
+ *
+ * Before the first query on a {@link Region}, the {@link Region.Node}s are contracted one after another in the order
+ * of their importance. Contracting a node removes it from the remaining graph and inserts a shortcut between two of
+ * its neighbors whenever the path over the contracted node is the only shortest path between them. The result is an
+ * upward graph in which every arc leads from a node to a more important node. The preprocessing happens once per
+ * {@link Region} and can be triggered in advance with {@link #preprocess(Region)}.<p>
+ *
+ * A query runs two searches on the upward graph, one from the start and one from the end node, which meet at the most
+ * important node of the shortest path. Both searches only settle a small part of the graph. The shortcuts of the
+ * found path are unpacked into the underlying {@link Region.Node}s afterwards.<p>
+ *
+ * {@link #getAllPathsTo(Region.Node)} has no benefit from the hierarchy and falls back to a
+ * {@link CompiledDijkstraPathCalculator}.
+ */
+public class ContractionHierarchyPathCalculator implements PathCalculator {
+
+    /**
+     * The maximum amount of nodes a witness search settles before it assumes that there is no witness.
+     */
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+
+    /**
+     * The maximum amount of arcs of a witness. Longer witnesses are not found, which only leads to superfluous
+     * shortcuts but keeps the searches around the contracted node.
+     */
+    private static final int WITNESS_HOP_LIMIT = 5;
+
+    /**
+     * The limits of the witness searches that only estimate the amount of shortcuts for the priority of a node. The
+     * priority is computed far more often than a node is contracted and only has to be roughly right, so these searches
+     * are much smaller.
+     */
+    private static final int ESTIMATE_SETTLE_LIMIT = 100;
+    private static final int ESTIMATE_HOP_LIMIT = 2;
+
+    /**
+     * The lazily built hierarchies by their {@link CompiledRegion}. The map is only locked to look up the
+     * {@link LazyHierarchy}, the preprocessing itself only blocks the queries on the same {@link CompiledRegion}.
+     */
+    private final Map<CompiledRegion, LazyHierarchy> hierarchies = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Builds the contraction hierarchy of the given {@link Region} if it has not been built yet.<p>
+     *
+     * Calling this method is optional, the hierarchy is built by the first query otherwise.
+     * The {@link Region} must not be modified afterwards.
+     *
+     * @param region The {@link Region} to preprocess.
+     */
+    public void preprocess(Region region) {
+        getHierarchy(region.compile());
+    }
+
+    @Override
+    public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        CompiledRegion compiledRegion = end.getRegion().compile();
+        int source = compiledRegion.getId(start);
+        int target = compiledRegion.getId(end);
+
+        if (source == target) {
+            return new ArrayDeque<>();
+        }
+
+        Hierarchy hierarchy = getHierarchy(compiledRegion);
+        PathComputationEvent event = new PathComputationEvent();
+        event.begin();
+        SearchScratch forward = SearchScratch.acquire(0, compiledRegion.getNodeCount());
+        SearchScratch backward = SearchScratch.acquire(1, compiledRegion.getNodeCount());
+        int meeting = hierarchy.search(source, target, forward, backward);
+
+        if (meeting < 0) {
+            throw new IllegalArgumentException("No path from %s to %s".formatted(start, end));
+        }
+
+        // the nodes of the upward graph on the path from the source over the meeting node to the target
+        List<Integer> hops = new ArrayList<>();
+        for (int node = meeting; node >= 0; node = forward.getParent(node)) {
+            hops.add(node);
+        }
+        Collections.reverse(hops);
+        for (int node = backward.getParent(meeting); node >= 0; node = backward.getParent(node)) {
+            hops.add(node);
+        }
+
+        Deque<Region.Node> path = new ArrayDeque<>();
+        for (int i = 1; i < hops.size(); i++) {
+            hierarchy.unpack(hops.get(i - 1), hops.get(i), path);
+        }
+        event.commit(this, start, end, forward.settled + backward.settled, false);
+        return path;
+    }
+
+    @Override
+    public ShortestPathTree getAllPathsTo(Region.Node end) {
+        return CompiledDijkstraPathCalculator.getShortestPathTree(this, end);
+    }
+
+    private Hierarchy getHierarchy(CompiledRegion compiledRegion) {
+        return hierarchies.computeIfAbsent(compiledRegion, key -> new LazyHierarchy()).get(compiledRegion);
+    }
+
+    /**
+     * A {@link Hierarchy} that is built by the first thread requesting it while all other threads wait for it.
+     */
+    private static final class LazyHierarchy {
+
+        private volatile Hierarchy hierarchy;
+
+        private Hierarchy get(CompiledRegion compiledRegion) {
+            Hierarchy result = hierarchy;
+            if (result == null) {
+                synchronized (this) {
+                    result = hierarchy;
+                    if (result == null) {
+                        hierarchy = result = new Hierarchy(compiledRegion);
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The upward graph of a contracted {@link CompiledRegion} in compressed sparse row format.
+     */
+    private static final class Hierarchy {
+
+        private final CompiledRegion compiledRegion;
+        private final int[] rank;
+        private final int[] firstArc;
+        private final int[] arcTarget;
+        private final long[] arcDuration;
+        /**
+         * The id of the contracted node a shortcut bypasses or -1 if the arc is an original edge.
+         */
+        private final int[] arcMiddle;
+
+        private Hierarchy(CompiledRegion compiledRegion) {
+            this.compiledRegion = compiledRegion;
+            int nodeCount = compiledRegion.getNodeCount();
+            Contraction contraction = new Contraction(compiledRegion);
+            Adjacency[] upward = contraction.contract();
+
+            rank = contraction.rank;
+            firstArc = new int[nodeCount + 1];
+            for (int u = 0; u < nodeCount; u++) {
+                firstArc[u + 1] = firstArc[u] + upward[u].size;
+            }
+
+            arcTarget = new int[firstArc[nodeCount]];
+            arcDuration = new long[firstArc[nodeCount]];
+            arcMiddle = new int[firstArc[nodeCount]];
+
+            for (int u = 0; u < nodeCount; u++) {
+                System.arraycopy(upward[u].targets, 0, arcTarget, firstArc[u], upward[u].size);
+                System.arraycopy(upward[u].durations, 0, arcDuration, firstArc[u], upward[u].size);
+                System.arraycopy(upward[u].middles, 0, arcMiddle, firstArc[u], upward[u].size);
+            }
+        }
+
+        /**
+         * Executes the bidirectional upward search between the given nodes.
+         * @return The id of the node the shortest path leads over or -1 if there is no path.
+         */
+        private int search(int source, int target, SearchScratch forward, SearchScratch backward) {
+            forward.reach(source, 0, -1, 0);
+            backward.reach(target, 0, -1, 0);
+            long best = SearchScratch.UNREACHED;
+            int meeting = -1;
+
+            while (true) {
+                // a direction is finished as soon as it cannot improve the best path anymore
+                boolean forwardActive = !forward.heap.isEmpty() && forward.heap.peekKey() < best;
+                boolean backwardActive = !backward.heap.isEmpty() && backward.heap.peekKey() < best;
+
+                if (!forwardActive && !backwardActive) {
+                    break;
+                }
+
+                SearchScratch scratch;
+                SearchScratch other;
+                if (forwardActive && (!backwardActive || forward.heap.peekKey() <= backward.heap.peekKey())) {
+                    scratch = forward;
+                    other = backward;
+                } else {
+                    scratch = backward;
+                    other = forward;
+                }
+
+                int u = scratch.heap.poll();
+                scratch.settled++;
+                long distance = scratch.getDistance(u);
+
+                if (other.isReached(u) && distance + other.getDistance(u) < best) {
+                    best = distance + other.getDistance(u);
+                    meeting = u;
+                }
+
+                for (int arc = firstArc[u]; arc < firstArc[u + 1]; arc++) {
+                    int v = arcTarget[arc];
+                    long candidate = distance + arcDuration[arc];
+                    if (candidate < scratch.getDistance(v)) {
+                        scratch.reach(v, candidate, u, candidate);
+                    }
+                }
+            }
+
+            return meeting;
+        }
+
+        /**
+         * Appends the {@link Region.Node}s of the arc between the given nodes to the given path, excluding the start.
+         */
+        private void unpack(int from, int to, Deque<Region.Node> path) {
+            // pairs of nodes whose arcs still have to be unpacked, the top pair comes first on the path
+            int[] stack = new int[16];
+            int size = 0;
+            stack[size++] = from;
+            stack[size++] = to;
+
+            while (size > 0) {
+                int v = stack[--size];
+                int u = stack[--size];
+                int middle = arcMiddle[findArc(u, v)];
+
+                if (middle < 0) {
+                    path.addLast(compiledRegion.getNode(v));
+                    continue;
+                }
+                if (size + 4 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                stack[size++] = middle;
+                stack[size++] = v;
+                stack[size++] = u;
+                stack[size++] = middle;
+            }
+        }
+
+        /**
+         * Returns the index of the upward arc between the given nodes, which is stored at the less important one.
+         */
+        private int findArc(int u, int v) {
+            int lower = rank[u] < rank[v] ? u : v;
+            int higher = lower == u ? v : u;
+
+            for (int arc = firstArc[lower]; arc < firstArc[lower + 1]; arc++) {
+                if (arcTarget[arc] == higher) {
+                    return arc;
+                }
+            }
+            throw new IllegalStateException("No arc between %d and %d".formatted(u, v));
+        }
+    }
+
+    /**
+     * The state of the preprocessing of a {@link CompiledRegion}.
+     */
+    private static final class Contraction {
+
+        /**
+         * The arcs between the nodes that have not been contracted yet.
+         */
+        private final Adjacency[] remaining;
+        private final int[] rank;
+        private final int[] contractedNeighbors;
+        private final IndexedHeap queue = new IndexedHeap();
+        private final IndexedHeap witnessHeap = new IndexedHeap();
+        private final long[] witnessDistance;
+        private final int[] witnessHops;
+        private final int[] witnessStamp;
+        private int witnessGeneration;
+        /**
+         * The neighbors of the contracted node the current witness search has not found a witness for yet are marked
+         * with the generation of the search.
+         */
+        private final int[] targetStamp;
+        /**
+         * The duration of the path from the source of the current witness search over the contracted node to every
+         * marked neighbor.
+         */
+        private final long[] targetDistance;
+
+        private Contraction(CompiledRegion compiledRegion) {
+            int nodeCount = compiledRegion.getNodeCount();
+            remaining = new Adjacency[nodeCount];
+            rank = new int[nodeCount];
+            contractedNeighbors = new int[nodeCount];
+            witnessDistance = new long[nodeCount];
+            witnessHops = new int[nodeCount];
+            witnessStamp = new int[nodeCount];
+            targetStamp = new int[nodeCount];
+            targetDistance = new long[nodeCount];
+            queue.reset(nodeCount);
+            witnessHeap.reset(nodeCount);
+
+            for (int u = 0; u < nodeCount; u++) {
+                remaining[u] = new Adjacency();
+                for (int arc = compiledRegion.getFirstArc(u); arc < compiledRegion.getFirstArc(u + 1); arc++) {
+                    // a self-loop is never part of a shortest path
+                    if (compiledRegion.getArcTarget(arc) != u) {
+                        remaining[u].put(compiledRegion.getArcTarget(arc), compiledRegion.getArcDuration(arc), -1);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Contracts all nodes and returns the upward arcs of every node.
+         */
+        private Adjacency[] contract() {
+            Adjacency[] upward = new Adjacency[remaining.length];
+
+            for (int u = 0; u < remaining.length; u++) {
+                queue.push(u, priority(u));
+            }
+
+            int nextRank = 0;
+            while (!queue.isEmpty()) {
+                int v = queue.poll();
+
+                // the priorities in the queue are only updated lazily, so the node is only contracted if its current
+                // priority is still the smallest one
+                long priority = priority(v);
+                if (!queue.isEmpty() && priority > queue.peekKey()) {
+                    queue.push(v, priority);
+                    continue;
+                }
+
+                Adjacency neighbors = remaining[v];
+                contract(v, true);
+                upward[v] = neighbors;
+                rank[v] = nextRank++;
+                remaining[v] = null;
+
+                for (int i = 0; i < neighbors.size; i++) {
+                    int u = neighbors.targets[i];
+                    remaining[u].remove(v);
+                    contractedNeighbors[u]++;
+                }
+            }
+
+            return upward;
+        }
+
+        /**
+         * Returns the priority of the given node, smaller priorities are contracted first. The priority is the edge
+         * difference plus the amount of contracted neighbors, which spreads the contraction evenly over the graph.
+         */
+        private long priority(int v) {
+            return contract(v, false) - remaining[v].size + contractedNeighbors[v];
+        }
+
+        /**
+         * Determines the shortcuts needed to contract the given node and inserts them if requested.
+         * @return The amount of needed shortcuts.
+         */
+        private int contract(int v, boolean insert) {
+            Adjacency neighbors = remaining[v];
+            int shortcuts = 0;
+
+            // edges are undirected, so every pair of neighbors only has to be considered once. A single witness search
+            // from every neighbor looks for all neighbors after it
+            for (int i = 0; i < neighbors.size - 1; i++) {
+                int u = neighbors.targets[i];
+                long incoming = neighbors.durations[i];
+                if (insert) {
+                    witnessSearch(u, v, incoming, neighbors, i + 1, WITNESS_SETTLE_LIMIT, WITNESS_HOP_LIMIT);
+                } else {
+                    witnessSearch(u, v, incoming, neighbors, i + 1, ESTIMATE_SETTLE_LIMIT, ESTIMATE_HOP_LIMIT);
+                }
+
+                for (int j = i + 1; j < neighbors.size; j++) {
+                    int w = neighbors.targets[j];
+                    if (targetStamp[w] == witnessGeneration) {
+                        shortcuts++;
+                        if (insert) {
+                            long viaDuration = incoming + neighbors.durations[j];
+                            remaining[u].put(w, viaDuration, v);
+                            remaining[w].put(u, viaDuration, v);
+                        }
+                    }
+                }
+            }
+
+            return shortcuts;
+        }
+
+        /**
+         * Executes a limited search from the given source in the remaining graph that ignores the given node and looks
+         * for witnesses to the given neighbors starting at the given index. A neighbor is only marked in
+         * {@link #targetStamp} afterwards if no path with at most the given amount of arcs has been found that is not
+         * longer than the path over the ignored node. The search stops as soon as all neighbors are decided.
+         */
+        private void witnessSearch(int source, int ignored, long incoming, Adjacency neighbors, int firstTarget,
+                                   int settleLimit, int hopLimit) {
+            if (++witnessGeneration == 0) {
+                Arrays.fill(witnessStamp, 0);
+                Arrays.fill(targetStamp, 0);
+                witnessGeneration = 1;
+            }
+
+            int pendingTargets = 0;
+            long maxDistance = 0;
+            for (int i = firstTarget; i < neighbors.size; i++) {
+                int w = neighbors.targets[i];
+                targetStamp[w] = witnessGeneration;
+                targetDistance[w] = incoming + neighbors.durations[i];
+                maxDistance = Math.max(maxDistance, targetDistance[w]);
+                pendingTargets++;
+            }
+
+            witnessHeap.clear();
+            witnessStamp[source] = witnessGeneration;
+            witnessDistance[source] = 0;
+            witnessHops[source] = 0;
+            witnessHeap.push(source, 0);
+
+            int settled = 0;
+            while (!witnessHeap.isEmpty() && witnessHeap.peekKey() <= maxDistance && settled++ < settleLimit) {
+                int u = witnessHeap.poll();
+                // a settled neighbor that is still marked cannot be reached on a shorter path anymore
+                if (targetStamp[u] == witnessGeneration && --pendingTargets == 0) {
+                    return;
+                }
+
+                int hops = witnessHops[u] + 1;
+                long distance = witnessDistance[u];
+                Adjacency adjacency = remaining[u];
+
+                for (int i = 0; i < adjacency.size; i++) {
+                    int w = adjacency.targets[i];
+                    long candidate = distance + adjacency.durations[i];
+                    boolean target = targetStamp[w] == witnessGeneration;
+                    // nodes reached with the last arc are not expanded anymore, so only the neighbors are of interest
+                    if (w == ignored || candidate > maxDistance || candidate >= getWitnessDistance(w)
+                        || hops == hopLimit && !target) {
+                        continue;
+                    }
+                    witnessStamp[w] = witnessGeneration;
+                    witnessDistance[w] = candidate;
+                    witnessHops[w] = hops;
+
+                    // any path that is not longer than the one over the ignored node is a witness, the neighbor does
+                    // not have to be settled for that
+                    if (target && candidate <= targetDistance[w]) {
+                        targetStamp[w] = 0;
+                        if (--pendingTargets == 0) {
+                            return;
+                        }
+                    }
+                    if (hops < hopLimit) {
+                        witnessHeap.push(w, candidate);
+                    }
+                }
+            }
+        }
+
+        private long getWitnessDistance(int id) {
+            return witnessStamp[id] == witnessGeneration ? witnessDistance[id] : SearchScratch.UNREACHED;
+        }
+    }
+
+    /**
+     * A growable list of arcs leaving a node during the contraction. There is at most one arc per target node.
+     */
+    private static final class Adjacency {
+
+        private int[] targets = new int[4];
+        private long[] durations = new long[4];
+        private int[] middles = new int[4];
+        private int size;
+
+        /**
+         * Inserts an arc to the given target or replaces the existing one if the given duration is smaller.
+         */
+        private void put(int target, long duration, int middle) {
+            for (int i = 0; i < size; i++) {
+                if (targets[i] == target) {
+                    if (duration < durations[i]) {
+                        durations[i] = duration;
+                        middles[i] = middle;
+                    }
+                    return;
+                }
+            }
+            if (size == targets.length) {
+                targets = Arrays.copyOf(targets, size * 2);
+                durations = Arrays.copyOf(durations, size * 2);
+                middles = Arrays.copyOf(middles, size * 2);
+            }
+            targets[size] = target;
+            durations[size] = duration;
+            middles[size] = middle;
+            size++;
+        }
+
+        private void remove(int target) {
+            for (int i = 0; i < size; i++) {
+                if (targets[i] == target) {
+                    size--;
+                    targets[i] = targets[size];
+                    durations[i] = durations[size];
+                    middles[i] = middles[size];
+                    return;
+                }
+            }
+        }
+    }
+}
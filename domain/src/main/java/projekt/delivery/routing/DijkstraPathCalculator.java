@@ -2,6 +2,7 @@ package projekt.delivery.routing;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import projekt.delivery.jfr.PathComputationEvent;
 
 import java.util.*;
 
@@ -135,13 +136,21 @@ public class DijkstraPathCalculator implements PathCalculator {
 
     @Override
     public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        PathComputationEvent event = new PathComputationEvent();
+        event.begin();
         Map<Region.Node, DijkstraNode> references = execute(end);
 
-        return reconstructPath(references, start, end);
+        Deque<Region.Node> path = reconstructPath(references, start, end);
+        if (event.isEnabled()) {
+            event.commit(this, start, end, countVisited(references), false);
+        }
+        return path;
     }
 
     @Override
     public Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end) {
+        PathComputationEvent event = new PathComputationEvent();
+        event.begin();
 
         Map<Region.Node, DijkstraNode> references = execute(end);
 
@@ -151,9 +160,22 @@ public class DijkstraPathCalculator implements PathCalculator {
             paths.put(node, reconstructPath(references, node, end));
         }
 
+        if (event.isEnabled()) {
+            event.commit(this, null, end, countVisited(references), false);
+        }
         return paths;
     }
 
+    private static int countVisited(Map<Region.Node, DijkstraNode> references) {
+        int visited = 0;
+        for (DijkstraNode node : references.values()) {
+            if (node.visited) {
+                visited++;
+            }
+        }
+        return visited;
+    }
+
     /**
      * Wraps a region node which contains additional information for the dijkstra algorithm.
      */
@@ -0,0 +1,309 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The durations of the shortest paths between all pairs of {@link Region.Node}s of a {@link Region}.<p>
+ *
+ * A precomputed {@link DurationMatrix} runs one single-source search per {@link Region.Node} in parallel on a
+ * {@link ForkJoinPool} and stores the results in flat arrays with one row per end node, so
+ * {@link #duration(int, int)} and {@link #nextHop(int, int)} are two array accesses. The matrix needs
+ * {@code 12 * n * n} bytes for {@code n} nodes.<p>
+ *
+ * For regions where this is too much, an on-demand {@link DurationMatrix} calculates the row of an end node when it is
+ * first requested and keeps a bounded amount of recently used rows in a {@link RowCache}. A cached row is found by the
+ * id of its end node without taking a lock, so a lookup costs a volatile read more than in a precomputed matrix.<p>
+ *
+ * The node ids are the ids of {@link #getCompiledRegion()}. Both variants can be shared between threads.
+ */
+public final class DurationMatrix {
+
+    /**
+     * The duration between two {@link Region.Node}s that are not connected.
+     */
+    public static final long UNREACHABLE = SearchScratch.UNREACHED;
+
+    /**
+     * The amount of rows a single fork/join task computes without splitting further.
+     */
+    private static final int ROWS_PER_TASK = 8;
+
+    private final CompiledRegion compiledRegion;
+    private final int nodeCount;
+    private final long @Nullable [] durations;
+    private final int @Nullable [] nextHops;
+    private final @Nullable RowCache rows;
+
+    private DurationMatrix(CompiledRegion compiledRegion,
+                           long @Nullable [] durations,
+                           int @Nullable [] nextHops,
+                           @Nullable RowCache rows) {
+        this.compiledRegion = compiledRegion;
+        this.nodeCount = compiledRegion.getNodeCount();
+        this.durations = durations;
+        this.nextHops = nextHops;
+        this.rows = rows;
+    }
+
+    /**
+     * Precomputes the {@link DurationMatrix} of the given {@link Region} using the common {@link ForkJoinPool}.
+     * @param region The {@link Region} to compute the {@link DurationMatrix} of.
+     * @return The created {@link DurationMatrix}.
+     * @throws IllegalArgumentException If the {@link Region} has too many {@link Region.Node}s for a flat matrix.
+     */
+    public static DurationMatrix of(Region region) {
+        return of(region, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Precomputes the {@link DurationMatrix} of the given {@link Region} using the given {@link ForkJoinPool}.
+     * @param region The {@link Region} to compute the {@link DurationMatrix} of.
+     * @param pool The {@link ForkJoinPool} the searches are executed on.
+     * @return The created {@link DurationMatrix}.
+     * @throws IllegalArgumentException If the {@link Region} has too many {@link Region.Node}s for a flat matrix.
+     */
+    public static DurationMatrix of(Region region, ForkJoinPool pool) {
+        CompiledRegion compiledRegion = region.compile();
+        long size = (long) compiledRegion.getNodeCount() * compiledRegion.getNodeCount();
+
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(
+                "A region with %d nodes is too large for a precomputed matrix, use onDemand instead"
+                    .formatted(compiledRegion.getNodeCount()));
+        }
+
+        long[] durations = new long[(int) size];
+        int[] nextHops = new int[(int) size];
+        pool.invoke(new RowTask(compiledRegion, durations, nextHops, 0, compiledRegion.getNodeCount()));
+
+        return new DurationMatrix(compiledRegion, durations, nextHops, null);
+    }
+
+    /**
+     * Creates a {@link DurationMatrix} of the given {@link Region} that computes its rows on demand.
+     * @param region The {@link Region} to compute the {@link DurationMatrix} of.
+     * @param maxRows The maximum amount of rows that are kept at the same time.
+     * @return The created {@link DurationMatrix}.
+     * @throws IllegalArgumentException If {@code maxRows} is not positive.
+     */
+    public static DurationMatrix onDemand(Region region, int maxRows) {
+        if (maxRows < 1) {
+            throw new IllegalArgumentException("maxRows must be positive");
+        }
+        CompiledRegion compiledRegion = region.compile();
+        return new DurationMatrix(compiledRegion, null, null, new RowCache(compiledRegion, maxRows));
+    }
+
+    /**
+     * Returns the {@link CompiledRegion} whose node ids are used by this {@link DurationMatrix}.
+     * @return The {@link CompiledRegion} of this {@link DurationMatrix}.
+     */
+    public CompiledRegion getCompiledRegion() {
+        return compiledRegion;
+    }
+
+    /**
+     * Returns true if all rows of this {@link DurationMatrix} have been computed in advance.
+     * @return True if this {@link DurationMatrix} is precomputed, false if it computes its rows on demand.
+     */
+    public boolean isPrecomputed() {
+        return rows == null;
+    }
+
+    /**
+     * Returns the duration of the shortest path between the {@link Region.Node}s with the given ids.
+     * @param from The id of the start {@link Region.Node}.
+     * @param to The id of the end {@link Region.Node}.
+     * @return The duration of the shortest path or {@link #UNREACHABLE} if there is no path.
+     */
+    public long duration(int from, int to) {
+        if (rows != null) {
+            return rows.get(to).durations[from];
+        }
+        return durations[to * nodeCount + from];
+    }
+
+    /**
+     * Returns the duration of the shortest path between the given {@link Region.Node}s.
+     * @param from The start {@link Region.Node}.
+     * @param to The end {@link Region.Node}.
+     * @return The duration of the shortest path or {@link #UNREACHABLE} if there is no path.
+     */
+    public long duration(Region.Node from, Region.Node to) {
+        return duration(compiledRegion.getId(from), compiledRegion.getId(to));
+    }
+
+    /**
+     * Returns the id of the {@link Region.Node} after the given start {@link Region.Node} on the shortest path to the
+     * given end {@link Region.Node}.
+     * @param from The id of the start {@link Region.Node}.
+     * @param to The id of the end {@link Region.Node}.
+     * @return The id of the next {@link Region.Node} or -1 if both ids are equal or there is no path.
+     */
+    public int nextHop(int from, int to) {
+        if (rows != null) {
+            return rows.get(to).nextHops[from];
+        }
+        return nextHops[to * nodeCount + from];
+    }
+
+    /**
+     * Returns the {@link Region.Node} after the given start {@link Region.Node} on the shortest path to the given end
+     * {@link Region.Node}.
+     * @param from The start {@link Region.Node}.
+     * @param to The end {@link Region.Node}.
+     * @return The next {@link Region.Node} or null if both {@link Region.Node}s are equal or there is no path.
+     */
+    public @Nullable Region.Node nextHop(Region.Node from, Region.Node to) {
+        int next = nextHop(compiledRegion.getId(from), compiledRegion.getId(to));
+        return next < 0 ? null : compiledRegion.getNode(next);
+    }
+
+    /**
+     * Computes the row of the given end node into the given arrays starting at the given offset.
+     */
+    private static void computeRow(CompiledRegion compiledRegion, int to, long[] durations, int[] nextHops, int offset) {
+        // the search runs from the end node, so the parent of every node is its next hop towards the end node
+        SearchScratch scratch = CompiledDijkstraPathCalculator.search(compiledRegion, to, -1);
+        for (int id = 0; id < compiledRegion.getNodeCount(); id++) {
+            durations[offset + id] = scratch.getDistance(id);
+            nextHops[offset + id] = scratch.isReached(id) ? scratch.getParent(id) : -1;
+        }
+    }
+
+    /**
+     * Computes the rows in the range {@code [from, to)} by splitting it until it is small enough.
+     */
+    private static final class RowTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final CompiledRegion compiledRegion;
+        private final long[] durations;
+        private final int[] nextHops;
+        private final int from;
+        private final int to;
+
+        private RowTask(CompiledRegion compiledRegion, long[] durations, int[] nextHops, int from, int to) {
+            this.compiledRegion = compiledRegion;
+            this.durations = durations;
+            this.nextHops = nextHops;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > ROWS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(
+                    new RowTask(compiledRegion, durations, nextHops, from, middle),
+                    new RowTask(compiledRegion, durations, nextHops, middle, to)
+                );
+                return;
+            }
+
+            for (int target = from; target < to; target++) {
+                computeRow(compiledRegion, target, durations, nextHops, target * compiledRegion.getNodeCount());
+            }
+        }
+    }
+
+    /**
+     * The durations and next hops of all nodes towards a single end node.
+     */
+    private static final class Row {
+
+        private final long[] durations;
+        private final int[] nextHops;
+        /**
+         * Set whenever the row is read and cleared by the clock hand of the {@link RowCache}. Races on this flag only
+         * affect which row is evicted, so it is neither volatile nor written if it is already set.
+         */
+        private boolean referenced = true;
+
+        private Row(int nodeCount) {
+            durations = new long[nodeCount];
+            nextHops = new int[nodeCount];
+        }
+    }
+
+    /**
+     * The rows of an on-demand {@link DurationMatrix}, indexed by the id of their end node.<p>
+     *
+     * A lookup of a cached row is a single volatile read. Only a miss takes the lock of the cache, after the row has been
+     * computed. Once the cache is full, a clock hand sweeps over the cached rows and evicts the first row that has not
+     * been read since the hand has last passed it.
+     */
+    private static final class RowCache {
+
+        private final CompiledRegion compiledRegion;
+        private final AtomicReferenceArray<Row> rows;
+        /**
+         * The ids of the cached rows in the order of the clock.
+         */
+        private final int[] clock;
+        private int cachedCount;
+        private int hand;
+
+        private RowCache(CompiledRegion compiledRegion, int maxRows) {
+            this.compiledRegion = compiledRegion;
+            rows = new AtomicReferenceArray<>(compiledRegion.getNodeCount());
+            clock = new int[Math.min(maxRows, compiledRegion.getNodeCount())];
+        }
+
+        private Row get(int to) {
+            @Nullable Row row = rows.get(to);
+            if (row == null) {
+                return load(to);
+            }
+            if (!row.referenced) {
+                row.referenced = true;
+            }
+            return row;
+        }
+
+        private Row load(int to) {
+            // the row is computed outside the lock, so lookups of other end nodes are not blocked
+            Row row = new Row(compiledRegion.getNodeCount());
+            computeRow(compiledRegion, to, row.durations, row.nextHops, 0);
+
+            synchronized (this) {
+                @Nullable Row cached = rows.get(to);
+                if (cached != null) {
+                    return cached;
+                }
+                if (cachedCount < clock.length) {
+                    clock[cachedCount++] = to;
+                } else {
+                    evict(to);
+                }
+                rows.set(to, row);
+            }
+            return row;
+        }
+
+        /**
+         * Evicts a row and puts the given id in its place on the clock. Readers may set the flags again while the hand
+         * sweeps, so after two rounds the row under the hand is evicted regardless of its flag.
+         */
+        private void evict(int replacement) {
+            for (int swept = 0; ; swept++) {
+                Row row = rows.get(clock[hand]);
+                if (row.referenced && swept < 2 * clock.length) {
+                    row.referenced = false;
+                    hand = (hand + 1) % clock.length;
+                } else {
+                    rows.set(clock[hand], null);
+                    clock[hand] = replacement;
+                    hand = (hand + 1) % clock.length;
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package projekt.delivery.routing;
+
+import java.util.Arrays;
+
+/**
+ * An indexed 4-ary min-heap of int ids with {@code long} keys that supports decrease-key.<p>
+ *
+ * The heap stores the position of every contained id, so {@link #push(int, long)} can lower the key of an id that is
+ * already contained instead of inserting it a second time. The backing arrays only grow and are reused after
+ * {@link #reset(int)}, so a heap can be used for many searches without allocating.
+ */
+final class IndexedHeap {
+
+    private static final int ARITY = 4;
+
+    private int[] heap = new int[0];
+    private long[] keys = new long[0];
+    private int[] position = new int[0];
+    private int size;
+
+    /**
+     * Clears this {@link IndexedHeap} and makes sure it can contain all ids in the range {@code [0, capacity)}.
+     * @param capacity The exclusive upper bound of the ids.
+     */
+    void reset(int capacity) {
+        clear();
+        if (position.length < capacity) {
+            heap = new int[capacity];
+            keys = new long[capacity];
+            position = new int[capacity];
+            Arrays.fill(position, -1);
+        }
+    }
+
+    /**
+     * Removes all ids from this {@link IndexedHeap}. The cost is linear in the amount of contained ids.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(int id) {
+        return position[id] >= 0;
+    }
+
+    /**
+     * Returns the smallest key in this {@link IndexedHeap}.
+     * @return The smallest key.
+     */
+    long peekKey() {
+        return keys[0];
+    }
+
+    /**
+     * Inserts the given id with the given key or lowers its key if it is already contained.<p>
+     *
+     * If the id is already contained with a key that is not greater than the given key, nothing happens.
+     *
+     * @param id The id to insert.
+     * @param key The key of the id.
+     */
+    void push(int id, long key) {
+        int i = position[id];
+        if (i < 0) {
+            i = size++;
+        } else if (keys[i] <= key) {
+            return;
+        }
+        siftUp(i, id, key);
+    }
+
+    /**
+     * Removes the id with the smallest key and returns it.
+     * @return The id with the smallest key.
+     */
+    int poll() {
+        int min = heap[0];
+        position[min] = -1;
+        size--;
+        if (size > 0) {
+            siftDown(0, heap[size], keys[size]);
+        }
+        return min;
+    }
+
+    private void siftUp(int i, int id, long key) {
+        while (i > 0) {
+            int parent = (i - 1) / ARITY;
+            if (keys[parent] <= key) {
+                break;
+            }
+            move(parent, i);
+            i = parent;
+        }
+        set(i, id, key);
+    }
+
+    private void siftDown(int i, int id, long key) {
+        while (true) {
+            int first = i * ARITY + 1;
+            if (first >= size) {
+                break;
+            }
+            int min = first;
+            int last = Math.min(first + ARITY, size);
+            for (int child = first + 1; child < last; child++) {
+                if (keys[child] < keys[min]) {
+                    min = child;
+                }
+            }
+            if (keys[min] >= key) {
+                break;
+            }
+            move(min, i);
+            i = min;
+        }
+        set(i, id, key);
+    }
+
+    private void move(int from, int to) {
+        heap[to] = heap[from];
+        keys[to] = keys[from];
+        position[heap[to]] = to;
+    }
+
+    private void set(int i, int id, long key) {
+        heap[i] = id;
+        keys[i] = key;
+        position[id] = i;
+    }
+}
@@ -39,9 +39,9 @@ class OccupiedEdgeImpl extends AbstractOccupied<Region.Edge> {
         if (previousNode.vehicles.remove(vehicle) == null) {
             throw new AssertionError("Vehicle " + vehicle.getId() + " was not found in previous node");
         }
-        vehicles.put(vehicle, new VehicleStats(currentTick, previous));
+        putVehicle(vehicle, new VehicleStats(currentTick, previous), currentTick);
         vehicle.setOccupied(this);
-        vehicleManager.getEventBus().queuePost(ArrivedAtEdgeEvent.of(
+        postEvent(ArrivedAtEdgeEvent.of(
                 currentTick,
                 vehicle,
                 component,
@@ -49,4 +49,16 @@ class OccupiedEdgeImpl extends AbstractOccupied<Region.Edge> {
             )
         );
     }
+
+    @Override
+    long getNextDueTick(long currentTick) {
+        long next = Long.MAX_VALUE;
+        // vehicles without pending moves stay on the edge until they get a new path
+        for (Map.Entry<VehicleImpl, VehicleStats> entry : vehicles.entrySet()) {
+            if (entry.getKey().hasPendingMoves()) {
+                next = Math.min(next, entry.getValue().arrived + component.getDuration());
+            }
+        }
+        return next;
+    }
 }
@@ -2,6 +2,7 @@ package projekt.delivery.routing;
 
 import projekt.delivery.event.ArrivedAtNeighborhoodEvent;
 import projekt.delivery.event.DeliverOrderEvent;
+import projekt.delivery.jfr.OrderDeliveredEvent;
 
 class OccupiedNeighborhoodImpl extends OccupiedNodeImpl<Region.Neighborhood> implements VehicleManager.OccupiedNeighborhood {
 
@@ -22,7 +23,8 @@ class OccupiedNeighborhoodImpl extends OccupiedNodeImpl<Region.Neighborhood> imp
 
         order.setActualDeliveryTick(tick);
         ((VehicleImpl) vehicle).unloadOrder(order);
-        vehicleManager.getEventBus().queuePost(DeliverOrderEvent.of(
+        OrderDeliveredEvent.commit(order, vehicle, tick);
+        postEvent(DeliverOrderEvent.of(
                 tick,
                 vehicle,
                 component,
@@ -33,7 +35,7 @@ class OccupiedNeighborhoodImpl extends OccupiedNodeImpl<Region.Neighborhood> imp
 
     @Override
     protected void emitArrivedEvent(VehicleImpl vehicle, OccupiedEdgeImpl previousEdge, long tick) {
-        vehicleManager.getEventBus().queuePost(ArrivedAtNeighborhoodEvent.of(
+        postEvent(ArrivedAtNeighborhoodEvent.of(
                 tick,
                 vehicle,
                 component,
@@ -38,13 +38,24 @@ class OccupiedNodeImpl<C extends Region.Node> extends AbstractOccupied<C> {
         if (previousEdge.vehicles.remove(vehicle) == null) {
             throw new AssertionError("Vehicle " + vehicle.getId() + " was not found in previous edge");
         }
-        vehicles.put(vehicle, new VehicleStats(currentTick, previous));
+        putVehicle(vehicle, new VehicleStats(currentTick, previous), currentTick);
         vehicle.setOccupied(this);
         emitArrivedEvent(vehicle, previousEdge, currentTick);
     }
 
+    @Override
+    long getNextDueTick(long currentTick) {
+        // a vehicle on a node moves on as soon as it has somewhere to go
+        for (VehicleImpl vehicle : vehicles.keySet()) {
+            if (vehicle.hasPendingMoves()) {
+                return currentTick;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
     protected void emitArrivedEvent(VehicleImpl vehicle, OccupiedEdgeImpl previousEdge, long tick) {
-        vehicleManager.getEventBus().queuePost(ArrivedAtNodeEvent.of(
+        postEvent(ArrivedAtNodeEvent.of(
                 tick,
                 vehicle,
                 component,
@@ -2,6 +2,7 @@ package projekt.delivery.routing;
 
 import projekt.delivery.event.ArrivedAtRestaurantEvent;
 import projekt.delivery.event.LoadOrderEvent;
+import projekt.delivery.jfr.OrderLoadedEvent;
 
 class OccupiedRestaurantImpl extends OccupiedNodeImpl<Region.Restaurant> implements VehicleManager.OccupiedRestaurant {
 
@@ -21,7 +22,8 @@ class OccupiedRestaurantImpl extends OccupiedNodeImpl<Region.Restaurant> impleme
         }
 
         ((VehicleImpl) vehicle).loadOrder(order);
-        vehicleManager.getEventBus().queuePost(LoadOrderEvent.of(
+        OrderLoadedEvent.commit(order, vehicle, currentTick);
+        postEvent(LoadOrderEvent.of(
                 currentTick,
                 vehicle,
                 order,
@@ -32,7 +34,7 @@ class OccupiedRestaurantImpl extends OccupiedNodeImpl<Region.Restaurant> impleme
 
     @Override
     protected void emitArrivedEvent(VehicleImpl vehicle, OccupiedEdgeImpl previousEdge, long currentTick) {
-        vehicleManager.getEventBus().queuePost(ArrivedAtRestaurantEvent.of(
+        postEvent(ArrivedAtRestaurantEvent.of(
                 currentTick,
                 vehicle,
                 this,
@@ -13,7 +13,9 @@ public interface PathCalculator {
      *
      * @param start The start {@link Region.Node}
      * @param end   The end {@link Region.Node}
-     * @return A list of nodes (excluding start and including end) that represent a path from start to end
+     * @return A list of nodes (excluding start and including end) that represent a path from start to end. The list is
+     * empty if {@code start} and {@code end} are the same node
+     * @throws IllegalArgumentException If there is no path from {@code start} to {@code end}
      */
     Deque<Region.Node> getPath(Region.Node start, Region.Node end);
 
@@ -22,7 +24,8 @@ public interface PathCalculator {
      *
      * @param end The end {@link Region.Node} of all paths.
      * @return A {@link Map} mapping each node from {@code end} to a list of nodes
-     * (excluding start and including end) that represent the path from start to end
+     * (excluding start and including end) that represent the path from start to end. Nodes that can not reach
+     * {@code end} are not mapped
      */
     Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end);
 }
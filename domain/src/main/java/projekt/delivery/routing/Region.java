@@ -64,6 +64,18 @@ public interface Region {
      */
     DistanceCalculator getDistanceCalculator();
 
+    /**
+     * Returns an immutable, array-backed {@link CompiledRegion} view of this {@link Region}.<p>
+     *
+     * Implementations may cache the returned {@link CompiledRegion}, therefore this {@link Region} must not be
+     * modified after calling this method.
+     *
+     * @return The {@link CompiledRegion} of this {@link Region}.
+     */
+    default CompiledRegion compile() {
+        return CompiledRegion.of(this);
+    }
+
     /**
      * Represents a component of the underlying graph.
      * @param <C> The type of the represented component.
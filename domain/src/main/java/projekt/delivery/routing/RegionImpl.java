@@ -15,6 +15,7 @@ class RegionImpl implements Region {
     private final Map<Location, Map<Location, EdgeImpl>> edges = new HashMap<>();
     private final List<EdgeImpl> allEdges = new ArrayList<>();
     private final DistanceCalculator distanceCalculator;
+    private volatile @Nullable CompiledRegion compiledRegion;
 
     /**
      * Creates a new, empty {@link RegionImpl} instance using a {@link EuclideanDistanceCalculator}.
@@ -60,6 +61,21 @@ class RegionImpl implements Region {
         return distanceCalculator;
     }
 
+    @Override
+    public CompiledRegion compile() {
+        CompiledRegion compiled = compiledRegion;
+        if (compiled == null) {
+            synchronized (this) {
+                compiled = compiledRegion;
+                if (compiled == null) {
+                    compiled = CompiledRegion.of(this);
+                    compiledRegion = compiled;
+                }
+            }
+        }
+        return compiled;
+    }
+
     /**
      * Adds the given {@link NodeImpl} to this {@link RegionImpl}.
      * @param node the {@link NodeImpl} to add.
@@ -69,6 +85,7 @@ class RegionImpl implements Region {
             throw new IllegalArgumentException("Node " + node + " has incorrect region"); //not in the map
         }
         nodes.put(node.getLocation(), node); //only if no exception is thrown
+        compiledRegion = null;
     }
 
     /**
@@ -84,10 +101,13 @@ class RegionImpl implements Region {
             String location = edge.getNodeA() == null ? edge.getNodeA().getLocation().toString() : edge.getNodeB().getLocation().toString();
             throw new IllegalArgumentException("Node"  + (edge.getNodeA() == null ? "A " : "B ") + location + " is not part of the region");
         }
-        if (!nodes.containsValue(edge.getNodeA()) || !nodes.containsValue(edge.getNodeB())) {
+        // look the nodes up by their location instead of scanning all nodes with containsValue
+        if (!edge.getNodeA().equals(nodes.get(edge.getNodeA().getLocation()))
+            || !edge.getNodeB().equals(nodes.get(edge.getNodeB().getLocation()))) {
             throw new IllegalArgumentException("Edge " + edge + " has incorrect region");
         }
         allEdges.add(edge);
+        compiledRegion = null;
     }
 
     @Override
@@ -0,0 +1,126 @@
+package projekt.delivery.routing;
+
+import java.util.Arrays;
+
+/**
+ * Reusable per-thread buffers for graph searches over the ids of a {@link CompiledRegion}.<p>
+ *
+ * Instead of clearing its arrays before every search, a {@link SearchScratch} increments a generation counter and only
+ * considers the entries that were written during the current generation. Starting a new search is therefore constant
+ * time and does not allocate once the buffers are large enough.<p>
+ *
+ * A {@link SearchScratch} is only valid until it is acquired again on the same thread. Results that
+ * have to outlive the search must be copied.
+ */
+final class SearchScratch {
+
+    /**
+     * The distance of nodes that have not been reached during the current search.
+     */
+    static final long UNREACHED = Long.MAX_VALUE;
+
+    /**
+     * The amount of {@link SearchScratch}es per thread, which is the amount of searches that can be executed at the
+     * same time, e.g. the two directions of a bidirectional search.
+     */
+    static final int SLOTS = 2;
+
+    private static final ThreadLocal<SearchScratch[]> SCRATCH = ThreadLocal.withInitial(() -> {
+        SearchScratch[] scratches = new SearchScratch[SLOTS];
+        for (int i = 0; i < SLOTS; i++) {
+            scratches[i] = new SearchScratch();
+        }
+        return scratches;
+    });
+
+    final IndexedHeap heap = new IndexedHeap();
+    /**
+     * The amount of nodes that have been settled during the current search. It is maintained by the searches.
+     */
+    int settled;
+    private long[] distance = new long[0];
+    private int[] parent = new int[0];
+    private int[] stamp = new int[0];
+    private int generation;
+
+    private SearchScratch() {}
+
+    /**
+     * Returns the {@link SearchScratch} of the current thread prepared for a new search on a graph with the given
+     * amount of nodes.
+     * @param nodeCount The amount of nodes of the searched graph.
+     * @return The {@link SearchScratch} of the current thread.
+     */
+    static SearchScratch acquire(int nodeCount) {
+        return acquire(0, nodeCount);
+    }
+
+    /**
+     * Returns the {@link SearchScratch} in the given slot of the current thread prepared for a new search on a graph
+     * with the given amount of nodes.
+     * @param slot The slot in the range {@code [0, SLOTS)}.
+     * @param nodeCount The amount of nodes of the searched graph.
+     * @return The {@link SearchScratch} in the given slot of the current thread.
+     */
+    static SearchScratch acquire(int slot, int nodeCount) {
+        SearchScratch scratch = SCRATCH.get()[slot];
+        scratch.reset(nodeCount);
+        return scratch;
+    }
+
+    private void reset(int nodeCount) {
+        heap.reset(nodeCount);
+        settled = 0;
+        if (stamp.length < nodeCount) {
+            distance = new long[nodeCount];
+            parent = new int[nodeCount];
+            stamp = new int[nodeCount];
+            generation = 0;
+        }
+        if (++generation == 0) {
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+    }
+
+    /**
+     * Returns true if the given node has been reached during the current search.
+     * @param id The id of the node.
+     * @return True if the given node has been reached.
+     */
+    boolean isReached(int id) {
+        return stamp[id] == generation;
+    }
+
+    /**
+     * Returns the tentative distance of the given node or {@link #UNREACHED}.
+     * @param id The id of the node.
+     * @return The tentative distance of the given node.
+     */
+    long getDistance(int id) {
+        return stamp[id] == generation ? distance[id] : UNREACHED;
+    }
+
+    /**
+     * Returns the node the given node has been reached from or -1 for the source of the search.
+     * @param id The id of the node.
+     * @return The parent of the given node.
+     */
+    int getParent(int id) {
+        return parent[id];
+    }
+
+    /**
+     * Updates the tentative distance and parent of the given node and pushes it onto the heap with the given key.
+     * @param id The id of the node.
+     * @param distance The new distance.
+     * @param parent The new parent or -1.
+     * @param key The key of the node in the heap.
+     */
+    void reach(int id, long distance, int parent, long key) {
+        this.distance[id] = distance;
+        this.parent[id] = parent;
+        stamp[id] = generation;
+        heap.push(id, key);
+    }
+}
@@ -0,0 +1,276 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * The result of a single-target shortest path search on a {@link CompiledRegion}.<p>
+ *
+ * A {@link ShortestPathTree} stores for every {@link Region.Node} the next hop on its shortest path to the target and the
+ * duration of that path. It implements the {@link Map} returned by {@link PathCalculator#getAllPathsTo(Region.Node)},
+ * but the paths are only materialized when they are requested, so building the tree does not create one
+ * {@link Deque} per node. Every requested path is a new {@link Deque} owned by the caller.<p>
+ *
+ * The map only contains the {@link Region.Node}s from which the target can be reached and is unmodifiable.
+ */
+public final class ShortestPathTree extends AbstractMap<Region.Node, Deque<Region.Node>> {
+
+    private final CompiledRegion compiledRegion;
+    private final int target;
+    private final int[] next;
+    private final long[] duration;
+    private final int size;
+    private @Nullable Set<Entry<Region.Node, Deque<Region.Node>>> entrySet;
+
+    /**
+     * Creates a new {@link ShortestPathTree}.
+     * @param compiledRegion The searched {@link CompiledRegion}.
+     * @param target The id of the target node.
+     * @param next The id of the next node on the path to the target for every node, or -1 for the target and unreachable nodes.
+     * @param duration The duration of the path to the target for every node or {@link SearchScratch#UNREACHED}.
+     */
+    ShortestPathTree(CompiledRegion compiledRegion, int target, int[] next, long[] duration) {
+        this.compiledRegion = compiledRegion;
+        this.target = target;
+        this.next = next;
+        this.duration = duration;
+
+        int size = 0;
+        for (long d : duration) {
+            if (d != SearchScratch.UNREACHED) {
+                size++;
+            }
+        }
+        this.size = size;
+    }
+
+    /**
+     * Copies the result of a search that has been executed from the given target using the given {@link SearchScratch}.
+     */
+    static ShortestPathTree of(CompiledRegion compiledRegion, int target, SearchScratch scratch) {
+        int nodeCount = compiledRegion.getNodeCount();
+        int[] next = new int[nodeCount];
+        long[] duration = new long[nodeCount];
+
+        for (int id = 0; id < nodeCount; id++) {
+            duration[id] = scratch.getDistance(id);
+            next[id] = duration[id] == SearchScratch.UNREACHED ? -1 : scratch.getParent(id);
+        }
+
+        return new ShortestPathTree(compiledRegion, target, next, duration);
+    }
+
+    /**
+     * Creates a {@link ShortestPathTree} from the result of {@link PathCalculator#getAllPathsTo(Region.Node)}.<p>
+     *
+     * Only the first {@link Region.Node} of every path is kept, so the given paths must be shortest paths for the
+     * paths of the created tree to be equal to them.
+     *
+     * @param compiledRegion The {@link CompiledRegion} of the target.
+     * @param target The target {@link Region.Node} all given paths end at.
+     * @param paths The paths from every reachable {@link Region.Node} to the target.
+     * @return The created {@link ShortestPathTree}.
+     * @throws IllegalArgumentException If a path is empty, does not end at the target or contains two consecutive
+     * {@link Region.Node}s that are not connected by an {@link Region.Edge}.
+     */
+    static ShortestPathTree of(CompiledRegion compiledRegion,
+                               Region.Node target,
+                               Map<Region.Node, Deque<Region.Node>> paths) {
+        if (paths instanceof ShortestPathTree tree && tree.compiledRegion == compiledRegion) {
+            return tree;
+        }
+
+        int nodeCount = compiledRegion.getNodeCount();
+        int[] next = new int[nodeCount];
+        long[] duration = new long[nodeCount];
+        Arrays.fill(next, -1);
+        Arrays.fill(duration, SearchScratch.UNREACHED);
+
+        int targetId = compiledRegion.getId(target);
+        duration[targetId] = 0;
+
+        for (Entry<Region.Node, Deque<Region.Node>> entry : paths.entrySet()) {
+            int id = compiledRegion.getId(entry.getKey());
+            if (id == targetId) {
+                continue;
+            }
+
+            Deque<Region.Node> path = entry.getValue();
+            if (path.isEmpty()) {
+                throw new IllegalArgumentException("The path from %s to %s is empty".formatted(entry.getKey(), target));
+            }
+
+            long pathDuration = 0;
+            int previous = id;
+            for (Region.Node node : path) {
+                int current = compiledRegion.getId(node);
+                int arc = compiledRegion.findArc(previous, current);
+                if (arc < 0) {
+                    throw new IllegalArgumentException("The path from %s to %s leads from %s to %s without an edge"
+                        .formatted(entry.getKey(), target, compiledRegion.getNode(previous), node));
+                }
+                pathDuration += compiledRegion.getArcDuration(arc);
+                previous = current;
+            }
+            if (previous != targetId) {
+                throw new IllegalArgumentException("The path from %s to %s ends at %s"
+                    .formatted(entry.getKey(), target, path.getLast()));
+            }
+
+            next[id] = compiledRegion.getId(path.getFirst());
+            duration[id] = pathDuration;
+        }
+
+        return new ShortestPathTree(compiledRegion, targetId, next, duration);
+    }
+
+    /**
+     * Returns the target {@link Region.Node} all paths of this {@link ShortestPathTree} end at.
+     * @return The target {@link Region.Node}.
+     */
+    public Region.Node getTarget() {
+        return compiledRegion.getNode(target);
+    }
+
+    /**
+     * Returns the {@link CompiledRegion} this {@link ShortestPathTree} was computed on.
+     * @return The {@link CompiledRegion}.
+     */
+    public CompiledRegion getCompiledRegion() {
+        return compiledRegion;
+    }
+
+    /**
+     * Returns the duration of the shortest path from the {@link Region.Node} with the given id to the target.
+     * @param id The id of the start node.
+     * @return The duration of the shortest path or {@link Long#MAX_VALUE} if the target can not be reached.
+     */
+    public long getDuration(int id) {
+        return duration[id];
+    }
+
+    /**
+     * Returns the duration of the shortest path from the given {@link Region.Node} to the target.
+     * @param node The start node.
+     * @return The duration of the shortest path or {@link Long#MAX_VALUE} if the target can not be reached.
+     */
+    public long getDuration(Region.Node node) {
+        return duration[compiledRegion.getId(node)];
+    }
+
+    /**
+     * Returns the id of the next node on the shortest path from the {@link Region.Node} with the given id to the target.
+     * @param id The id of the start node.
+     * @return The id of the next node or -1 if the given node is the target or the target can not be reached.
+     */
+    public int getNextHop(int id) {
+        return next[id];
+    }
+
+    /**
+     * Returns the next {@link Region.Node} on the shortest path from the given {@link Region.Node} to the target.
+     * @param node The start node.
+     * @return The next {@link Region.Node} or null if the given node is the target or the target can not be reached.
+     */
+    public @Nullable Region.Node getNextHop(Region.Node node) {
+        int hop = next[compiledRegion.getId(node)];
+        return hop < 0 ? null : compiledRegion.getNode(hop);
+    }
+
+    /**
+     * Returns true if the target can be reached from the {@link Region.Node} with the given id.
+     * @param id The id of the start node.
+     * @return True if the target can be reached.
+     */
+    public boolean isReachable(int id) {
+        return duration[id] != SearchScratch.UNREACHED;
+    }
+
+    /**
+     * Materializes the shortest path from the {@link Region.Node} with the given id to the target.
+     * @param id The id of the start node.
+     * @return A new {@link Deque} containing the nodes of the path (excluding start and including the target) or null
+     * if the target can not be reached.
+     */
+    public @Nullable Deque<Region.Node> getPath(int id) {
+        if (!isReachable(id)) {
+            return null;
+        }
+        Deque<Region.Node> path = new ArrayDeque<>();
+        for (int node = next[id]; node >= 0; node = next[node]) {
+            path.addLast(compiledRegion.getNode(node));
+        }
+        return path;
+    }
+
+    @Override
+    public @Nullable Deque<Region.Node> get(Object key) {
+        int id = idOf(key);
+        return id < 0 ? null : getPath(id);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        int id = idOf(key);
+        return id >= 0 && isReachable(id);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<Region.Node, Deque<Region.Node>>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Region.Node, Deque<Region.Node>>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    private int idOf(Object key) {
+        if (!(key instanceof Region.Node node) || node.getRegion() != compiledRegion.getRegion()) {
+            return -1;
+        }
+        return compiledRegion.findId(node.getLocation());
+    }
+
+    private class EntryIterator implements Iterator<Entry<Region.Node, Deque<Region.Node>>> {
+
+        private int id = advance(0);
+
+        private int advance(int from) {
+            while (from < duration.length && !isReachable(from)) {
+                from++;
+            }
+            return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return id < duration.length;
+        }
+
+        @Override
+        public Entry<Region.Node, Deque<Region.Node>> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Region.Node node = compiledRegion.getNode(id);
+            Deque<Region.Node> path = getPath(id);
+            id = advance(id + 1);
+            return new SimpleImmutableEntry<>(node, path);
+        }
+    }
+}
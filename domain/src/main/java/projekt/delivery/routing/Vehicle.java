@@ -99,6 +99,26 @@ public interface Vehicle extends Comparable<Vehicle> {
         return getOrders().stream().mapToDouble(ConfirmedOrder::getWeight).sum(); //addiert das Ordergewicht zusammen
     }
 
+    /**
+     * Returns the total weight of all {@link ConfirmedOrder}s loaded onto this {@link Vehicle}.<p>
+     *
+     * In contrast to {@link #getCurrentWeight()}, implementations should keep track of this value while loading and
+     * unloading, so it can be queried without iterating over the loaded {@link ConfirmedOrder}s.
+     *
+     * @return The total weight of all {@link ConfirmedOrder}s loaded onto this {@link Vehicle}.
+     */
+    default double getCurrentLoad() {
+        return getCurrentWeight();
+    }
+
+    /**
+     * Returns the weight that can still be loaded onto this {@link Vehicle}.
+     * @return The difference between the capacity and the current load of this {@link Vehicle}.
+     */
+    default double getRemainingCapacity() {
+        return getCapacity() - getCurrentLoad();
+    }
+
     /**
      * Represents a path from one {@link Region.Node} to another {@link Region.Node}.<p>
      *
@@ -11,7 +11,17 @@ class VehicleImpl implements Vehicle {
 
     private final int id;
     private final double capacity;
-    private final List<ConfirmedOrder> orders = new ArrayList<>();
+    /**
+     * The loaded orders in the order in which they have been loaded. {@link ConfirmedOrder} does not override
+     * {@link Object#equals(Object)}, so the orders are identified by their identity. Their ids are not necessarily
+     * unique, e.g. every order generator numbers its orders starting at zero.
+     */
+    private final Set<ConfirmedOrder> orders = new LinkedHashSet<>();
+    private final Collection<ConfirmedOrder> unmodifiableOrders = Collections.unmodifiableCollection(orders);
+    /**
+     * The total weight of all loaded orders. It is updated whenever an order is loaded or unloaded.
+     */
+    private double currentLoad;
     private final VehicleManagerImpl vehicleManager;
     private final Deque<PathImpl> moveQueue = new LinkedList<>();
     private final VehicleManager.OccupiedRestaurant startingNode;
@@ -49,6 +59,11 @@ class VehicleImpl implements Vehicle {
         this.occupied = occupied;
     }
 
+    /*
+     * The VehicleManagerImpl only ticks the components on its agenda. Every method that adds a path to the move queue,
+     * including any future implementation of moveDirect, therefore has to call vehicleManager.scheduleNow(occupied)
+     * like moveQueued and queuePath do. Otherwise, the vehicle silently never moves if its component is not due anyway.
+     */
     @Override
     public void moveDirect(Region.Node node, BiConsumer<? super Vehicle, Long> arrivalAction) {
         crash(); // TODO: H5.4 - remove if implemented
@@ -64,6 +79,18 @@ class VehicleImpl implements Vehicle {
         //PathImpl route = vehicleManager.getPathCalculator().getPath(Node, node);
 
         moveQueue.offer(new PathImpl((Deque<Region.Node>) node, arrivalAction)); //--
+        vehicleManager.scheduleNow(occupied);
+    }
+
+    /**
+     * Appends a path along the given nodes to the move queue and schedules the occupied component, so the vehicle
+     * starts moving in the next possible tick.
+     * @param nodes The nodes of the path, excluding the node the path starts at.
+     * @param arrivalAction The action to execute when the last node has been reached or null.
+     */
+    void queuePath(Deque<Region.Node> nodes, @Nullable BiConsumer<? super Vehicle, Long> arrivalAction) {
+        moveQueue.offer(new PathImpl(nodes, arrivalAction));
+        vehicleManager.scheduleNow(occupied);
     }
 
     @Override
@@ -88,7 +115,22 @@ class VehicleImpl implements Vehicle {
 
     @Override
     public Collection<ConfirmedOrder> getOrders() {
-        return orders;
+        return unmodifiableOrders;
+    }
+
+    @Override
+    public double getCurrentWeight() {
+        return currentLoad;
+    }
+
+    @Override
+    public double getCurrentLoad() {
+        return currentLoad;
+    }
+
+    @Override
+    public double getRemainingCapacity() {
+        return capacity - currentLoad;
     }
 
     @Override
@@ -96,6 +138,15 @@ class VehicleImpl implements Vehicle {
         occupied = (AbstractOccupied<?>) startingNode;
         moveQueue.clear();
         orders.clear();
+        currentLoad = 0;
+    }
+
+    /**
+     * Returns true if this {@link VehicleImpl} has queued paths that have not been completed yet.
+     * @return True if this {@link VehicleImpl} has pending moves.
+     */
+    boolean hasPendingMoves() {
+        return !moveQueue.isEmpty();
     }
 
     private void checkMoveToNode(Region.Node node) {
@@ -105,7 +156,6 @@ class VehicleImpl implements Vehicle {
     }
 
     void move(long currentTick) {
-        final Region region = vehicleManager.getRegion();
         if (moveQueue.isEmpty()) {
             return;
         }
@@ -121,7 +171,7 @@ class VehicleImpl implements Vehicle {
         } else {
             Region.Node next = path.nodes().peek();
             if (occupied instanceof OccupiedNodeImpl) {
-                vehicleManager.getOccupied(region.getEdge(((OccupiedNodeImpl<?>) occupied).getComponent(), next)).addVehicle(this, currentTick);
+                vehicleManager.getOccupiedEdge(((OccupiedNodeImpl<?>) occupied).getComponent(), next).addVehicle(this, currentTick);
             } else if (occupied instanceof OccupiedEdgeImpl) {
                 vehicleManager.getOccupied(next).addVehicle(this, currentTick);
                 path.nodes().pop();
@@ -136,16 +186,20 @@ class VehicleImpl implements Vehicle {
             throw new VehicleOverloadedException(this, capacity); //---------
         }
 
-        double komplettesGewicht = orders.stream().mapToDouble(ConfirmedOrder::getWeight).sum(); //ordergewicht
-
-        if (komplettesGewicht + order.getWeight() > capacity) { //is getweight = foodweight?
-            throw new VehicleOverloadedException(this, komplettesGewicht + order.getWeight()); //---------
+        if (currentLoad + order.getWeight() > capacity) { //is getweight = foodweight?
+            throw new VehicleOverloadedException(this, currentLoad + order.getWeight()); //---------
         }
-        orders.add(order);
+        if (!orders.add(order)) {
+            throw new IllegalArgumentException("Order " + order.getOrderID() + " is already loaded onto vehicle " + id);
+        }
+        currentLoad += order.getWeight();
     }
 
     void unloadOrder(ConfirmedOrder order) {
-        orders.remove(order);
+        if (orders.remove(order)) {
+            // an empty vehicle is reset exactly, so rounding errors do not accumulate
+            currentLoad = orders.isEmpty() ? 0 : currentLoad - order.getWeight();
+        }
     }
 
     @Override
@@ -1,11 +1,14 @@
 package projekt.delivery.routing;
 
+import org.jetbrains.annotations.Nullable;
 import projekt.base.Location;
 import projekt.delivery.event.Event;
 import projekt.delivery.event.EventBus;
+import projekt.delivery.simulation.SimulationMetrics;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Manages all Vehicles on a {@link Region}.
@@ -102,6 +105,26 @@ public interface VehicleManager {
      */
     List<Event> tick(long currentTick);
 
+    /**
+     * Returns the earliest tick at which {@link #tick(long)} may change the state of a {@link Vehicle}.<p>
+     *
+     * Executing the ticks before it produces no {@link Event}s, so a simulation may skip them as long as no new
+     * movements are requested in the meantime.
+     *
+     * @return The next tick at which something happens or {@link Long#MAX_VALUE} if nothing is scheduled.
+     */
+    long getNextDueTick();
+
+    /**
+     * Sets the {@link SimulationMetrics} in which the time needed to move the vehicles and to collect the
+     * {@link Event}s in {@link #tick(long)} is recorded.<p>
+     *
+     * By default, this method does nothing, so the whole tick is attributed to the {@link projekt.delivery.service.DeliveryService}.
+     *
+     * @param metrics The {@link SimulationMetrics} or null to stop recording.
+     */
+    default void setMetrics(@Nullable SimulationMetrics metrics) {}
+
     /**
      * Resets this {@link VehicleManager} to its start state.
      */
@@ -203,6 +226,28 @@ public interface VehicleManager {
          */
         Builder pathCalculator(PathCalculator pathCalculator);
 
+        /**
+         * Sets the {@link EventBus} to the given {@link EventBus}.<p>
+         * By default, a new thread-safe {@link EventBus} is created.
+         * @param eventBus The new {@link EventBus}.
+         * @return The current {@link Builder}.
+         */
+        Builder eventBus(EventBus eventBus);
+
+        /**
+         * Lets the constructed {@link VehicleManager} tick its components in parallel on the given {@link ForkJoinPool}.<p>
+         *
+         * The nodes and edges are still ticked in two separate phases and the {@link Event}s are posted in a
+         * deterministic order. Vehicles that are added to a component, e.g. by moving onto an edge, only become
+         * visible after the current phase. Arrival actions are executed on the threads of the pool, so they must only
+         * modify the state of their own {@link Vehicle}.
+         * By default, all components are ticked on the calling thread.
+         *
+         * @param tickPool The {@link ForkJoinPool} to tick on, or null to tick on the calling thread.
+         * @return The current {@link Builder}.
+         */
+        Builder parallelTicking(@Nullable ForkJoinPool tickPool);
+
         /**
          * Adds a new {@link Vehicle} to the constructed {@link VehicleManager}.
          * @param startingLocation The starting {@link Location} of the new {@link Vehicle}.
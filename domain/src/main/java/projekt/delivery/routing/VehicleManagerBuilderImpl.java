@@ -1,16 +1,21 @@
 package projekt.delivery.routing;
 
 import projekt.base.Location;
+import org.jetbrains.annotations.Nullable;
+import projekt.delivery.event.EventBus;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 class VehicleManagerBuilderImpl implements VehicleManager.Builder {
 
     private final List<VehicleBuilder> vehicles = new ArrayList<>();
     private Region region;
     private PathCalculator pathCalculator;
+    private EventBus eventBus;
+    private @Nullable ForkJoinPool tickPool;
 
     @Override
     public VehicleManager.Builder region(Region region) {
@@ -24,6 +29,18 @@ class VehicleManagerBuilderImpl implements VehicleManager.Builder {
         return this;
     }
 
+    @Override
+    public VehicleManager.Builder eventBus(EventBus eventBus) {
+        this.eventBus = eventBus;
+        return this;
+    }
+
+    @Override
+    public VehicleManager.Builder parallelTicking(@Nullable ForkJoinPool tickPool) {
+        this.tickPool = tickPool;
+        return this;
+    }
+
     @Override
     public VehicleManager.Builder addVehicle(
         Location startingLocation,
@@ -46,7 +63,12 @@ class VehicleManagerBuilderImpl implements VehicleManager.Builder {
     public VehicleManager build() {
         Objects.requireNonNull(region, "region");
         Objects.requireNonNull(pathCalculator, "pathCalculator");
-        VehicleManagerImpl vehicleManager = new VehicleManagerImpl(region, pathCalculator);
+        VehicleManagerImpl vehicleManager = new VehicleManagerImpl(
+            region,
+            pathCalculator,
+            eventBus != null ? eventBus : new EventBus(),
+            tickPool
+        );
         for (VehicleBuilder vehicleBuilder : vehicles) {
             vehicleManager.addVehicle(vehicleBuilder.startingLocation, vehicleBuilder.capacity);
         }
@@ -4,30 +4,122 @@ import projekt.base.Location;
 import projekt.delivery.event.Event;
 import projekt.delivery.event.EventBus;
 import projekt.delivery.event.SpawnEvent;
+import projekt.delivery.simulation.SimulationMetrics;
+import projekt.delivery.simulation.SimulationMetrics.Phase;
+
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 import static org.tudalgo.algoutils.student.Student.crash;
 
 class VehicleManagerImpl implements VehicleManager {
 
+    /**
+     * The minimum amount of components ticked by a single partition of a parallel tick.
+     */
+    private static final int MIN_PARTITION_SIZE = 64;
+
     final Map<Region.Node, OccupiedNodeImpl<? extends Region.Node>> occupiedNodes;
     final Map<Region.Edge, OccupiedEdgeImpl> occupiedEdges;
+    /*
+     * Indexes over the occupied components that are built once, so the accessors neither search nor allocate.
+     */
+    private final Map<Location, OccupiedNodeImpl<? extends Region.Node>> occupiedNodesByLocation;
+    private final List<OccupiedRestaurant> occupiedRestaurants;
+    private final List<OccupiedNeighborhood> occupiedNeighborhoods;
+    private final Collection<Occupied<? extends Region.Node>> unmodifiableOccupiedNodes;
+    private final Collection<Occupied<? extends Region.Edge>> unmodifiableOccupiedEdges;
+    /**
+     * The occupied nodes and edges indexed by the ids of {@link #compiledRegion}.
+     */
+    private final CompiledRegion compiledRegion;
+    private final OccupiedNodeImpl<?>[] occupiedNodesById;
+    private final OccupiedEdgeImpl[] occupiedEdgesById;
     private final Region region;
     private final PathCalculator pathCalculator;
     private final List<VehicleImpl> vehiclesToSpawn = new ArrayList<>();
     private final List<VehicleImpl> vehicles = new ArrayList<>();
     private final Collection<Vehicle> unmodifiableVehicles = Collections.unmodifiableCollection(vehicles);
-    private final EventBus eventBus = new EventBus();
+    private final EventBus eventBus;
+    /**
+     * All occupied nodes followed by all occupied edges in the order in which they are ticked.
+     */
+    private final AbstractOccupied<?>[] agendaComponents;
+    /**
+     * The occupied components that have to be ticked, keyed by {@code tick * agendaComponents.length + agendaIndex}.
+     * This orders them by tick and within a tick in the order of {@link #agendaComponents}.
+     */
+    private final IndexedHeap agenda = new IndexedHeap();
+    private final int[] staleComponents;
+    /**
+     * The key of the component that is currently ticked. Components can only be scheduled after it.
+     */
+    private long agendaCursor = -1;
+    /**
+     * The {@link ForkJoinPool} the components are ticked on or null if they are ticked on the calling thread.
+     */
+    private final @Nullable ForkJoinPool tickPool;
+    private final AbstractOccupied<?>[] dueComponents;
+    private final List<TickPartition> partitions = new ArrayList<>();
+    private final ThreadLocal<TickPartition> currentPartition = new ThreadLocal<>();
+    private @Nullable SimulationMetrics metrics;
 
     VehicleManagerImpl(
         Region region,
-        PathCalculator pathCalculator
+        PathCalculator pathCalculator,
+        EventBus eventBus,
+        @Nullable ForkJoinPool tickPool
     ) {
         this.region = region;
         this.pathCalculator = pathCalculator;
+        this.eventBus = eventBus;
+        this.tickPool = tickPool;
         occupiedNodes = toOccupiedNodes(region.getNodes());
         occupiedEdges = toOccupiedEdges(region.getEdges());
+
+        occupiedNodesByLocation = new HashMap<>(occupiedNodes.size() * 2);
+        List<OccupiedRestaurant> restaurants = new ArrayList<>();
+        List<OccupiedNeighborhood> neighborhoods = new ArrayList<>();
+        for (OccupiedNodeImpl<? extends Region.Node> occupied : occupiedNodes.values()) {
+            occupiedNodesByLocation.put(occupied.getComponent().getLocation(), occupied);
+            if (occupied instanceof OccupiedRestaurant restaurant) {
+                restaurants.add(restaurant);
+            } else if (occupied instanceof OccupiedNeighborhood neighborhood) {
+                neighborhoods.add(neighborhood);
+            }
+        }
+        occupiedRestaurants = Collections.unmodifiableList(restaurants);
+        occupiedNeighborhoods = Collections.unmodifiableList(neighborhoods);
+        unmodifiableOccupiedNodes = Collections.unmodifiableCollection(occupiedNodes.values());
+        unmodifiableOccupiedEdges = Collections.unmodifiableCollection(occupiedEdges.values());
+
+        compiledRegion = region.compile();
+        occupiedNodesById = new OccupiedNodeImpl<?>[compiledRegion.getNodeCount()];
+        for (int id = 0; id < occupiedNodesById.length; id++) {
+            occupiedNodesById[id] = occupiedNodes.get(compiledRegion.getNode(id));
+        }
+        occupiedEdgesById = new OccupiedEdgeImpl[compiledRegion.getEdgeCount()];
+        for (int id = 0; id < occupiedEdgesById.length; id++) {
+            occupiedEdgesById[id] = occupiedEdges.get(compiledRegion.getEdge(id));
+        }
+
+        agendaComponents = new AbstractOccupied<?>[occupiedNodes.size() + occupiedEdges.size()];
+        int index = 0;
+        for (AbstractOccupied<?> occupied : occupiedNodes.values()) {
+            occupied.agendaIndex = index;
+            agendaComponents[index++] = occupied;
+        }
+        for (AbstractOccupied<?> occupied : occupiedEdges.values()) {
+            occupied.agendaIndex = index;
+            agendaComponents[index++] = occupied;
+        }
+        agenda.reset(agendaComponents.length);
+        staleComponents = new int[agendaComponents.length];
+        dueComponents = tickPool != null ? new AbstractOccupied<?>[agendaComponents.length] : null;
     }
 
     private Map<Region.Node, OccupiedNodeImpl<? extends Region.Node>> toOccupiedNodes(Collection<Region.Node> nodes) {
@@ -64,10 +156,44 @@ class VehicleManagerImpl implements VehicleManager {
     }
 
     private OccupiedNodeImpl<? extends Region.Node> getOccupiedNode(Location location) {
-        return occupiedNodes.values().stream()
-            .filter(node -> node.getComponent().getLocation().equals(location))
-            .findFirst()
-            .orElseThrow(() -> new IllegalArgumentException("Could not find node with given predicate"));
+        OccupiedNodeImpl<? extends Region.Node> occupied = occupiedNodesByLocation.get(location);
+        if (occupied == null) {
+            throw new IllegalArgumentException("Could not find node at location " + location);
+        }
+        return occupied;
+    }
+
+    /**
+     * Returns the occupied node with the given id of the {@link CompiledRegion} of the {@link Region}.
+     * @param id The id of the {@link Region.Node}.
+     * @return The occupied node with the given id.
+     */
+    OccupiedNodeImpl<?> getOccupiedNode(int id) {
+        return occupiedNodesById[id];
+    }
+
+    /**
+     * Returns the occupied edge with the given id of the {@link CompiledRegion} of the {@link Region}.
+     * @param id The id of the {@link Region.Edge}.
+     * @return The occupied edge with the given id.
+     */
+    OccupiedEdgeImpl getOccupiedEdge(int id) {
+        return occupiedEdgesById[id];
+    }
+
+    /**
+     * Returns the occupied edge connecting the two given {@link Region.Node}s.
+     * @param nodeA The first {@link Region.Node}.
+     * @param nodeB The second {@link Region.Node}.
+     * @return The occupied edge between the two {@link Region.Node}s.
+     * @throws IllegalArgumentException If the two {@link Region.Node}s are not directly connected.
+     */
+    OccupiedEdgeImpl getOccupiedEdge(Region.Node nodeA, Region.Node nodeB) {
+        int arc = compiledRegion.findArc(compiledRegion.getId(nodeA), compiledRegion.getId(nodeB));
+        if (arc < 0) {
+            throw new IllegalArgumentException("Could not find occupied edge between " + nodeA + " and " + nodeB);
+        }
+        return occupiedEdgesById[compiledRegion.getArcEdge(arc)];
     }
 
     @Override
@@ -101,20 +227,54 @@ class VehicleManagerImpl implements VehicleManager {
             throw new IllegalArgumentException("Component is not of recognized subtype: " + component.getClass().getName());
         }
 
-        //Map<Region.Component, Occupied> map = component instanceof Region.Node ? occupiedNodes : occupiedEdges; //--
-        //if (map.get(component) == null) {
-        //    String type = component instanceof Region.Edge ? "edge" : "node";
-        //    throw new IllegalArgumentException("Could not find occupied " + type + " for " + component.toString());
-        //}
-        return null;
+        final AbstractOccupied<?> occupied = component instanceof Region.Node node
+            ? findOccupiedNode(node)
+            : findOccupiedEdge((Region.Edge) component);
+        if (occupied == null) {
+            String type = component instanceof Region.Edge ? "edge" : "node";
+            throw new IllegalArgumentException("Could not find occupied " + type + " for " + component);
+        }
+        @SuppressWarnings("unchecked")
+        final AbstractOccupied<C> result = (AbstractOccupied<C>) occupied;
+        return result;
+    }
+
+    /**
+     * Returns the occupied node of the given {@link Region.Node} by its id in the {@link CompiledRegion}.
+     * @param node The {@link Region.Node} to return the occupied node of.
+     * @return The occupied node or null if the {@link Region.Node} is not part of the {@link Region}.
+     */
+    private @Nullable OccupiedNodeImpl<?> findOccupiedNode(Region.Node node) {
+        int id = compiledRegion.findId(node.getLocation());
+        if (id < 0) {
+            return null;
+        }
+        OccupiedNodeImpl<?> occupied = occupiedNodesById[id];
+        return occupied.component == node || occupied.component.equals(node) ? occupied : null;
+    }
+
+    /**
+     * Returns the occupied edge of the given {@link Region.Edge} by its id in the {@link CompiledRegion}.
+     * @param edge The {@link Region.Edge} to return the occupied edge of.
+     * @return The occupied edge or null if the {@link Region.Edge} is not part of the {@link Region}.
+     */
+    private @Nullable OccupiedEdgeImpl findOccupiedEdge(Region.Edge edge) {
+        // the locations of an EdgeImpl are known without looking up its nodes in its region
+        Location locationA = edge instanceof EdgeImpl edgeImpl ? edgeImpl.getLocationA() : edge.getNodeA().getLocation();
+        Location locationB = edge instanceof EdgeImpl edgeImpl ? edgeImpl.getLocationB() : edge.getNodeB().getLocation();
+        int nodeA = compiledRegion.findId(locationA);
+        int nodeB = compiledRegion.findId(locationB);
+        int arc = nodeA < 0 || nodeB < 0 ? -1 : compiledRegion.findArc(nodeA, nodeB);
+        if (arc < 0) {
+            return null;
+        }
+        OccupiedEdgeImpl occupied = occupiedEdgesById[compiledRegion.getArcEdge(arc)];
+        return occupied.component == edge || occupied.component.equals(edge) ? occupied : null;
     }
 
     @Override
     public List<OccupiedRestaurant> getOccupiedRestaurants() {
-        return occupiedNodes.values().stream()
-            .filter(OccupiedRestaurant.class::isInstance)
-            .map(OccupiedRestaurant.class::cast)
-            .toList();
+        return occupiedRestaurants;
     }
 
     @Override
@@ -122,21 +282,15 @@ class VehicleManagerImpl implements VehicleManager {
         if (node == null) {
             throw new NullPointerException("Node is null!");
         }
-        if (occupiedNodes.get(node) == null) { //keinen entsprechenden Schlüsselwert
-            throw new IllegalArgumentException("Node " + node.toString() + " is not an occupied restaurant");
-        }
-        if (!(occupiedNodes.get(node) instanceof OccupiedRestaurant)) { //kein Subtyp von OccupiedRestaurant
+        if (!(findOccupiedNode(node) instanceof OccupiedRestaurant occupied)) { //kein Subtyp von OccupiedRestaurant
             throw new IllegalArgumentException("Node " + node.toString() + " is not an occupied restaurant");
         }
-        return (OccupiedRestaurant) occupiedNodes.get(node);
+        return occupied;
     }
 
     @Override
     public Collection<OccupiedNeighborhood> getOccupiedNeighborhoods() {
-        return occupiedNodes.values().stream()
-            .filter(OccupiedNeighborhood.class::isInstance)
-            .map(OccupiedNeighborhood.class::cast)
-            .toList();
+        return occupiedNeighborhoods;
     }
 
     @Override
@@ -144,23 +298,20 @@ class VehicleManagerImpl implements VehicleManager {
         if (node == null) {
             throw new NullPointerException("Node is null!");
         }
-        if (occupiedNodes.get(node) == null) { //keinen entsprechenden Schlüsselwert
-            throw new IllegalArgumentException("Node " + node.toString() + " is not a neighborhood");
-        }
-        if (!(occupiedNodes.get(node) instanceof OccupiedNeighborhood)) { //kein Subtyp von OccupiedNeighborhood
+        if (!(findOccupiedNode(node) instanceof OccupiedNeighborhood occupied)) { //kein Subtyp von OccupiedNeighborhood
             throw new IllegalArgumentException("Node " + node.toString() + " is not a neighborhood");
         }
-        return (OccupiedNeighborhood) occupiedNodes.get(node);
+        return occupied;
     }
 
     @Override
     public Collection<Occupied<? extends Region.Node>> getOccupiedNodes() {
-        return Collections.unmodifiableCollection(occupiedNodes.values());
+        return unmodifiableOccupiedNodes;
     }
 
     @Override
     public Collection<Occupied<? extends Region.Edge>> getOccupiedEdges() {
-        return Collections.unmodifiableCollection(occupiedEdges.values());
+        return unmodifiableOccupiedEdges;
     }
 
     @Override
@@ -170,6 +321,11 @@ class VehicleManagerImpl implements VehicleManager {
 
     @Override
     public List<Event> tick(long currentTick) {
+        long startTime = metrics != null ? System.nanoTime() : 0;
+        long componentCount = agendaComponents.length;
+        rescheduleStaleComponents(currentTick);
+        agendaCursor = currentTick * componentCount - 1;
+
         for (VehicleImpl vehicle : vehiclesToSpawn) {
             spawnVehicle(vehicle, currentTick);
         }
@@ -180,12 +336,182 @@ class VehicleManagerImpl implements VehicleManager {
         // For example, a node tick may move a vehicle onto an edge.
         // Ticking this edge afterwards does not move the vehicle further along the edge
         // compared to a vehicle already on the edge.
-        occupiedNodes.values().forEach(occupiedNode -> occupiedNode.tick(currentTick));
-        occupiedEdges.values().forEach(occupiedEdge -> occupiedEdge.tick(currentTick));
-        return eventBus.popEvents(currentTick);
+        // Only the components on the agenda are ticked, since ticking the others would not change anything.
+        // Nodes come before edges in the agenda and components scheduled while ticking are ticked in the same
+        // tick if they come after the current one, which is the same order as ticking all components.
+        if (tickPool == null) {
+            long end = (currentTick + 1) * componentCount;
+            while (!agenda.isEmpty() && agenda.peekKey() < end) {
+                agendaCursor = agenda.peekKey();
+                AbstractOccupied<?> occupied = agendaComponents[agenda.poll()];
+                occupied.tick(currentTick);
+                schedule(occupied, currentTick);
+            }
+        } else {
+            tickPhaseInParallel(currentTick, currentTick * componentCount + occupiedNodes.size());
+            tickPhaseInParallel(currentTick, (currentTick + 1) * componentCount);
+        }
+        agendaCursor = (currentTick + 1) * componentCount - 1;
+
+        if (metrics == null) {
+            return eventBus.popEvents(currentTick);
+        }
+        long popStartTime = System.nanoTime();
+        List<Event> events = eventBus.popEvents(currentTick);
+        metrics.record(Phase.VEHICLE_MANAGER_TICK, popStartTime - startTime);
+        metrics.record(Phase.EVENT_POP, System.nanoTime() - popStartTime);
+        return events;
+    }
+
+    @Override
+    public void setMetrics(@Nullable SimulationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Ticks all components on the agenda before the given key in contiguous partitions on the {@link #tickPool}.<p>
+     *
+     * A phase either contains only nodes or only edges. Ticking a node only moves its own vehicles onto edges and
+     * ticking an edge only moves its own vehicles onto nodes, so the partitions of a phase do not modify the same
+     * components except when adding vehicles. Added vehicles, posted {@link Event}s and scheduled components are
+     * therefore buffered per partition and applied after the phase in the order of the partitions. This produces the
+     * same result independent of the amount of threads.
+     */
+    private void tickPhaseInParallel(long currentTick, long phaseEnd) {
+        int count = 0;
+        while (!agenda.isEmpty() && agenda.peekKey() < phaseEnd) {
+            dueComponents[count++] = agendaComponents[agenda.poll()];
+        }
+        if (count == 0) {
+            return;
+        }
+
+        int partitionCount = Math.max(1, Math.min(tickPool.getParallelism() * 4, count / MIN_PARTITION_SIZE));
+        while (partitions.size() < partitionCount) {
+            partitions.add(new TickPartition());
+        }
+
+        List<PartitionTask> tasks = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            tasks.add(new PartitionTask(
+                partitions.get(i),
+                (int) ((long) count * i / partitionCount),
+                (int) ((long) count * (i + 1) / partitionCount),
+                currentTick
+            ));
+        }
+        if (partitionCount == 1) {
+            tasks.get(0).compute();
+        } else {
+            tickPool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    ForkJoinTask.invokeAll(tasks);
+                }
+            });
+        }
+
+        // components scheduled by the partitions can only be ticked in later phases
+        agendaCursor = phaseEnd - 1;
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.get(i).apply(currentTick);
+        }
+        for (int i = 0; i < count; i++) {
+            schedule(dueComponents[i], currentTick);
+            dueComponents[i] = null;
+        }
+    }
+
+    /**
+     * Adds the given {@link VehicleImpl} to the given component or buffers it during a parallel tick.
+     */
+    void putVehicle(AbstractOccupied<?> occupied, VehicleImpl vehicle, AbstractOccupied.VehicleStats stats, long currentTick) {
+        @Nullable TickPartition partition = currentPartition.get();
+        if (partition != null) {
+            partition.addedVehicles.add(new AddedVehicle(occupied, vehicle, stats));
+            return;
+        }
+        occupied.vehicles.put(vehicle, stats);
+        schedule(occupied, currentTick);
+    }
+
+    /**
+     * Posts the given {@link Event} to the {@link EventBus} or buffers it during a parallel tick.
+     */
+    void postEvent(Event event) {
+        @Nullable TickPartition partition = currentPartition.get();
+        if (partition != null) {
+            partition.events.add(event);
+            return;
+        }
+        eventBus.queuePost(event);
+    }
+
+    @Override
+    public long getNextDueTick() {
+        if (agendaComponents.length == 0) {
+            return Long.MAX_VALUE;
+        }
+        if (!vehiclesToSpawn.isEmpty()) {
+            return Math.floorDiv(agendaCursor, agendaComponents.length) + 1;
+        }
+        return agenda.isEmpty() ? Long.MAX_VALUE : Math.floorDiv(agenda.peekKey(), agendaComponents.length);
+    }
+
+    /**
+     * Puts the given component on the agenda at the tick returned by {@link AbstractOccupied#getNextDueTick(long)}.<p>
+     *
+     * If that position has already been passed, the component is ticked at the next possible position instead.
+     *
+     * @param occupied The component to schedule.
+     * @param currentTick The current tick.
+     */
+    void schedule(AbstractOccupied<?> occupied, long currentTick) {
+        long due = occupied.getNextDueTick(currentTick);
+        if (due == Long.MAX_VALUE) {
+            return;
+        }
+
+        long componentCount = agendaComponents.length;
+        long earliest = Math.floorDiv(agendaCursor, componentCount) * componentCount + occupied.agendaIndex;
+        if (earliest <= agendaCursor) {
+            earliest += componentCount;
+        }
+        agenda.push(occupied.agendaIndex, Math.max(due * componentCount + occupied.agendaIndex, earliest));
+    }
+
+    /**
+     * Puts the given component on the agenda at the next possible position.
+     * @param occupied The component to schedule.
+     */
+    void scheduleNow(AbstractOccupied<?> occupied) {
+        @Nullable TickPartition partition = currentPartition.get();
+        if (partition != null) {
+            partition.scheduled.add(occupied);
+            return;
+        }
+        schedule(occupied, Math.floorDiv(agendaCursor, agendaComponents.length));
+    }
+
+    /**
+     * Moves the components that have been scheduled for skipped ticks to the given tick, so they are ticked in the
+     * same order as the components that are due at it.
+     */
+    private void rescheduleStaleComponents(long currentTick) {
+        long start = currentTick * agendaComponents.length;
+        int count = 0;
+        while (!agenda.isEmpty() && agenda.peekKey() < start) {
+            staleComponents[count++] = agenda.poll();
+        }
+        for (int i = 0; i < count; i++) {
+            agenda.push(staleComponents[i], start + staleComponents[i]);
+        }
     }
 
     public void reset() {
+        agenda.clear();
+        agendaCursor = -1;
+
         for (AbstractOccupied<?> occupied : getAllOccupied()) {
             occupied.reset();
         }
@@ -227,5 +553,64 @@ class VehicleManagerImpl implements VehicleManager {
         OccupiedRestaurantImpl warehouse = (OccupiedRestaurantImpl) vehicle.getOccupied();
         warehouse.vehicles.put(vehicle, new AbstractOccupied.VehicleStats(currentTick, null));
         getEventBus().queuePost(SpawnEvent.of(currentTick, vehicle, warehouse.getComponent()));
+        schedule(warehouse, currentTick);
+    }
+
+    private record AddedVehicle(AbstractOccupied<?> occupied, VehicleImpl vehicle, AbstractOccupied.VehicleStats stats) { }
+
+    /**
+     * The changes made by one partition of a parallel tick that affect other partitions.
+     */
+    private final class TickPartition {
+
+        private final List<AddedVehicle> addedVehicles = new ArrayList<>();
+        private final List<Event> events = new ArrayList<>();
+        private final List<AbstractOccupied<?>> scheduled = new ArrayList<>();
+
+        private void apply(long currentTick) {
+            for (AddedVehicle addedVehicle : addedVehicles) {
+                putVehicle(addedVehicle.occupied(), addedVehicle.vehicle(), addedVehicle.stats(), currentTick);
+            }
+            for (AbstractOccupied<?> occupied : scheduled) {
+                scheduleNow(occupied);
+            }
+            eventBus.queuePost(events);
+
+            addedVehicles.clear();
+            events.clear();
+            scheduled.clear();
+        }
+    }
+
+    /**
+     * Ticks the due components in the range {@code [from, to)} and buffers their changes in a {@link TickPartition}.
+     */
+    private final class PartitionTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final TickPartition partition;
+        private final int from;
+        private final int to;
+        private final long currentTick;
+
+        private PartitionTask(TickPartition partition, int from, int to, long currentTick) {
+            this.partition = partition;
+            this.from = from;
+            this.to = to;
+            this.currentTick = currentTick;
+        }
+
+        @Override
+        protected void compute() {
+            currentPartition.set(partition);
+            try {
+                for (int i = from; i < to; i++) {
+                    dueComponents[i].tick(currentTick);
+                }
+            } finally {
+                currentPartition.remove();
+            }
+        }
     }
 }
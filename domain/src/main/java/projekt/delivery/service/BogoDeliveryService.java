@@ -8,19 +8,25 @@ import projekt.delivery.routing.VehicleManager;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 public class BogoDeliveryService extends AbstractDeliveryService {
 
     // List of orders that have not yet been loaded onto delivery vehicles
     protected final List<ConfirmedOrder> pendingOrders = new ArrayList<>();
-    // List of orders that have not yet been loaded onto delivery vehicles
-    private final Random random = new Random(42);
+    private long seed = 42;
+    private SplittableRandom random = new SplittableRandom(seed);
     private final List<? extends Region.Node> nodes;
     private final List<Class<? extends Event>> skipInFirstStep = List.of(
         ArrivedAtRestaurantEvent.class,
         ArrivedAtNeighborhoodEvent.class
     );
+    private final EventIndex eventIndex = new EventIndex(
+        SpawnEvent.class,
+        ArrivedAtNodeEvent.class,
+        ArrivedAtRestaurantEvent.class,
+        ArrivedAtNeighborhoodEvent.class
+    );
 
     public BogoDeliveryService(
         VehicleManager vehicleManager
@@ -33,48 +39,40 @@ public class BogoDeliveryService extends AbstractDeliveryService {
     protected List<Event> tick(long currentTick, List<ConfirmedOrder> newOrders) {
         List<Event> events = vehicleManager.tick(currentTick);
         pendingOrders.addAll(newOrders);
+        eventIndex.index(events);
 
         // this is probably not a good solution, but it could theoretically be the best solution
 
-        scheduleRandomMove(events, SpawnEvent.class);
-        scheduleRandomMove(events, ArrivedAtNodeEvent.class);
-
-        events.stream()
-            .filter(ArrivedAtRestaurantEvent.class::isInstance)
-            .map(ArrivedAtRestaurantEvent.class::cast)
-            .forEach(e -> {
-                final Vehicle vehicle = e.getVehicle();
-                if (!pendingOrders.isEmpty()) {
-                    final ConfirmedOrder next = pendingOrders.remove(0);
-                    e.getRestaurant().loadOrder(vehicle, next, currentTick);
-                }
-                moveToRandomNode(vehicle);
-            });
-
-        events.stream()
-            .filter(ArrivedAtNeighborhoodEvent.class::isInstance)
-            .map(ArrivedAtNeighborhoodEvent.class::cast)
-            .forEach(e -> {
-                final Vehicle vehicle = e.getVehicle();
-                final VehicleManager.OccupiedNeighborhood neighborhood = vehicleManager.getOccupiedNeighborhood(e.getNode());
-                for (ConfirmedOrder order : new ArrayList<>(vehicle.getOrders())) {
-                    neighborhood.deliverOrder(vehicle, order, currentTick);
-                }
-                moveToRandomNode(e.getVehicle());
-            });
+        scheduleRandomMove(SpawnEvent.class);
+        scheduleRandomMove(ArrivedAtNodeEvent.class);
+
+        for (ArrivedAtRestaurantEvent e : eventIndex.get(ArrivedAtRestaurantEvent.class)) {
+            final Vehicle vehicle = e.getVehicle();
+            if (!pendingOrders.isEmpty()) {
+                final ConfirmedOrder next = pendingOrders.remove(0);
+                e.getRestaurant().loadOrder(vehicle, next, currentTick);
+            }
+            moveToRandomNode(vehicle);
+        }
+
+        for (ArrivedAtNeighborhoodEvent e : eventIndex.get(ArrivedAtNeighborhoodEvent.class)) {
+            final Vehicle vehicle = e.getVehicle();
+            final VehicleManager.OccupiedNeighborhood neighborhood = vehicleManager.getOccupiedNeighborhood(e.getNode());
+            for (ConfirmedOrder order : new ArrayList<>(vehicle.getOrders())) {
+                neighborhood.deliverOrder(vehicle, order, currentTick);
+            }
+            moveToRandomNode(e.getVehicle());
+        }
 
         return events;
     }
 
-    private void scheduleRandomMove(
-        List<Event> events,
-        Class<? extends VehicleEvent> eventType
-    ) {
-        events.stream()
-            .filter(eventType::isInstance)
-            .filter(e -> !skipInFirstStep.contains(e.getClass()))
-            .map(eventType::cast)
-            .forEach(e -> moveToRandomNode(e.getVehicle()));
+    private void scheduleRandomMove(Class<? extends VehicleEvent> eventType) {
+        for (VehicleEvent e : eventIndex.get(eventType)) {
+            if (!skipInFirstStep.contains(e.getClass())) {
+                moveToRandomNode(e.getVehicle());
+            }
+        }
     }
 
     private void moveToRandomNode(Vehicle vehicle) {
@@ -85,6 +83,18 @@ public class BogoDeliveryService extends AbstractDeliveryService {
         vehicle.moveDirect(node);
     }
 
+    @Override
+    public boolean canSkipIdleTicks() {
+        // all decisions are reactions to events
+        return true;
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        this.seed = seed;
+        random = new SplittableRandom(seed);
+    }
+
     @Override
     public List<ConfirmedOrder> getPendingOrders() {
         return pendingOrders;
@@ -94,6 +104,7 @@ public class BogoDeliveryService extends AbstractDeliveryService {
     public void reset() {
         super.reset();
         pendingOrders.clear();
+        random = new SplittableRandom(seed);
     }
 
     public interface Factory extends DeliveryService.Factory {
@@ -47,6 +47,29 @@ public interface DeliveryService {
      */
     void reset();
 
+    /**
+     * Returns true if a tick without new {@link ConfirmedOrder}s in which the {@link VehicleManager} produces no
+     * {@link Event}s does not change the state of this {@link DeliveryService} or any {@link Vehicle}.<p>
+     *
+     * Such ticks may be skipped by a simulation. By default, this method returns false.
+     *
+     * @return True if ticks without orders and events may be skipped.
+     */
+    default boolean canSkipIdleTicks() {
+        return false;
+    }
+
+    /**
+     * Sets the seed of the random decisions of this {@link DeliveryService}. The seed is also used after every
+     * {@link #reset()}, so repeated simulations make the same decisions.<p>
+     *
+     * By default, this method does nothing since most {@link DeliveryService}s do not make random decisions.
+     *
+     * @param seed The new seed.
+     */
+    default void setSeed(long seed) {
+    }
+
     /**
      * A {@link Factory} for creating a new {@link DeliveryService}.
      */
@@ -0,0 +1,474 @@
+package projekt.delivery.service;
+
+import org.jetbrains.annotations.Nullable;
+import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.DurationMatrix;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Plans the stops of a fleet of vehicles with the cheapest insertion heuristic.<p>
+ *
+ * Every vehicle has a {@link Route}, i.e. the sequence of {@link Stop}s it still has to visit, starting at an anchor
+ * node it leaves at a known tick. A new {@link ConfirmedOrder} is inserted as a pickup and a dropoff {@link Stop} at
+ * the pair of positions that increases the duration of a {@link Route} the least, as long as the capacity of the
+ * vehicle is never exceeded and no {@link Stop} that is planned in time becomes late. A vehicle that arrives at a
+ * dropoff before the start of its {@link projekt.base.TickInterval} waits there until the interval starts.<p>
+ *
+ * The durations between the nodes are taken from a {@link DurationMatrix} and the planned ticks of every {@link Route}
+ * are kept up to date together with the amount of ticks each {@link Stop} may still be delayed. This way a single
+ * insertion position is checked in constant time and inserting an order costs {@code O(v + k * s * s)} for {@code v}
+ * routes, the {@code k} candidate routes that are closest to the restaurant and at most {@code s} stops per route.
+ */
+final class InsertionPlanner {
+
+    /**
+     * The deadline of {@link Stop}s that can be delayed arbitrarily.
+     */
+    static final long NO_DEADLINE = Long.MAX_VALUE / 4;
+
+    /**
+     * The cost of every tick the inserted order is delivered late, compared to one tick of additional driving.
+     */
+    private static final long LATENESS_WEIGHT = 16;
+
+    private final DurationMatrix matrix;
+    private final int candidateRoutes;
+    private final int maxStops;
+    private final List<Route> routes = new ArrayList<>();
+
+    // reused buffers of the candidate selection and the best insertion found so far
+    private final Route[] candidates;
+    private final long[] candidateKeys;
+    private @Nullable Route bestRoute;
+    private int bestPickupIndex;
+    private int bestDropoffIndex;
+    private long bestCost;
+
+    /**
+     * Creates a new {@link InsertionPlanner} without any {@link Route}s.
+     * @param matrix The {@link DurationMatrix} of the region the vehicles drive in.
+     * @param candidateRoutes The maximum amount of {@link Route}s that are considered for a single order.
+     * @param maxStops The maximum amount of {@link Stop}s of a {@link Route}.
+     * @throws IllegalArgumentException If the amount of candidate routes is not positive or a route cannot hold the
+     *     two stops of an order.
+     */
+    InsertionPlanner(DurationMatrix matrix, int candidateRoutes, int maxStops) {
+        if (candidateRoutes <= 0) {
+            throw new IllegalArgumentException("candidateRoutes must be positive: " + candidateRoutes);
+        }
+        if (maxStops < 2) {
+            throw new IllegalArgumentException("maxStops must be at least 2: " + maxStops);
+        }
+        this.matrix = matrix;
+        this.candidateRoutes = candidateRoutes;
+        this.maxStops = maxStops;
+        candidates = new Route[candidateRoutes];
+        candidateKeys = new long[candidateRoutes];
+    }
+
+    /**
+     * Returns the {@link DurationMatrix} used by this {@link InsertionPlanner}.
+     * @return The {@link DurationMatrix} used by this {@link InsertionPlanner}.
+     */
+    DurationMatrix getMatrix() {
+        return matrix;
+    }
+
+    /**
+     * Adds an empty {@link Route} of a vehicle that waits at the given node.
+     * @param node The id of the node the vehicle is located at.
+     * @param tick The tick from which on the vehicle is available.
+     * @param capacity The capacity of the vehicle.
+     * @return The created {@link Route}.
+     */
+    Route addRoute(int node, long tick, double capacity) {
+        Route route = new Route(matrix, node, tick, capacity);
+        routes.add(route);
+        return route;
+    }
+
+    /**
+     * Returns all {@link Route}s of this {@link InsertionPlanner} in the order they have been added.
+     * @return An unmodifiable {@link List} of all {@link Route}s.
+     */
+    List<Route> getRoutes() {
+        return Collections.unmodifiableList(routes);
+    }
+
+    /**
+     * Removes all {@link Route}s.
+     */
+    void clear() {
+        routes.clear();
+    }
+
+    /**
+     * Inserts the pickup and the dropoff of the given {@link ConfirmedOrder} into the {@link Route} where they
+     * increase the planned duration the least.<p>
+     *
+     * Positions at which the order itself would be delivered late are only chosen if the order cannot be delivered in
+     * time by any of the candidate {@link Route}s, and each tick of lateness weighs more than a tick of driving.
+     *
+     * @param order The {@link ConfirmedOrder} to insert.
+     * @param pickupNode The id of the node of the restaurant of the {@link ConfirmedOrder}.
+     * @param dropoffNode The id of the node the {@link ConfirmedOrder} has to be delivered to.
+     * @return The {@link Route} the {@link ConfirmedOrder} has been inserted into or {@code null} if no candidate
+     *     {@link Route} has enough capacity left.
+     */
+    @Nullable Route insert(ConfirmedOrder order, int pickupNode, int dropoffNode) {
+        int candidateCount = selectCandidates(pickupNode);
+        bestRoute = null;
+        bestCost = Long.MAX_VALUE;
+        for (int i = 0; i < candidateCount; i++) {
+            evaluate(candidates[i], order, pickupNode, dropoffNode);
+            candidates[i] = null;
+        }
+
+        Route route = bestRoute;
+        if (route == null) {
+            return null;
+        }
+        route.stops.add(bestDropoffIndex, new Stop(order, dropoffNode, false));
+        route.stops.add(bestPickupIndex, new Stop(order, pickupNode, true));
+        route.update();
+        bestRoute = null;
+        return route;
+    }
+
+    /**
+     * Collects the {@link Route}s whose anchor or last stop is closest to the given node in {@link #candidates}.
+     * @return The amount of candidates.
+     */
+    private int selectCandidates(int pickupNode) {
+        int count = 0;
+        for (Route route : routes) {
+            if (route.stops.size() + 2 > maxStops) {
+                continue;
+            }
+            long key = Math.min(duration(route.anchorNode, pickupNode), duration(route.getLastNode(), pickupNode));
+            if (key == DurationMatrix.UNREACHABLE || count == candidateRoutes && key >= candidateKeys[count - 1]) {
+                continue;
+            }
+            // insertion sort into the bounded list of candidates
+            int i = count < candidateRoutes ? count++ : count - 1;
+            while (i > 0 && candidateKeys[i - 1] > key) {
+                candidates[i] = candidates[i - 1];
+                candidateKeys[i] = candidateKeys[i - 1];
+                i--;
+            }
+            candidates[i] = route;
+            candidateKeys[i] = key;
+        }
+        return count;
+    }
+
+    /**
+     * Checks all pairs of insertion positions of the given {@link Route} and remembers the cheapest feasible one if it
+     * is cheaper than the best insertion found so far.
+     */
+    private void evaluate(Route route, ConfirmedOrder order, int pickupNode, int dropoffNode) {
+        List<Stop> stops = route.stops;
+        int n = stops.size();
+        double weight = order.getWeight();
+        long start = order.getDeliveryInterval().start();
+        long end = order.getDeliveryInterval().end();
+        long pickupToDropoff = duration(pickupNode, dropoffNode);
+        if (pickupToDropoff == DurationMatrix.UNREACHABLE) {
+            return;
+        }
+
+        for (int i = route.departed ? 1 : 0; i <= n; i++) {
+            int previousNode = route.getNode(i - 1);
+            if (route.getLoad(i - 1) + weight > route.capacity || route.getCount(i - 1) + 1 > route.capacity) {
+                continue;
+            }
+            long toPickup = duration(previousNode, pickupNode);
+            if (toPickup == DurationMatrix.UNREACHABLE) {
+                continue;
+            }
+            long pickupTick = route.getDepartureTick(i - 1) + toPickup;
+            long previousToNext = i < n ? duration(previousNode, stops.get(i).node) : 0;
+
+            // the dropoff directly follows the pickup
+            long dropoffTick = Math.max(pickupTick + pickupToDropoff, start);
+            long cost = toPickup + pickupToDropoff - previousToNext + LATENESS_WEIGHT * Math.max(0, dropoffTick - end);
+            if (i == n) {
+                consider(route, i, i, cost);
+                continue;
+            }
+            long dropoffToNext = duration(dropoffNode, stops.get(i).node);
+            if (dropoffToNext != DurationMatrix.UNREACHABLE
+                && dropoffTick + dropoffToNext - route.arrivals[i] <= route.maxDelays[i]) {
+                consider(route, i, i, cost + dropoffToNext);
+            }
+
+            // the dropoff follows a later stop, so the stops in between are delayed and carry the order
+            long pickupToNext = duration(pickupNode, stops.get(i).node);
+            if (pickupToNext == DurationMatrix.UNREACHABLE) {
+                continue;
+            }
+            long pickupCost = toPickup + pickupToNext - previousToNext;
+            long delay = pickupTick + pickupToNext - route.arrivals[i];
+            for (int j = i + 1; j <= n && pickupCost < bestCost; j++) {
+                int k = j - 1;
+                if (delay > route.ownSlacks[k]
+                    || route.loads[k] + weight > route.capacity
+                    || route.counts[k] + 1 > route.capacity) {
+                    break;
+                }
+                Stop previous = stops.get(k);
+                long previousDeparture = route.departures[k] + Math.max(0, delay - route.getWait(k));
+                long toDropoff = duration(previous.node, dropoffNode);
+                if (toDropoff != DurationMatrix.UNREACHABLE) {
+                    dropoffTick = Math.max(previousDeparture + toDropoff, start);
+                    long dropoffCost = pickupCost + toDropoff + LATENESS_WEIGHT * Math.max(0, dropoffTick - end);
+                    if (j == n) {
+                        consider(route, i, j, dropoffCost);
+                    } else {
+                        Stop next = stops.get(j);
+                        dropoffToNext = duration(dropoffNode, next.node);
+                        if (dropoffToNext != DurationMatrix.UNREACHABLE
+                            && dropoffTick + dropoffToNext - route.arrivals[j] <= route.maxDelays[j]) {
+                            consider(route, i, j, dropoffCost + dropoffToNext - duration(previous.node, next.node));
+                        }
+                    }
+                }
+                delay = Math.max(0, delay - route.getWait(k));
+            }
+        }
+    }
+
+    private void consider(Route route, int pickupIndex, int dropoffIndex, long cost) {
+        if (cost < bestCost) {
+            bestRoute = route;
+            bestPickupIndex = pickupIndex;
+            bestDropoffIndex = dropoffIndex;
+            bestCost = cost;
+        }
+    }
+
+    private long duration(int from, int to) {
+        return from == to ? 0 : matrix.duration(from, to);
+    }
+
+    /**
+     * A planned visit of a vehicle at a node to load or deliver a {@link ConfirmedOrder}.
+     * @param order The {@link ConfirmedOrder} to load or deliver.
+     * @param node The id of the node to visit.
+     * @param pickup True if the {@link ConfirmedOrder} is loaded, false if it is delivered.
+     */
+    record Stop(ConfirmedOrder order, int node, boolean pickup) {
+
+        /**
+         * Returns the earliest tick at which this {@link Stop} can be served.
+         * @return The earliest tick at which this {@link Stop} can be served.
+         */
+        long getEarliestTick() {
+            return pickup ? Long.MIN_VALUE : order.getDeliveryInterval().start();
+        }
+
+        /**
+         * Returns the latest tick at which this {@link Stop} is served in time.
+         * @return The latest tick at which this {@link Stop} is served in time.
+         */
+        long getDeadline() {
+            return pickup ? NO_DEADLINE : order.getDeliveryInterval().end();
+        }
+    }
+
+    /**
+     * The planned {@link Stop}s of a single vehicle.<p>
+     *
+     * The vehicle leaves its anchor node at the anchor tick. If it has already departed towards the first {@link Stop}
+     * or waits at it, that {@link Stop} stays the first one and new {@link Stop}s are only inserted after it.
+     */
+    static final class Route {
+
+        private final DurationMatrix matrix;
+        private final double capacity;
+        private final List<Stop> stops = new ArrayList<>();
+        private int anchorNode;
+        private long anchorTick;
+        private double anchorLoad;
+        private int anchorCount;
+        private boolean departed;
+
+        // the schedule of the stops, index k belongs to stops.get(k)
+        private long[] arrivals = new long[8];
+        private long[] departures = new long[8];
+        private long[] ownSlacks = new long[8];
+        private long[] maxDelays = new long[8];
+        private double[] loads = new double[8];
+        private int[] counts = new int[8];
+
+        private Route(DurationMatrix matrix, int anchorNode, long anchorTick, double capacity) {
+            this.matrix = matrix;
+            this.anchorNode = anchorNode;
+            this.anchorTick = anchorTick;
+            this.capacity = capacity;
+        }
+
+        /**
+         * Returns the planned {@link Stop}s in the order they are visited.
+         * @return An unmodifiable {@link List} of the planned {@link Stop}s.
+         */
+        List<Stop> getStops() {
+            return Collections.unmodifiableList(stops);
+        }
+
+        /**
+         * Returns the next {@link Stop} of this {@link Route}.
+         * @return The next {@link Stop} or {@code null} if no {@link Stop} is planned.
+         */
+        @Nullable Stop getNextStop() {
+            return stops.isEmpty() ? null : stops.get(0);
+        }
+
+        /**
+         * Returns the id of the node the vehicle currently departs from.
+         * @return The id of the anchor node.
+         */
+        int getAnchorNode() {
+            return anchorNode;
+        }
+
+        /**
+         * Returns the tick at which the {@link Stop} with the given index is planned to be reached.
+         * @param index The index of the {@link Stop}.
+         * @return The planned arrival tick of the {@link Stop}.
+         */
+        long getArrivalTick(int index) {
+            return arrivals[index];
+        }
+
+        /**
+         * Returns the tick at which the {@link Stop} with the given index is planned to be served.
+         * @param index The index of the {@link Stop}.
+         * @return The planned tick of the {@link Stop}, which is later than its arrival tick if the vehicle has to
+         *     wait.
+         */
+        long getServiceTick(int index) {
+            return departures[index];
+        }
+
+        /**
+         * Returns true if the vehicle is moving towards or waiting at its next {@link Stop}.
+         * @return True if the next {@link Stop} is fixed, false if the vehicle is idle at its anchor node.
+         */
+        boolean isDeparted() {
+            return departed;
+        }
+
+        /**
+         * Fixes the next {@link Stop} because the vehicle leaves the anchor node towards it or waits at it.
+         * @param tick The current tick.
+         */
+        void depart(long tick) {
+            departed = true;
+            anchorTick = tick;
+            update();
+        }
+
+        /**
+         * Moves the anchor to the node of the next {@link Stop} when the vehicle arrives there, keeping the
+         * {@link Stop} fixed until it is served.
+         * @param tick The current tick.
+         */
+        void arrive(long tick) {
+            anchorNode = stops.get(0).node;
+            depart(tick);
+        }
+
+        /**
+         * Removes the next {@link Stop} after the vehicle has served it at its node.
+         * @param tick The current tick.
+         * @return The removed {@link Stop}.
+         */
+        Stop complete(long tick) {
+            Stop stop = stops.remove(0);
+            anchorNode = stop.node;
+            anchorTick = tick;
+            anchorLoad += stop.pickup ? stop.order.getWeight() : -stop.order.getWeight();
+            anchorCount += stop.pickup ? 1 : -1;
+            if (anchorCount == 0) {
+                anchorLoad = 0;
+            }
+            departed = false;
+            update();
+            return stop;
+        }
+
+        private int getLastNode() {
+            return stops.isEmpty() ? anchorNode : stops.get(stops.size() - 1).node;
+        }
+
+        private int getNode(int index) {
+            return index < 0 ? anchorNode : stops.get(index).node;
+        }
+
+        private long getDepartureTick(int index) {
+            return index < 0 ? anchorTick : departures[index];
+        }
+
+        private double getLoad(int index) {
+            return index < 0 ? anchorLoad : loads[index];
+        }
+
+        private int getCount(int index) {
+            return index < 0 ? anchorCount : counts[index];
+        }
+
+        private long getWait(int index) {
+            return departures[index] - arrivals[index];
+        }
+
+        /**
+         * Recomputes the schedule of the {@link Stop}s.<p>
+         *
+         * Delaying the arrival at stop {@code k} by {@code d} ticks delays its departure by {@code max(0, d - wait)},
+         * so the maximum delay of a {@link Stop} is the minimum of its own slack and its waiting time plus the maximum
+         * delay of the next {@link Stop}. {@link Stop}s that are already late do not restrict the delay, since they
+         * cannot be delivered in time anymore anyway.
+         */
+        private void update() {
+            int n = stops.size();
+            if (arrivals.length < n) {
+                int length = Math.max(n, arrivals.length * 2);
+                arrivals = Arrays.copyOf(arrivals, length);
+                departures = Arrays.copyOf(departures, length);
+                ownSlacks = Arrays.copyOf(ownSlacks, length);
+                maxDelays = Arrays.copyOf(maxDelays, length);
+                loads = Arrays.copyOf(loads, length);
+                counts = Arrays.copyOf(counts, length);
+            }
+
+            int node = anchorNode;
+            long tick = anchorTick;
+            double load = anchorLoad;
+            int count = anchorCount;
+            for (int k = 0; k < n; k++) {
+                Stop stop = stops.get(k);
+                arrivals[k] = tick + (node == stop.node ? 0 : matrix.duration(node, stop.node));
+                departures[k] = Math.max(arrivals[k], stop.getEarliestTick());
+                load += stop.pickup ? stop.order.getWeight() : -stop.order.getWeight();
+                count += stop.pickup ? 1 : -1;
+                loads[k] = load;
+                counts[k] = count;
+                node = stop.node;
+                tick = departures[k];
+            }
+
+            long maxDelay = NO_DEADLINE;
+            for (int k = n - 1; k >= 0; k--) {
+                long deadline = stops.get(k).getDeadline();
+                ownSlacks[k] = departures[k] <= deadline ? deadline - arrivals[k] : NO_DEADLINE;
+                maxDelay = Math.min(ownSlacks[k], Math.min(NO_DEADLINE, getWait(k) + maxDelay));
+                maxDelays[k] = maxDelay;
+            }
+        }
+    }
+}
@@ -1,26 +1,201 @@
 package projekt.delivery.service;
 
+import org.jetbrains.annotations.Nullable;
 import projekt.delivery.event.Event;
+import projekt.delivery.routing.CompiledRegion;
 import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.DurationMatrix;
+import projekt.delivery.routing.Region;
+import projekt.delivery.routing.Vehicle;
 import projekt.delivery.routing.VehicleManager;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import static org.tudalgo.algoutils.student.Student.crash;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+/**
+ * A {@link DeliveryService} that plans the routes of all vehicles with the cheapest insertion heuristic.<p>
+ *
+ * Every vehicle follows a planned sequence of stops at which it loads or delivers orders. Each new order is inserted
+ * into the route of one of the vehicles closest to its restaurant at the positions that extend the route the least,
+ * without exceeding the capacity of the vehicle or delaying other orders beyond their delivery interval. The durations
+ * between the nodes are taken from a {@link DurationMatrix}, which is precomputed for regions with up to
+ * {@value #MAX_PRECOMPUTED_NODES} nodes and computed on demand for larger ones.<p>
+ *
+ * To bound the time spent per tick, at most a fixed amount of orders is inserted per tick and only a fixed amount of
+ * vehicles is considered for each order. Orders that could not be inserted stay pending and are retried in the next
+ * tick.
+ */
 public class OurDeliveryService extends AbstractDeliveryService {
 
+    /**
+     * The maximum amount of nodes of a region for which the durations between all pairs of nodes are precomputed.
+     */
+    public static final int MAX_PRECOMPUTED_NODES = 2048;
+
+    /**
+     * The amount of rows of the on-demand {@link DurationMatrix} that are kept for larger regions.
+     */
+    private static final int ON_DEMAND_ROWS = 512;
+
+    /**
+     * The default maximum amount of vehicles that are considered for a single order.
+     */
+    public static final int DEFAULT_CANDIDATE_VEHICLES = 8;
+
+    /**
+     * The default maximum amount of planned stops per vehicle.
+     */
+    public static final int DEFAULT_MAX_STOPS = 32;
+
+    /**
+     * The default maximum amount of orders that are inserted per tick.
+     */
+    public static final int DEFAULT_MAX_INSERTIONS_PER_TICK = 4096;
+
+    // List of orders that have not yet been assigned to a vehicle
     protected final List<ConfirmedOrder> pendingOrders = new ArrayList<>();
 
+    private final int candidateVehicles;
+    private final int maxStops;
+    private final int maxInsertionsPerTick;
+
+    private @Nullable InsertionPlanner planner;
+    private final Map<Vehicle, InsertionPlanner.Route> routes = new HashMap<>();
+    private final Map<InsertionPlanner.Route, Vehicle> vehicles = new IdentityHashMap<>();
+    private final Queue<Vehicle> arrivedVehicles = new ConcurrentLinkedQueue<>();
+    private final PriorityQueue<WaitingVehicle> waitingVehicles = new PriorityQueue<>();
+
     public OurDeliveryService(VehicleManager vehicleManager) {
+        this(vehicleManager, DEFAULT_CANDIDATE_VEHICLES, DEFAULT_MAX_STOPS, DEFAULT_MAX_INSERTIONS_PER_TICK);
+    }
+
+    /**
+     * Creates a new {@link OurDeliveryService} instance with the given limits of the computation per tick.
+     * @param vehicleManager The {@link VehicleManager} of the vehicles to plan.
+     * @param candidateVehicles The maximum amount of vehicles that are considered for a single order.
+     * @param maxStops The maximum amount of planned stops per vehicle.
+     * @param maxInsertionsPerTick The maximum amount of orders that are inserted per tick.
+     * @throws IllegalArgumentException If one of the limits is too small.
+     */
+    public OurDeliveryService(VehicleManager vehicleManager, int candidateVehicles, int maxStops, int maxInsertionsPerTick) {
         super(vehicleManager);
+        if (candidateVehicles <= 0) {
+            throw new IllegalArgumentException("candidateVehicles must be positive: " + candidateVehicles);
+        }
+        if (maxStops < 2) {
+            throw new IllegalArgumentException("maxStops must be at least 2: " + maxStops);
+        }
+        if (maxInsertionsPerTick <= 0) {
+            throw new IllegalArgumentException("maxInsertionsPerTick must be positive: " + maxInsertionsPerTick);
+        }
+        this.candidateVehicles = candidateVehicles;
+        this.maxStops = maxStops;
+        this.maxInsertionsPerTick = maxInsertionsPerTick;
     }
 
     @Override
     protected List<Event> tick(long currentTick, List<ConfirmedOrder> newOrders) {
+        List<Event> events = vehicleManager.tick(currentTick);
+        InsertionPlanner planner = getPlanner(currentTick);
+
+        // arrival actions may run in parallel, so the vehicles are only collected there and handled here in order
+        List<Vehicle> arrived = new ArrayList<>();
+        for (Vehicle vehicle = arrivedVehicles.poll(); vehicle != null; vehicle = arrivedVehicles.poll()) {
+            arrived.add(vehicle);
+        }
+        arrived.sort(Comparator.comparingInt(Vehicle::getId));
+        for (Vehicle vehicle : arrived) {
+            InsertionPlanner.Route route = routes.get(vehicle);
+            route.arrive(currentTick);
+            serveStops(vehicle, route, currentTick);
+        }
+        while (!waitingVehicles.isEmpty() && waitingVehicles.peek().tick() <= currentTick) {
+            Vehicle vehicle = waitingVehicles.poll().vehicle();
+            serveStops(vehicle, routes.get(vehicle), currentTick);
+        }
+
+        pendingOrders.addAll(newOrders);
+        insertPendingOrders(planner, currentTick);
+
+        return events;
+    }
 
-        return crash(); // TODO: H9.2 - remove if implemented
+    private InsertionPlanner getPlanner(long currentTick) {
+        if (planner == null) {
+            Region region = vehicleManager.getRegion();
+            DurationMatrix matrix = region.getNodes().size() <= MAX_PRECOMPUTED_NODES
+                ? DurationMatrix.of(region)
+                : DurationMatrix.onDemand(region, ON_DEMAND_ROWS);
+            planner = new InsertionPlanner(matrix, candidateVehicles, maxStops);
+        }
+        if (routes.isEmpty()) {
+            CompiledRegion compiledRegion = planner.getMatrix().getCompiledRegion();
+            for (Vehicle vehicle : vehicleManager.getAllVehicles()) {
+                InsertionPlanner.Route route = planner.addRoute(
+                    compiledRegion.getId(vehicle.getStartingNode().getComponent()),
+                    currentTick,
+                    vehicle.getCapacity()
+                );
+                routes.put(vehicle, route);
+                vehicles.put(route, vehicle);
+            }
+        }
+        return planner;
+    }
+
+    /**
+     * Inserts the oldest pending orders into the routes and starts the vehicles that have been idle before.
+     */
+    private void insertPendingOrders(InsertionPlanner planner, long currentTick) {
+        CompiledRegion compiledRegion = planner.getMatrix().getCompiledRegion();
+        int attempts = Math.min(pendingOrders.size(), maxInsertionsPerTick);
+        List<ConfirmedOrder> remainingOrders = new ArrayList<>();
+
+        for (ConfirmedOrder order : pendingOrders.subList(0, attempts)) {
+            InsertionPlanner.Route route = planner.insert(
+                order,
+                compiledRegion.getId(order.getRestaurant().getComponent()),
+                compiledRegion.getId(order.getLocation())
+            );
+            if (route == null) {
+                remainingOrders.add(order);
+            } else if (!route.isDeparted()) {
+                serveStops(vehicles.get(route), route, currentTick);
+            }
+        }
+
+        remainingOrders.addAll(pendingOrders.subList(attempts, pendingOrders.size()));
+        pendingOrders.clear();
+        pendingOrders.addAll(remainingOrders);
+    }
+
+    /**
+     * Serves all stops of the given route at the current node of the vehicle and then lets it move to the next stop
+     * or wait until the next order may be delivered.
+     */
+    private void serveStops(Vehicle vehicle, InsertionPlanner.Route route, long currentTick) {
+        CompiledRegion compiledRegion = planner.getMatrix().getCompiledRegion();
+
+        for (InsertionPlanner.Stop stop = route.getNextStop(); stop != null; stop = route.getNextStop()) {
+            Region.Node node = compiledRegion.getNode(stop.node());
+            if (stop.node() != route.getAnchorNode()) {
+                vehicle.moveQueued(node, (movedVehicle, tick) -> arrivedVehicles.add(movedVehicle));
+                route.depart(currentTick);
+                return;
+            }
+            if (currentTick < stop.getEarliestTick()) {
+                waitingVehicles.add(new WaitingVehicle(stop.getEarliestTick(), vehicle));
+                route.depart(currentTick);
+                return;
+            }
+
+            if (stop.pickup()) {
+                stop.order().getRestaurant().loadOrder(vehicle, stop.order(), currentTick);
+            } else {
+                vehicleManager.getOccupiedNeighborhood(node).deliverOrder(vehicle, stop.order(), currentTick);
+            }
+            route.complete(currentTick);
+        }
     }
 
     @Override
@@ -32,6 +207,27 @@ public class OurDeliveryService extends AbstractDeliveryService {
     public void reset() {
         super.reset();
         pendingOrders.clear();
+        if (planner != null) {
+            planner.clear();
+        }
+        routes.clear();
+        vehicles.clear();
+        arrivedVehicles.clear();
+        waitingVehicles.clear();
+    }
+
+    /**
+     * A vehicle that waits at its current node until the given tick.
+     * @param tick The tick at which the vehicle continues.
+     * @param vehicle The waiting {@link Vehicle}.
+     */
+    private record WaitingVehicle(long tick, Vehicle vehicle) implements Comparable<WaitingVehicle> {
+
+        @Override
+        public int compareTo(WaitingVehicle other) {
+            int compare = Long.compare(tick, other.tick);
+            return compare != 0 ? compare : Integer.compare(vehicle.getId(), other.vehicle.getId());
+        }
     }
 
     public interface Factory extends DeliveryService.Factory {
@@ -2,15 +2,21 @@ package projekt.delivery.simulation;
 
 import projekt.delivery.event.Event;
 import projekt.delivery.generator.OrderGenerator;
+import projekt.delivery.jfr.OrderDispatchedEvent;
+import projekt.delivery.jfr.TickEvent;
 import projekt.delivery.rating.Rater;
 import projekt.delivery.rating.RatingCriteria;
+import projekt.delivery.routing.ConfirmedOrder;
 import projekt.delivery.service.DeliveryService;
+import projekt.delivery.simulation.SimulationMetrics.Phase;
 
 import java.util.*;
 
 public class BasicDeliverySimulation implements Simulation {
 
     protected final List<SimulationListener> listeners = new ArrayList<>();
+    protected final EventDispatcher eventDispatcher = new EventDispatcher();
+    protected final SimulationMetrics metrics = new SimulationMetrics();
     private final DeliveryService deliveryService;
     protected final SimulationConfig simulationConfig;
     protected final Map<RatingCriteria, Rater.Factory> raterFactoryMap;
@@ -50,23 +56,36 @@ public class BasicDeliverySimulation implements Simulation {
         while (!terminationRequested && (simulationLength == -1 || currentTick < simulationLength)) {
             if (simulationConfig.isPaused()) {
                 try {
-                    //noinspection BusyWait
-                    Thread.sleep(50);
+                    simulationConfig.awaitUnpaused(() -> terminationRequested);
                 } catch (InterruptedException e) {
-                    e.printStackTrace();
+                    Thread.currentThread().interrupt();
+                    break;
                 }
                 continue;
             }
-            long tickStartTime = System.currentTimeMillis();
+
+            if (simulationConfig.isFastForward()) {
+                runCurrentTick();
+                continue;
+            }
+
+            long tickStartTime = System.nanoTime();
 
             runCurrentTick();
 
             // Wait till next tick is due.
-            long executionTime = System.currentTimeMillis() - tickStartTime;
+            long executionTime = (System.nanoTime() - tickStartTime) / 1_000_000;
             long millisTillNextTick = simulationConfig.getMillisecondsPerTick() - executionTime;
             if (millisTillNextTick < 0) {
+                Phase slowestPhase = metrics.recordOverrun();
                 System.out.println("\033[0;33m"); //make text yellow
                 System.out.println("WARNING: Can't keep up! Did the system time change, or is the server overloaded?");
+                System.out.printf("Tick %d took %d ms of %d ms, most of it in %s (%.3f ms)%n",
+                    currentTick - 1,
+                    executionTime,
+                    simulationConfig.getMillisecondsPerTick(),
+                    slowestPhase,
+                    metrics.getLastTickDuration(slowestPhase) / 1e6);
                 System.out.println("\033[0m"); // reset text color
             } else {
                 try {
@@ -91,6 +110,8 @@ public class BasicDeliverySimulation implements Simulation {
     @Override
     public void endSimulation() {
         terminationRequested = true;
+        // wake up the simulation thread if it is currently waiting for the simulation to be unpaused
+        simulationConfig.wakeUp();
     }
 
     @Override
@@ -123,18 +144,69 @@ public class BasicDeliverySimulation implements Simulation {
         return currentTick;
     }
 
+    @Override
+    public SimulationMetrics getMetrics() {
+        return metrics;
+    }
+
     @Override
     public void runCurrentTick() {
-        getDeliveryService().deliver(currentOrderGenerator.generateOrders(getCurrentTick()));
+        TickEvent tickEvent = new TickEvent();
+        tickEvent.begin();
+        metrics.beginTick();
+        long tickStartTime = System.nanoTime();
+        List<ConfirmedOrder> newOrders = currentOrderGenerator.generateOrders(getCurrentTick());
+        if (newOrders.isEmpty() && canSkipCurrentTick()) {
+            // skipped ticks are neither recorded in the metrics nor committed as JFR events
+            metrics.skipTick();
+            tickEvent.end();
+            currentTick++;
+            return;
+        }
+
+        long deliverStartTime = System.nanoTime();
+        getDeliveryService().deliver(newOrders);
+        OrderDispatchedEvent.commit(newOrders, getCurrentTick());
+        long serviceStartTime = System.nanoTime();
         lastEvents = Collections.unmodifiableList(deliveryService.tick(getCurrentTick()));
+        long listenersStartTime = System.nanoTime();
+
+        metrics.record(Phase.ORDER_GENERATION, deliverStartTime - tickStartTime);
+        metrics.record(Phase.DELIVER, serviceStartTime - deliverStartTime);
+        // the vehicle manager records its part of the tick itself
+        metrics.record(Phase.DELIVERY_SERVICE, listenersStartTime - serviceStartTime
+            - metrics.getCurrentTickDuration(Phase.VEHICLE_MANAGER_TICK)
+            - metrics.getCurrentTickDuration(Phase.EVENT_POP));
 
+        long listenerStartTime = listenersStartTime;
         for (SimulationListener listener : listeners) {
             listener.onTick(lastEvents, getCurrentTick());
+            long listenerEndTime = System.nanoTime();
+            metrics.recordListener(listener, listenerEndTime - listenerStartTime);
+            listenerStartTime = listenerEndTime;
         }
+        // the dispatcher records the time of every called subscriber itself
+        eventDispatcher.dispatch(lastEvents, getCurrentTick(), metrics);
+        long tickEndTime = System.nanoTime();
+
+        metrics.endTick(tickEndTime - tickStartTime);
+        tickEvent.commit(getCurrentTick(), newOrders.size(), lastEvents.size());
 
         currentTick++;
     }
 
+    /**
+     * Returns true if the current tick, in which no new orders arrive, can be skipped without changing the result of
+     * the simulation. A skipped tick does not notify the listeners.<p>
+     *
+     * This implementation never skips a tick.
+     *
+     * @return True if the current tick can be skipped.
+     */
+    protected boolean canSkipCurrentTick() {
+        return false;
+    }
+
     @Override
     public void addListener(SimulationListener listener) {
         listeners.add(listener);
@@ -145,6 +217,16 @@ public class BasicDeliverySimulation implements Simulation {
         return listeners.remove(listener);
     }
 
+    @Override
+    public <E extends Event> void subscribe(Class<E> eventType, EventSubscriber<E> subscriber) {
+        eventDispatcher.subscribe(eventType, subscriber);
+    }
+
+    @Override
+    public boolean unsubscribe(EventSubscriber<?> subscriber) {
+        return eventDispatcher.unsubscribe(subscriber);
+    }
+
     @Override
     public DeliveryService getDeliveryService() {
         return deliveryService;
@@ -156,20 +238,22 @@ public class BasicDeliverySimulation implements Simulation {
         lastEvents = new ArrayList<>();
         removeListener(endSimulationListener);
         getDeliveryService().reset();
+        getDeliveryService().getVehicleManager().setMetrics(metrics);
+        metrics.reset();
         setupRaters();
         setupOrderGenerator();
     }
 
     private void setupRaters() {
         for (Rater rater : currentRaterMap.values()) {
-            removeListener(rater);
+            rater.detach(this);
         }
 
         currentRaterMap.clear();
 
         for (RatingCriteria criterion : raterFactoryMap.keySet()) {
             Rater rater = raterFactoryMap.get(criterion).create();
-            addListener(rater);
+            rater.attach(this);
             currentRaterMap.put(criterion, rater);
         }
     }
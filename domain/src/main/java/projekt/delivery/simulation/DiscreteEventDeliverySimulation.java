@@ -0,0 +1,45 @@
+package projekt.delivery.simulation;
+
+import projekt.delivery.generator.OrderGenerator;
+import projekt.delivery.rating.Rater;
+import projekt.delivery.rating.RatingCriteria;
+import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.service.DeliveryService;
+
+import java.util.Map;
+
+/**
+ * A {@link BasicDeliverySimulation} that skips idle ticks when it runs in fast-forward mode.<p>
+ *
+ * The {@link VehicleManager} only ticks the components whose vehicles are due to move and knows the next tick at which
+ * a vehicle is due via {@link VehicleManager#getNextDueTick()}. A tick is idle if no orders arrive, no vehicle is due
+ * and the {@link DeliveryService} only reacts to events, see {@link DeliveryService#canSkipIdleTicks()}. Executing such
+ * a tick would not produce any {@link projekt.delivery.event.Event}s, so skipping it results in the same sequence of
+ * {@link projekt.delivery.event.Event}s. The listeners are only notified of the executed ticks.<p>
+ *
+ * Outside of fast-forward mode, every tick is executed so that the simulation can be watched in real time.
+ */
+public class DiscreteEventDeliverySimulation extends BasicDeliverySimulation {
+
+    /**
+     * Creates a new {@link DiscreteEventDeliverySimulation} instance.
+     *
+     * @param simulationConfig The used {@link SimulationConfig}.
+     * @param raterFactoryMap The {@link Rater.Factory}s that are used to rate this {@link DiscreteEventDeliverySimulation} based on the corresponding {@link RatingCriteria}.
+     * @param deliveryService The simulated {@link DeliveryService}.
+     * @param orderGeneratorFactory The {@link OrderGenerator.Factory} used to generate orders during this {@link DiscreteEventDeliverySimulation}.
+     */
+    public DiscreteEventDeliverySimulation(SimulationConfig simulationConfig,
+                                           Map<RatingCriteria, Rater.Factory> raterFactoryMap,
+                                           DeliveryService deliveryService,
+                                           OrderGenerator.Factory orderGeneratorFactory) {
+        super(simulationConfig, raterFactoryMap, deliveryService, orderGeneratorFactory);
+    }
+
+    @Override
+    protected boolean canSkipCurrentTick() {
+        return simulationConfig.isFastForward()
+            && getDeliveryService().canSkipIdleTicks()
+            && getDeliveryService().getVehicleManager().getNextDueTick() > getCurrentTick();
+    }
+}
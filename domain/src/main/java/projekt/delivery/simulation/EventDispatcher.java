@@ -0,0 +1,117 @@
+package projekt.delivery.simulation;
+
+import projekt.delivery.event.Event;
+import projekt.delivery.event.EventIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dispatches the {@link Event}s of a tick to the {@link EventSubscriber}s of their types.<p>
+ *
+ * The {@link Event}s of a tick are grouped by all subscribed types in a single pass with an {@link EventIndex}, and
+ * every {@link EventSubscriber} is only called with the {@link Event}s of its type. The cost of a subscriber therefore
+ * depends on the amount of relevant {@link Event}s and not on the amount of all {@link Event}s of the tick.
+ */
+public class EventDispatcher {
+
+    private final List<Subscription<?>> subscriptions = new ArrayList<>();
+    private EventIndex eventIndex = new EventIndex();
+
+    /**
+     * Adds the given {@link EventSubscriber} for the given event type.
+     * @param eventType The type of {@link Event}s the {@link EventSubscriber} receives.
+     * @param subscriber The {@link EventSubscriber} to add.
+     * @param <E> The type of {@link Event}s the {@link EventSubscriber} receives.
+     */
+    public <E extends Event> void subscribe(Class<E> eventType, EventSubscriber<E> subscriber) {
+        subscriptions.add(new Subscription<>(eventType, subscriber));
+        updateEventIndex();
+    }
+
+    /**
+     * Removes all subscriptions of the given {@link EventSubscriber}.
+     * @param subscriber The {@link EventSubscriber} to remove.
+     * @return True, if the given {@link EventSubscriber} was subscribed.
+     */
+    public boolean unsubscribe(EventSubscriber<?> subscriber) {
+        boolean removed = subscriptions.removeIf(subscription -> subscription.subscriber() == subscriber);
+        if (removed) {
+            updateEventIndex();
+        }
+        return removed;
+    }
+
+    /**
+     * Returns true, if no {@link EventSubscriber} is subscribed.
+     * @return True, if no {@link EventSubscriber} is subscribed.
+     */
+    public boolean isEmpty() {
+        return subscriptions.isEmpty();
+    }
+
+    /**
+     * Dispatches the given {@link Event}s to the {@link EventSubscriber}s of their types.
+     * @param events The {@link Event}s that occurred during the tick.
+     * @param tick The executed tick.
+     */
+    public void dispatch(List<Event> events, long tick) {
+        if (subscriptions.isEmpty() || events.isEmpty()) {
+            return;
+        }
+
+        eventIndex.index(events);
+        for (Subscription<?> subscription : subscriptions) {
+            subscription.dispatch(eventIndex, tick);
+        }
+    }
+
+    /**
+     * Dispatches the given {@link Event}s to the {@link EventSubscriber}s of their types and records the time every
+     * called {@link EventSubscriber} needed in the given {@link SimulationMetrics}. The time needed to group the
+     * {@link Event}s is added to the {@link SimulationMetrics.Phase#SUBSCRIBERS} phase.
+     * @param events The {@link Event}s that occurred during the tick.
+     * @param tick The executed tick.
+     * @param metrics The {@link SimulationMetrics} of the current tick.
+     */
+    public void dispatch(List<Event> events, long tick, SimulationMetrics metrics) {
+        if (subscriptions.isEmpty() || events.isEmpty()) {
+            return;
+        }
+
+        long indexStartTime = System.nanoTime();
+        eventIndex.index(events);
+        long startTime = System.nanoTime();
+        metrics.record(SimulationMetrics.Phase.SUBSCRIBERS, startTime - indexStartTime);
+        for (Subscription<?> subscription : subscriptions) {
+            boolean called = subscription.dispatch(eventIndex, tick);
+            long endTime = System.nanoTime();
+            if (called) {
+                metrics.recordSubscriber(subscription.subscriber(), endTime - startTime);
+            } else {
+                metrics.record(SimulationMetrics.Phase.SUBSCRIBERS, endTime - startTime);
+            }
+            startTime = endTime;
+        }
+    }
+
+    private void updateEventIndex() {
+        eventIndex = new EventIndex(subscriptions.stream().<Class<? extends Event>>map(Subscription::eventType).toList());
+    }
+
+    private record Subscription<E extends Event>(Class<E> eventType, EventSubscriber<E> subscriber) {
+
+        /**
+         * Passes the {@link Event}s of the subscribed type to the subscriber.
+         * @return True, if the subscriber was called.
+         */
+        private boolean dispatch(EventIndex eventIndex, long tick) {
+            List<E> events = eventIndex.get(eventType);
+            if (events.isEmpty()) {
+                return false;
+            }
+            subscriber.onEvents(events, tick);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package projekt.delivery.simulation;
+
+import projekt.delivery.event.Event;
+
+import java.util.List;
+
+/**
+ * A subscriber for a specific type of {@link Event}s that can be added to a {@link Simulation}.<p>
+ *
+ * In contrast to a {@link SimulationListener}, {@link #onEvents(List, long)} only receives the {@link Event}s of the
+ * subscribed type and is only called for ticks in which such {@link Event}s occurred.
+ *
+ * @param <E> The type of the subscribed {@link Event}s.
+ * @see Simulation#subscribe(Class, EventSubscriber)
+ */
+@FunctionalInterface
+public interface EventSubscriber<E extends Event> {
+
+    /**
+     * Signals this {@link EventSubscriber} that {@link Event}s of the subscribed type occurred during a tick.
+     * @param events All {@link Event}s of the subscribed type that occurred during the tick. The list is not empty.
+     * @param tick The executed tick.
+     */
+    void onEvents(List<E> events, long tick);
+}
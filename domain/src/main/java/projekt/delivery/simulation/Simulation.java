@@ -1,5 +1,6 @@
 package projekt.delivery.simulation;
 
+import projekt.delivery.event.Event;
 import projekt.delivery.rating.Rater;
 import projekt.delivery.rating.RatingCriteria;
 import projekt.delivery.service.DeliveryService;
@@ -8,7 +9,9 @@ import projekt.delivery.service.DeliveryService;
  * A tick-based Simulation of a {@link DeliveryService}. <p>
  *
  * This {@link Simulation} can be evaluated by a {@link Rater}.
- * It allows {@link SimulationListener}s to be registered via the {@link #addListener(SimulationListener)} method.
+ * It allows {@link SimulationListener}s to be registered via the {@link #addListener(SimulationListener)} method
+ * and {@link EventSubscriber}s for specific types of {@link Event}s via the {@link #subscribe(Class, EventSubscriber)}
+ * method.
  */
 public interface Simulation {
 
@@ -86,6 +89,52 @@ public interface Simulation {
     @SuppressWarnings("UnusedReturnValue")
     boolean removeListener(SimulationListener listener);
 
+    /**
+     * Adds an {@link EventSubscriber} for the given type of {@link Event}s to this {@link Simulation}.<p>
+     *
+     * After every tick, the {@link EventSubscriber} receives all {@link Event}s of the tick that are instances of the
+     * given type, if there are any. By default, the {@link EventSubscriber} is added as a {@link SimulationListener}
+     * that filters the {@link Event}s of every tick.
+     *
+     * @param eventType The type of {@link Event}s the {@link EventSubscriber} receives.
+     * @param subscriber The {@link EventSubscriber} to add.
+     * @param <E> The type of {@link Event}s the {@link EventSubscriber} receives.
+     */
+    default <E extends Event> void subscribe(Class<E> eventType, EventSubscriber<E> subscriber) {
+        addListener(new SubscriberListener<>(eventType, subscriber));
+    }
+
+    /**
+     * Removes all subscriptions of the given {@link EventSubscriber} from this {@link Simulation}.<p>
+     *
+     * By default, the {@link SimulationListener}s added by {@link #subscribe(Class, EventSubscriber)} are removed with
+     * {@link #removeListener(SimulationListener)}.
+     *
+     * @param subscriber The {@link EventSubscriber} to remove.
+     * @return True, if this {@link Simulation} contained the given {@link EventSubscriber}.
+     */
+    @SuppressWarnings("UnusedReturnValue")
+    default boolean unsubscribe(EventSubscriber<?> subscriber) {
+        SimulationListener listener = SubscriberListener.of(subscriber);
+        boolean removed = false;
+        while (removeListener(listener)) {
+            removed = true;
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the {@link SimulationMetrics} in which the durations of the ticks of this {@link Simulation} are
+     * recorded. The metrics are reset whenever a new simulation is started.<p>
+     *
+     * By default, no durations are recorded and new, empty {@link SimulationMetrics} are returned.
+     *
+     * @return The {@link SimulationMetrics} of this {@link Simulation}.
+     */
+    default SimulationMetrics getMetrics() {
+        return new SimulationMetrics();
+    }
+
     /**
      * Toggles the running state of this {@link Simulation}.
      * @return True, if the simulation is running after the toggling .
@@ -1,15 +1,24 @@
 package projekt.delivery.simulation;
 
+import projekt.base.SeedSequence;
+
+import java.util.OptionalLong;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 
 /**
  * A config for a {@link Simulation}.<p>
  *
- * It contains the length of a tick and whether the {@link Simulation} is paused.
+ * It contains the length of a tick, whether the {@link Simulation} is paused and whether the {@link Simulation}
+ * runs in fast-forward mode. It can also contain a master seed from which a runner derives the seeds of the random
+ * components of every simulation, see {@link SeedSequence}.
  */
 public class SimulationConfig {
     private final AtomicInteger millisecondsPerTick;
+    private final Object pauseLock = new Object();
     private volatile boolean paused = false;
+    private volatile boolean fastForward;
+    private volatile OptionalLong seed = OptionalLong.empty();
 
     /**
      * Creates a new {@link Simulation} instance.<p>
@@ -19,7 +28,31 @@ public class SimulationConfig {
      * @param millisecondsPerTick The length of a tick in  milliseconds.
      */
     public SimulationConfig(int millisecondsPerTick) {
+        this(millisecondsPerTick, false);
+    }
+
+    /**
+     * Creates a new {@link SimulationConfig} instance.<p>
+     *
+     * By default, the created {@link Simulation} is not paused.
+     *
+     * @param millisecondsPerTick The length of a tick in  milliseconds.
+     * @param fastForward Whether the {@link Simulation} should execute its ticks as fast as possible.
+     */
+    public SimulationConfig(int millisecondsPerTick, boolean fastForward) {
         this.millisecondsPerTick = new AtomicInteger(millisecondsPerTick);
+        this.fastForward = fastForward;
+    }
+
+    /**
+     * Creates a new {@link SimulationConfig} that executes ticks as fast as possible.<p>
+     *
+     * This is intended for headless batch runs where nobody watches the simulation.
+     *
+     * @return The created {@link SimulationConfig}.
+     */
+    public static SimulationConfig fastForward() {
+        return new SimulationConfig(0, true);
     }
 
     /**
@@ -51,6 +84,69 @@ public class SimulationConfig {
      * @param paused The new paused status.
      */
     public void setPaused(boolean paused) {
-        this.paused = paused;
+        synchronized (pauseLock) {
+            this.paused = paused;
+            pauseLock.notifyAll();
+        }
+    }
+
+    /**
+     * Returns True if the simulation executes its ticks as fast as possible, i.e. without waiting
+     * {@link #getMillisecondsPerTick()} between two ticks.
+     * @return True if the simulation runs in fast-forward mode.
+     */
+    public boolean isFastForward() {
+        return fastForward;
+    }
+
+    /**
+     * Changes the fast-forward status of this {@link SimulationConfig}.
+     * @param fastForward The new fast-forward status.
+     */
+    public void setFastForward(boolean fastForward) {
+        this.fastForward = fastForward;
+    }
+
+    /**
+     * Returns the master seed of the simulations that use this {@link SimulationConfig}.
+     * @return The master seed or an empty {@link OptionalLong} if the simulations are not seeded.
+     */
+    public OptionalLong getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the master seed of the simulations that use this {@link SimulationConfig}.
+     * @param seed The new master seed.
+     */
+    public void setSeed(long seed) {
+        this.seed = OptionalLong.of(seed);
+    }
+
+    /**
+     * Blocks the calling thread while this {@link SimulationConfig} is paused.<p>
+     *
+     * The thread is woken up as soon as the config gets unpaused or {@link #wakeUp()} is called. In the latter case
+     * the given condition is checked again, and the method returns if it is true.
+     *
+     * @param cancelled A condition that aborts waiting when it is true.
+     * @throws InterruptedException If the waiting thread was interrupted.
+     */
+    void awaitUnpaused(BooleanSupplier cancelled) throws InterruptedException {
+        synchronized (pauseLock) {
+            while (paused && !cancelled.getAsBoolean()) {
+                pauseLock.wait();
+            }
+        }
+    }
+
+    /**
+     * Wakes up all threads blocked in {@link #awaitUnpaused(BooleanSupplier)} so that they can re-check their
+     * cancel condition.
+     */
+    void wakeUp() {
+        synchronized (pauseLock) {
+            pauseLock.notifyAll();
+        }
     }
 }
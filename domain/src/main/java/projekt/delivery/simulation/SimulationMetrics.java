@@ -0,0 +1,354 @@
+package projekt.delivery.simulation;
+
+import projekt.base.LatencyHistogram;
+import projekt.delivery.generator.OrderGenerator;
+import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.service.DeliveryService;
+
+import java.util.*;
+
+/**
+ * Records how long the phases of the ticks of a {@link Simulation} take.<p>
+ *
+ * The duration of every executed tick and of each of its {@link Phase}s is recorded in nanoseconds in a
+ * {@link LatencyHistogram}, as well as the time every {@link SimulationListener} and every {@link EventSubscriber}
+ * needs to process the events of a tick. The {@link Phase}s of a tick do not overlap, so their durations add up to the duration of the tick apart from
+ * the time needed for the measurement itself.<p>
+ *
+ * If a tick takes longer than the time available per tick, the tick is counted as an overrun of the {@link Phase} that
+ * took the longest during the tick, so the overrun counts show which {@link Phase} is responsible for the simulation
+ * not keeping up.<p>
+ *
+ * The durations of a tick are collected by the thread executing the tick and are only added to the histograms once
+ * the tick is finished. All public methods are thread-safe and return copies, so the metrics can be read, e.g. by the
+ * GUI, while the simulation is running.
+ */
+public class SimulationMetrics {
+
+    /**
+     * The phases of a tick.
+     */
+    public enum Phase {
+
+        /**
+         * Generating the new orders with the {@link OrderGenerator}.
+         */
+        ORDER_GENERATION,
+
+        /**
+         * Passing the new orders to {@link DeliveryService#deliver(List)}.
+         */
+        DELIVER,
+
+        /**
+         * The time spent in {@link DeliveryService#tick(long)} apart from {@link #VEHICLE_MANAGER_TICK} and
+         * {@link #EVENT_POP}, i.e. the decisions of the {@link DeliveryService}.
+         */
+        DELIVERY_SERVICE,
+
+        /**
+         * Moving the vehicles in {@link VehicleManager#tick(long)}.
+         */
+        VEHICLE_MANAGER_TICK,
+
+        /**
+         * Collecting the {@link projekt.delivery.event.Event}s of the tick at the end of
+         * {@link VehicleManager#tick(long)}.
+         */
+        EVENT_POP,
+
+        /**
+         * Notifying all {@link SimulationListener}s.
+         */
+        LISTENERS,
+
+        /**
+         * Dispatching the {@link projekt.delivery.event.Event}s to the {@link EventSubscriber}s.
+         */
+        SUBSCRIBERS
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long[] currentTick = new long[PHASES.length];
+    private final List<SimulationListener> currentListeners = new ArrayList<>();
+    private long[] currentListenerDurations = new long[8];
+    private final List<EventSubscriber<?>> currentSubscribers = new ArrayList<>();
+    private long[] currentSubscriberDurations = new long[8];
+    private final long[] lastTick = new long[PHASES.length];
+
+    private final LatencyHistogram tickHistogram = new LatencyHistogram();
+    private final LatencyHistogram[] phaseHistograms = new LatencyHistogram[PHASES.length];
+    private final Map<SimulationListener, LatencyHistogram> listenerHistograms = new LinkedHashMap<>();
+    private final Map<EventSubscriber<?>, LatencyHistogram> subscriberHistograms = new LinkedHashMap<>();
+    private final long[] overrunCounts = new long[PHASES.length];
+    private long overrunCount;
+
+    /**
+     * Creates a new {@link SimulationMetrics} instance without any recorded ticks.
+     */
+    public SimulationMetrics() {
+        for (int i = 0; i < phaseHistograms.length; i++) {
+            phaseHistograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Starts recording a new tick and discards the durations recorded since the last call of
+     * {@link #endTick(long)}.<p>
+     *
+     * This method must only be called by the thread executing the simulation.
+     */
+    public void beginTick() {
+        Arrays.fill(currentTick, 0);
+        currentListeners.clear();
+        currentSubscribers.clear();
+    }
+
+    /**
+     * Discards the durations recorded since the last call of {@link #beginTick()} without recording a tick. Used for
+     * ticks that are skipped by the {@link Simulation}.<p>
+     *
+     * This method must only be called by the thread executing the simulation.
+     */
+    public void skipTick() {
+        beginTick();
+    }
+
+    /**
+     * Adds the given duration to the given {@link Phase} of the current tick.<p>
+     *
+     * This method must only be called by the thread executing the simulation.
+     *
+     * @param phase The {@link Phase} the duration was spent in.
+     * @param nanos The duration in nanoseconds.
+     */
+    public void record(Phase phase, long nanos) {
+        currentTick[phase.ordinal()] += nanos;
+    }
+
+    /**
+     * Returns the duration recorded for the given {@link Phase} during the current tick so far.<p>
+     *
+     * This method must only be called by the thread executing the simulation.
+     *
+     * @param phase The {@link Phase} to return the duration of.
+     * @return The duration recorded for the {@link Phase} during the current tick in nanoseconds.
+     */
+    public long getCurrentTickDuration(Phase phase) {
+        return currentTick[phase.ordinal()];
+    }
+
+    /**
+     * Adds the time the given {@link SimulationListener} needed during the current tick to the {@link Phase#LISTENERS}
+     * phase.<p>
+     *
+     * This method must only be called by the thread executing the simulation.
+     *
+     * @param listener The notified {@link SimulationListener}.
+     * @param nanos The duration in nanoseconds.
+     */
+    public void recordListener(SimulationListener listener, long nanos) {
+        record(Phase.LISTENERS, nanos);
+        if (currentListeners.size() == currentListenerDurations.length) {
+            currentListenerDurations = Arrays.copyOf(currentListenerDurations, currentListenerDurations.length * 2);
+        }
+        currentListenerDurations[currentListeners.size()] = nanos;
+        currentListeners.add(listener);
+    }
+
+    /**
+     * Adds the time the given {@link EventSubscriber} needed during the current tick to the
+     * {@link Phase#SUBSCRIBERS} phase.<p>
+     *
+     * This method must only be called by the thread executing the simulation.
+     *
+     * @param subscriber The called {@link EventSubscriber}.
+     * @param nanos The duration in nanoseconds.
+     */
+    public void recordSubscriber(EventSubscriber<?> subscriber, long nanos) {
+        record(Phase.SUBSCRIBERS, nanos);
+        if (currentSubscribers.size() == currentSubscriberDurations.length) {
+            currentSubscriberDurations = Arrays.copyOf(currentSubscriberDurations, currentSubscriberDurations.length * 2);
+        }
+        currentSubscriberDurations[currentSubscribers.size()] = nanos;
+        currentSubscribers.add(subscriber);
+    }
+
+    /**
+     * Adds the durations of the current tick to the histograms.
+     * @param tickNanos The duration of the whole tick in nanoseconds.
+     */
+    public synchronized void endTick(long tickNanos) {
+        tickHistogram.record(tickNanos);
+        for (int i = 0; i < PHASES.length; i++) {
+            phaseHistograms[i].record(Math.max(0, currentTick[i]));
+        }
+        for (int i = 0; i < currentListeners.size(); i++) {
+            listenerHistograms.computeIfAbsent(currentListeners.get(i), listener -> new LatencyHistogram())
+                .record(currentListenerDurations[i]);
+        }
+        for (int i = 0; i < currentSubscribers.size(); i++) {
+            subscriberHistograms.computeIfAbsent(currentSubscribers.get(i), subscriber -> new LatencyHistogram())
+                .record(currentSubscriberDurations[i]);
+        }
+        System.arraycopy(currentTick, 0, lastTick, 0, currentTick.length);
+    }
+
+    /**
+     * Counts the last finished tick as an overrun of the {@link Phase} that took the longest during the tick.
+     * @return The {@link Phase} that took the longest during the last finished tick.
+     */
+    public synchronized Phase recordOverrun() {
+        Phase slowestPhase = getSlowestPhaseOfLastTick();
+        overrunCount++;
+        overrunCounts[slowestPhase.ordinal()]++;
+        return slowestPhase;
+    }
+
+    /**
+     * Returns the {@link Phase} that took the longest during the last finished tick.
+     * @return The {@link Phase} that took the longest during the last finished tick.
+     */
+    public synchronized Phase getSlowestPhaseOfLastTick() {
+        Phase slowestPhase = PHASES[0];
+        for (Phase phase : PHASES) {
+            if (lastTick[phase.ordinal()] > lastTick[slowestPhase.ordinal()]) {
+                slowestPhase = phase;
+            }
+        }
+        return slowestPhase;
+    }
+
+    /**
+     * Returns the duration of the given {@link Phase} during the last finished tick.
+     * @param phase The {@link Phase} to return the duration of.
+     * @return The duration of the {@link Phase} during the last finished tick in nanoseconds.
+     */
+    public synchronized long getLastTickDuration(Phase phase) {
+        return lastTick[phase.ordinal()];
+    }
+
+    /**
+     * Returns the amount of recorded ticks.
+     * @return The amount of recorded ticks.
+     */
+    public synchronized long getTickCount() {
+        return tickHistogram.getCount();
+    }
+
+    /**
+     * Returns a copy of the histogram of the durations of the whole ticks in nanoseconds.
+     * @return A copy of the histogram of the durations of the whole ticks.
+     */
+    public synchronized LatencyHistogram getTickHistogram() {
+        return tickHistogram.copy();
+    }
+
+    /**
+     * Returns a copy of the histogram of the durations of the given {@link Phase} in nanoseconds.
+     * @param phase The {@link Phase} to return the histogram of.
+     * @return A copy of the histogram of the durations of the given {@link Phase}.
+     */
+    public synchronized LatencyHistogram getHistogram(Phase phase) {
+        return phaseHistograms[phase.ordinal()].copy();
+    }
+
+    /**
+     * Returns copies of the histograms of the time every {@link SimulationListener} needed per tick in nanoseconds.
+     * @return A {@link Map} from every notified {@link SimulationListener} to a copy of its histogram, in the order in
+     *     which the {@link SimulationListener}s were first notified.
+     */
+    public synchronized Map<SimulationListener, LatencyHistogram> getListenerHistograms() {
+        Map<SimulationListener, LatencyHistogram> copies = new LinkedHashMap<>();
+        listenerHistograms.forEach((listener, histogram) -> copies.put(listener, histogram.copy()));
+        return copies;
+    }
+
+    /**
+     * Returns copies of the histograms of the time every {@link EventSubscriber} needed per tick in nanoseconds. Only
+     * the ticks in which an {@link EventSubscriber} received {@link projekt.delivery.event.Event}s are recorded.
+     * @return A {@link Map} from every called {@link EventSubscriber} to a copy of its histogram, in the order in which
+     *     the {@link EventSubscriber}s were first called.
+     */
+    public synchronized Map<EventSubscriber<?>, LatencyHistogram> getSubscriberHistograms() {
+        Map<EventSubscriber<?>, LatencyHistogram> copies = new LinkedHashMap<>();
+        subscriberHistograms.forEach((subscriber, histogram) -> copies.put(subscriber, histogram.copy()));
+        return copies;
+    }
+
+    /**
+     * Returns the amount of ticks that took longer than the time available per tick.
+     * @return The amount of overruns.
+     */
+    public synchronized long getOverrunCount() {
+        return overrunCount;
+    }
+
+    /**
+     * Returns the amount of overruns during which the given {@link Phase} took the longest.
+     * @param phase The {@link Phase} to return the amount of overruns of.
+     * @return The amount of overruns caused by the given {@link Phase}.
+     */
+    public synchronized long getOverrunCount(Phase phase) {
+        return overrunCounts[phase.ordinal()];
+    }
+
+    /**
+     * Removes all recorded ticks and overruns.
+     */
+    public synchronized void reset() {
+        tickHistogram.reset();
+        for (LatencyHistogram histogram : phaseHistograms) {
+            histogram.reset();
+        }
+        listenerHistograms.clear();
+        subscriberHistograms.clear();
+        Arrays.fill(overrunCounts, 0);
+        Arrays.fill(lastTick, 0);
+        overrunCount = 0;
+    }
+
+    /**
+     * Returns a table of the 50th and 99th percentile and the maximum duration in milliseconds and the overruns of
+     * every {@link Phase}, {@link SimulationListener} and {@link EventSubscriber}.
+     * @return The table as a {@link String}.
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuilder builder = new StringBuilder("%-28s %10s %10s %10s %9s%n"
+            .formatted("phase", "p50 [ms]", "p99 [ms]", "max [ms]", "overruns"));
+        appendRow(builder, "TICK", tickHistogram, overrunCount);
+        for (Phase phase : PHASES) {
+            appendRow(builder, phase.name(), phaseHistograms[phase.ordinal()], overrunCounts[phase.ordinal()]);
+        }
+        listenerHistograms.forEach((listener, histogram) ->
+            appendRow(builder, "  " + getName(listener), histogram, -1));
+        subscriberHistograms.forEach((subscriber, histogram) ->
+            appendRow(builder, "  " + getName(subscriber), histogram, -1));
+        return builder.toString();
+    }
+
+    /**
+     * Returns the simple name of the class of the given listener or subscriber. Lambdas are named after the class that
+     * declares them.
+     */
+    private static String getName(Object listener) {
+        String name = listener.getClass().getName();
+        int lambda = name.indexOf("$$Lambda");
+        if (lambda >= 0) {
+            name = name.substring(0, lambda);
+        }
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    private static void appendRow(StringBuilder builder, String name, LatencyHistogram histogram, long overruns) {
+        builder.append("%-28s %10.3f %10.3f %10.3f %9s%n".formatted(
+            name,
+            histogram.getValueAtPercentile(50) / 1e6,
+            histogram.getValueAtPercentile(99) / 1e6,
+            histogram.getMax() / 1e6,
+            overruns < 0 ? "" : Long.toString(overruns)
+        ));
+    }
+}
@@ -0,0 +1,62 @@
+package projekt.delivery.simulation;
+
+import projekt.delivery.event.Event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link SimulationListener} that passes the {@link Event}s of a single type to an {@link EventSubscriber}.<p>
+ *
+ * It is used by the default implementation of {@link Simulation#subscribe(Class, EventSubscriber)} for
+ * {@link Simulation}s that only support {@link SimulationListener}s. Two {@link SubscriberListener}s are equal if they
+ * pass the {@link Event}s to the same {@link EventSubscriber}, so all subscriptions of an {@link EventSubscriber} can be
+ * removed with {@link Simulation#removeListener(SimulationListener)}.
+ *
+ * @param <E> The type of {@link Event}s the {@link EventSubscriber} receives.
+ */
+final class SubscriberListener<E extends Event> implements SimulationListener {
+
+    private final Class<E> eventType;
+    private final EventSubscriber<E> subscriber;
+
+    SubscriberListener(Class<E> eventType, EventSubscriber<E> subscriber) {
+        this.eventType = eventType;
+        this.subscriber = subscriber;
+    }
+
+    /**
+     * Creates a {@link SubscriberListener} that is only used to remove the subscriptions of the given
+     * {@link EventSubscriber}.
+     * @param subscriber The {@link EventSubscriber} whose subscriptions are removed.
+     * @return The created {@link SubscriberListener}.
+     */
+    static SubscriberListener<Event> of(EventSubscriber<?> subscriber) {
+        @SuppressWarnings("unchecked") // the subscriber is never called
+        EventSubscriber<Event> key = (EventSubscriber<Event>) subscriber;
+        return new SubscriberListener<>(Event.class, key);
+    }
+
+    @Override
+    public void onTick(List<Event> events, long tick) {
+        List<E> matching = new ArrayList<>();
+        for (Event event : events) {
+            if (eventType.isInstance(event)) {
+                matching.add(eventType.cast(event));
+            }
+        }
+        if (!matching.isEmpty()) {
+            subscriber.onEvents(matching, tick);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SubscriberListener<?> other && subscriber == other.subscriber;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(subscriber);
+    }
+}
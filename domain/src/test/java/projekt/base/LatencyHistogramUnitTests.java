@@ -0,0 +1,70 @@
+package projekt.base;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramUnitTests {
+
+    @Test
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(-1));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(101));
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 60; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(60, histogram.getCount());
+        assertEquals(30, histogram.getValueAtPercentile(50));
+        assertEquals(60, histogram.getValueAtPercentile(99));
+        assertEquals(60, histogram.getValueAtPercentile(100));
+        assertEquals(30.5, histogram.getMean());
+    }
+
+    @Test
+    public void testRelativePrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 100_000; i++) {
+            histogram.record(i * 1_000);
+        }
+
+        for (double percentile : new double[] {1, 50, 90, 99, 99.9}) {
+            long expected = (long) (percentile * 1_000_000);
+            long actual = histogram.getValueAtPercentile(percentile);
+            assertTrue(actual >= expected && actual <= expected * 1.04, percentile + ": " + actual);
+        }
+        assertEquals(100_000_000, histogram.getMax());
+        assertEquals(100_000_000, histogram.getValueAtPercentile(100));
+        assertEquals(Long.MAX_VALUE, histogramOf(Long.MAX_VALUE).getValueAtPercentile(50));
+    }
+
+    @Test
+    public void testCopyAndReset() {
+        LatencyHistogram histogram = histogramOf(5);
+        LatencyHistogram copy = histogram.copy();
+
+        histogram.record(1_000);
+        assertEquals(1, copy.getCount());
+        assertEquals(5, copy.getMax());
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    private static LatencyHistogram histogramOf(long value) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(value);
+        return histogram;
+    }
+}
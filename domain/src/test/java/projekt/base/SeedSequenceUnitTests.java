@@ -0,0 +1,64 @@
+package projekt.base;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SeedSequenceUnitTests {
+
+    @Test
+    public void testDeriveIsDeterministic() {
+        SeedSequence master = SeedSequence.of(1234);
+
+        assertEquals(master.derive("problem").derive(3).derive("orders"), master.derive("problem").derive(3).derive("orders"));
+        assertEquals(SeedSequence.of(1234).derive(7), master.derive(7));
+    }
+
+    @Test
+    public void testDeriveDoesNotDependOnOrder() {
+        SeedSequence master = SeedSequence.of(1234);
+
+        SeedSequence first = master.derive(0);
+        master.derive(1);
+        master.derive("other");
+        assertEquals(first, master.derive(0));
+    }
+
+    @Test
+    public void testDerivedSeedsAreDistinct() {
+        SeedSequence master = SeedSequence.of(0);
+        Set<Long> seeds = new HashSet<>();
+
+        for (int run = 0; run < 100; run++) {
+            for (String component : new String[] {"orders", "service"}) {
+                assertTrue(seeds.add(master.derive("problem").derive(run).derive(component).getSeed()));
+            }
+        }
+        assertNotEquals(master.derive("a").derive("b"), master.derive("b").derive("a"));
+        assertNotEquals(master.derive(1), SeedSequence.of(1).derive(0));
+    }
+
+    @Test
+    public void testIntSeedIsNotNegative() {
+        SeedSequence master = SeedSequence.of(-1);
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(master.derive(i).getIntSeed() >= 0);
+        }
+    }
+
+    @Test
+    public void testCreateRandom() {
+        SeedSequence seeds = SeedSequence.of(42).derive("orders");
+        SplittableRandom random1 = seeds.createRandom();
+        SplittableRandom random2 = seeds.createRandom();
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(random1.nextLong(), random2.nextLong());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package projekt.delivery.archetype;
+
+import org.junit.jupiter.api.Test;
+import projekt.base.Location;
+import projekt.delivery.archetype.SyntheticProblemGenerator.Topology;
+import projekt.delivery.routing.Region;
+import projekt.delivery.routing.Vehicle;
+import projekt.delivery.routing.VehicleManager;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SyntheticProblemGeneratorUnitTests {
+
+    private static SyntheticProblemGenerator createGenerator(Topology topology, int nodeCount, long seed) {
+        return SyntheticProblemGenerator.builder()
+            .setTopology(topology)
+            .setNodeCount(nodeCount)
+            .setRestaurantCount(10)
+            .setNeighborhoodShare(0.5)
+            .setVehicleCount(25)
+            .setSeed(seed)
+            .build();
+    }
+
+    private static boolean isConnected(Region region) {
+        Map<Region.Node, List<Region.Node>> adjacentNodes = new HashMap<>();
+        for (Region.Edge edge : region.getEdges()) {
+            adjacentNodes.computeIfAbsent(edge.getNodeA(), node -> new ArrayList<>()).add(edge.getNodeB());
+            adjacentNodes.computeIfAbsent(edge.getNodeB(), node -> new ArrayList<>()).add(edge.getNodeA());
+        }
+
+        Region.Node start = region.getNodes().iterator().next();
+        Set<Region.Node> visited = new HashSet<>(List.of(start));
+        Deque<Region.Node> queue = new ArrayDeque<>(visited);
+        while (!queue.isEmpty()) {
+            for (Region.Node node : adjacentNodes.getOrDefault(queue.poll(), List.of())) {
+                if (visited.add(node)) {
+                    queue.add(node);
+                }
+            }
+        }
+        return visited.size() == region.getNodes().size();
+    }
+
+    private static Set<Location> restaurants(Region region) {
+        return region.getNodes().stream()
+            .filter(Region.Restaurant.class::isInstance)
+            .map(Region.Node::getLocation)
+            .collect(Collectors.toSet());
+    }
+
+    @Test
+    public void testRegion() {
+        for (Topology topology : Topology.values()) {
+            Region region = createGenerator(topology, 500, 1).generateRegion();
+
+            assertEquals(500, region.getNodes().size(), topology.name());
+            assertEquals(10, region.getNodes().stream().filter(Region.Restaurant.class::isInstance).count(),
+                topology.name());
+            assertEquals(245, region.getNodes().stream().filter(Region.Neighborhood.class::isInstance).count(),
+                topology.name());
+            assertTrue(isConnected(region), topology.name());
+        }
+    }
+
+    @Test
+    public void testReproducible() {
+        for (Topology topology : Topology.values()) {
+            Region region1 = createGenerator(topology, 300, 7).generateRegion();
+            Region region2 = createGenerator(topology, 300, 7).generateRegion();
+            Region region3 = createGenerator(topology, 300, 8).generateRegion();
+
+            assertEquals(new TreeSet<>(region1.getNodes()), new TreeSet<>(region2.getNodes()), topology.name());
+            assertEquals(new TreeSet<>(region1.getEdges()), new TreeSet<>(region2.getEdges()), topology.name());
+            assertNotEquals(restaurants(region1), restaurants(region3), topology.name());
+        }
+    }
+
+    @Test
+    public void testProblemArchetype() {
+        ProblemArchetype problemArchetype = createGenerator(Topology.RANDOM_GEOMETRIC, 200, 3).generateProblemArchetype();
+        VehicleManager vehicleManager = problemArchetype.vehicleManager();
+
+        assertEquals(25, vehicleManager.getAllVehicles().size());
+        assertEquals(10, vehicleManager.getOccupiedRestaurants().size());
+        assertEquals(
+            new HashSet<>(vehicleManager.getOccupiedRestaurants()),
+            vehicleManager.getAllVehicles().stream().map(Vehicle::getStartingNode).collect(Collectors.toSet())
+        );
+        assertEquals(3, problemArchetype.raterFactoryMap().size());
+        assertEquals("synthetic-random_geometric-200-3", problemArchetype.name());
+    }
+
+    @Test
+    public void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> SyntheticProblemGenerator.builder().setNodeCount(0).build());
+        assertThrows(IllegalArgumentException.class, () -> SyntheticProblemGenerator.builder()
+            .setRestaurantCount(0)
+            .build());
+        assertThrows(IllegalArgumentException.class, () -> SyntheticProblemGenerator.builder()
+            .setNeighborhoodShare(2)
+            .build());
+    }
+}
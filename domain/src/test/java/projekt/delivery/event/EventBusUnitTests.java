@@ -0,0 +1,92 @@
+package projekt.delivery.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventBusUnitTests {
+
+    private static void postTicks(EventBus eventBus, int ticks) {
+        for (long tick = 0; tick < ticks; tick++) {
+            eventBus.queuePost(new EventImpl(tick));
+            eventBus.queuePost(List.of(new EventImpl(tick), new EventImpl(tick)));
+            assertEquals(3, eventBus.popEvents(tick).size());
+        }
+    }
+
+    @Test
+    public void testPopEvents() {
+        EventBus eventBus = EventBus.builder().capacity(1).singleWriter().build();
+        Event first = new EventImpl(0);
+        Event second = new EventImpl(0);
+
+        eventBus.queuePost(first);
+        eventBus.queuePost(second);
+        assertEquals(List.of(first, second), eventBus.popEvents(0));
+        assertEquals(List.of(), eventBus.popEvents(1));
+    }
+
+    @Test
+    public void testLogIsNotCleared() {
+        EventBus eventBus = new EventBus();
+        Event event = new EventImpl(0);
+
+        eventBus.queuePost(event);
+        List<Event> popped = eventBus.popEvents(0);
+        popped.clear();
+
+        assertEquals(List.of(event), eventBus.getLog().get(0L));
+    }
+
+    @Test
+    public void testRetention() {
+        EventBus none = EventBus.builder().retention(EventBus.Retention.none()).build();
+        postTicks(none, 10);
+        assertTrue(none.getLog().isEmpty());
+
+        EventBus all = new EventBus();
+        postTicks(all, 10);
+        assertEquals(10, all.getLog().size());
+
+        EventBus last = EventBus.builder().retention(EventBus.Retention.lastTicks(3)).build();
+        postTicks(last, 10);
+        assertEquals(3, last.getLog().size());
+        assertTrue(last.getLog().containsKey(7L));
+        assertTrue(last.getLog().containsKey(9L));
+    }
+
+    @Test
+    public void testSpillToDisk() throws IOException {
+        Path file = Files.createTempFile("events", ".log");
+        try {
+            EventBus eventBus = EventBus.builder().retention(EventBus.Retention.spillToDisk(file)).build();
+            postTicks(eventBus, 5);
+            eventBus.close();
+
+            List<String> lines = Files.readAllLines(file);
+            assertTrue(eventBus.getLog().isEmpty());
+            assertEquals(5, lines.size());
+            assertTrue(lines.get(4).startsWith("Tick: 4 - "));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testLogTo() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        EventBus eventBus = EventBus.builder().logTo(new PrintStream(output)).build();
+
+        postTicks(eventBus, 2);
+        eventBus.close();
+
+        assertEquals(2, output.toString().lines().count());
+    }
+}
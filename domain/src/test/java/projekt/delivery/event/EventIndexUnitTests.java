@@ -0,0 +1,34 @@
+package projekt.delivery.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventIndexUnitTests {
+
+    private interface FirstEvent extends Event {}
+
+    private interface SecondEvent extends FirstEvent {}
+
+    @Test
+    public void testIndex() {
+        FirstEvent first1 = () -> 0;
+        SecondEvent second = () -> 0;
+        FirstEvent first2 = () -> 0;
+        Event other = Event.of(0);
+        EventIndex eventIndex = new EventIndex(FirstEvent.class, SecondEvent.class);
+
+        eventIndex.index(List.of(first1, other, second, first2));
+        assertEquals(List.of(first1, second, first2), eventIndex.get(FirstEvent.class));
+        assertEquals(List.of(second), eventIndex.get(SecondEvent.class));
+        assertThrows(IllegalArgumentException.class, () -> eventIndex.get(Event.class));
+        assertThrows(UnsupportedOperationException.class, () -> eventIndex.get(FirstEvent.class).add(first1));
+
+        // indexing the next tick replaces the previous events
+        eventIndex.index(List.of(other));
+        assertTrue(eventIndex.get(FirstEvent.class).isEmpty());
+        assertTrue(eventIndex.get(SecondEvent.class).isEmpty());
+    }
+}
@@ -0,0 +1,122 @@
+package projekt.delivery.generator;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+import projekt.delivery.routing.CompiledDijkstraPathCalculator;
+import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.Region;
+import projekt.delivery.routing.VehicleManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FridayOrderGeneratorUnitTests {
+
+    private static VehicleManager vehicleManager;
+
+    @BeforeAll
+    public static void initialize() {
+        Region region = Region.builder()
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .addRestaurant("R1", new Location(0, 0), List.of("Pizza", "Pasta"))
+            .addRestaurant("R2", new Location(4, 0), List.of("Sushi"))
+            .addNeighborhood("N1", new Location(1, 0))
+            .addNeighborhood("N2", new Location(2, 0))
+            .addEdge("R1N1", new Location(0, 0), new Location(1, 0))
+            .addEdge("N1N2", new Location(1, 0), new Location(2, 0))
+            .addEdge("N2R2", new Location(2, 0), new Location(4, 0))
+            .build();
+
+        vehicleManager = VehicleManager.builder()
+            .region(region)
+            .pathCalculator(new CompiledDijkstraPathCalculator())
+            .build();
+    }
+
+    private static OrderGenerator createGenerator(int orderCount, long lastTick, int seed) {
+        return FridayOrderGenerator.Factory.builder()
+            .setOrderCount(orderCount)
+            .setLastTick(lastTick)
+            .setDeliveryInterval(5)
+            .setMaxWeight(10)
+            .setStandardDeviation(0.25)
+            .setSeed(seed)
+            .setVehicleManager(vehicleManager)
+            .build()
+            .create();
+    }
+
+    @Test
+    public void testOrderCount() {
+        OrderGenerator generator = createGenerator(1000, 100, 0);
+        Set<Integer> orderIDs = new HashSet<>();
+
+        for (long tick = 0; tick <= 100; tick++) {
+            for (ConfirmedOrder order : generator.generateOrders(tick)) {
+                assertTrue(orderIDs.add(order.getOrderID()));
+            }
+        }
+        assertEquals(1000, orderIDs.size());
+        for (int orderID = 0; orderID < 1000; orderID++) {
+            assertTrue(orderIDs.contains(orderID));
+        }
+        for (long tick = 101; tick < 1000; tick++) {
+            assertTrue(generator.generateOrders(tick).isEmpty());
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> generator.generateOrders(-1));
+    }
+
+    @Test
+    public void testOrders() {
+        OrderGenerator generator = createGenerator(1000, 100, 0);
+        double totalTick = 0;
+
+        for (long tick = 0; tick <= 100; tick++) {
+            for (ConfirmedOrder order : generator.generateOrders(tick)) {
+                assertEquals(tick, order.getDeliveryInterval().start());
+                assertEquals(tick + 5, order.getDeliveryInterval().end());
+                assertTrue(order.getWeight() >= 0 && order.getWeight() <= 10);
+                assertTrue(order.getFoodList().size() >= 1 && order.getFoodList().size() <= 9);
+                assertTrue(order.getRestaurant().getComponent().getAvailableFood().containsAll(order.getFoodList()));
+                assertTrue(order.getLocation().equals(new Location(1, 0)) || order.getLocation().equals(new Location(2, 0)));
+                totalTick += tick;
+            }
+        }
+        assertTrue(Math.abs(totalTick / 1000 - 50) < 3);
+    }
+
+    @Test
+    public void testSameReturnValue() {
+        OrderGenerator generator = createGenerator(100, 50, 0);
+
+        for (long tick = 50; tick >= 0; tick--) {
+            List<ConfirmedOrder> orders = generator.generateOrders(tick);
+            assertSame(orders, generator.generateOrders(tick));
+        }
+        assertSame(generator.generateOrders(51), generator.generateOrders(52));
+    }
+
+    @Test
+    public void testSeed() {
+        OrderGenerator generator1 = createGenerator(100, 50, 7);
+        OrderGenerator generator2 = createGenerator(100, 50, 7);
+
+        // the orders do not depend on the order in which the ticks are requested
+        for (long tick = 50; tick >= 0; tick--) {
+            generator2.generateOrders(tick);
+        }
+        for (long tick = 0; tick <= 50; tick++) {
+            List<ConfirmedOrder> orders1 = generator1.generateOrders(tick);
+            List<ConfirmedOrder> orders2 = generator2.generateOrders(tick);
+            assertEquals(orders1.size(), orders2.size());
+            for (int i = 0; i < orders1.size(); i++) {
+                assertEquals(orders1.get(i).toString(), orders2.get(i).toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package projekt.delivery.generator;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+import projekt.delivery.routing.CompiledDijkstraPathCalculator;
+import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.Region;
+import projekt.delivery.routing.VehicleManager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TraceOrderGeneratorUnitTests {
+
+    private static VehicleManager vehicleManager;
+    private static Path trace;
+
+    @BeforeAll
+    public static void initialize() throws IOException {
+        Region region = Region.builder()
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .addRestaurant("R1", new Location(0, 0), List.of("Pizza"))
+            .addRestaurant("R2", new Location(4, 0), List.of("Sushi"))
+            .addNeighborhood("N1", new Location(1, 0))
+            .addNeighborhood("N2", new Location(2, 0))
+            .build();
+
+        vehicleManager = VehicleManager.builder()
+            .region(region)
+            .pathCalculator(new CompiledDijkstraPathCalculator())
+            .build();
+
+        trace = Files.createTempFile("orders", ".trace");
+    }
+
+    @AfterAll
+    public static void cleanup() throws IOException {
+        Files.deleteIfExists(trace);
+    }
+
+    private static OrderGenerator createFridayGenerator() {
+        return FridayOrderGenerator.Factory.builder()
+            .setOrderCount(500)
+            .setLastTick(100)
+            .setSeed(3)
+            .setVehicleManager(vehicleManager)
+            .build()
+            .create();
+    }
+
+    private static OrderGenerator createTraceGenerator() {
+        return TraceOrderGenerator.Factory.builder()
+            .setFile(trace)
+            .setVehicleManager(vehicleManager)
+            .build()
+            .create();
+    }
+
+    @Test
+    public void testReplay() {
+        TraceOrderGenerator.writeTrace(trace, createFridayGenerator(), 100, vehicleManager);
+
+        OrderGenerator expected = createFridayGenerator();
+        TraceOrderGenerator actual = (TraceOrderGenerator) createTraceGenerator();
+        assertEquals(500, actual.getRecordCount());
+        assertEquals(101, actual.getTickCount());
+
+        for (long tick = 0; tick <= 100; tick++) {
+            List<ConfirmedOrder> expectedOrders = expected.generateOrders(tick);
+            List<ConfirmedOrder> actualOrders = actual.generateOrders(tick);
+            assertEquals(expectedOrders.size(), actualOrders.size());
+
+            for (int i = 0; i < expectedOrders.size(); i++) {
+                ConfirmedOrder expectedOrder = expectedOrders.get(i);
+                ConfirmedOrder actualOrder = actualOrders.get(i);
+                assertEquals(expectedOrder.getLocation(), actualOrder.getLocation());
+                assertSame(expectedOrder.getRestaurant(), actualOrder.getRestaurant());
+                assertEquals(expectedOrder.getWeight(), actualOrder.getWeight());
+                assertEquals(expectedOrder.getDeliveryInterval(), actualOrder.getDeliveryInterval());
+                assertEquals(expectedOrder.getOrderID(), actualOrder.getOrderID());
+            }
+            assertSame(actualOrders, actual.generateOrders(tick));
+        }
+        assertTrue(actual.generateOrders(101).isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> actual.generateOrders(-1));
+    }
+
+    @Test
+    public void testSameOrdersForSameTick() {
+        TraceOrderGenerator.writeTrace(trace, createFridayGenerator(), 100, vehicleManager);
+        OrderGenerator generator = createTraceGenerator();
+
+        List<List<ConfirmedOrder>> orders = new ArrayList<>();
+        for (long tick = 0; tick <= 100; tick++) {
+            orders.add(generator.generateOrders(tick));
+        }
+        ConfirmedOrder delivered = orders.stream().filter(list -> !list.isEmpty()).findFirst().orElseThrow().get(0);
+        delivered.setActualDeliveryTick(42);
+
+        // the orders of earlier ticks are not read again, so they keep their state
+        for (long tick = 100; tick >= 0; tick--) {
+            List<ConfirmedOrder> again = generator.generateOrders(tick);
+            assertEquals(orders.get((int) tick).size(), again.size());
+            for (int i = 0; i < again.size(); i++) {
+                assertSame(orders.get((int) tick).get(i), again.get(i));
+            }
+        }
+        assertEquals(42, delivered.getActualDeliveryTick());
+    }
+
+    @Test
+    public void testBoundedCache() {
+        int orderCount = TraceOrderGenerator.MAX_CACHED_ORDERS + 10_000;
+        OrderGenerator friday = FridayOrderGenerator.Factory.builder()
+            .setOrderCount(orderCount)
+            .setLastTick(100)
+            .setSeed(5)
+            .setVehicleManager(vehicleManager)
+            .build()
+            .create();
+        TraceOrderGenerator.writeTrace(trace, friday, 100, vehicleManager);
+        OrderGenerator generator = createTraceGenerator();
+
+        List<ConfirmedOrder> first = generator.generateOrders(0);
+        for (long tick = 1; tick <= 100; tick++) {
+            generator.generateOrders(tick);
+        }
+        List<ConfirmedOrder> last = generator.generateOrders(100);
+
+        // the least recently requested tick has been evicted and is read again
+        List<ConfirmedOrder> firstAgain = generator.generateOrders(0);
+        assertNotSame(first.get(0), firstAgain.get(0));
+        assertEquals(first.get(0).getOrderID(), firstAgain.get(0).getOrderID());
+        assertEquals(first.get(0).getLocation(), firstAgain.get(0).getLocation());
+        assertSame(last, generator.generateOrders(100));
+    }
+
+    @Test
+    public void testInvalidTrace() throws IOException {
+        Path file = Files.createTempFile("invalid", ".trace");
+        try {
+            Files.write(file, new byte[100]);
+            assertThrows(IllegalArgumentException.class, () -> TraceOrderGenerator.Factory.builder()
+                .setFile(file)
+                .setVehicleManager(vehicleManager)
+                .build()
+                .create());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testCorruptedIndex() throws IOException {
+        Path file = Files.createTempFile("corrupted", ".trace");
+        try {
+            TraceOrderGenerator.writeTrace(file, createFridayGenerator(), 100, vehicleManager);
+            byte[] valid = Files.readAllBytes(file);
+            int tickIndex = TraceOrderGenerator.HEADER_SIZE + 50 * Long.BYTES;
+            int lastIndex = TraceOrderGenerator.HEADER_SIZE + 101 * Long.BYTES;
+
+            // the first record of a tick lies behind the last record
+            assertCorrupted(file, ByteBuffer.wrap(valid.clone()).putLong(tickIndex, 501).array());
+            // the first record of a tick lies before the first record of the previous tick
+            assertCorrupted(file, ByteBuffer.wrap(valid.clone()).putLong(tickIndex, -1).array());
+            // the index does not end with the amount of records
+            assertCorrupted(file, ByteBuffer.wrap(valid.clone()).putLong(lastIndex, 499).array());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static void assertCorrupted(Path file, byte[] bytes) throws IOException {
+        Files.write(file, bytes);
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+            TraceOrderGenerator.Factory.builder()
+                .setFile(file)
+                .setVehicleManager(vehicleManager)
+                .build()
+                .create());
+        assertTrue(exception.getMessage().contains("corrupted"), exception.getMessage());
+    }
+}
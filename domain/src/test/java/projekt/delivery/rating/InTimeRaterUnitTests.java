@@ -0,0 +1,108 @@
+package projekt.delivery.rating;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+import projekt.base.TickInterval;
+import projekt.delivery.event.DeliverOrderEvent;
+import projekt.delivery.event.Event;
+import projekt.delivery.event.OrderReceivedEvent;
+import projekt.delivery.routing.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InTimeRaterUnitTests {
+
+    private static VehicleManager.OccupiedRestaurant restaurant;
+    private static Region.Neighborhood neighborhood;
+    private static Vehicle vehicle;
+
+    @BeforeAll
+    public static void initialize() {
+        Region region = Region.builder()
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .addRestaurant("R", new Location(0, 0), List.of("Pizza"))
+            .addNeighborhood("N", new Location(1, 0))
+            .build();
+
+        VehicleManager vehicleManager = VehicleManager.builder()
+            .region(region)
+            .pathCalculator(new CompiledDijkstraPathCalculator())
+            .addVehicle(new Location(0, 0), 10)
+            .build();
+
+        restaurant = vehicleManager.getOccupiedRestaurants().iterator().next();
+        neighborhood = (Region.Neighborhood) region.getNode(new Location(1, 0));
+        vehicle = vehicleManager.getAllVehicles().iterator().next();
+    }
+
+    private static Rater createRater(long ignoredTicksOff, long maxTicksOff) {
+        return InTimeRater.Factory.builder()
+            .setIgnoredTicksOff(ignoredTicksOff)
+            .setMaxTicksOff(maxTicksOff)
+            .build()
+            .create();
+    }
+
+    private static ConfirmedOrder createOrder(long start, long end) {
+        return new ConfirmedOrder(new Location(1, 0), restaurant, new TickInterval(start, end), List.of("Pizza"), 1);
+    }
+
+    private static Event deliver(ConfirmedOrder order, long tick) {
+        order.setActualDeliveryTick(tick);
+        return DeliverOrderEvent.of(tick, vehicle, neighborhood, order);
+    }
+
+    @Test
+    public void testNoOrders() {
+        assertEquals(0.0, createRater(2, 6).getScore());
+    }
+
+    @Test
+    public void testUndeliveredOrders() {
+        Rater rater = createRater(2, 6);
+        ConfirmedOrder order = createOrder(0, 4);
+
+        rater.onTick(List.of(OrderReceivedEvent.of(0, order)), 0);
+        assertEquals(0.0, rater.getScore());
+
+        rater.onTick(List.of(deliver(order, 3)), 3);
+        assertEquals(1.0, rater.getScore());
+    }
+
+    @Test
+    public void testTicksOff() {
+        Rater rater = createRater(2, 6);
+        ConfirmedOrder order1 = createOrder(0, 4);
+        ConfirmedOrder order2 = createOrder(5, 10);
+        ConfirmedOrder order3 = createOrder(10, 16);
+        ConfirmedOrder order4 = createOrder(15, 20);
+        ConfirmedOrder order5 = createOrder(20, 25);
+        ConfirmedOrder order6 = createOrder(25, 30);
+
+        rater.onTick(List.of(
+            OrderReceivedEvent.of(0, order1),
+            OrderReceivedEvent.of(0, order2),
+            OrderReceivedEvent.of(0, order3)
+        ), 0);
+        rater.onTick(List.of(deliver(order3, 1)), 1);
+        rater.onTick(List.of(
+            OrderReceivedEvent.of(4, order4),
+            OrderReceivedEvent.of(4, order5),
+            deliver(order1, 4),
+            deliver(order2, 4)
+        ), 4);
+        rater.onTick(List.of(
+            OrderReceivedEvent.of(27, order6),
+            deliver(order4, 27),
+            deliver(order5, 27)
+        ), 27);
+
+        // order 3 is limited to 6 ticks off, order 4 is 5 ticks off and order 6 has not been delivered
+        assertEquals(1 - 17.0 / 36, rater.getScore(), 1e-9);
+        assertEquals(rater.getScore(), rater.getScore());
+    }
+}
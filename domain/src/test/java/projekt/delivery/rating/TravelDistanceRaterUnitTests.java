@@ -0,0 +1,274 @@
+package projekt.delivery.rating;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+import projekt.base.TickInterval;
+import projekt.delivery.event.ArrivedAtNodeEvent;
+import projekt.delivery.event.DeliverOrderEvent;
+import projekt.delivery.event.Event;
+import projekt.delivery.routing.*;
+import projekt.delivery.service.AbstractDeliveryService;
+import projekt.delivery.service.DeliveryService;
+import projekt.delivery.simulation.BasicDeliverySimulation;
+import projekt.delivery.simulation.Simulation;
+import projekt.delivery.simulation.SimulationConfig;
+import projekt.delivery.simulation.SimulationListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TravelDistanceRaterUnitTests {
+
+    private VehicleManager vehicleManager;
+    private CompiledRegion compiledRegion;
+    private Vehicle vehicle;
+
+    /**
+     * Creates a region in which the shortest path from R to N is the direct edge of duration 5 and the shortest path
+     * from R to M leads over A with a duration of 3 + 5. The neighborhood I can not be reached.
+     */
+    @BeforeEach
+    public void initialize() {
+        Region region = Region.builder()
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .addRestaurant("R", new Location(0, 0), List.of("Pizza"))
+            .addNode("A", new Location(3, 0))
+            .addNeighborhood("N", new Location(3, 4))
+            .addNeighborhood("M", new Location(7, 1))
+            .addNeighborhood("I", new Location(9, 9))
+            .addEdge("RA", new Location(0, 0), new Location(3, 0))
+            .addEdge("AN", new Location(3, 0), new Location(3, 4))
+            .addEdge("AM", new Location(3, 0), new Location(7, 1))
+            .addEdge("RN", new Location(0, 0), new Location(3, 4))
+            .build();
+
+        vehicleManager = VehicleManager.builder()
+            .region(region)
+            .pathCalculator(new CompiledDijkstraPathCalculator())
+            .addVehicle(new Location(0, 0), 10)
+            .build();
+        compiledRegion = region.compile();
+        vehicle = vehicleManager.getAllVehicles().iterator().next();
+    }
+
+    private Rater createRater(double factor) {
+        return TravelDistanceRater.Factory.builder()
+            .setVehicleManager(vehicleManager)
+            .setFactor(factor)
+            .build()
+            .create();
+    }
+
+    private Event deliver(Location location, long tick) {
+        ConfirmedOrder order = new ConfirmedOrder(location, vehicleManager.getOccupiedRestaurants().iterator().next(),
+            new TickInterval(0, 10), List.of("Pizza"), 1);
+        order.setActualDeliveryTick(tick);
+        Region.Neighborhood neighborhood = (Region.Neighborhood) compiledRegion.getNode(compiledRegion.getId(location));
+        return DeliverOrderEvent.of(tick, vehicle, neighborhood, order);
+    }
+
+    private Event arrive(Location from, Location to, long tick) {
+        int arc = compiledRegion.findArc(compiledRegion.getId(from), compiledRegion.getId(to));
+        Region.Edge edge = compiledRegion.getEdge(compiledRegion.getArcEdge(arc));
+        return ArrivedAtNodeEvent.of(tick, vehicle, compiledRegion.getNode(compiledRegion.getId(to)), edge);
+    }
+
+    private List<Event> tripToM(long tick) {
+        return List.of(
+            arrive(new Location(0, 0), new Location(3, 0), tick),
+            arrive(new Location(3, 0), new Location(7, 1), tick + 1),
+            deliver(new Location(7, 1), tick + 1)
+        );
+    }
+
+    @Test
+    public void testNoDeliveries() {
+        assertEquals(0.0, createRater(0.5).getScore());
+    }
+
+    @Test
+    public void testScore() {
+        Rater rater = createRater(0.5);
+
+        rater.onTick(List.of(deliver(new Location(3, 4), 0)), 0);
+        // the worst distance is 2 * 5 and the actual distance is 0
+        assertEquals(1.0, rater.getScore());
+
+        rater.onTick(List.of(deliver(new Location(3, 4), 1)), 1);
+        rater.onTick(tripToM(2), 2);
+        // the worst distance is 2 * 5 + 2 * 5 + 2 * 8 = 36 and the actual distance is 3 + 5 = 8
+        assertEquals(1 - 8 / (36 * 0.5), rater.getScore(), 1e-9);
+
+        for (int i = 0; i < 3; i++) {
+            rater.onTick(List.of(
+                arrive(new Location(7, 1), new Location(3, 0), 10 + i),
+                arrive(new Location(3, 0), new Location(7, 1), 10 + i)
+            ), 10 + i);
+        }
+        // the actual distance of 38 exceeds the worst distance
+        assertEquals(0.0, rater.getScore());
+    }
+
+    @Test
+    public void testUnreachableOrder() {
+        Rater rater = createRater(0.5);
+
+        rater.onTick(List.of(deliver(new Location(9, 9), 0)), 0);
+        // the unreachable order does not add to the worst distance
+        assertEquals(0.0, rater.getScore());
+
+        rater.onTick(tripToM(1), 1);
+        rater.onTick(List.of(deliver(new Location(9, 9), 2), deliver(new Location(3, 4), 2)), 2);
+        // the worst distance is 2 * 8 + 2 * 5 = 26 and the actual distance is 3 + 5 = 8
+        assertEquals(1 - 8 / (26 * 0.5), rater.getScore(), 1e-9);
+    }
+
+    @Test
+    public void testAttachedToSimulation() {
+        Map<Long, List<Event>> scriptedEvents = Map.of(
+            0L, List.of(deliver(new Location(3, 4), 0)),
+            3L, tripToM(3)
+        );
+        BasicDeliverySimulation simulation = new BasicDeliverySimulation(
+            SimulationConfig.fastForward(),
+            Map.of(RatingCriteria.TRAVEL_DISTANCE, () -> createRater(0.5)),
+            new ScriptedDeliveryService(vehicleManager, scriptedEvents),
+            () -> tick -> List.of()
+        );
+        simulation.runSimulation(10);
+
+        // the worst distance is 2 * 5 + 2 * 8 = 26 and the actual distance is 3 + 5 = 8
+        assertEquals(1 - 8 / (26 * 0.5), simulation.getRatingForCriterion(RatingCriteria.TRAVEL_DISTANCE), 1e-9);
+        // the rater is notified through its subscriptions and not as a listener
+        assertTrue(simulation.getMetrics().getListenerHistograms().isEmpty());
+
+        simulation.runSimulation(10);
+        assertEquals(1 - 8 / (26 * 0.5), simulation.getRatingForCriterion(RatingCriteria.TRAVEL_DISTANCE), 1e-9);
+    }
+
+    @Test
+    public void testAttachedToListenerOnlySimulation() {
+        ListenerOnlySimulation simulation = new ListenerOnlySimulation();
+        Rater rater = createRater(0.5);
+
+        rater.attach(simulation);
+        // the default subscriptions are one listener per subscribed event type
+        assertEquals(6, simulation.listeners.size());
+        assertEquals(0, simulation.getMetrics().getTickCount());
+
+        simulation.tick(List.of(deliver(new Location(3, 4), 0)), 0);
+        simulation.tick(tripToM(3), 3);
+        // the worst distance is 2 * 5 + 2 * 8 = 26 and the actual distance is 3 + 5 = 8
+        assertEquals(1 - 8 / (26 * 0.5), rater.getScore(), 1e-9);
+
+        rater.detach(simulation);
+        assertTrue(simulation.listeners.isEmpty());
+        simulation.tick(tripToM(4), 4);
+        assertEquals(1 - 8 / (26 * 0.5), rater.getScore(), 1e-9);
+    }
+
+    /**
+     * A {@link Simulation} that only supports {@link SimulationListener}s and whose ticks are executed by the test.
+     */
+    private static class ListenerOnlySimulation implements Simulation {
+
+        private final List<SimulationListener> listeners = new ArrayList<>();
+
+        void tick(List<Event> events, long tick) {
+            for (SimulationListener listener : List.copyOf(listeners)) {
+                listener.onTick(events, tick);
+            }
+        }
+
+        @Override
+        public void addListener(SimulationListener listener) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public boolean removeListener(SimulationListener listener) {
+            return listeners.remove(listener);
+        }
+
+        @Override
+        public void runSimulation() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void runSimulation(long maxTicks) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void endSimulation() {}
+
+        @Override
+        public boolean isRunning() {
+            return false;
+        }
+
+        @Override
+        public double getRatingForCriterion(RatingCriteria criterion) {
+            throw new IllegalArgumentException();
+        }
+
+        @Override
+        public SimulationConfig getSimulationConfig() {
+            return SimulationConfig.fastForward();
+        }
+
+        @Override
+        public DeliveryService getDeliveryService() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long getCurrentTick() {
+            return 0;
+        }
+
+        @Override
+        public void runCurrentTick() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean toggleRunning() {
+            return false;
+        }
+    }
+
+    /**
+     * A delivery service that returns predefined events instead of moving any vehicles.
+     */
+    private static class ScriptedDeliveryService extends AbstractDeliveryService {
+
+        private final Map<Long, List<Event>> events;
+
+        ScriptedDeliveryService(VehicleManager vehicleManager, Map<Long, List<Event>> events) {
+            super(vehicleManager);
+            this.events = events;
+        }
+
+        @Override
+        protected List<Event> tick(long currentTick, List<ConfirmedOrder> newOrders) {
+            return events.getOrDefault(currentTick, List.of());
+        }
+
+        @Override
+        public List<ConfirmedOrder> getPendingOrders() {
+            return List.of();
+        }
+
+        @Override
+        public void reset() {
+            // the vehicles never move
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import projekt.base.ChessboardDistanceCalculator;
+import projekt.base.Location;
+import projekt.base.ManhattanDistanceCalculator;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static projekt.delivery.routing.CompiledDijkstraPathCalculatorUnitTests.*;
+
+public class AStarPathCalculatorUnitTests {
+
+    private static CompiledRegion compiledRegion;
+    private static long[][] expected;
+
+    @BeforeAll
+    public static void initialize() {
+        compiledRegion = createRandomRegion(new Random(11), 60, 150).compile();
+        expected = floydWarshall(compiledRegion);
+    }
+
+    private static void testGetPath(AStarPathCalculator pathCalculator) {
+        int isolated = compiledRegion.getId(new Location(0, 0));
+
+        for (int u = 0; u < compiledRegion.getNodeCount(); u++) {
+            for (int v = 0; v < compiledRegion.getNodeCount(); v++) {
+                if ((u == isolated) != (v == isolated)) {
+                    continue;
+                }
+                Region.Node start = compiledRegion.getNode(u);
+                Region.Node end = compiledRegion.getNode(v);
+                assertEquals(expected[u][v], assertPath(compiledRegion, start, end, pathCalculator.getPath(start, end)));
+            }
+        }
+    }
+
+    @Test
+    public void testGetPath() {
+        testGetPath(new AStarPathCalculator());
+    }
+
+    @Test
+    public void testGetPathWithOtherHeuristics() {
+        testGetPath(new AStarPathCalculator(new ManhattanDistanceCalculator()));
+        testGetPath(new AStarPathCalculator(new ChessboardDistanceCalculator()));
+    }
+
+    @Test
+    public void testSettlesFewerNodes() {
+        AStarPathCalculator pathCalculator = new AStarPathCalculator();
+        long settledAStar = 0;
+        long settledDijkstra = 0;
+
+        for (int u = 1; u < compiledRegion.getNodeCount(); u++) {
+            for (int v = 1; v < compiledRegion.getNodeCount(); v++) {
+                settledAStar += pathCalculator.search(compiledRegion, v, u).settled;
+                settledDijkstra += CompiledDijkstraPathCalculator.search(compiledRegion, v, u).settled;
+            }
+        }
+
+        assertTrue(settledAStar < settledDijkstra, "A* settled %d nodes, Dijkstra %d".formatted(settledAStar, settledDijkstra));
+    }
+}
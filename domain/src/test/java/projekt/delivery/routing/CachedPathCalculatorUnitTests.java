@@ -0,0 +1,124 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import projekt.base.Location;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static projekt.delivery.routing.CompiledDijkstraPathCalculatorUnitTests.*;
+
+public class CachedPathCalculatorUnitTests {
+
+    private static CompiledRegion compiledRegion;
+    private static long[][] expected;
+
+    @BeforeAll
+    public static void initialize() {
+        compiledRegion = createRandomRegion(new Random(31), 40, 100).compile();
+        expected = floydWarshall(compiledRegion);
+    }
+
+    @Test
+    public void testGetPath() {
+        PathCalculator pathCalculator = new CachedPathCalculator(new CompiledDijkstraPathCalculator(), 8);
+
+        for (int u = 1; u < compiledRegion.getNodeCount(); u++) {
+            for (int v = 1; v < compiledRegion.getNodeCount(); v++) {
+                Region.Node start = compiledRegion.getNode(u);
+                Region.Node end = compiledRegion.getNode(v);
+                assertEquals(expected[u][v], assertPath(compiledRegion, start, end, pathCalculator.getPath(start, end)));
+            }
+        }
+    }
+
+    @Test
+    public void testNoPath() {
+        PathCalculator pathCalculator = new CachedPathCalculator(new CompiledDijkstraPathCalculator());
+        Region.Node isolated = compiledRegion.getNode(compiledRegion.getId(new Location(0, 0)));
+        Region.Node other = compiledRegion.getNode(compiledRegion.getId(isolated) == 0 ? 1 : 0);
+
+        // a cached end node throws as well as a newly calculated one
+        assertThrows(IllegalArgumentException.class, () -> pathCalculator.getPath(isolated, other));
+        assertThrows(IllegalArgumentException.class, () -> pathCalculator.getPath(isolated, other));
+        assertThrows(IllegalArgumentException.class, () -> pathCalculator.getPath(other, isolated));
+        assertTrue(pathCalculator.getPath(isolated, isolated).isEmpty());
+        assertFalse(pathCalculator.getAllPathsTo(other).containsKey(isolated));
+    }
+
+    @Test
+    public void testGetPathReturnsCopy() {
+        PathCalculator pathCalculator = new CachedPathCalculator(new CompiledDijkstraPathCalculator());
+        Region.Node start = compiledRegion.getNode(1);
+        Region.Node end = compiledRegion.getNode(2);
+
+        Deque<Region.Node> path = pathCalculator.getPath(start, end);
+        List<Region.Node> nodes = new ArrayList<>(path);
+        path.clear();
+
+        // the cached path is not affected by changes to a returned path
+        Deque<Region.Node> again = pathCalculator.getPath(start, end);
+        assertNotSame(path, again);
+        assertEquals(nodes, new ArrayList<>(again));
+        assertEquals(nodes, new ArrayList<>(pathCalculator.getAllPathsTo(end).get(start)));
+    }
+
+    @Test
+    public void testGetPathDoesNotCopyAllPaths() {
+        CountingPathCalculator delegate = new CountingPathCalculator();
+        CountingCachedPathCalculator pathCalculator = new CountingCachedPathCalculator(delegate, 2);
+        // the node with the id 0 is the isolated one, no node can reach it
+        Region.Node end = compiledRegion.getNode(1);
+
+        for (int u = 1; u < compiledRegion.getNodeCount(); u++) {
+            pathCalculator.getPath(compiledRegion.getNode(u), end);
+        }
+        // the paths are calculated once and getPath only copies the requested path instead of all cached paths
+        assertEquals(1, delegate.calls);
+        assertEquals(0, pathCalculator.calls);
+
+        pathCalculator.getPath(compiledRegion.getNode(1), compiledRegion.getNode(2));
+        pathCalculator.getPath(compiledRegion.getNode(1), compiledRegion.getNode(3));
+        // the first end node has been evicted
+        pathCalculator.getPath(compiledRegion.getNode(2), end);
+        assertEquals(4, delegate.calls);
+        assertEquals(0, pathCalculator.calls);
+    }
+
+    /**
+     * A {@link PathCalculator} that counts how often it calculates all paths to an end node.
+     */
+    private static class CountingPathCalculator extends CompiledDijkstraPathCalculator {
+
+        private int calls;
+
+        @Override
+        public ShortestPathTree getAllPathsTo(Region.Node end) {
+            calls++;
+            return super.getAllPathsTo(end);
+        }
+    }
+
+    /**
+     * A {@link CachedPathCalculator} that counts how often all copied paths to an end node are requested.
+     */
+    private static class CountingCachedPathCalculator extends CachedPathCalculator {
+
+        private int calls;
+
+        CountingCachedPathCalculator(PathCalculator delegate, int size) {
+            super(delegate, size);
+        }
+
+        @Override
+        public Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end) {
+            calls++;
+            return super.getAllPathsTo(end);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompiledDijkstraPathCalculatorUnitTests {
+
+    private static Region region;
+    private static CompiledRegion compiledRegion;
+    private static long[][] expected;
+
+    @BeforeAll
+    public static void initialize() {
+        region = createRandomRegion(new Random(7), 60, 150);
+        compiledRegion = region.compile();
+        expected = floydWarshall(compiledRegion);
+    }
+
+    /**
+     * Creates a random region. The node at (0, 0) is not connected to any other node.
+     */
+    static Region createRandomRegion(Random random, int nodeCount, int edgeCount) {
+        Region.Builder builder = Region.builder().distanceCalculator(new EuclideanDistanceCalculator());
+        Location[] locations = new Location[nodeCount];
+        builder.addNode("isolated", new Location(0, 0));
+
+        for (int i = 0; i < nodeCount; i++) {
+            Location location;
+            do {
+                location = new Location(1 + random.nextInt(100), 1 + random.nextInt(100));
+            } while (!builder.checkNode("N" + i, location));
+            builder.addNode("N" + i, location);
+            locations[i] = location;
+        }
+
+        // a spanning path makes sure that all nodes except the isolated one are connected
+        for (int i = 1; i < nodeCount; i++) {
+            builder.addEdge("P" + i, locations[i - 1], locations[i]);
+        }
+        for (int i = 0; i < edgeCount; i++) {
+            Location a = locations[random.nextInt(nodeCount)];
+            Location b = locations[random.nextInt(nodeCount)];
+            Location min = a.compareTo(b) < 0 ? a : b;
+            Location max = a.compareTo(b) < 0 ? b : a;
+            if (!a.equals(b) && builder.checkEdge("E" + i, min, max)) {
+                builder.addEdge("E" + i, a, b);
+            }
+        }
+
+        return builder.build();
+    }
+
+    static long[][] floydWarshall(CompiledRegion compiledRegion) {
+        int n = compiledRegion.getNodeCount();
+        long[][] distances = new long[n][n];
+
+        for (int u = 0; u < n; u++) {
+            for (int v = 0; v < n; v++) {
+                distances[u][v] = u == v ? 0 : Long.MAX_VALUE;
+            }
+            for (int arc = compiledRegion.getFirstArc(u); arc < compiledRegion.getFirstArc(u + 1); arc++) {
+                int v = compiledRegion.getArcTarget(arc);
+                distances[u][v] = Math.min(distances[u][v], compiledRegion.getArcDuration(arc));
+            }
+        }
+        for (int k = 0; k < n; k++) {
+            for (int u = 0; u < n; u++) {
+                for (int v = 0; v < n; v++) {
+                    if (distances[u][k] != Long.MAX_VALUE && distances[k][v] != Long.MAX_VALUE) {
+                        distances[u][v] = Math.min(distances[u][v], distances[u][k] + distances[k][v]);
+                    }
+                }
+            }
+        }
+
+        return distances;
+    }
+
+    /**
+     * Asserts that the given path is a valid path from start to end and returns its duration.
+     */
+    static long assertPath(CompiledRegion compiledRegion, Region.Node start, Region.Node end, Deque<Region.Node> path) {
+        if (start.equals(end)) {
+            assertTrue(path.isEmpty());
+            return 0;
+        }
+        assertSame(end, path.getLast());
+
+        long duration = 0;
+        int previous = compiledRegion.getId(start);
+        for (Region.Node node : path) {
+            int arc = compiledRegion.findArc(previous, compiledRegion.getId(node));
+            assertTrue(arc >= 0, "path contains nodes that are not adjacent");
+            duration += compiledRegion.getArcDuration(arc);
+            previous = compiledRegion.getId(node);
+        }
+        return duration;
+    }
+
+    @Test
+    public void testGetPath() {
+        PathCalculator pathCalculator = new CompiledDijkstraPathCalculator();
+        int isolated = compiledRegion.getId(new Location(0, 0));
+
+        for (int u = 0; u < compiledRegion.getNodeCount(); u++) {
+            for (int v = 0; v < compiledRegion.getNodeCount(); v++) {
+                if ((u == isolated) != (v == isolated)) {
+                    continue;
+                }
+                Region.Node start = compiledRegion.getNode(u);
+                Region.Node end = compiledRegion.getNode(v);
+                assertEquals(expected[u][v], assertPath(compiledRegion, start, end, pathCalculator.getPath(start, end)));
+            }
+        }
+    }
+
+    @Test
+    public void testGetAllPathsTo() {
+        PathCalculator pathCalculator = new CompiledDijkstraPathCalculator();
+        int isolated = compiledRegion.getId(new Location(0, 0));
+
+        for (int v = 0; v < compiledRegion.getNodeCount(); v++) {
+            Region.Node end = compiledRegion.getNode(v);
+            Map<Region.Node, Deque<Region.Node>> paths = pathCalculator.getAllPathsTo(end);
+
+            assertEquals(v == isolated ? 1 : compiledRegion.getNodeCount() - 1, paths.size());
+
+            for (Map.Entry<Region.Node, Deque<Region.Node>> entry : paths.entrySet()) {
+                int u = compiledRegion.getId(entry.getKey());
+                assertEquals(expected[u][v], assertPath(compiledRegion, entry.getKey(), end, entry.getValue()));
+                assertEquals(expected[u][v], ((ShortestPathTree) paths).getDuration(u));
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompiledRegionUnitTests {
+
+    private static Region region;
+    private static CompiledRegion compiledRegion;
+
+    @BeforeAll
+    public static void initialize() {
+        region = Region.builder()
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .addNode("A", new Location(0, 0))
+            .addNode("B", new Location(3, 0))
+            .addNode("C", new Location(3, 4))
+            .addNode("D", new Location(10, 10))
+            .addEdge("AB", new Location(0, 0), new Location(3, 0))
+            .addEdge("BC", new Location(3, 0), new Location(3, 4))
+            .addEdge("AC", new Location(0, 0), new Location(3, 4))
+            .build();
+        compiledRegion = region.compile();
+    }
+
+    @Test
+    public void testCounts() {
+        assertEquals(4, compiledRegion.getNodeCount());
+        assertEquals(3, compiledRegion.getEdgeCount());
+        assertEquals(6, compiledRegion.getArcCount());
+        assertEquals(compiledRegion.getArcCount(), compiledRegion.getFirstArc(compiledRegion.getNodeCount()));
+    }
+
+    @Test
+    public void testIds() {
+        for (int id = 0; id < compiledRegion.getNodeCount(); id++) {
+            Region.Node node = compiledRegion.getNode(id);
+            assertEquals(id, compiledRegion.getId(node));
+            assertEquals(node.getLocation().getX(), compiledRegion.getX(id));
+            assertEquals(node.getLocation().getY(), compiledRegion.getY(id));
+        }
+        assertThrows(IllegalArgumentException.class, () -> compiledRegion.getId(new Location(1, 1)));
+    }
+
+    @Test
+    public void testAdjacency() {
+        for (Region.Edge edge : region.getEdges()) {
+            int a = compiledRegion.getId(edge.getNodeA());
+            int b = compiledRegion.getId(edge.getNodeB());
+
+            int arcAB = compiledRegion.findArc(a, b);
+            int arcBA = compiledRegion.findArc(b, a);
+            assertTrue(arcAB >= 0);
+            assertTrue(arcBA >= 0);
+            assertEquals(edge.getDuration(), compiledRegion.getArcDuration(arcAB));
+            assertEquals(edge.getDuration(), compiledRegion.getArcDuration(arcBA));
+            assertSame(edge, compiledRegion.getEdge(compiledRegion.getArcEdge(arcAB)));
+            assertSame(edge, compiledRegion.getEdge(compiledRegion.getArcEdge(arcBA)));
+        }
+
+        int d = compiledRegion.getId(new Location(10, 10));
+        assertEquals(0, compiledRegion.getDegree(d));
+
+        int a = compiledRegion.getId(new Location(0, 0));
+        Set<Region.Node> adjacent = new HashSet<>();
+        for (int arc = compiledRegion.getFirstArc(a); arc < compiledRegion.getFirstArc(a + 1); arc++) {
+            adjacent.add(compiledRegion.getNode(compiledRegion.getArcTarget(arc)));
+        }
+        assertEquals(Set.of(region.getNode(new Location(3, 0)), region.getNode(new Location(3, 4))), adjacent);
+    }
+
+    @Test
+    public void testCached() {
+        assertSame(compiledRegion, region.compile());
+    }
+}
@@ -0,0 +1,120 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import projekt.base.Location;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static projekt.delivery.routing.CompiledDijkstraPathCalculatorUnitTests.*;
+
+public class ConcurrentCachedPathCalculatorUnitTests {
+
+    private static CompiledRegion compiledRegion;
+    private static long[][] expected;
+
+    @BeforeAll
+    public static void initialize() {
+        compiledRegion = createRandomRegion(new Random(23), 60, 150).compile();
+        expected = floydWarshall(compiledRegion);
+    }
+
+    @Test
+    public void testGetPath() {
+        PathCalculator pathCalculator = new ConcurrentCachedPathCalculator(new CompiledDijkstraPathCalculator(), 8);
+
+        for (int u = 1; u < compiledRegion.getNodeCount(); u++) {
+            for (int v = 1; v < compiledRegion.getNodeCount(); v++) {
+                Region.Node start = compiledRegion.getNode(u);
+                Region.Node end = compiledRegion.getNode(v);
+                assertEquals(expected[u][v], assertPath(compiledRegion, start, end, pathCalculator.getPath(start, end)));
+            }
+        }
+    }
+
+    @Test
+    public void testNoPath() {
+        PathCalculator pathCalculator = new ConcurrentCachedPathCalculator(new CompiledDijkstraPathCalculator());
+        Region.Node isolated = compiledRegion.getNode(compiledRegion.getId(new Location(0, 0)));
+        Region.Node other = compiledRegion.getNode(compiledRegion.getId(isolated) == 0 ? 1 : 0);
+
+        // a cached end node throws as well as a newly calculated one
+        assertThrows(IllegalArgumentException.class, () -> pathCalculator.getPath(isolated, other));
+        assertThrows(IllegalArgumentException.class, () -> pathCalculator.getPath(isolated, other));
+        assertThrows(IllegalArgumentException.class, () -> pathCalculator.getPath(other, isolated));
+        assertTrue(pathCalculator.getPath(isolated, isolated).isEmpty());
+        assertFalse(pathCalculator.getAllPathsTo(other).containsKey(isolated));
+    }
+
+    @Test
+    public void testHitsShareTree() {
+        ConcurrentCachedPathCalculator pathCalculator = new ConcurrentCachedPathCalculator(new CompiledDijkstraPathCalculator());
+        Region.Node end = compiledRegion.getNode(1);
+
+        ShortestPathTree tree = pathCalculator.getAllPathsTo(end);
+        assertSame(tree, pathCalculator.getAllPathsTo(end));
+        assertNotSame(tree.get(compiledRegion.getNode(2)), tree.get(compiledRegion.getNode(2)));
+        assertEquals(1, pathCalculator.getHitCount());
+        assertEquals(1, pathCalculator.getMissCount());
+        assertEquals(0, pathCalculator.getEvictionCount());
+    }
+
+    @Test
+    public void testEviction() {
+        ConcurrentCachedPathCalculator pathCalculator = new ConcurrentCachedPathCalculator(new CompiledDijkstraPathCalculator(), 4, 1);
+
+        for (int v = 1; v <= 4; v++) {
+            pathCalculator.getAllPathsTo(compiledRegion.getNode(v));
+        }
+        // refreshes the recency of the first end node, so the second one is evicted next
+        pathCalculator.getAllPathsTo(compiledRegion.getNode(1));
+        pathCalculator.getAllPathsTo(compiledRegion.getNode(5));
+
+        assertEquals(4, pathCalculator.getCachedCount());
+        assertEquals(1, pathCalculator.getEvictionCount());
+
+        pathCalculator.getAllPathsTo(compiledRegion.getNode(1));
+        assertEquals(2, pathCalculator.getHitCount());
+        pathCalculator.getAllPathsTo(compiledRegion.getNode(2));
+        assertEquals(6, pathCalculator.getMissCount());
+    }
+
+    @Test
+    public void testConcurrentAccess() throws InterruptedException {
+        ConcurrentCachedPathCalculator pathCalculator = new ConcurrentCachedPathCalculator(new CompiledDijkstraPathCalculator(), 16, 4);
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+
+        for (int t = 0; t < 4; t++) {
+            Random random = new Random(t);
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    int u = 1 + random.nextInt(compiledRegion.getNodeCount() - 1);
+                    int v = 1 + random.nextInt(compiledRegion.getNodeCount() - 1);
+                    Region.Node start = compiledRegion.getNode(u);
+                    Region.Node end = compiledRegion.getNode(v);
+                    if (expected[u][v] != assertPath(compiledRegion, start, end, pathCalculator.getPath(start, end))) {
+                        throw new AssertionError("wrong path from %d to %d".formatted(u, v));
+                    }
+                }
+            });
+            thread.setUncaughtExceptionHandler((ignored, throwable) -> {
+                synchronized (failures) {
+                    failures.add(throwable);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(failures.isEmpty(), failures.toString());
+        assertEquals(8000, pathCalculator.getHitCount() + pathCalculator.getMissCount());
+        assertTrue(pathCalculator.getCachedCount() <= 16);
+    }
+}
@@ -0,0 +1,132 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static projekt.delivery.routing.CompiledDijkstraPathCalculatorUnitTests.*;
+
+public class ContractionHierarchyPathCalculatorUnitTests {
+
+    private static Region region;
+    private static CompiledRegion compiledRegion;
+    private static long[][] expected;
+
+    @BeforeAll
+    public static void initialize() {
+        region = createRandomRegion(new Random(13), 80, 200);
+        compiledRegion = region.compile();
+        expected = floydWarshall(compiledRegion);
+    }
+
+    @Test
+    public void testGetPath() {
+        ContractionHierarchyPathCalculator pathCalculator = new ContractionHierarchyPathCalculator();
+        pathCalculator.preprocess(region);
+        int isolated = compiledRegion.getId(new Location(0, 0));
+
+        for (int u = 0; u < compiledRegion.getNodeCount(); u++) {
+            for (int v = 0; v < compiledRegion.getNodeCount(); v++) {
+                if ((u == isolated) != (v == isolated)) {
+                    continue;
+                }
+                Region.Node start = compiledRegion.getNode(u);
+                Region.Node end = compiledRegion.getNode(v);
+                assertEquals(expected[u][v], assertPath(compiledRegion, start, end, pathCalculator.getPath(start, end)));
+            }
+        }
+    }
+
+    @Test
+    public void testGetPathOnSparseRegion() {
+        // few additional edges lead to long chains of contracted nodes and nested shortcuts
+        CompiledRegion sparse = createRandomRegion(new Random(17), 120, 10).compile();
+        long[][] distances = floydWarshall(sparse);
+        PathCalculator pathCalculator = new ContractionHierarchyPathCalculator();
+        Random random = new Random(19);
+
+        for (int i = 0; i < 500; i++) {
+            int u = 1 + random.nextInt(sparse.getNodeCount() - 1);
+            int v = 1 + random.nextInt(sparse.getNodeCount() - 1);
+            Region.Node start = sparse.getNode(u);
+            Region.Node end = sparse.getNode(v);
+            assertEquals(distances[u][v], assertPath(sparse, start, end, pathCalculator.getPath(start, end)));
+        }
+    }
+
+    @Test
+    public void testNoPath() {
+        PathCalculator pathCalculator = new ContractionHierarchyPathCalculator();
+        Region.Node isolated = region.getNode(new Location(0, 0));
+        Region.Node other = compiledRegion.getNode(compiledRegion.getId(isolated) == 0 ? 1 : 0);
+
+        assertThrows(IllegalArgumentException.class, () -> pathCalculator.getPath(isolated, other));
+        assertThrows(IllegalArgumentException.class, () -> pathCalculator.getPath(other, isolated));
+    }
+
+    @Test
+    public void testSelfLoop() {
+        Region loopRegion = Region.builder()
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .addNode("A", new Location(0, 0))
+            .addNode("B", new Location(3, 0))
+            .addNode("C", new Location(3, 4))
+            .addEdge("AA", new Location(0, 0), new Location(0, 0))
+            .addEdge("AB", new Location(0, 0), new Location(3, 0))
+            .addEdge("BC", new Location(3, 0), new Location(3, 4))
+            .addEdge("CC", new Location(3, 4), new Location(3, 4))
+            .build();
+        PathCalculator pathCalculator = new ContractionHierarchyPathCalculator();
+        Region.Node a = loopRegion.getNode(new Location(0, 0));
+        Region.Node b = loopRegion.getNode(new Location(3, 0));
+        Region.Node c = loopRegion.getNode(new Location(3, 4));
+
+        assertEquals(List.of(b, c), List.copyOf(pathCalculator.getPath(a, c)));
+        assertEquals(List.of(b, a), List.copyOf(pathCalculator.getPath(c, a)));
+        assertTrue(pathCalculator.getPath(a, a).isEmpty());
+    }
+
+    @Test
+    public void testConcurrentPreprocessing() throws Exception {
+        ContractionHierarchyPathCalculator pathCalculator = new ContractionHierarchyPathCalculator();
+        CompiledRegion[] regions = {
+            createRandomRegion(new Random(23), 100, 150).compile(),
+            createRandomRegion(new Random(29), 100, 150).compile()
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            // all threads start querying at once, so they request the hierarchies while they are being built
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                CompiledRegion compiledRegion = regions[thread % 2];
+                long[][] distances = floydWarshall(compiledRegion);
+                Random random = new Random(thread);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 100; i++) {
+                        Region.Node from = compiledRegion.getNode(1 + random.nextInt(compiledRegion.getNodeCount() - 1));
+                        Region.Node to = compiledRegion.getNode(1 + random.nextInt(compiledRegion.getNodeCount() - 1));
+                        assertEquals(distances[compiledRegion.getId(from)][compiledRegion.getId(to)],
+                            assertPath(compiledRegion, from, to, pathCalculator.getPath(from, to)));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static projekt.delivery.routing.CompiledDijkstraPathCalculatorUnitTests.*;
+
+public class DurationMatrixUnitTests {
+
+    private static Region region;
+    private static CompiledRegion compiledRegion;
+    private static long[][] expected;
+
+    @BeforeAll
+    public static void initialize() {
+        region = createRandomRegion(new Random(29), 60, 150);
+        compiledRegion = region.compile();
+        expected = floydWarshall(compiledRegion);
+    }
+
+    private static void testMatrix(DurationMatrix matrix) {
+        assertSame(compiledRegion, matrix.getCompiledRegion());
+
+        for (int u = 0; u < compiledRegion.getNodeCount(); u++) {
+            for (int v = 0; v < compiledRegion.getNodeCount(); v++) {
+                long duration = matrix.duration(u, v);
+                int next = matrix.nextHop(u, v);
+
+                if (expected[u][v] == Long.MAX_VALUE) {
+                    assertEquals(DurationMatrix.UNREACHABLE, duration);
+                    assertEquals(-1, next);
+                } else if (u == v) {
+                    assertEquals(0, duration);
+                    assertEquals(-1, next);
+                } else {
+                    assertEquals(expected[u][v], duration);
+                    // the next hop has to be the first node of a shortest path
+                    int arc = compiledRegion.findArc(u, next);
+                    assertTrue(arc >= 0);
+                    assertEquals(expected[u][v], compiledRegion.getArcDuration(arc) + expected[next][v]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPrecomputed() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            DurationMatrix matrix = DurationMatrix.of(region, pool);
+            assertTrue(matrix.isPrecomputed());
+            testMatrix(matrix);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testOnDemand() {
+        DurationMatrix matrix = DurationMatrix.onDemand(region, 4);
+        assertFalse(matrix.isPrecomputed());
+        testMatrix(matrix);
+    }
+
+    @Test
+    public void testOnDemandConcurrently() throws InterruptedException {
+        // far fewer rows than end nodes, so the threads evict each other's rows all the time
+        DurationMatrix matrix = DurationMatrix.onDemand(region, 3);
+        int nodeCount = compiledRegion.getNodeCount();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            Random random = new Random(t);
+            threads[t] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 20_000; i++) {
+                        int u = random.nextInt(nodeCount);
+                        int v = random.nextInt(nodeCount);
+                        long duration = expected[u][v] == Long.MAX_VALUE ? DurationMatrix.UNREACHABLE : expected[u][v];
+                        assertEquals(duration, matrix.duration(u, v));
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(failure.get());
+    }
+
+    @Test
+    public void testInvalidMaxRows() {
+        assertThrows(IllegalArgumentException.class, () -> DurationMatrix.onDemand(region, 0));
+    }
+
+    @Test
+    public void testNodes() {
+        DurationMatrix matrix = DurationMatrix.of(region);
+        Region.Node start = compiledRegion.getNode(1);
+        Region.Node end = compiledRegion.getNode(2);
+
+        assertEquals(expected[1][2], matrix.duration(start, end));
+        assertEquals(new CompiledDijkstraPathCalculator().getPath(start, end).getFirst(), matrix.nextHop(start, end));
+        assertNull(matrix.nextHop(end, end));
+    }
+}
@@ -0,0 +1,96 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShortestPathTreeUnitTests {
+
+    private static Region region;
+    private static CompiledRegion compiledRegion;
+    private static Region.Node a;
+    private static Region.Node b;
+    private static Region.Node c;
+    private static Region.Node d;
+
+    /**
+     * Creates the path A - B - C and the node D that is only connected to A.
+     */
+    @BeforeAll
+    public static void initialize() {
+        region = Region.builder()
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .addNode("A", new Location(0, 0))
+            .addNode("B", new Location(3, 0))
+            .addNode("C", new Location(3, 4))
+            .addNode("D", new Location(0, 5))
+            .addEdge("AB", new Location(0, 0), new Location(3, 0))
+            .addEdge("BC", new Location(3, 0), new Location(3, 4))
+            .addEdge("AD", new Location(0, 0), new Location(0, 5))
+            .build();
+        compiledRegion = region.compile();
+        a = region.getNode(new Location(0, 0));
+        b = region.getNode(new Location(3, 0));
+        c = region.getNode(new Location(3, 4));
+        d = region.getNode(new Location(0, 5));
+    }
+
+    private static Deque<Region.Node> path(Region.Node... nodes) {
+        return new ArrayDeque<>(List.of(nodes));
+    }
+
+    @Test
+    public void testOfPaths() {
+        Map<Region.Node, Deque<Region.Node>> paths = new HashMap<>();
+        paths.put(a, path(b, c));
+        paths.put(b, path(c));
+        paths.put(c, path());
+        paths.put(d, path(a, b, c));
+
+        ShortestPathTree tree = ShortestPathTree.of(compiledRegion, c, paths);
+        assertSame(c, tree.getTarget());
+        assertEquals(4, tree.size());
+        assertEquals(List.copyOf(path(b, c)), List.copyOf(tree.get(a)));
+        assertEquals(List.copyOf(path(a, b, c)), List.copyOf(tree.get(d)));
+        assertEquals(12, tree.getDuration(d));
+        assertSame(b, tree.getNextHop(a));
+        assertNull(tree.getNextHop(c));
+
+        ShortestPathTree expected = new CompiledDijkstraPathCalculator().getAllPathsTo(c);
+        for (int id = 0; id < compiledRegion.getNodeCount(); id++) {
+            assertEquals(expected.getDuration(id), tree.getDuration(id));
+            assertEquals(expected.getNextHop(id), tree.getNextHop(id));
+        }
+    }
+
+    @Test
+    public void testOfEmptyPath() {
+        Map<Region.Node, Deque<Region.Node>> paths = Map.of(a, path());
+
+        assertThrows(IllegalArgumentException.class, () -> ShortestPathTree.of(compiledRegion, c, paths));
+    }
+
+    @Test
+    public void testOfDisconnectedPath() {
+        // A and C are not adjacent
+        Map<Region.Node, Deque<Region.Node>> paths = Map.of(a, path(c));
+
+        assertThrows(IllegalArgumentException.class, () -> ShortestPathTree.of(compiledRegion, c, paths));
+    }
+
+    @Test
+    public void testOfPathToOtherNode() {
+        Map<Region.Node, Deque<Region.Node>> paths = Map.of(a, path(b));
+
+        assertThrows(IllegalArgumentException.class, () -> ShortestPathTree.of(compiledRegion, c, paths));
+    }
+}
@@ -0,0 +1,113 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+import projekt.base.TickInterval;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VehicleImplUnitTests {
+
+    private VehicleManager.OccupiedRestaurant restaurant;
+    private VehicleImpl vehicle;
+
+    @BeforeEach
+    public void initialize() {
+        Region region = Region.builder()
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .addRestaurant("R", new Location(0, 0), List.of("Pizza"))
+            .build();
+
+        VehicleManager vehicleManager = VehicleManager.builder()
+            .region(region)
+            .pathCalculator(new CompiledDijkstraPathCalculator())
+            .addVehicle(new Location(0, 0), 10)
+            .build();
+
+        restaurant = vehicleManager.getOccupiedRestaurants().iterator().next();
+        vehicle = (VehicleImpl) vehicleManager.getAllVehicles().iterator().next();
+    }
+
+    private ConfirmedOrder createOrder(double weight) {
+        return new ConfirmedOrder(new Location(0, 0), restaurant, new TickInterval(0, 10), List.of("Pizza"), weight);
+    }
+
+    @Test
+    public void testLoadAndUnloadOrder() {
+        ConfirmedOrder order1 = createOrder(3);
+        ConfirmedOrder order2 = createOrder(4.5);
+
+        vehicle.loadOrder(order1);
+        vehicle.loadOrder(order2);
+        assertEquals(7.5, vehicle.getCurrentLoad());
+        assertEquals(2.5, vehicle.getRemainingCapacity());
+        assertEquals(List.of(order1, order2), List.copyOf(vehicle.getOrders()));
+
+        vehicle.unloadOrder(order1);
+        assertEquals(4.5, vehicle.getCurrentLoad());
+        assertEquals(List.of(order2), List.copyOf(vehicle.getOrders()));
+
+        // unloading an order that is not loaded does not change anything
+        vehicle.unloadOrder(order1);
+        assertEquals(4.5, vehicle.getCurrentLoad());
+
+        vehicle.unloadOrder(order2);
+        assertEquals(0.0, vehicle.getCurrentLoad());
+        assertEquals(10.0, vehicle.getRemainingCapacity());
+        assertTrue(vehicle.getOrders().isEmpty());
+    }
+
+    @Test
+    public void testOrdersWithSameId() {
+        // e.g. orders of two different order generators
+        ConfirmedOrder order1 = new ConfirmedOrder(new Location(0, 0), restaurant, new TickInterval(0, 10), List.of("Pizza"), 2, 0);
+        ConfirmedOrder order2 = new ConfirmedOrder(new Location(0, 0), restaurant, new TickInterval(0, 10), List.of("Pizza"), 3, 0);
+
+        vehicle.loadOrder(order1);
+        vehicle.loadOrder(order2);
+        assertEquals(List.of(order1, order2), List.copyOf(vehicle.getOrders()));
+        assertEquals(5.0, vehicle.getCurrentLoad());
+
+        vehicle.unloadOrder(order1);
+        assertEquals(List.of(order2), List.copyOf(vehicle.getOrders()));
+        assertEquals(3.0, vehicle.getCurrentLoad());
+        vehicle.unloadOrder(order2);
+        assertEquals(0.0, vehicle.getCurrentLoad());
+    }
+
+    @Test
+    public void testLoadOrderTwice() {
+        ConfirmedOrder order = createOrder(2);
+        vehicle.loadOrder(order);
+
+        assertThrows(IllegalArgumentException.class, () -> vehicle.loadOrder(order));
+        assertEquals(2.0, vehicle.getCurrentLoad());
+        assertEquals(1, vehicle.getOrders().size());
+    }
+
+    @Test
+    public void testOverload() {
+        vehicle.loadOrder(createOrder(6));
+        assertThrows(VehicleOverloadedException.class, () -> vehicle.loadOrder(createOrder(5)));
+        assertEquals(6.0, vehicle.getCurrentLoad());
+        assertEquals(1, vehicle.getOrders().size());
+    }
+
+    @Test
+    public void testReset() {
+        vehicle.loadOrder(createOrder(6));
+        vehicle.reset();
+        assertEquals(0.0, vehicle.getCurrentLoad());
+        assertTrue(vehicle.getOrders().isEmpty());
+    }
+
+    @Test
+    public void testOrdersAreUnmodifiable() {
+        vehicle.loadOrder(createOrder(6));
+        assertThrows(UnsupportedOperationException.class, () -> vehicle.getOrders().clear());
+    }
+}
@@ -0,0 +1,133 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+import projekt.delivery.event.Event;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VehicleManagerAgendaUnitTests {
+
+    private static final int GRID_SIZE = 6;
+    private static final int TICKS = 200;
+
+    /**
+     * Creates a grid with edges of two and three ticks on which every vehicle follows a random walk. When a vehicle
+     * arrives at the end of its first walk, its arrival action queues a second one.
+     */
+    private static VehicleManagerImpl createVehicleManager() {
+        Region.Builder regionBuilder = Region.builder().distanceCalculator(new EuclideanDistanceCalculator());
+        for (int x = 0; x < GRID_SIZE; x++) {
+            for (int y = 0; y < GRID_SIZE; y++) {
+                Location location = new Location(3 * x, 2 * y);
+                if ((x + y) % 3 == 0) {
+                    regionBuilder.addRestaurant("R" + x + "-" + y, location, List.of("Pizza"));
+                } else {
+                    regionBuilder.addNode("N" + x + "-" + y, location);
+                }
+                if (x > 0) {
+                    regionBuilder.addEdge("H" + x + "-" + y, new Location(3 * x - 3, 2 * y), location);
+                }
+                if (y > 0) {
+                    regionBuilder.addEdge("V" + x + "-" + y, new Location(3 * x, 2 * y - 2), location);
+                }
+            }
+        }
+        Region region = regionBuilder.build();
+
+        VehicleManager.Builder builder = VehicleManager.builder()
+            .region(region)
+            .pathCalculator(new CompiledDijkstraPathCalculator());
+        List<Region.Node> restaurants = region.getNodes().stream()
+            .filter(Region.Restaurant.class::isInstance)
+            .sorted()
+            .toList();
+        for (int i = 0; i < 40; i++) {
+            builder.addVehicle(restaurants.get(i % restaurants.size()).getLocation(), 1);
+        }
+        VehicleManagerImpl vehicleManager = (VehicleManagerImpl) builder.build();
+
+        Random random = new Random(5);
+        for (Vehicle vehicle : vehicleManager.getAllVehicles()) {
+            Region.Node start = vehicle.getStartingNode().getComponent();
+            Deque<Region.Node> firstWalk = randomWalk(region, random, start, 1 + random.nextInt(8));
+            Deque<Region.Node> secondWalk = randomWalk(region, random, firstWalk.getLast(), 1 + random.nextInt(8));
+            ((VehicleImpl) vehicle).queuePath(firstWalk, (v, tick) -> ((VehicleImpl) v).queuePath(secondWalk, null));
+        }
+        return vehicleManager;
+    }
+
+    private static Deque<Region.Node> randomWalk(Region region, Random random, Region.Node start, int length) {
+        Deque<Region.Node> nodes = new ArrayDeque<>();
+        int x = start.getLocation().getX() / 3;
+        int y = start.getLocation().getY() / 2;
+        for (int i = 0; i < length; i++) {
+            int direction = random.nextInt(4);
+            int nextX = direction == 0 ? x + 1 : direction == 1 ? x - 1 : x;
+            int nextY = direction == 2 ? y + 1 : direction == 3 ? y - 1 : y;
+            if (nextX < 0 || nextX >= GRID_SIZE || nextY < 0 || nextY >= GRID_SIZE) {
+                i--;
+                continue;
+            }
+            x = nextX;
+            y = nextY;
+            nodes.add(region.getNode(new Location(3 * x, 2 * y)));
+        }
+        return nodes;
+    }
+
+    /**
+     * Ticks every node and then every edge like the vehicle manager did before it kept an agenda.
+     */
+    private static List<Event> tickAllComponents(VehicleManagerImpl vehicleManager, long tick) {
+        if (tick == 0) {
+            // spawns the vehicles
+            return vehicleManager.tick(tick);
+        }
+        for (AbstractOccupied<?> occupied : vehicleManager.occupiedNodes.values()) {
+            occupied.tick(tick);
+        }
+        for (AbstractOccupied<?> occupied : vehicleManager.occupiedEdges.values()) {
+            occupied.tick(tick);
+        }
+        return vehicleManager.getEventBus().popEvents(tick);
+    }
+
+    @Test
+    public void testSameEventsAsTickingAllComponents() {
+        VehicleManagerImpl reference = createVehicleManager();
+        VehicleManagerImpl vehicleManager = createVehicleManager();
+
+        int eventCount = 0;
+        for (long tick = 0; tick < TICKS; tick++) {
+            List<Event> expected = tickAllComponents(reference, tick);
+            assertEquals(expected.toString(), vehicleManager.tick(tick).toString(), "tick " + tick);
+            eventCount += expected.size();
+        }
+        assertTrue(eventCount > 40 * 10);
+        assertEquals(Long.MAX_VALUE, vehicleManager.getNextDueTick());
+    }
+
+    @Test
+    public void testSameEventsWhenSkippingIdleTicks() {
+        VehicleManagerImpl reference = createVehicleManager();
+        VehicleManagerImpl vehicleManager = createVehicleManager();
+
+        List<Event> expected = new ArrayList<>();
+        for (long tick = 0; tick < TICKS; tick++) {
+            expected.addAll(tickAllComponents(reference, tick));
+        }
+
+        List<Event> actual = new ArrayList<>();
+        int executedTicks = 0;
+        for (long tick = vehicleManager.getNextDueTick(); tick < TICKS; tick = vehicleManager.getNextDueTick()) {
+            actual.addAll(vehicleManager.tick(tick));
+            executedTicks++;
+        }
+        assertEquals(expected.toString(), actual.toString());
+        assertTrue(executedTicks < TICKS);
+    }
+}
@@ -0,0 +1,109 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VehicleManagerImplUnitTests {
+
+    private static Region region;
+    private static VehicleManagerImpl vehicleManager;
+
+    @BeforeAll
+    public static void initialize() {
+        region = Region.builder()
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .addRestaurant("R", new Location(0, 0), List.of("Pizza"))
+            .addNode("N", new Location(1, 0))
+            .addNeighborhood("H", new Location(2, 0))
+            .addEdge("RN", new Location(0, 0), new Location(1, 0))
+            .addEdge("NH", new Location(1, 0), new Location(2, 0))
+            .build();
+
+        vehicleManager = (VehicleManagerImpl) VehicleManager.builder()
+            .region(region)
+            .pathCalculator(new CompiledDijkstraPathCalculator())
+            .build();
+    }
+
+    @Test
+    public void testGetOccupied() {
+        for (Region.Node node : region.getNodes()) {
+            assertSame(node, vehicleManager.getOccupied(node).getComponent());
+        }
+        for (Region.Edge edge : region.getEdges()) {
+            assertSame(edge, vehicleManager.getOccupied(edge).getComponent());
+        }
+        assertThrows(NullPointerException.class, () -> vehicleManager.getOccupied(null));
+    }
+
+    @Test
+    public void testGetOccupiedOfOtherRegion() {
+        Region other = Region.builder()
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .addRestaurant("R", new Location(0, 0), List.of("Pizza"))
+            .addNode("M", new Location(1, 0))
+            .addNeighborhood("H", new Location(2, 0))
+            .addNeighborhood("X", new Location(3, 0))
+            .addEdge("RM", new Location(0, 0), new Location(1, 0))
+            .addEdge("MH", new Location(1, 0), new Location(2, 0))
+            .addEdge("HX", new Location(2, 0), new Location(3, 0))
+            .build();
+
+        // the components are found by their location, but they have to be equal to the components of the region
+        assertSame(region.getNode(new Location(0, 0)), vehicleManager.getOccupied(other.getNode(new Location(0, 0))).getComponent());
+        assertThrows(IllegalArgumentException.class, () -> vehicleManager.getOccupied(other.getNode(new Location(1, 0))));
+        assertThrows(IllegalArgumentException.class, () -> vehicleManager.getOccupied(other.getNode(new Location(3, 0))));
+        for (Region.Edge edge : other.getEdges()) {
+            assertThrows(IllegalArgumentException.class, () -> vehicleManager.getOccupied(edge));
+        }
+
+        assertSame(region.getNode(new Location(0, 0)),
+            vehicleManager.getOccupiedRestaurant(other.getNode(new Location(0, 0))).getComponent());
+        assertThrows(IllegalArgumentException.class,
+            () -> vehicleManager.getOccupiedRestaurant(region.getNode(new Location(2, 0))));
+        assertThrows(IllegalArgumentException.class,
+            () -> vehicleManager.getOccupiedNeighborhood(other.getNode(new Location(3, 0))));
+    }
+
+    @Test
+    public void testTypedIndexes() {
+        assertEquals(1, vehicleManager.getOccupiedRestaurants().size());
+        assertSame(region.getNode(new Location(0, 0)), vehicleManager.getOccupiedRestaurants().get(0).getComponent());
+        assertEquals(1, vehicleManager.getOccupiedNeighborhoods().size());
+        assertSame(
+            region.getNode(new Location(2, 0)),
+            vehicleManager.getOccupiedNeighborhoods().iterator().next().getComponent()
+        );
+
+        assertSame(vehicleManager.getOccupiedRestaurants(), vehicleManager.getOccupiedRestaurants());
+        assertSame(vehicleManager.getOccupiedNeighborhoods(), vehicleManager.getOccupiedNeighborhoods());
+        assertSame(vehicleManager.getOccupiedNodes(), vehicleManager.getOccupiedNodes());
+        assertThrows(UnsupportedOperationException.class, () -> vehicleManager.getOccupiedRestaurants().clear());
+    }
+
+    @Test
+    public void testGetOccupiedById() {
+        CompiledRegion compiledRegion = region.compile();
+        for (int id = 0; id < compiledRegion.getNodeCount(); id++) {
+            assertSame(compiledRegion.getNode(id), vehicleManager.getOccupiedNode(id).getComponent());
+        }
+        for (int id = 0; id < compiledRegion.getEdgeCount(); id++) {
+            assertSame(compiledRegion.getEdge(id), vehicleManager.getOccupiedEdge(id).getComponent());
+        }
+
+        Region.Node nodeA = region.getNode(new Location(1, 0));
+        Region.Node nodeB = region.getNode(new Location(2, 0));
+        assertSame(vehicleManager.getOccupiedEdge(nodeA, nodeB), vehicleManager.getOccupiedEdge(nodeB, nodeA));
+        assertEquals(nodeA, vehicleManager.getOccupiedEdge(nodeA, nodeB).getComponent().getNodeA());
+        assertThrows(IllegalArgumentException.class, () -> vehicleManager.getOccupiedEdge(
+            region.getNode(new Location(0, 0)),
+            nodeB
+        ));
+    }
+}
@@ -0,0 +1,139 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+import projekt.delivery.event.Event;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VehicleManagerParallelTickUnitTests {
+
+    private static final int GRID_SIZE = 15;
+    private static final int VEHICLE_COUNT = 600;
+
+    private static VehicleManager createVehicleManager(ForkJoinPool tickPool) {
+        Region.Builder regionBuilder = Region.builder().distanceCalculator(new EuclideanDistanceCalculator());
+        for (int i = 0; i < 200; i++) {
+            regionBuilder.addRestaurant("R" + i, new Location(i, 0), List.of("Pizza"));
+        }
+        for (int i = 1; i < 200; i++) {
+            regionBuilder.addEdge("E" + i, new Location(i - 1, 0), new Location(i, 0));
+        }
+        Region region = regionBuilder.build();
+
+        VehicleManager.Builder builder = VehicleManager.builder()
+            .region(region)
+            .pathCalculator(new CompiledDijkstraPathCalculator())
+            .parallelTicking(tickPool);
+        for (int i = 0; i < 1000; i++) {
+            builder.addVehicle(new Location(i % 200, 0), 1);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates a grid of restaurants with many vehicles per node that all follow the same random walks.
+     */
+    private static VehicleManager createMovingVehicleManager(ForkJoinPool tickPool) {
+        Region.Builder regionBuilder = Region.builder().distanceCalculator(new EuclideanDistanceCalculator());
+        for (int x = 0; x < GRID_SIZE; x++) {
+            for (int y = 0; y < GRID_SIZE; y++) {
+                regionBuilder.addRestaurant("R" + x + "-" + y, new Location(x, y), List.of("Pizza"));
+                if (x > 0) {
+                    regionBuilder.addEdge("H" + x + "-" + y, new Location(x - 1, y), new Location(x, y));
+                }
+                if (y > 0) {
+                    regionBuilder.addEdge("V" + x + "-" + y, new Location(x, y - 1), new Location(x, y));
+                }
+            }
+        }
+        Region region = regionBuilder.build();
+
+        VehicleManager.Builder builder = VehicleManager.builder()
+            .region(region)
+            .pathCalculator(new CompiledDijkstraPathCalculator())
+            .parallelTicking(tickPool);
+        for (int i = 0; i < VEHICLE_COUNT; i++) {
+            builder.addVehicle(new Location(i % GRID_SIZE, i / GRID_SIZE % GRID_SIZE), 1);
+        }
+        VehicleManagerImpl vehicleManager = (VehicleManagerImpl) builder.build();
+
+        Random random = new Random(17);
+        for (Vehicle vehicle : vehicleManager.getAllVehicles()) {
+            Location location = vehicle.getStartingNode().getComponent().getLocation();
+            // two paths per vehicle, so the vehicles also continue after an arrival action
+            for (int path = 0; path < 2; path++) {
+                Deque<Region.Node> nodes = new ArrayDeque<>();
+                for (int step = 0; step < 20; step++) {
+                    location = randomNeighbor(random, location);
+                    nodes.add(region.getNode(location));
+                }
+                ((VehicleImpl) vehicle).queuePath(nodes, path == 0 ? (v, tick) -> { } : null);
+            }
+        }
+        return vehicleManager;
+    }
+
+    private static Location randomNeighbor(Random random, Location location) {
+        while (true) {
+            Location neighbor = switch (random.nextInt(4)) {
+                case 0 -> location.add(new Location(1, 0));
+                case 1 -> location.add(new Location(-1, 0));
+                case 2 -> location.add(new Location(0, 1));
+                default -> location.add(new Location(0, -1));
+            };
+            if (neighbor.getX() >= 0 && neighbor.getX() < GRID_SIZE && neighbor.getY() >= 0 && neighbor.getY() < GRID_SIZE) {
+                return neighbor;
+            }
+        }
+    }
+
+    private static void assertSameEvents(VehicleManager expected, VehicleManager actual, long ticks) {
+        int movingTicks = 0;
+        for (long tick = 0; tick < ticks; tick++) {
+            List<Event> expectedEvents = expected.tick(tick);
+            List<Event> actualEvents = actual.tick(tick);
+            assertEquals(expectedEvents.toString(), actualEvents.toString(), "tick " + tick);
+            assertEquals(expected.getNextDueTick(), actual.getNextDueTick(), "tick " + tick);
+            if (expectedEvents.size() > 1) {
+                movingTicks++;
+            }
+        }
+        assertTrue(movingTicks > ticks / 2);
+        assertEquals(Long.MAX_VALUE, actual.getNextDueTick());
+    }
+
+    @Test
+    public void testSameEventsAsSerialTick() {
+        VehicleManager serial = createVehicleManager(null);
+        VehicleManager parallel = createVehicleManager(new ForkJoinPool(4));
+
+        for (long tick = 0; tick < 5; tick++) {
+            List<Event> serialEvents = serial.tick(tick);
+            List<Event> parallelEvents = parallel.tick(tick);
+            assertEquals(serialEvents.toString(), parallelEvents.toString());
+            assertEquals(serial.getNextDueTick(), parallel.getNextDueTick());
+        }
+        assertEquals(Long.MAX_VALUE, parallel.getNextDueTick());
+    }
+
+    @Test
+    public void testSameEventsAsSerialTickWhileMoving() {
+        ForkJoinPool tickPool = new ForkJoinPool(4);
+        try {
+            assertSameEvents(createMovingVehicleManager(null), createMovingVehicleManager(tickPool), 150);
+        } finally {
+            tickPool.shutdown();
+        }
+    }
+
+    @Test
+    public void testReproducibleEventOrder() {
+        // vehicles sharing a component must not be ordered by their identity hash codes
+        assertSameEvents(createMovingVehicleManager(null), createMovingVehicleManager(null), 150);
+    }
+}
@@ -0,0 +1,163 @@
+package projekt.delivery.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+import projekt.base.TickInterval;
+import projekt.delivery.routing.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InsertionPlannerUnitTests {
+
+    private static DurationMatrix matrix;
+    private static VehicleManager.OccupiedRestaurant restaurant;
+    private static int restaurantNode;
+
+    @BeforeAll
+    public static void initialize() {
+        // a line R - N1 - N2 - N3 in which every edge takes two ticks
+        Region region = Region.builder()
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .addRestaurant("R", new Location(0, 0), List.of("Pizza"))
+            .addNeighborhood("N1", new Location(2, 0))
+            .addNeighborhood("N2", new Location(4, 0))
+            .addNeighborhood("N3", new Location(6, 0))
+            .addEdge("R-N1", new Location(0, 0), new Location(2, 0))
+            .addEdge("N1-N2", new Location(2, 0), new Location(4, 0))
+            .addEdge("N2-N3", new Location(4, 0), new Location(6, 0))
+            .build();
+
+        VehicleManager vehicleManager = VehicleManager.builder()
+            .region(region)
+            .pathCalculator(new CompiledDijkstraPathCalculator())
+            .addVehicle(new Location(0, 0), 10)
+            .build();
+
+        matrix = DurationMatrix.of(region);
+        restaurant = vehicleManager.getOccupiedRestaurants().iterator().next();
+        restaurantNode = node(0);
+    }
+
+    private static int node(int x) {
+        return matrix.getCompiledRegion().getId(new Location(x, 0));
+    }
+
+    private static ConfirmedOrder createOrder(int x, long start, long end, double weight) {
+        return new ConfirmedOrder(new Location(x, 0), restaurant, new TickInterval(start, end), List.of("Pizza"), weight);
+    }
+
+    private static InsertionPlanner.Route insert(InsertionPlanner planner, ConfirmedOrder order) {
+        return planner.insert(order, restaurantNode, matrix.getCompiledRegion().getId(order.getLocation()));
+    }
+
+    private static void assertStops(InsertionPlanner.Route route, Object... expected) {
+        List<InsertionPlanner.Stop> stops = route.getStops();
+        assertEquals(expected.length / 2, stops.size(), stops.toString());
+        for (int i = 0; i < stops.size(); i++) {
+            assertSame(expected[2 * i], stops.get(i).order(), "order of stop " + i);
+            assertEquals(expected[2 * i + 1], stops.get(i).pickup(), "pickup of stop " + i);
+        }
+    }
+
+    @Test
+    public void testCheapestInsertion() {
+        InsertionPlanner planner = new InsertionPlanner(matrix, 4, 16);
+        InsertionPlanner.Route route = planner.addRoute(restaurantNode, 0, 10);
+        ConfirmedOrder order1 = createOrder(4, 0, 100, 1);
+        ConfirmedOrder order2 = createOrder(2, 0, 100, 1);
+
+        assertSame(route, insert(planner, order1));
+        assertStops(route, order1, true, order1, false);
+        assertEquals(4, route.getArrivalTick(1));
+
+        // delivering the second order on the way does not extend the route
+        assertSame(route, insert(planner, order2));
+        assertStops(route, order2, true, order1, true, order2, false, order1, false);
+        assertEquals(2, route.getArrivalTick(2));
+        assertEquals(4, route.getArrivalTick(3));
+    }
+
+    @Test
+    public void testTimeWindows() {
+        InsertionPlanner planner = new InsertionPlanner(matrix, 4, 16);
+        InsertionPlanner.Route route = planner.addRoute(restaurantNode, 0, 10);
+        ConfirmedOrder order1 = createOrder(6, 0, 6, 1);
+        ConfirmedOrder order2 = createOrder(2, 10, 20, 1);
+
+        insert(planner, order1);
+        // waiting for the second order on the way would make the first one late
+        insert(planner, order2);
+        assertStops(route, order2, true, order1, true, order1, false, order2, false);
+        assertEquals(6, route.getServiceTick(2));
+        assertEquals(10, route.getArrivalTick(3));
+        assertEquals(10, route.getServiceTick(3));
+
+        // the vehicle waits at the neighborhood until the delivery interval starts
+        ConfirmedOrder order3 = createOrder(4, 20, 30, 1);
+        insert(planner, order3);
+        assertEquals(order3, route.getStops().get(5).order());
+        assertEquals(12, route.getArrivalTick(5));
+        assertEquals(20, route.getServiceTick(5));
+    }
+
+    @Test
+    public void testCapacity() {
+        InsertionPlanner planner = new InsertionPlanner(matrix, 4, 16);
+        InsertionPlanner.Route route = planner.addRoute(restaurantNode, 0, 1);
+        ConfirmedOrder order1 = createOrder(4, 0, 100, 1);
+        ConfirmedOrder order2 = createOrder(2, 0, 100, 1);
+
+        insert(planner, order1);
+        insert(planner, order2);
+        // the vehicle can only carry one order at a time
+        assertStops(route, order2, true, order2, false, order1, true, order1, false);
+        assertNull(insert(planner, createOrder(2, 0, 100, 2)));
+    }
+
+    @Test
+    public void testDepartedRoute() {
+        InsertionPlanner planner = new InsertionPlanner(matrix, 4, 16);
+        InsertionPlanner.Route route = planner.addRoute(restaurantNode, 0, 10);
+        ConfirmedOrder order1 = createOrder(6, 0, 100, 1);
+        ConfirmedOrder order2 = createOrder(2, 0, 100, 1);
+
+        insert(planner, order1);
+        assertEquals(order1, route.complete(0).order());
+        route.depart(0);
+        assertTrue(route.isDeparted());
+
+        // the vehicle is already on its way to the first stop, so the second order is picked up afterwards
+        insert(planner, order2);
+        assertStops(route, order1, false, order2, true, order2, false);
+
+        route.arrive(6);
+        assertEquals(node(6), route.getAnchorNode());
+        assertEquals(order1, route.complete(6).order());
+        assertFalse(route.isDeparted());
+        assertEquals(12, route.getArrivalTick(0));
+        assertEquals(14, route.getArrivalTick(1));
+    }
+
+    @Test
+    public void testCandidateRoutes() {
+        InsertionPlanner planner = new InsertionPlanner(matrix, 1, 2);
+        InsertionPlanner.Route far = planner.addRoute(node(6), 0, 10);
+        InsertionPlanner.Route near = planner.addRoute(node(2), 0, 10);
+
+        assertSame(near, insert(planner, createOrder(4, 0, 100, 1)));
+        // the nearest route is full, so only the other one is a candidate
+        assertSame(far, insert(planner, createOrder(4, 0, 100, 1)));
+        assertNull(insert(planner, createOrder(4, 0, 100, 1)));
+        assertEquals(List.of(far, near), planner.getRoutes());
+    }
+
+    @Test
+    public void testInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new InsertionPlanner(matrix, 0, 16));
+        assertThrows(IllegalArgumentException.class, () -> new InsertionPlanner(matrix, 4, 1));
+    }
+}
@@ -0,0 +1,184 @@
+package projekt.delivery.simulation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+import projekt.delivery.event.Event;
+import projekt.delivery.routing.CompiledDijkstraPathCalculator;
+import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.Region;
+import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.service.AbstractDeliveryService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the pause and fast-forward controls of a {@link BasicDeliverySimulation} through its {@link SimulationConfig}
+ * while the simulation runs on another thread.
+ */
+public class BasicDeliverySimulationUnitTests {
+
+    private VehicleManager vehicleManager;
+    private BlockingQueue<Long> notifiedTicks;
+    private BasicDeliverySimulation simulation;
+    private Thread simulationThread;
+
+    @BeforeEach
+    public void initialize() {
+        Region region = Region.builder()
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .addRestaurant(new Location(0, 0), Region.Restaurant.LOS_FOPBOTS_HERMANOS)
+            .build();
+        vehicleManager = VehicleManager.builder()
+            .region(region)
+            .pathCalculator(new CompiledDijkstraPathCalculator())
+            .build();
+        notifiedTicks = new LinkedBlockingQueue<>();
+    }
+
+    @AfterEach
+    public void cleanup() throws InterruptedException {
+        if (simulationThread != null) {
+            simulation.endSimulation();
+            simulationThread.join(5000);
+        }
+    }
+
+    private BasicDeliverySimulation createSimulation(SimulationConfig simulationConfig) {
+        BasicDeliverySimulation simulation = new BasicDeliverySimulation(simulationConfig, Map.of(),
+            new IdleDeliveryService(vehicleManager), () -> tick -> List.of());
+        simulation.addListener((events, tick) -> notifiedTicks.add(tick));
+        return simulation;
+    }
+
+    private void start(BasicDeliverySimulation simulation, Runnable run) {
+        this.simulation = simulation;
+        simulationThread = new Thread(run, "simulation");
+        simulationThread.start();
+    }
+
+    private long nextTick() throws InterruptedException {
+        Long tick = notifiedTicks.poll(5, TimeUnit.SECONDS);
+        assertNotNull(tick, "no tick was executed within 5 seconds");
+        return tick;
+    }
+
+    private List<Long> drainTicks() {
+        List<Long> ticks = new ArrayList<>();
+        notifiedTicks.drainTo(ticks);
+        return ticks;
+    }
+
+    private static List<Long> ticks(long from, long to) {
+        return LongStream.range(from, to).boxed().toList();
+    }
+
+    @Test
+    public void testFastForward() {
+        BasicDeliverySimulation simulation = createSimulation(new SimulationConfig(1000, true));
+
+        long startTime = System.nanoTime();
+        simulation.runSimulation(25);
+
+        // the 25 ticks would take 25 seconds if the simulation waited a second after every tick
+        assertTrue(System.nanoTime() - startTime < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(ticks(0, 25), drainTicks());
+        assertEquals(25, simulation.getCurrentTick());
+    }
+
+    @Test
+    public void testSwitchToFastForward() throws InterruptedException {
+        SimulationConfig simulationConfig = new SimulationConfig(1000);
+        BasicDeliverySimulation simulation = createSimulation(simulationConfig);
+        start(simulation, () -> simulation.runSimulation(25));
+
+        assertEquals(0, nextTick());
+        simulationConfig.setFastForward(true);
+
+        // only the first tick waits for the next one to be due
+        simulationThread.join(10_000);
+        assertFalse(simulationThread.isAlive());
+        assertEquals(ticks(1, 25), drainTicks());
+    }
+
+    @Test
+    public void testPause() throws InterruptedException {
+        SimulationConfig simulationConfig = new SimulationConfig(10);
+        simulationConfig.setPaused(true);
+        BasicDeliverySimulation simulation = createSimulation(simulationConfig);
+        start(simulation, simulation::runSimulation);
+
+        assertNull(notifiedTicks.poll(300, TimeUnit.MILLISECONDS));
+
+        simulationConfig.setPaused(false);
+        assertEquals(0, nextTick());
+        assertEquals(1, nextTick());
+
+        simulationConfig.setPaused(true);
+        // a tick that is executed while pausing is still finished
+        Thread.sleep(100);
+        List<Long> ticks = drainTicks();
+        assertNull(notifiedTicks.poll(300, TimeUnit.MILLISECONDS));
+
+        simulationConfig.setPaused(false);
+        long expectedTick = ticks.isEmpty() ? 2 : ticks.get(ticks.size() - 1) + 1;
+        assertEquals(expectedTick, nextTick());
+
+        // ending the simulation also wakes up a paused simulation
+        simulationConfig.setPaused(true);
+        simulation.endSimulation();
+        simulationThread.join(5000);
+        assertFalse(simulationThread.isAlive());
+        assertFalse(simulation.isRunning());
+    }
+
+    @Test
+    public void testPauseInFastForward() throws InterruptedException {
+        SimulationConfig simulationConfig = SimulationConfig.fastForward();
+        simulationConfig.setPaused(true);
+        BasicDeliverySimulation simulation = createSimulation(simulationConfig);
+        start(simulation, () -> simulation.runSimulation(1000));
+
+        assertNull(notifiedTicks.poll(300, TimeUnit.MILLISECONDS));
+
+        simulationConfig.setPaused(false);
+        simulationThread.join(10_000);
+        assertFalse(simulationThread.isAlive());
+        assertEquals(ticks(0, 1000), drainTicks());
+    }
+
+    /**
+     * A delivery service without any vehicles.
+     */
+    private static class IdleDeliveryService extends AbstractDeliveryService {
+
+        IdleDeliveryService(VehicleManager vehicleManager) {
+            super(vehicleManager);
+        }
+
+        @Override
+        protected List<Event> tick(long currentTick, List<ConfirmedOrder> newOrders) {
+            return List.of();
+        }
+
+        @Override
+        public List<ConfirmedOrder> getPendingOrders() {
+            return List.of();
+        }
+
+        @Override
+        public void reset() {
+            // there is nothing to reset
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package projekt.delivery.simulation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+import projekt.delivery.event.DeliverOrderEvent;
+import projekt.delivery.event.Event;
+import projekt.delivery.event.SpawnEvent;
+import projekt.delivery.generator.OrderGenerator;
+import projekt.delivery.routing.CompiledDijkstraPathCalculator;
+import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.Region;
+import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.service.AbstractDeliveryService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DiscreteEventDeliverySimulationUnitTests {
+
+    private VehicleManager vehicleManager;
+    private List<Long> generatedTicks;
+    private List<Long> notifiedTicks;
+    private List<Event> events;
+
+    @BeforeEach
+    public void initialize() {
+        Region region = Region.builder()
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .addRestaurant(new Location(0, 0), Region.Restaurant.LOS_FOPBOTS_HERMANOS)
+            .addNode("A", new Location(1, 0))
+            .addEdge("E", new Location(0, 0), new Location(1, 0))
+            .build();
+        vehicleManager = VehicleManager.builder()
+            .region(region)
+            .pathCalculator(new CompiledDijkstraPathCalculator())
+            .addVehicle(new Location(0, 0), 10)
+            .addVehicle(new Location(0, 0), 10)
+            .build();
+        generatedTicks = new ArrayList<>();
+        notifiedTicks = new ArrayList<>();
+        events = new ArrayList<>();
+    }
+
+    private BasicDeliverySimulation createSimulation(SimulationConfig simulationConfig, boolean discrete) {
+        IdleDeliveryService deliveryService = new IdleDeliveryService(vehicleManager);
+        BasicDeliverySimulation simulation = discrete
+            ? new DiscreteEventDeliverySimulation(simulationConfig, Map.of(), deliveryService, this::createOrderGenerator)
+            : new BasicDeliverySimulation(simulationConfig, Map.of(), deliveryService, this::createOrderGenerator);
+        simulation.addListener((tickEvents, tick) -> {
+            notifiedTicks.add(tick);
+            events.addAll(tickEvents);
+        });
+        return simulation;
+    }
+
+    private List<ConfirmedOrder> generateOrders(long tick) {
+        generatedTicks.add(tick);
+        return List.of();
+    }
+
+    private OrderGenerator createOrderGenerator() {
+        return this::generateOrders;
+    }
+
+    @Test
+    public void testNextDueTick() {
+        assertEquals(0, vehicleManager.getNextDueTick());
+        vehicleManager.tick(0);
+        assertEquals(Long.MAX_VALUE, vehicleManager.getNextDueTick());
+    }
+
+    @Test
+    public void testSkipsIdleTicks() {
+        createSimulation(SimulationConfig.fastForward(), true).runSimulation(100);
+
+        assertEquals(100, generatedTicks.size());
+        assertEquals(List.of(0L), notifiedTicks);
+        assertEquals(2, events.size());
+        assertTrue(events.stream().allMatch(SpawnEvent.class::isInstance));
+    }
+
+    @Test
+    public void testSameEventsAsBasicSimulation() {
+        createSimulation(SimulationConfig.fastForward(), false).runSimulation(100);
+        List<Event> basicEvents = new ArrayList<>(events);
+        assertEquals(100, notifiedTicks.size());
+
+        initialize();
+        createSimulation(SimulationConfig.fastForward(), true).runSimulation(100);
+        assertEquals(basicEvents.toString(), events.toString());
+    }
+
+    @Test
+    public void testMetricsOfExecutedTicks() {
+        BasicDeliverySimulation simulation = createSimulation(SimulationConfig.fastForward(), true);
+        simulation.runSimulation(100);
+        assertEquals(1, simulation.getMetrics().getTickCount());
+
+        simulation = createSimulation(SimulationConfig.fastForward(), false);
+        simulation.runSimulation(100);
+        SimulationMetrics metrics = simulation.getMetrics();
+        assertEquals(100, metrics.getTickCount());
+        for (SimulationMetrics.Phase phase : SimulationMetrics.Phase.values()) {
+            assertEquals(100, metrics.getHistogram(phase).getCount());
+        }
+        assertEquals(1, metrics.getListenerHistograms().size());
+        assertEquals(100, metrics.getListenerHistograms().values().iterator().next().getCount());
+        assertEquals(0, metrics.getOverrunCount());
+    }
+
+    @Test
+    public void testMetricsOfSubscribers() {
+        BasicDeliverySimulation simulation = createSimulation(SimulationConfig.fastForward(), false);
+        EventSubscriber<SpawnEvent> spawnSubscriber = (spawnEvents, tick) -> {};
+        EventSubscriber<DeliverOrderEvent> deliverSubscriber = (deliverEvents, tick) -> {};
+        simulation.subscribe(SpawnEvent.class, spawnSubscriber);
+        simulation.subscribe(DeliverOrderEvent.class, deliverSubscriber);
+        simulation.runSimulation(100);
+
+        SimulationMetrics metrics = simulation.getMetrics();
+        // every subscriber is timed on its own and only in the ticks in which it is called
+        assertEquals(List.of(spawnSubscriber), List.copyOf(metrics.getSubscriberHistograms().keySet()));
+        assertEquals(1, metrics.getSubscriberHistograms().get(spawnSubscriber).getCount());
+        assertEquals(100, metrics.getHistogram(SimulationMetrics.Phase.SUBSCRIBERS).getCount());
+        // one row for the listener and one for the subscriber, both named after the class declaring the lambdas
+        assertEquals(2, metrics.toString().lines()
+            .filter(line -> line.startsWith("  DiscreteEventDeliverySimulationUnitTests "))
+            .count(), metrics.toString());
+    }
+
+    /**
+     * A delivery service that never moves any vehicles.
+     */
+    private static class IdleDeliveryService extends AbstractDeliveryService {
+
+        IdleDeliveryService(VehicleManager vehicleManager) {
+            super(vehicleManager);
+        }
+
+        @Override
+        protected List<Event> tick(long currentTick, List<ConfirmedOrder> newOrders) {
+            return vehicleManager.tick(currentTick);
+        }
+
+        @Override
+        public List<ConfirmedOrder> getPendingOrders() {
+            return List.of();
+        }
+
+        @Override
+        public boolean canSkipIdleTicks() {
+            return true;
+        }
+
+        @Override
+        public void reset() {
+            // resetting the vehicle manager is not necessary for a single run
+        }
+    }
+}
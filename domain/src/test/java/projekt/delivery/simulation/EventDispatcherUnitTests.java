@@ -0,0 +1,73 @@
+package projekt.delivery.simulation;
+
+import org.junit.jupiter.api.Test;
+import projekt.delivery.event.Event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventDispatcherUnitTests {
+
+    private interface FirstEvent extends Event {}
+
+    private interface SecondEvent extends FirstEvent {}
+
+    @Test
+    public void testDispatch() {
+        SecondEvent second = () -> 3;
+        Event other = Event.of(3);
+        EventDispatcher dispatcher = new EventDispatcher();
+        List<Event> received = new ArrayList<>();
+        EventSubscriberStub<FirstEvent> firstSubscriber = new EventSubscriberStub<>(received);
+        EventSubscriberStub<SecondEvent> secondSubscriber = new EventSubscriberStub<>(received);
+
+        dispatcher.subscribe(FirstEvent.class, firstSubscriber);
+        dispatcher.subscribe(SecondEvent.class, secondSubscriber);
+        dispatcher.dispatch(List.of(other, second), 3);
+        assertEquals(List.of(second, second), received);
+
+        // subscribers are not called for ticks without matching events
+        dispatcher.dispatch(List.of(other), 4);
+        assertEquals(1, firstSubscriber.calls);
+
+        assertTrue(dispatcher.unsubscribe(firstSubscriber));
+        assertFalse(dispatcher.unsubscribe(firstSubscriber));
+        dispatcher.dispatch(List.of(second), 5);
+        assertEquals(1, firstSubscriber.calls);
+        assertEquals(2, secondSubscriber.calls);
+    }
+
+    @Test
+    public void testSubscribersAreCalledInSubscriptionOrder() {
+        FirstEvent first = () -> 0;
+        SecondEvent second = () -> 0;
+        EventDispatcher dispatcher = new EventDispatcher();
+        List<String> calls = new ArrayList<>();
+
+        dispatcher.subscribe(SecondEvent.class, (events, tick) -> calls.add("second " + events.size()));
+        dispatcher.subscribe(FirstEvent.class, (events, tick) -> calls.add("first " + events.size()));
+        dispatcher.subscribe(SecondEvent.class, (events, tick) -> calls.add("second again " + events.size()));
+        dispatcher.dispatch(List.of(first, second, first), 0);
+
+        assertEquals(List.of("second 1", "first 3", "second again 1"), calls);
+        assertFalse(dispatcher.isEmpty());
+    }
+
+    private static class EventSubscriberStub<E extends Event> implements EventSubscriber<E> {
+
+        private final List<Event> received;
+        private int calls;
+
+        private EventSubscriberStub(List<Event> received) {
+            this.received = received;
+        }
+
+        @Override
+        public void onEvents(List<E> events, long tick) {
+            received.addAll(events);
+            calls++;
+        }
+    }
+}
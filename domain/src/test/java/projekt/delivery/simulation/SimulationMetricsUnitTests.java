@@ -0,0 +1,54 @@
+package projekt.delivery.simulation;
+
+import org.junit.jupiter.api.Test;
+import projekt.delivery.event.SpawnEvent;
+import projekt.delivery.simulation.SimulationMetrics.Phase;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimulationMetricsUnitTests {
+
+    @Test
+    public void testSkipTick() {
+        SimulationMetrics metrics = new SimulationMetrics();
+        EventSubscriber<SpawnEvent> subscriber = (events, tick) -> {};
+
+        metrics.beginTick();
+        metrics.record(Phase.ORDER_GENERATION, 10);
+        metrics.recordSubscriber(subscriber, 20);
+        metrics.skipTick();
+
+        // nothing of the skipped tick is left over for the next tick
+        assertEquals(0, metrics.getCurrentTickDuration(Phase.ORDER_GENERATION));
+        assertEquals(0, metrics.getCurrentTickDuration(Phase.SUBSCRIBERS));
+        metrics.endTick(5);
+        assertEquals(1, metrics.getTickCount());
+        assertEquals(0, metrics.getHistogram(Phase.ORDER_GENERATION).getMax());
+        assertTrue(metrics.getSubscriberHistograms().isEmpty());
+    }
+
+    @Test
+    public void testRecordSubscriber() {
+        SimulationMetrics metrics = new SimulationMetrics();
+        EventSubscriber<SpawnEvent> first = (events, tick) -> {};
+        EventSubscriber<SpawnEvent> second = (events, tick) -> {};
+
+        metrics.beginTick();
+        metrics.recordSubscriber(first, 1_000);
+        metrics.recordSubscriber(second, 3_000);
+        metrics.endTick(5_000);
+        metrics.beginTick();
+        metrics.recordSubscriber(second, 2_000);
+        metrics.endTick(5_000);
+
+        assertEquals(List.of(first, second), List.copyOf(metrics.getSubscriberHistograms().keySet()));
+        assertEquals(1, metrics.getSubscriberHistograms().get(first).getCount());
+        assertEquals(2, metrics.getSubscriberHistograms().get(second).getCount());
+        assertEquals(2, metrics.getHistogram(Phase.SUBSCRIBERS).getCount());
+
+        metrics.reset();
+        assertTrue(metrics.getSubscriberHistograms().isEmpty());
+    }
+}
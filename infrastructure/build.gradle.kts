@@ -13,4 +13,11 @@ dependencies {
     implementation(project(":application"))
     implementation(libs.annotations)
     implementation(libs.flatlaf)
+    testImplementation(libs.junit.core)
+}
+
+tasks {
+    test {
+        useJUnitPlatform()
+    }
 }
@@ -112,8 +112,9 @@ public class MainMenuScene extends MenuScene<MainMenuSceneController> {
                         }
                     },
                     (simulation, problem) -> {
-                        //remove the scene from the list of listeners
+                        //remove the scene from the list of listeners and its map from the subscribers
                         simulation.removeListener(simulationScene.get());
+                        simulationScene.get().unsubscribe(simulation);
 
                         //check if gui got stopped
                         return simulationScene.get().isClosed();
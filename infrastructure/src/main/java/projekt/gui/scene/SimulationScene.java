@@ -11,6 +11,7 @@ import projekt.delivery.event.Event;
 import projekt.delivery.event.SpawnEvent;
 import projekt.delivery.routing.Region;
 import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.simulation.EventSubscriber;
 import projekt.delivery.simulation.Simulation;
 import projekt.delivery.simulation.SimulationListener;
 import projekt.gui.controller.ControlledScene;
@@ -28,6 +29,14 @@ public class SimulationScene extends Scene implements SimulationListener, Contro
     private MapPane mapPane;
     private ControlsPane controlsPane;
 
+    //the map only receives the events of the vehicles instead of filtering all events of every tick
+    private final EventSubscriber<SpawnEvent> spawnSubscriber = (events, tick) ->
+        Platform.runLater(() -> events.forEach(event -> mapPane.addVehicle(event.getVehicle())));
+    private final EventSubscriber<ArrivedAtNodeEvent> arrivedAtNodeSubscriber = (events, tick) ->
+        Platform.runLater(() -> events.forEach(event -> mapPane.redrawVehicle(event.getVehicle())));
+    private final EventSubscriber<ArrivedAtEdgeEvent> arrivedAtEdgeSubscriber = (events, tick) ->
+        Platform.runLater(() -> events.forEach(event -> mapPane.redrawVehicle(event.getVehicle())));
+
     private boolean closed;
 
     public SimulationScene() {
@@ -53,6 +62,10 @@ public class SimulationScene extends Scene implements SimulationListener, Contro
         root.setBottom(titledControlsPane);
         //TODO H11.4
 
+        simulation.subscribe(SpawnEvent.class, spawnSubscriber);
+        simulation.subscribe(ArrivedAtNodeEvent.class, arrivedAtNodeSubscriber);
+        simulation.subscribe(ArrivedAtEdgeEvent.class, arrivedAtEdgeSubscriber);
+
         //stop the simulation when closing the window
         controller.getStage().setOnCloseRequest(e -> {
             simulation.endSimulation();
@@ -60,28 +73,21 @@ public class SimulationScene extends Scene implements SimulationListener, Contro
         });
     }
 
+    /**
+     * Removes the subscriptions added by {@link #init(Simulation, ProblemArchetype, int, int)} from the given
+     * {@link Simulation}, so the map of this scene is no longer updated.
+     * @param simulation The {@link Simulation} this scene was initialized with.
+     */
+    public void unsubscribe(Simulation simulation) {
+        simulation.unsubscribe(spawnSubscriber);
+        simulation.unsubscribe(arrivedAtNodeSubscriber);
+        simulation.unsubscribe(arrivedAtEdgeSubscriber);
+    }
+
     @Override
     public void onTick(List<Event> events, long tick) {
-        //Execute GUI updates on the javafx application thread
-        Platform.runLater(() -> {
-            events.stream()
-                .filter(SpawnEvent.class::isInstance)
-                .map(SpawnEvent.class::cast)
-                .forEach(spawnEvent -> mapPane.addVehicle(spawnEvent.getVehicle()));
-
-            events.stream()
-                .filter(ArrivedAtNodeEvent.class::isInstance)
-                .map(ArrivedAtNodeEvent.class::cast)
-                .forEach(arrivedAtNodeEvent -> mapPane.redrawVehicle(arrivedAtNodeEvent.getVehicle()));
-
-            events.stream()
-                .filter(ArrivedAtEdgeEvent.class::isInstance)
-                .map(ArrivedAtEdgeEvent.class::cast)
-                .forEach(arrivedAtEdgeEvent -> mapPane.redrawVehicle(arrivedAtEdgeEvent.getVehicle()));
-
-            controlsPane.updateTickLabel(tick);
-        });
-
+        //Execute GUI updates on the javafx application thread, the vehicles are updated by the subscriptions of init
+        Platform.runLater(() -> controlsPane.updateTickLabel(tick));
     }
 
     @Override
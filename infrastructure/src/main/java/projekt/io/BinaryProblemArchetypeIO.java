@@ -0,0 +1,440 @@
+package projekt.io;
+
+import projekt.base.*;
+import projekt.delivery.archetype.ProblemArchetype;
+import projekt.delivery.archetype.ProblemArchetypeImpl;
+import projekt.delivery.generator.EmptyOrderGenerator;
+import projekt.delivery.generator.FridayOrderGenerator;
+import projekt.delivery.generator.OrderGenerator;
+import projekt.delivery.generator.TraceOrderGenerator;
+import projekt.delivery.rating.*;
+import projekt.delivery.routing.CompiledRegion;
+import projekt.delivery.routing.Region;
+import projekt.delivery.routing.Vehicle;
+import projekt.delivery.routing.VehicleManager;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Reads and writes {@link ProblemArchetype}s in a versioned binary format.<p>
+ *
+ * In contrast to {@link ProblemArchetypeIO}, a binary problem is read from a {@link MappedByteBuffer} without parsing
+ * any text. All names, food and class names are stored once in a string pool and referenced by their index, so every
+ * distinct string is only decoded once. All values are big-endian.
+ * <pre>
+ * header:      int magic, int version
+ * string pool: int count, int[count + 1] offsets, byte[] UTF-8 data
+ * node table:  int distanceCalculator, int nodeCount, nodeCount * (int kind, int name, int x, int y, int firstFood, int foodCount)
+ * food table:  int count, int[count] food
+ * edge table:  int[nodeCount + 1] firstEdge, edgeCount * (int nodeB, int name), grouped by nodeA
+ * vehicles:    int pathCalculator, int count, count * (int node, double capacity)
+ * generator:   int className, parameters depending on the class
+ * raters:      int count, count * (int criterion, int className, parameters depending on the class)
+ * problem:     long simulationLength, int name
+ * </pre>
+ * The nodes are stored in the order of their ids in the {@link CompiledRegion}.<p>
+ *
+ * Binary problems can be converted from and to the text format with {@link #convertToBinary(Path, Path)} and
+ * {@link #convertToText(Path, Path)}.
+ */
+public class BinaryProblemArchetypeIO {
+
+    /**
+     * The file extension of binary problems.
+     */
+    public static final String FILE_EXTENSION = ".bin";
+
+    private static final int MAGIC = 0x50524F42;
+    private static final int VERSION = 1;
+
+    private static final int NODE = 0;
+    private static final int NEIGHBORHOOD = 1;
+    private static final int RESTAURANT = 2;
+
+    private static final Map<String, Supplier<? extends DistanceCalculator>> DESERIALIZED_DISTANCE_CALCULATOR = Map.of(
+        ChessboardDistanceCalculator.class.getSimpleName(), ChessboardDistanceCalculator::new,
+        EuclideanDistanceCalculator.class.getSimpleName(), EuclideanDistanceCalculator::new,
+        ManhattanDistanceCalculator.class.getSimpleName(), ManhattanDistanceCalculator::new
+    );
+
+    /**
+     * Reads the binary {@link ProblemArchetype} stored in the given file.
+     * @param file The file to read.
+     * @return The read {@link ProblemArchetype}.
+     */
+    public static ProblemArchetype readProblemArchetype(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new RuntimeException("binary problem %s is too large".formatted(file));
+            }
+            return readProblemArchetype(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Writes the given {@link ProblemArchetype} in the binary format into the given file. An existing file is
+     * overwritten.
+     * @param file The file to write.
+     * @param problem The {@link ProblemArchetype} to write.
+     */
+    public static void writeProblemArchetype(Path file, ProblemArchetype problem) {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            writeProblemArchetype(output, problem);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Converts the {@link ProblemArchetype} in the text file {@code source} into a binary file {@code target}.
+     * @param source The text file to read.
+     * @param target The binary file to write.
+     */
+    public static void convertToBinary(Path source, Path target) {
+        try (BufferedReader reader = Files.newBufferedReader(source)) {
+            writeProblemArchetype(target, ProblemArchetypeIO.readProblemArchetype(reader));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Converts the {@link ProblemArchetype} in the binary file {@code source} into a text file {@code target}.
+     * @param source The binary file to read.
+     * @param target The text file to write.
+     */
+    public static void convertToText(Path source, Path target) {
+        try (BufferedWriter writer = Files.newBufferedWriter(target)) {
+            ProblemArchetypeIO.writeProblemArchetype(writer, readProblemArchetype(source));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static ProblemArchetype readProblemArchetype(MappedByteBuffer buffer) {
+        if (buffer.remaining() < 8 || buffer.getInt() != MAGIC) {
+            throw new RuntimeException("input is not a binary problem archetype");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new RuntimeException("unsupported version of binary problem archetype: %d".formatted(version));
+        }
+
+        String[] strings = readStringPool(buffer);
+        Region region = readRegion(buffer, strings);
+        VehicleManager vehicleManager = readVehicleManager(buffer, strings, region);
+        OrderGenerator.Factory orderGeneratorFactory = readOrderGeneratorFactory(buffer, strings, vehicleManager);
+        Map<RatingCriteria, Rater.Factory> raterFactoryMap = readRaterFactoryMap(buffer, strings, vehicleManager);
+        long simulationLength = buffer.getLong();
+        String name = strings[buffer.getInt()];
+
+        return new ProblemArchetypeImpl(orderGeneratorFactory, vehicleManager, raterFactoryMap, simulationLength, name);
+    }
+
+    private static String[] readStringPool(MappedByteBuffer buffer) {
+        String[] strings = new String[buffer.getInt()];
+        int[] offsets = new int[strings.length + 1];
+        for (int i = 0; i <= strings.length; i++) {
+            offsets[i] = buffer.getInt();
+        }
+
+        byte[] data = new byte[offsets[strings.length]];
+        buffer.get(data);
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = new String(data, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+
+    private static Region readRegion(MappedByteBuffer buffer, String[] strings) {
+        Region.Builder builder = Region.builder();
+        builder.distanceCalculator(parseDistanceCalculator(strings[buffer.getInt()]));
+
+        int nodeCount = buffer.getInt();
+        int[] kinds = new int[nodeCount];
+        int[] names = new int[nodeCount];
+        Location[] locations = new Location[nodeCount];
+        int[] firstFood = new int[nodeCount];
+        int[] foodCount = new int[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            kinds[i] = buffer.getInt();
+            names[i] = buffer.getInt();
+            locations[i] = new Location(buffer.getInt(), buffer.getInt());
+            firstFood[i] = buffer.getInt();
+            foodCount[i] = buffer.getInt();
+        }
+
+        String[] food = new String[buffer.getInt()];
+        for (int i = 0; i < food.length; i++) {
+            food[i] = strings[buffer.getInt()];
+        }
+
+        for (int i = 0; i < nodeCount; i++) {
+            switch (kinds[i]) {
+                case NODE -> builder.addNode(strings[names[i]], locations[i]);
+                case NEIGHBORHOOD -> builder.addNeighborhood(strings[names[i]], locations[i]);
+                case RESTAURANT -> builder.addRestaurant(strings[names[i]], locations[i],
+                    Arrays.asList(food).subList(firstFood[i], firstFood[i] + foodCount[i]));
+                default -> throw new RuntimeException("unknown kind of node: %d".formatted(kinds[i]));
+            }
+        }
+
+        int[] firstEdge = new int[nodeCount + 1];
+        for (int i = 0; i <= nodeCount; i++) {
+            firstEdge[i] = buffer.getInt();
+        }
+        for (int nodeA = 0; nodeA < nodeCount; nodeA++) {
+            for (int edge = firstEdge[nodeA]; edge < firstEdge[nodeA + 1]; edge++) {
+                int nodeB = buffer.getInt();
+                builder.addEdge(strings[buffer.getInt()], locations[nodeA], locations[nodeB]);
+            }
+        }
+
+        return builder.build();
+    }
+
+    private static VehicleManager readVehicleManager(MappedByteBuffer buffer, String[] strings, Region region) {
+        VehicleManager.Builder builder = VehicleManager.builder()
+            .region(region)
+            .pathCalculator(VehicleManagerIO.parsePathCalculator(strings[buffer.getInt()]));
+
+        CompiledRegion compiledRegion = region.compile();
+        int vehicleCount = buffer.getInt();
+        for (int i = 0; i < vehicleCount; i++) {
+            builder.addVehicle(compiledRegion.getNode(buffer.getInt()).getLocation(), buffer.getDouble());
+        }
+
+        return builder.build();
+    }
+
+    private static OrderGenerator.Factory readOrderGeneratorFactory(MappedByteBuffer buffer,
+                                                                    String[] strings,
+                                                                    VehicleManager vehicleManager) {
+        String className = strings[buffer.getInt()];
+
+        if (className.equals(EmptyOrderGenerator.Factory.class.getName())) {
+            return new EmptyOrderGenerator.FactoryBuilder().build();
+        } else if (className.equals(FridayOrderGenerator.Factory.class.getName())) {
+            return FridayOrderGenerator.Factory.builder()
+                .setOrderCount(buffer.getInt())
+                .setDeliveryInterval(buffer.getInt())
+                .setMaxWeight(buffer.getDouble())
+                .setStandardDeviation(buffer.getDouble())
+                .setLastTick(buffer.getLong())
+                .setSeed(buffer.getInt())
+                .setVehicleManager(vehicleManager)
+                .build();
+        } else if (className.equals(TraceOrderGenerator.Factory.class.getName())) {
+            return TraceOrderGenerator.Factory.builder()
+                .setFile(Path.of(strings[buffer.getInt()]))
+                .setVehicleManager(vehicleManager)
+                .build();
+        }
+
+        throw new RuntimeException("unknown name of OrderGeneratorFactory: %s".formatted(className));
+    }
+
+    private static Map<RatingCriteria, Rater.Factory> readRaterFactoryMap(MappedByteBuffer buffer,
+                                                                          String[] strings,
+                                                                          VehicleManager vehicleManager) {
+        Map<RatingCriteria, Rater.Factory> map = new HashMap<>();
+
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            RatingCriteria ratingCriteria = RatingCriteria.valueOf(strings[buffer.getInt()]);
+            String className = strings[buffer.getInt()];
+
+            if (className.equals(InTimeRater.Factory.class.getName())) {
+                map.put(ratingCriteria, InTimeRater.Factory.builder()
+                    .setIgnoredTicksOff(buffer.getLong())
+                    .setMaxTicksOff(buffer.getLong())
+                    .build());
+            } else if (className.equals(AmountDeliveredRater.Factory.class.getName())) {
+                map.put(ratingCriteria, AmountDeliveredRater.Factory.builder()
+                    .setFactor(buffer.getDouble())
+                    .build());
+            } else if (className.equals(TravelDistanceRater.Factory.class.getName())) {
+                map.put(ratingCriteria, TravelDistanceRater.Factory.builder()
+                    .setFactor(buffer.getDouble())
+                    .setVehicleManager(vehicleManager)
+                    .build());
+            } else {
+                throw new RuntimeException("unknown name of RaterFactory: %s".formatted(className));
+            }
+        }
+
+        return map;
+    }
+
+    private static void writeProblemArchetype(DataOutputStream output, ProblemArchetype problem) throws IOException {
+        VehicleManager vehicleManager = problem.vehicleManager();
+        CompiledRegion compiledRegion = vehicleManager.getRegion().compile();
+        StringPool strings = new StringPool();
+
+        // all sections reference the string pool, so they are written into memory first
+        ByteArrayOutputStream sections = new ByteArrayOutputStream();
+        DataOutputStream sectionOutput = new DataOutputStream(sections);
+        writeRegion(sectionOutput, strings, compiledRegion);
+        writeVehicleManager(sectionOutput, strings, vehicleManager, compiledRegion);
+        writeOrderGeneratorFactory(sectionOutput, strings, problem.orderGeneratorFactory());
+        writeRaterFactoryMap(sectionOutput, strings, problem.raterFactoryMap());
+        sectionOutput.writeLong(problem.simulationLength());
+        sectionOutput.writeInt(strings.indexOf(problem.name()));
+
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        strings.write(output);
+        sections.writeTo(output);
+    }
+
+    private static void writeRegion(DataOutputStream output, StringPool strings, CompiledRegion compiledRegion) throws IOException {
+        output.writeInt(strings.indexOf(compiledRegion.getRegion().getDistanceCalculator().getClass().getSimpleName()));
+
+        int nodeCount = compiledRegion.getNodeCount();
+        List<String> food = new ArrayList<>();
+        output.writeInt(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            Region.Node node = compiledRegion.getNode(i);
+            int kind = node instanceof Region.Restaurant ? RESTAURANT : node instanceof Region.Neighborhood ? NEIGHBORHOOD : NODE;
+            List<String> availableFood = node instanceof Region.Restaurant restaurant ? restaurant.getAvailableFood() : List.of();
+
+            output.writeInt(kind);
+            output.writeInt(strings.indexOf(node.getName()));
+            output.writeInt(node.getLocation().getX());
+            output.writeInt(node.getLocation().getY());
+            output.writeInt(food.size());
+            output.writeInt(availableFood.size());
+            food.addAll(availableFood);
+        }
+
+        output.writeInt(food.size());
+        for (String f : food) {
+            output.writeInt(strings.indexOf(f));
+        }
+
+        // group the edges by their first node with a counting sort
+        int edgeCount = compiledRegion.getEdgeCount();
+        int[] firstEdge = new int[nodeCount + 1];
+        for (int edge = 0; edge < edgeCount; edge++) {
+            firstEdge[compiledRegion.getEdgeNodeA(edge) + 1]++;
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            firstEdge[i + 1] += firstEdge[i];
+        }
+        int[] edges = new int[edgeCount];
+        int[] next = Arrays.copyOf(firstEdge, nodeCount);
+        for (int edge = 0; edge < edgeCount; edge++) {
+            edges[next[compiledRegion.getEdgeNodeA(edge)]++] = edge;
+        }
+
+        for (int i = 0; i <= nodeCount; i++) {
+            output.writeInt(firstEdge[i]);
+        }
+        for (int edge : edges) {
+            output.writeInt(compiledRegion.getEdgeNodeB(edge));
+            output.writeInt(strings.indexOf(compiledRegion.getEdge(edge).getName()));
+        }
+    }
+
+    private static void writeVehicleManager(DataOutputStream output,
+                                            StringPool strings,
+                                            VehicleManager vehicleManager,
+                                            CompiledRegion compiledRegion) throws IOException {
+        output.writeInt(strings.indexOf(VehicleManagerIO.serializePathCalculator(vehicleManager.getPathCalculator())));
+
+        List<Vehicle> vehicles = vehicleManager.getAllVehicles().stream().sorted().toList();
+        output.writeInt(vehicles.size());
+        for (Vehicle vehicle : vehicles) {
+            output.writeInt(compiledRegion.getId(vehicle.getStartingNode().getComponent()));
+            output.writeDouble(vehicle.getCapacity());
+        }
+    }
+
+    private static void writeOrderGeneratorFactory(DataOutputStream output,
+                                                   StringPool strings,
+                                                   OrderGenerator.Factory factory) throws IOException {
+        output.writeInt(strings.indexOf(factory.getClass().getName()));
+
+        if (factory instanceof FridayOrderGenerator.Factory fridayFactory) {
+            output.writeInt(fridayFactory.orderCount);
+            output.writeInt(fridayFactory.deliveryInterval);
+            output.writeDouble(fridayFactory.maxWeight);
+            output.writeDouble(fridayFactory.standardDeviation);
+            output.writeLong(fridayFactory.lastTick);
+            output.writeInt(fridayFactory.seed);
+        } else if (factory instanceof TraceOrderGenerator.Factory traceFactory) {
+            output.writeInt(strings.indexOf(traceFactory.file.toString()));
+        } else if (!(factory instanceof EmptyOrderGenerator.Factory)) {
+            throw new RuntimeException("unknown OrderGeneratorFactory: %s".formatted(factory.getClass().getName()));
+        }
+    }
+
+    private static void writeRaterFactoryMap(DataOutputStream output,
+                                             StringPool strings,
+                                             Map<RatingCriteria, Rater.Factory> factoryMap) throws IOException {
+        output.writeInt(factoryMap.size());
+
+        for (Map.Entry<RatingCriteria, Rater.Factory> entry : factoryMap.entrySet()) {
+            output.writeInt(strings.indexOf(entry.getKey().name()));
+            output.writeInt(strings.indexOf(entry.getValue().getClass().getName()));
+
+            if (entry.getValue() instanceof InTimeRater.Factory inTimeFactory) {
+                output.writeLong(inTimeFactory.ignoredTicksOff);
+                output.writeLong(inTimeFactory.maxTicksOff);
+            } else if (entry.getValue() instanceof AmountDeliveredRater.Factory amountDeliveredFactory) {
+                output.writeDouble(amountDeliveredFactory.factor);
+            } else if (entry.getValue() instanceof TravelDistanceRater.Factory travelDistanceFactory) {
+                output.writeDouble(travelDistanceFactory.factor);
+            } else {
+                throw new RuntimeException("unknown RaterFactory: %s".formatted(entry.getValue().getClass().getName()));
+            }
+        }
+    }
+
+    private static DistanceCalculator parseDistanceCalculator(String serializedDistanceCalculator) {
+        Supplier<? extends DistanceCalculator> supplier = DESERIALIZED_DISTANCE_CALCULATOR.get(serializedDistanceCalculator);
+        if (supplier == null) {
+            throw new RuntimeException("unknown name of distanceCalculator: %s".formatted(serializedDistanceCalculator));
+        }
+        return supplier.get();
+    }
+
+    /**
+     * The distinct strings of a binary problem in the order they have been added.
+     */
+    private static class StringPool {
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<byte[]> encoded = new ArrayList<>();
+
+        private int indexOf(String string) {
+            return indexes.computeIfAbsent(string, s -> {
+                encoded.add(s.getBytes(StandardCharsets.UTF_8));
+                return encoded.size() - 1;
+            });
+        }
+
+        private void write(DataOutputStream output) throws IOException {
+            output.writeInt(encoded.size());
+            int offset = 0;
+            output.writeInt(offset);
+            for (byte[] bytes : encoded) {
+                offset += bytes.length;
+                output.writeInt(offset);
+            }
+            for (byte[] bytes : encoded) {
+                output.write(bytes);
+            }
+        }
+    }
+}
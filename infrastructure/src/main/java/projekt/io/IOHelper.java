@@ -1,8 +1,10 @@
 package projekt.io;
 
+import org.jetbrains.annotations.Nullable;
 import projekt.delivery.archetype.ProblemArchetype;
 
 import java.io.*;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
 
@@ -13,6 +15,8 @@ public class IOHelper {
 
     public static final File PROBLEMS_DIR = Path.of(System.getProperty("user.dir"), "projekt", "gui", "problems").toFile();
 
+    private static volatile @Nullable ProblemRepository problemRepository;
+
     /**
      * Copies the {@link ProblemArchetype} presets from the resource directory into the build directory.
      */
@@ -35,13 +39,28 @@ public class IOHelper {
     }
 
     /**
-     * Returns all {@link ProblemArchetype}s stored in the resource and the build directory.
+     * Returns all {@link ProblemArchetype}s stored in the build directory.<p>
+     *
+     * The {@link ProblemArchetype}s are cached by a {@link ProblemRepository}, so only files that changed since the
+     * last call are parsed again.
      *
-     * @return All {@link ProblemArchetype}s stored in the resource and the build directory.
-     * @see #getAllProblemsInBuildDir()
+     * @return All {@link ProblemArchetype}s stored in the build directory.
+     * @see #getProblemRepository()
      */
     public static List<ProblemArchetype> readProblems() {
-        return readProblemsInFiles(getAllProblemsInBuildDir());
+        return getProblemRepository().getProblems();
+    }
+
+    /**
+     * Returns the {@link ProblemRepository} of the build directory (build/run/projekt/gui/problems).
+     *
+     * @return The {@link ProblemRepository} of the build directory.
+     */
+    public static synchronized ProblemRepository getProblemRepository() {
+        if (problemRepository == null) {
+            problemRepository = new ProblemRepository(PROBLEMS_DIR.toPath());
+        }
+        return problemRepository;
     }
 
     /**
@@ -60,18 +79,23 @@ public class IOHelper {
         return new HashSet<>(Arrays.asList(Objects.requireNonNull(dir.listFiles())));
     }
 
-    private static List<ProblemArchetype> readProblemsInFiles(Set<File> files) {
-        List<ProblemArchetype> problems = new ArrayList<>();
-
-        for (File file : files) {
-            try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-                problems.add(ProblemArchetypeIO.readProblemArchetype(reader));
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
+    /**
+     * Reads the {@link ProblemArchetype} stored in the given file. Files ending with
+     * {@link BinaryProblemArchetypeIO#FILE_EXTENSION} are read in the binary format, all other files in the text format.
+     *
+     * @param file The file to read.
+     * @return The read {@link ProblemArchetype}.
+     */
+    static ProblemArchetype readProblem(Path file) {
+        if (file.getFileName().toString().endsWith(BinaryProblemArchetypeIO.FILE_EXTENSION)) {
+            return BinaryProblemArchetypeIO.readProblemArchetype(file);
         }
 
-        return problems;
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            return ProblemArchetypeIO.readProblemArchetype(reader);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     /**
@@ -97,5 +121,9 @@ public class IOHelper {
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
+
+        if (problemRepository != null) {
+            problemRepository.invalidate(file.toPath());
+        }
     }
 }
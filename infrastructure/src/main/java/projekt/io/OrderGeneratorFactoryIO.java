@@ -3,11 +3,13 @@ package projekt.io;
 import projekt.delivery.generator.EmptyOrderGenerator;
 import projekt.delivery.generator.FridayOrderGenerator;
 import projekt.delivery.generator.OrderGenerator;
+import projekt.delivery.generator.TraceOrderGenerator;
 import projekt.delivery.routing.VehicleManager;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Supplier;
@@ -16,7 +18,8 @@ public class OrderGeneratorFactoryIO {
 
     private static final Map<String, Supplier<? extends OrderGenerator.FactoryBuilder>> DESERIALIZED_ORDER_GENERATOR_FACTORY_BUILDER = Map.of(
         EmptyOrderGenerator.Factory.class.getName(), EmptyOrderGenerator.FactoryBuilder::new,
-        FridayOrderGenerator.Factory.class.getName(), FridayOrderGenerator.Factory::builder
+        FridayOrderGenerator.Factory.class.getName(), FridayOrderGenerator.Factory::builder,
+        TraceOrderGenerator.Factory.class.getName(), TraceOrderGenerator.Factory::builder
     );
 
     public static OrderGenerator.Factory readOrderGeneratorFactory(BufferedReader reader, VehicleManager vehicleManager) {
@@ -49,6 +52,10 @@ public class OrderGeneratorFactoryIO {
                             fridayBuilder.setSeed(Integer.parseInt(serializedOrderGenerator[6]));
                         }
                         fridayBuilder.setVehicleManager(vehicleManager);
+                    } else if (builder instanceof TraceOrderGenerator.FactoryBuilder traceBuilder) {
+                        // the path is the rest of the line since it may contain spaces
+                        traceBuilder.setFile(Path.of(line.substring(2 + serializedOrderGenerator[0].length() + 1)));
+                        traceBuilder.setVehicleManager(vehicleManager);
                     }
 
                 } else {
@@ -78,6 +85,8 @@ public class OrderGeneratorFactoryIO {
                     fridayFactory.lastTick,
                     fridayFactory.seed)
                 );
+            } else if (factory instanceof TraceOrderGenerator.Factory traceFactory) {
+                writer.write(" %s\n".formatted(traceFactory.file));
             } else {
                 writer.write("\n");
             }
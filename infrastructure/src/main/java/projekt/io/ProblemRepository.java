@@ -0,0 +1,200 @@
+package projekt.io;
+
+import org.jetbrains.annotations.Nullable;
+import projekt.delivery.archetype.ProblemArchetype;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * A cache of the {@link ProblemArchetype}s stored in a directory.<p>
+ *
+ * Every file is only parsed again if its last modified time or size changed since it was parsed last. Files that have
+ * to be parsed are parsed concurrently. The directory is observed with a {@link WatchService}, so as long as no file in
+ * the directory changes, {@link #getProblems()} returns the cached {@link ProblemArchetype}s without accessing the file
+ * system. If the file system does not support observing the directory, it is scanned on every call instead.
+ */
+public class ProblemRepository implements Closeable {
+
+    private final Path directory;
+    private final ExecutorService executor;
+    private final Map<Path, Entry> cache = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private final @Nullable WatchService watchService;
+    private volatile boolean watching;
+    private volatile List<ProblemArchetype> problems = List.of();
+
+    /**
+     * Creates a new {@link ProblemRepository} for the given directory. The directory is created if it does not exist.
+     * @param directory The directory containing the {@link ProblemArchetype}s.
+     */
+    public ProblemRepository(Path directory) {
+        this.directory = directory;
+        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "problem-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        this.watchService = createWatchService(directory);
+
+        if (watchService != null) {
+            watching = true;
+            Thread watcher = new Thread(this::watch, "problem-watcher");
+            watcher.setDaemon(true);
+            watcher.start();
+        }
+    }
+
+    /**
+     * Returns all {@link ProblemArchetype}s stored in the directory of this {@link ProblemRepository}, sorted by the
+     * name of their file.
+     * @return All {@link ProblemArchetype}s stored in the directory.
+     */
+    public List<ProblemArchetype> getProblems() {
+        // events that arrive during the scan mark the repository as dirty again
+        if (watching && !dirty.getAndSet(false)) {
+            return problems;
+        }
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(Files::isRegularFile).sorted().toList();
+        } catch (IOException e) {
+            dirty.set(true);
+            throw new RuntimeException(e);
+        }
+
+        // the watcher and invalidate(Path) may remove entries from the cache at any time, so the valid entries are
+        // remembered here instead of reading the cache again
+        Map<Path, Entry> entries = new HashMap<>();
+        Map<Path, Future<Entry>> futures = new HashMap<>();
+        for (Path file : files) {
+            FileKey key = FileKey.of(file);
+            Entry entry = cache.get(file);
+            if (entry == null || !entry.key().equals(key)) {
+                futures.put(file, executor.submit(() -> new Entry(key, IOHelper.readProblem(file))));
+            } else {
+                entries.put(file, entry);
+            }
+        }
+
+        List<ProblemArchetype> result = new ArrayList<>(files.size());
+        try {
+            for (Path file : files) {
+                Future<Entry> future = futures.get(file);
+                Entry entry;
+                if (future != null) {
+                    entry = future.get();
+                    cache.put(file, entry);
+                } else {
+                    entry = entries.get(file);
+                }
+                result.add(entry.problem());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.values().forEach(f -> f.cancel(true));
+            dirty.set(true);
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            futures.values().forEach(f -> f.cancel(true));
+            dirty.set(true);
+            throw new RuntimeException(e.getCause());
+        }
+
+        cache.keySet().retainAll(new HashSet<>(files));
+        problems = Collections.unmodifiableList(result);
+        return problems;
+    }
+
+    /**
+     * Removes the cached {@link ProblemArchetype} of the given file, so it is parsed again the next time
+     * {@link #getProblems()} is called.<p>
+     *
+     * Changes are detected automatically, but the {@link WatchService} reports them asynchronously. Callers that just
+     * wrote a file should call this method to make sure the change is visible immediately.
+     * @param file The file that changed.
+     */
+    public void invalidate(Path file) {
+        dirty.set(true);
+        cache.remove(file);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = Objects.requireNonNull(watchService).take();
+
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW) {
+                        cache.clear();
+                    } else {
+                        cache.remove(directory.resolve((Path) event.context()));
+                    }
+                }
+                dirty.set(true);
+
+                if (!key.reset()) {
+                    // the directory is no longer accessible, so it has to be scanned on every call
+                    watching = false;
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // the repository has been closed
+        }
+    }
+
+    private static @Nullable WatchService createWatchService(Path directory) {
+        try {
+            WatchService watchService = directory.getFileSystem().newWatchService();
+            directory.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+            return watchService;
+        } catch (IOException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The attributes of a file that identify the version of its content.
+     */
+    private record FileKey(long lastModified, long size) {
+
+        private static FileKey of(Path file) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                return new FileKey(attributes.lastModifiedTime().toMillis(), attributes.size());
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    private record Entry(FileKey key, ProblemArchetype problem) {}
+}
@@ -14,7 +14,11 @@ public class VehicleManagerIO {
 
     private static final Map<String, Function<Object, ? extends PathCalculator>> DESERIALIZED_PATH_CALCULATOR = Map.of(
         CachedPathCalculator.class.getSimpleName(), pathCalculator -> new CachedPathCalculator((PathCalculator) pathCalculator),
-        DijkstraPathCalculator.class.getSimpleName(), ignored -> new DijkstraPathCalculator()
+        ConcurrentCachedPathCalculator.class.getSimpleName(), pathCalculator -> new ConcurrentCachedPathCalculator((PathCalculator) pathCalculator),
+        DijkstraPathCalculator.class.getSimpleName(), ignored -> new DijkstraPathCalculator(),
+        CompiledDijkstraPathCalculator.class.getSimpleName(), ignored -> new CompiledDijkstraPathCalculator(),
+        AStarPathCalculator.class.getSimpleName(), ignored -> new AStarPathCalculator(),
+        ContractionHierarchyPathCalculator.class.getSimpleName(), ignored -> new ContractionHierarchyPathCalculator()
     );
 
     public static VehicleManager readVehicleManager(BufferedReader reader, Region region) {
@@ -77,19 +81,21 @@ public class VehicleManagerIO {
         return new Location(Integer.parseInt(x), Integer.parseInt(y));
     }
 
-    private static String serializePathCalculator(PathCalculator pathCalculator) {
+    static String serializePathCalculator(PathCalculator pathCalculator) {
         StringBuilder sb = new StringBuilder();
         sb.append(pathCalculator.getClass().getSimpleName());
 
-        while (pathCalculator instanceof CachedPathCalculator cachedPathCalculator) {
-            pathCalculator = cachedPathCalculator.getDelegate();
+        while (pathCalculator instanceof CachedPathCalculator || pathCalculator instanceof ConcurrentCachedPathCalculator) {
+            pathCalculator = pathCalculator instanceof CachedPathCalculator cachedPathCalculator
+                ? cachedPathCalculator.getDelegate()
+                : ((ConcurrentCachedPathCalculator) pathCalculator).getDelegate();
             sb.append(",%s".formatted(pathCalculator.getClass().getSimpleName()));
         }
 
         return sb.toString();
     }
 
-    private static PathCalculator parsePathCalculator(String serializedPathCalculator) {
+    static PathCalculator parsePathCalculator(String serializedPathCalculator) {
         String[] split = serializedPathCalculator.split(",");
         PathCalculator currentPC;
         try {
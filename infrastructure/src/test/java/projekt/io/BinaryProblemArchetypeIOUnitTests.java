@@ -0,0 +1,132 @@
+package projekt.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import projekt.delivery.archetype.ProblemArchetype;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryProblemArchetypeIOUnitTests {
+
+    private static final List<String> PRESETS = List.of("problem1", "problem2", "problem3", "problem4");
+
+    @TempDir
+    Path directory;
+
+    private Path copyPreset(String name) throws IOException {
+        Path file = directory.resolve(name + ".txt");
+        try (InputStream preset = IOHelper.class.getResourceAsStream("presets/" + name + ".txt")) {
+            Files.copy(Objects.requireNonNull(preset), file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return file;
+    }
+
+    private static ProblemArchetype readText(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            return ProblemArchetypeIO.readProblemArchetype(reader);
+        }
+    }
+
+    private static String writeText(ProblemArchetype problem) throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        try (BufferedWriter writer = new BufferedWriter(stringWriter)) {
+            ProblemArchetypeIO.writeProblemArchetype(writer, problem);
+        }
+        return stringWriter.toString();
+    }
+
+    private static List<String> sortedLines(String text) {
+        return text.lines().sorted().toList();
+    }
+
+    private Path writeBinary(String preset) throws IOException {
+        Path binary = directory.resolve(preset + BinaryProblemArchetypeIO.FILE_EXTENSION);
+        BinaryProblemArchetypeIO.convertToBinary(copyPreset(preset), binary);
+        return binary;
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        for (String preset : PRESETS) {
+            Path text = copyPreset(preset);
+            Path binary = directory.resolve(preset + BinaryProblemArchetypeIO.FILE_EXTENSION);
+            Path convertedText = directory.resolve(preset + ".converted.txt");
+
+            BinaryProblemArchetypeIO.convertToBinary(text, binary);
+            BinaryProblemArchetypeIO.convertToText(binary, convertedText);
+
+            // both problems are written by the same writer, so they only differ if the binary format loses anything.
+            // The text format writes the nodes and edges in the iteration order of the region, which is not preserved
+            assertEquals(sortedLines(writeText(readText(text))), sortedLines(Files.readString(convertedText)), preset);
+        }
+    }
+
+    @Test
+    public void testReadProblemArchetype() throws IOException {
+        for (String preset : PRESETS) {
+            ProblemArchetype expected = readText(copyPreset(preset));
+            ProblemArchetype actual = BinaryProblemArchetypeIO.readProblemArchetype(writeBinary(preset));
+
+            assertEquals(expected.name(), actual.name(), preset);
+            assertEquals(expected.simulationLength(), actual.simulationLength(), preset);
+            assertEquals(expected.raterFactoryMap().keySet(), actual.raterFactoryMap().keySet(), preset);
+            assertEquals(expected.vehicleManager().getRegion().getNodes().size(),
+                actual.vehicleManager().getRegion().getNodes().size(), preset);
+            assertEquals(expected.vehicleManager().getRegion().getEdges().size(),
+                actual.vehicleManager().getRegion().getEdges().size(), preset);
+            assertEquals(expected.vehicleManager().getAllVehicles().size(),
+                actual.vehicleManager().getAllVehicles().size(), preset);
+        }
+    }
+
+    @Test
+    public void testCorruptHeader() throws IOException {
+        Path binary = writeBinary("problem1");
+        byte[] bytes = Files.readAllBytes(binary);
+        bytes[0] ^= 0x7F;
+        Files.write(binary, bytes);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> BinaryProblemArchetypeIO.readProblemArchetype(binary));
+        assertEquals("input is not a binary problem archetype", exception.getMessage());
+    }
+
+    @Test
+    public void testTruncatedHeader() throws IOException {
+        Path binary = writeBinary("problem1");
+        Files.write(binary, Arrays.copyOf(Files.readAllBytes(binary), 6));
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> BinaryProblemArchetypeIO.readProblemArchetype(binary));
+        assertEquals("input is not a binary problem archetype", exception.getMessage());
+    }
+
+    @Test
+    public void testTextIsNotBinary() throws IOException {
+        Path text = copyPreset("problem1");
+
+        assertThrows(RuntimeException.class, () -> BinaryProblemArchetypeIO.readProblemArchetype(text));
+    }
+
+    @Test
+    public void testVersionMismatch() throws IOException {
+        Path binary = writeBinary("problem1");
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(binary));
+        bytes.putInt(Integer.BYTES, bytes.getInt(Integer.BYTES) + 1);
+        Files.write(binary, bytes.array());
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> BinaryProblemArchetypeIO.readProblemArchetype(binary));
+        assertEquals("unsupported version of binary problem archetype: 2", exception.getMessage());
+    }
+}
@@ -0,0 +1,123 @@
+package projekt.io;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+import projekt.delivery.generator.FridayOrderGenerator;
+import projekt.delivery.generator.OrderGenerator;
+import projekt.delivery.generator.TraceOrderGenerator;
+import projekt.delivery.routing.CompiledDijkstraPathCalculator;
+import projekt.delivery.routing.Region;
+import projekt.delivery.routing.VehicleManager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderGeneratorFactoryIOUnitTests {
+
+    private static VehicleManager vehicleManager;
+
+    @BeforeAll
+    public static void initialize() {
+        Region region = Region.builder()
+            .distanceCalculator(new EuclideanDistanceCalculator())
+            .addRestaurant("R", new Location(0, 0), List.of("Pizza"))
+            .addNeighborhood("N", new Location(1, 0))
+            .build();
+
+        vehicleManager = VehicleManager.builder()
+            .region(region)
+            .pathCalculator(new CompiledDijkstraPathCalculator())
+            .build();
+    }
+
+    private static String write(OrderGenerator.Factory factory) throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        try (BufferedWriter writer = new BufferedWriter(stringWriter)) {
+            OrderGeneratorFactoryIO.writeOrderGeneratorFactory(writer, factory);
+        }
+        return stringWriter.toString();
+    }
+
+    private static OrderGenerator.Factory read(String input) {
+        return OrderGeneratorFactoryIO.readOrderGeneratorFactory(new BufferedReader(new StringReader(input)), vehicleManager);
+    }
+
+    @Test
+    public void testReadTracePath() {
+        OrderGenerator.Factory factory = read("""
+            START ORDER GENERATOR
+            O projekt.delivery.generator.TraceOrderGenerator$Factory traces/friday.trace
+            END ORDER GENERATOR
+            """);
+
+        TraceOrderGenerator.Factory traceFactory = assertInstanceOf(TraceOrderGenerator.Factory.class, factory);
+        assertEquals(Path.of("traces", "friday.trace"), traceFactory.file);
+        assertSame(vehicleManager, traceFactory.vehicleManager);
+    }
+
+    @Test
+    public void testReadTracePathWithSpaces() {
+        OrderGenerator.Factory factory = read("""
+            START ORDER GENERATOR
+            O projekt.delivery.generator.TraceOrderGenerator$Factory my traces/friday evening.trace
+            END ORDER GENERATOR
+            """);
+
+        assertEquals(Path.of("my traces", "friday evening.trace"), ((TraceOrderGenerator.Factory) factory).file);
+    }
+
+    @Test
+    public void testTraceRoundTrip() throws IOException {
+        Path file = Path.of("my traces", "friday evening.trace").toAbsolutePath();
+        OrderGenerator.Factory factory = TraceOrderGenerator.Factory.builder()
+            .setFile(file)
+            .setVehicleManager(vehicleManager)
+            .build();
+
+        String serialized = write(factory);
+        TraceOrderGenerator.Factory actual = (TraceOrderGenerator.Factory) read(serialized);
+        assertEquals(file, actual.file);
+        assertEquals(serialized, write(actual));
+    }
+
+    @Test
+    public void testFridayRoundTrip() throws IOException {
+        OrderGenerator.Factory factory = FridayOrderGenerator.Factory.builder()
+            .setOrderCount(250)
+            .setDeliveryInterval(20)
+            .setMaxWeight(0.75)
+            .setStandardDeviation(0.25)
+            .setLastTick(400)
+            .setSeed(7)
+            .setVehicleManager(vehicleManager)
+            .build();
+
+        String serialized = write(factory);
+        FridayOrderGenerator.Factory actual = (FridayOrderGenerator.Factory) read(serialized);
+        assertEquals(250, actual.orderCount);
+        assertEquals(20, actual.deliveryInterval);
+        assertEquals(0.75, actual.maxWeight);
+        assertEquals(0.25, actual.standardDeviation);
+        assertEquals(400, actual.lastTick);
+        assertEquals(7, actual.seed);
+        assertEquals(serialized, write(actual));
+    }
+
+    @Test
+    public void testUnknownFactory() {
+        assertThrows(RuntimeException.class, () -> read("""
+            START ORDER GENERATOR
+            O projekt.delivery.generator.UnknownOrderGenerator$Factory traces/friday.trace
+            END ORDER GENERATOR
+            """));
+    }
+}
@@ -0,0 +1,136 @@
+package projekt.io;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import projekt.delivery.archetype.ProblemArchetype;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProblemRepositoryUnitTests {
+
+    @TempDir
+    Path directory;
+
+    private ProblemRepository repository;
+
+    @BeforeEach
+    public void initialize() throws IOException {
+        copyPreset("problem1", directory.resolve("a.txt"));
+        copyPreset("problem2", directory.resolve("b.txt"));
+        repository = new ProblemRepository(directory);
+    }
+
+    @AfterEach
+    public void close() {
+        repository.close();
+    }
+
+    private static void copyPreset(String name, Path file) throws IOException {
+        try (InputStream preset = IOHelper.class.getResourceAsStream("presets/" + name + ".txt")) {
+            Files.copy(Objects.requireNonNull(preset), file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static List<String> names(List<ProblemArchetype> problems) {
+        return problems.stream().map(ProblemArchetype::name).toList();
+    }
+
+    /**
+     * Calls {@link ProblemRepository#getProblems()} until the result matches the given condition, since the
+     * {@link java.nio.file.WatchService} reports changes asynchronously.
+     */
+    private List<ProblemArchetype> awaitProblems(Predicate<List<ProblemArchetype>> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 20_000_000_000L;
+        List<ProblemArchetype> problems = repository.getProblems();
+        while (!condition.test(problems) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            problems = repository.getProblems();
+        }
+        return problems;
+    }
+
+    @Test
+    public void testGetProblems() {
+        List<ProblemArchetype> problems = repository.getProblems();
+
+        assertEquals(List.of("problem1", "problem2"), names(problems));
+        assertThrows(UnsupportedOperationException.class, () -> problems.remove(0));
+    }
+
+    @Test
+    public void testUnchangedProblemsAreCached() {
+        List<ProblemArchetype> problems = repository.getProblems();
+        List<ProblemArchetype> cached = repository.getProblems();
+
+        assertEquals(problems.size(), cached.size());
+        for (int i = 0; i < problems.size(); i++) {
+            assertSame(problems.get(i), cached.get(i));
+        }
+    }
+
+    @Test
+    public void testInvalidate() {
+        List<ProblemArchetype> problems = repository.getProblems();
+        repository.invalidate(directory.resolve("a.txt"));
+        List<ProblemArchetype> reloaded = repository.getProblems();
+
+        assertEquals(List.of("problem1", "problem2"), names(reloaded));
+        assertNotSame(problems.get(0), reloaded.get(0));
+        assertSame(problems.get(1), reloaded.get(1));
+    }
+
+    @Test
+    public void testDetectsChanges() throws Exception {
+        List<ProblemArchetype> problems = repository.getProblems();
+
+        copyPreset("problem3", directory.resolve("a.txt"));
+        assertEquals(List.of("problem3", "problem2"), names(awaitProblems(p -> p.get(0).name().equals("problem3"))));
+
+        copyPreset("problem4", directory.resolve("c.txt"));
+        assertEquals(List.of("problem3", "problem2", "problem4"), names(awaitProblems(p -> p.size() == 3)));
+
+        Files.delete(directory.resolve("b.txt"));
+        List<ProblemArchetype> current = awaitProblems(p -> p.size() == 2);
+        assertEquals(List.of("problem3", "problem4"), names(current));
+        assertNotSame(problems.get(0), current.get(0));
+    }
+
+    @Test
+    public void testConcurrentInvalidation() throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        // removes the entries while getProblems is iterating over them, like the watcher thread does
+        Thread invalidator = new Thread(() -> {
+            // the pauses make sure that some entries are still valid when getProblems looks them up
+            for (int i = 0; running.get(); i++) {
+                repository.invalidate(directory.resolve(i % 2 == 0 ? "a.txt" : "b.txt"));
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        invalidator.start();
+
+        try {
+            for (int i = 0; i < 500; i++) {
+                assertEquals(List.of("problem1", "problem2"), names(repository.getProblems()));
+            }
+        } finally {
+            running.set(false);
+            invalidator.join();
+        }
+    }
+}